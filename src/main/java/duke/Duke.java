@@ -1,20 +1,41 @@
 package duke;
 
+import duke.task.DukeTask;
 import duke.util.DukeStorage;
 import duke.util.DukeTaskList;
+import duke.util.reminder.DukeReminderScheduler;
+import duke.util.storage.DukeStorageDurability;
+import duke.util.storage.DukeStorageLockedException;
+import duke.util.storage.DukeStorageSnapshotStats;
+import duke.util.storage.DukeStorageType;
+import duke.util.storage.DukeStorageWatcher;
 import duke.util.ui.DukeUi;
 import duke.util.ui.DukeUiMessages;
 import javafx.application.Application;
+import javafx.application.Platform;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
 
 public class Duke {
 
     public static final String DUKE_TASK_FILE_PATH = ".\\data\\duke.txt";
+    public static final String DUKE_STORAGE_TYPE_PROPERTY = "duke.storage";
+    public static final DukeStorageType DUKE_STORAGE_TYPE = DukeStorageType.TEXT;
+    public static final boolean DUKE_STORAGE_IS_JOURNALED = true;
+    public static final DukeStorageDurability DUKE_STORAGE_DURABILITY = DukeStorageDurability.GROUP_COMMIT;
+    public static final boolean DUKE_STORAGE_IS_WRITE_BEHIND = true;
+    public static final boolean DUKE_STORAGE_IS_LAZY = false;
+    public static final boolean DUKE_STORAGE_IS_WATCHED = true;
+    public static final boolean DUKE_STORAGE_IS_ARCHIVED = true;
+    public static final boolean DUKE_REMINDERS_ARE_SCHEDULED = true;
 
     private DukeStorage storage;
     private DukeTaskList tasks;
     private DukeUiMessages ui;
+    private Optional<DukeStorageWatcher> watcher = Optional.empty();
+    private Optional<DukeReminderScheduler> reminderScheduler = Optional.empty();
 
     public DukeStorage getStorage() {
         return this.storage;
@@ -28,6 +49,14 @@ public class Duke {
         return this.ui;
     }
 
+    public Optional<DukeStorageWatcher> getWatcher() {
+        return this.watcher;
+    }
+
+    public Optional<DukeReminderScheduler> getReminderScheduler() {
+        return this.reminderScheduler;
+    }
+
     /**
      * Constructor takes in a file path String which specifies the location of the data file to save to/load from.
      *
@@ -36,12 +65,103 @@ public class Duke {
     public Duke(String filePath) {
         ui = new DukeUiMessages();
         try {
-            storage = new DukeStorage(filePath);
-            tasks = new DukeTaskList(storage.load(ui));
+            storage = new DukeStorage(getStorageType(), filePath, DUKE_STORAGE_IS_JOURNALED, DUKE_STORAGE_DURABILITY,
+                    DUKE_STORAGE_IS_WRITE_BEHIND);
+            List<DukeTask> userTasks = DUKE_STORAGE_IS_LAZY ? storage.loadLazily(ui) : storage.load(ui);
+            displaySnapshotStats();
+            archiveCompletedTasks(userTasks);
+            tasks = new DukeTaskList(userTasks);
+        } catch (DukeStorageLockedException ex) {
+            ui.displayFileLockedError();
+            System.exit(0);
         } catch (NullPointerException | IOException ex) {
             ui.displayFileLoadingError();
             System.exit(0);
         }
+        startWatching();
+        startReminding();
+    }
+
+    /**
+     * Shows how long the data file took to load and how well it compressed, if it was a compressed snapshot, so that
+     * the time spent decompressing can be weighed against the bytes saved on the disk.
+     */
+    private void displaySnapshotStats() {
+        Optional<DukeStorageSnapshotStats> snapshotStats = storage.getSnapshotStats();
+        if (snapshotStats.isPresent() && snapshotStats.get().hasLoaded()) {
+            DukeStorageSnapshotStats stats = snapshotStats.get();
+            ui.displaySnapshotStats(stats.getLoadedCompressedBytes(), stats.getLoadedRawBytes(), stats.getLoadNanos());
+        }
+    }
+
+    /**
+     * Moves the old completed tasks to the archive of the data file if {@link #DUKE_STORAGE_IS_ARCHIVED} is enabled,
+     * so that the list of tasks only holds the tasks that are still worth showing. Duke keeps running with every task
+     * in the list if the archive cannot be written.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; that was just loaded.
+     */
+    private void archiveCompletedTasks(List<DukeTask> userTasks) {
+        if (!DUKE_STORAGE_IS_ARCHIVED) {
+            return;
+        }
+        try {
+            int archivedCount = storage.archiveCompletedTasks(userTasks);
+            if (archivedCount > 0) {
+                ui.displayArchivedTasks(archivedCount);
+            }
+        } catch (DukeStorageLockedException ex) {
+            ui.displayFileLockedError();
+        } catch (IOException ex) {
+            ui.displayFileLoadingError();
+        }
+    }
+
+    /**
+     * Starts merging changes made to the data file outside of Duke into the list of tasks, if
+     * {@link #DUKE_STORAGE_IS_WATCHED} is enabled. A lazily loaded list is not watched, since it reads its tasks from
+     * the data file as it was loaded. Duke keeps running without the watcher if it cannot be started.
+     */
+    private void startWatching() {
+        if (!DUKE_STORAGE_IS_WATCHED || DUKE_STORAGE_IS_LAZY) {
+            return;
+        }
+        try {
+            watcher = storage.watch(Platform::runLater, (change) -> tasks.mergeExternalChange(change, ui, storage));
+        } catch (IOException ex) {
+            watcher = Optional.empty();
+        }
+    }
+
+    /**
+     * Starts reminding the user of the deadlines that come within {@link DukeTaskList#DUKE_DAYS_LEFT_TO_REMIND} days
+     * while Duke is running, if {@link #DUKE_REMINDERS_ARE_SCHEDULED} is enabled. The reminders are shown on the UI
+     * thread at the start of every day.
+     */
+    private void startReminding() {
+        if (!DUKE_REMINDERS_ARE_SCHEDULED) {
+            return;
+        }
+        DukeReminderScheduler scheduler = new DukeReminderScheduler(Platform::runLater,
+                () -> tasks.remindDukeDeadlines(ui, storage));
+        scheduler.start();
+        reminderScheduler = Optional.of(scheduler);
+    }
+
+    /**
+     * Gets the {@link DukeStorageType} to keep the tasks in. This is {@link #DUKE_STORAGE_TYPE}, unless it is
+     * overridden with the {@link #DUKE_STORAGE_TYPE_PROPERTY} system property, e.g. "-Dduke.storage=memory".
+     *
+     * @return Configured storage type.
+     */
+    private static DukeStorageType getStorageType() {
+        String storageTypeName = System.getProperty(DUKE_STORAGE_TYPE_PROPERTY);
+        for (DukeStorageType storageType : DukeStorageType.values()) {
+            if (storageType.name().equalsIgnoreCase(storageTypeName)) {
+                return storageType;
+            }
+        }
+        return DUKE_STORAGE_TYPE;
     }
 
     public static void main(String[] args) {
@@ -2,13 +2,17 @@ package duke.command;
 
 import duke.util.DukeStorage;
 import duke.util.DukeTaskList;
+import duke.util.storage.DukeStorageLockedException;
 import duke.util.ui.DukeUiMessages;
 
+import java.io.IOException;
+
 public class DukeCommandExit extends DukeCommand {
 
     /**
      * This method will exit the application after executing the exit message from
-     * {@link DukeUiMessages#displayTerminateMessage()}.
+     * {@link DukeUiMessages#displayTerminateMessage()}. Every write that is still pending in {@link DukeStorage} is
+     * flushed first, so that nothing is lost.
      *
      * @param tasks Instance of {@link DukeTaskList} which contains an existing list of {@link duke.task.DukeTask}.
      * @param ui Instance of {@link DukeUiMessages} which will show output to the user.
@@ -16,6 +20,13 @@ public class DukeCommandExit extends DukeCommand {
      */
     @Override
     public void execute(DukeTaskList tasks, DukeUiMessages ui, DukeStorage storage) {
+        try {
+            storage.flush();
+        } catch (DukeStorageLockedException ex) {
+            ui.displayFileLockedError();
+        } catch (IOException ex) {
+            ui.displayFileLoadingError();
+        }
         ui.displayTerminateMessage();
         System.exit(0);
     }
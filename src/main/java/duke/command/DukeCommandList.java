@@ -2,6 +2,7 @@ package duke.command;
 
 import duke.command.list.DukeCommandListAll;
 import duke.command.list.DukeCommandListFind;
+import duke.command.list.DukeCommandListHistory;
 import duke.command.list.DukeCommandListReminders;
 import duke.util.DukeStorage;
 import duke.util.DukeTaskList;
@@ -30,6 +31,8 @@ public class DukeCommandList extends DukeCommand {
             new DukeCommandListFind(inputTokens).execute(tasks, ui, storage);
         } else if (inputTokens[0].toLowerCase().equals("reminders")) {
             new DukeCommandListReminders(inputTokens).execute(tasks, ui, storage);
+        } else if (inputTokens[0].toLowerCase().equals("history")) {
+            new DukeCommandListHistory(inputTokens).execute(tasks, ui, storage);
         }
     }
 }
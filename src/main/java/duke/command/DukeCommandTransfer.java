@@ -0,0 +1,43 @@
+package duke.command;
+
+import duke.command.transfer.DukeCommandTransferExport;
+import duke.command.transfer.DukeCommandTransferImport;
+import duke.util.DukeStorage;
+import duke.util.DukeTaskList;
+import duke.util.ui.DukeUiMessages;
+
+import java.util.Arrays;
+
+public class DukeCommandTransfer extends DukeCommand {
+
+    protected String[] inputTokens;
+
+    public DukeCommandTransfer(String[] inputTokens) {
+        this.inputTokens = inputTokens;
+    }
+
+    /**
+     * Gets the path of the file to transfer, which is everything after the command, so that it may hold spaces.
+     *
+     * @return Path to the file, or an empty String if it is missing.
+     */
+    protected String getFilePath() {
+        return String.join(" ", Arrays.asList(inputTokens).subList(1, inputTokens.length)).trim();
+    }
+
+    /**
+     * This method will import {@link duke.task.DukeTask} into, or export them from, {@link DukeTaskList}.
+     *
+     * @param tasks Instance of {@link DukeTaskList} which contains an existing list of {@link duke.task.DukeTask}.
+     * @param ui Instance of {@link DukeUiMessages} which will show output to the user.
+     * @param storage Instance of {@link DukeStorage} which will save the {@link DukeTaskList} to the hard disk.
+     */
+    @Override
+    public void execute(DukeTaskList tasks, DukeUiMessages ui, DukeStorage storage) {
+        if (inputTokens[0].toLowerCase().equals("import")) {
+            new DukeCommandTransferImport(inputTokens).execute(tasks, ui, storage);
+        } else if (inputTokens[0].toLowerCase().equals("export")) {
+            new DukeCommandTransferExport(inputTokens).execute(tasks, ui, storage);
+        }
+    }
+}
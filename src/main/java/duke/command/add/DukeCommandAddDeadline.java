@@ -41,9 +41,9 @@ public class DukeCommandAddDeadline extends DukeCommandAdd {
                     (inputTokens.length - 1));
             try {
                 DukeTaskDeadline dukeDeadline = new DukeTaskDeadline(deadlineTaskName,
-                        DukeParser.formatDate(deadlineParameterString));
+                        DukeParser.parseDate(deadlineParameterString));
                 tasks.addToDukeTasks(dukeDeadline, ui, storage);
-                tasks.initDeadlines();
+                tasks.initDeadlines(storage);
             } catch (DateTimeParseException ex) {
                 ui.displayInvalidDateFormat();
             }
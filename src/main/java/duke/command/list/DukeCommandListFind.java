@@ -31,7 +31,7 @@ public class DukeCommandListFind extends DukeCommandList {
         } else {
             assert inputTokens.length > 1;
             String searchTerms = DukeParser.concatStringTokens(inputTokens, 1, (inputTokens.length - 1));
-            tasks.findDukeTasks(searchTerms, ui);
+            tasks.findDukeTasks(searchTerms, ui, storage);
         }
     }
 }
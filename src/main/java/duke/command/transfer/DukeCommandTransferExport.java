@@ -0,0 +1,35 @@
+package duke.command.transfer;
+
+import duke.command.DukeCommandTransfer;
+import duke.util.DukeStorage;
+import duke.util.DukeTaskList;
+import duke.util.ui.DukeUiMessages;
+
+public class DukeCommandTransferExport extends DukeCommandTransfer {
+
+    /**
+     * Constructor that takes in the user input split by the " " delimiter into a String[].
+     *
+     * @param inputTokens User entered line split by a space delimiter.
+     */
+    public DukeCommandTransferExport(String[] inputTokens) {
+        super(inputTokens);
+    }
+
+    /**
+     * Calls the method to export user tasks into the specified CSV or JSON-lines file.
+     *
+     * @param tasks Instance of {@link DukeTaskList} which contains an existing list of {@link duke.task.DukeTask}.
+     * @param ui Instance of {@link DukeUiMessages} which will show output to the user.
+     * @param storage Instance of {@link DukeStorage} which will save the {@link DukeTaskList} to the hard disk.
+     */
+    @Override
+    public void execute(DukeTaskList tasks, DukeUiMessages ui, DukeStorage storage) {
+        String filePath = getFilePath();
+        if (filePath.isEmpty()) {
+            ui.displayMissingFilePath();
+        } else {
+            tasks.exportDukeTasks(filePath, ui);
+        }
+    }
+}
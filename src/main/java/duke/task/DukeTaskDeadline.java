@@ -1,19 +1,56 @@
 package duke.task;
 
+import duke.util.DukeParser;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+
+/**
+ * Task that is due by a date-time. The deadline is held as a LocalDateTime, which reminders are computed from, and
+ * is only formatted into the output format of {@link DukeParser} the first time it is displayed or saved. A deadline
+ * read from a data file is held as that String instead, and is only parsed the first time it is needed, so that
+ * loading a data file never parses a deadline.
+ */
 public class DukeTaskDeadline extends DukeTask {
 
     private String taskDeadline;
+    private LocalDateTime deadlineDateTime;
+    private boolean isParsed;
+
+    /**
+     * Constructor sets the Task description and the deadline. The taskType is set to "D".
+     *
+     * @param taskName Task description of the {@link DukeTask}
+     * @param deadlineDateTime Date-time the Task is due by.
+     */
+    public DukeTaskDeadline(String taskName, LocalDateTime deadlineDateTime) {
+        this(taskName, false, deadlineDateTime);
+    }
 
     /**
-     * Constructor sets the Task description and the deadline. The deadline must be formatted like: "d/m/yyyy HHmm"
-     * The taskType is set to "D".
+     * Constructor that takes in the task name followed by a boolean whether a task is complete, followed by the
+     * date-time the task is due by.
+     *
+     * @param taskName Task description of the {@link DukeTask}
+     * @param isComplete if the task is complete or not.
+     * @param deadlineDateTime Date-time the Task is due by.
+     */
+    public DukeTaskDeadline(String taskName, boolean isComplete, LocalDateTime deadlineDateTime) {
+        super(taskName, isComplete, "D");
+        this.deadlineDateTime = deadlineDateTime;
+        this.isParsed = true;
+    }
+
+    /**
+     * Constructor sets the Task description and the deadline. The deadline must be formatted like:
+     * "ddth of MMMM uuuu, h:mma". The taskType is set to "D".
      *
      * @param taskName Task description of the {@link DukeTask}
      * @param taskDeadline String containing the Task deadline in the required format.
      */
     public DukeTaskDeadline(String taskName, String taskDeadline) {
-        super(taskName, "D");
-        this.taskDeadline = taskDeadline;
+        this(taskName, false, taskDeadline);
     }
 
     /**
@@ -30,14 +67,35 @@ public class DukeTaskDeadline extends DukeTask {
     }
 
     /**
-     * Gets the deadline String of this deadline task.
+     * Gets the deadline String of this deadline task, formatting it the first time.
      *
-     * @return String containing the deadline in the format "d/m/yyyy HHmm".
+     * @return String containing the deadline in the format "ddth of MMMM uuuu, h:mma".
      */
     public String getTaskDeadline() {
+        if (taskDeadline == null) {
+            taskDeadline = deadlineDateTime.format(DukeParser.getOutputDateTimeFormatter());
+        }
         return this.taskDeadline;
     }
 
+    /**
+     * Gets the date-time this deadline task is due by, parsing its deadline String the first time.
+     *
+     * @return Date-time of the deadline, or Optional.empty() if the deadline String is not in the output format of
+     *     {@link DukeParser}, e.g. in a data file that was edited by hand.
+     */
+    public Optional<LocalDateTime> getDeadlineDateTime() {
+        if (!isParsed) {
+            try {
+                deadlineDateTime = LocalDateTime.parse(taskDeadline, DukeParser.getOutputDateTimeFormatter());
+            } catch (DateTimeParseException ex) {
+                deadlineDateTime = null;
+            }
+            isParsed = true;
+        }
+        return Optional.ofNullable(deadlineDateTime);
+    }
+
     /**
      * Prints out this deadline Task in the format.
      * [D][x] taskName (by: taskDeadline)
@@ -48,7 +106,7 @@ public class DukeTaskDeadline extends DukeTask {
     public String toString() {
         assert !getTaskType().equals("");
         String symbol = getTaskIsComplete() ? "✓" : "✗";
-        return "[" + getTaskType() + "][" + symbol + "] " + getTaskName() + " (by: " + this.taskDeadline + ")";
+        return "[" + getTaskType() + "][" + symbol + "] " + getTaskName() + " (by: " + getTaskDeadline() + ")";
     }
 
 }
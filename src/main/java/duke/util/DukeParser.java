@@ -5,6 +5,7 @@ import duke.command.DukeCommandAdd;
 import duke.command.DukeCommandClear;
 import duke.command.DukeCommandExit;
 import duke.command.DukeCommandList;
+import duke.command.DukeCommandTransfer;
 import duke.command.DukeCommandUpdate;
 import duke.util.ui.DukeUiMessages;
 
@@ -22,8 +23,16 @@ public class DukeParser {
     public static final String DUKE_DATETIME_INPUT_FORMAT = "d/M/yyyy HHmm";
     public static final String DUKE_DATETIME_OUTPUT_FORMAT = "MMMM uuuu, h:mma";
 
+    private static final DateTimeFormatter INPUT_DATETIME_FORMATTER =
+            DateTimeFormatter.ofPattern(DUKE_DATETIME_INPUT_FORMAT);
+    private static final DateTimeFormatter OUTPUT_DATETIME_FORMATTER = new DateTimeFormatterBuilder()
+            .appendText(ChronoField.DAY_OF_MONTH, getOrdinalNumbersList())
+            .appendLiteral(" of ")
+            .appendPattern(DUKE_DATETIME_OUTPUT_FORMAT)
+            .toFormatter();
+
     private enum DukeCommandEnum {
-        BYE, CLEAR, DEADLINE, DELETE, DONE, EVENT, FIND, LIST, REMINDERS, TODO
+        BYE, CLEAR, DEADLINE, DELETE, DONE, EVENT, EXPORT, FIND, HISTORY, IMPORT, LIST, REMINDERS, TODO
     }
 
     /**
@@ -59,19 +68,32 @@ public class DukeParser {
      * @throws DateTimeParseException If the input String does not match the required format.
      */
     public static String formatDate(String input) throws DateTimeParseException {
-        assert !input.equals("");
+        return parseDate(input).format(getOutputDateTimeFormatter());
+    }
 
-        Map<Long, String> ordinalNumbers = getOrdinalNumbersList();
+    /**
+     * Takes a input String date-time in the format {@link #DUKE_DATETIME_INPUT_FORMAT} and creates a LocalDateTime
+     * object, which a {@link duke.task.DukeTaskDeadline} is created with.
+     *
+     * @param input Date-time String in the format "d/MM/uuuu HHmm". E.g. "2/12/2019 1800".
+     * @return Parsed date-time.
+     * @throws DateTimeParseException If the input String does not match the required format.
+     */
+    public static LocalDateTime parseDate(String input) throws DateTimeParseException {
+        assert !input.equals("");
 
-        DateTimeFormatter dayOfMonthFormatter = new DateTimeFormatterBuilder()
-                .appendText(ChronoField.DAY_OF_MONTH, ordinalNumbers)
-                .appendLiteral(" of ")
-                .appendPattern(DUKE_DATETIME_OUTPUT_FORMAT)
-                .toFormatter();
+        return LocalDateTime.parse(input, INPUT_DATETIME_FORMATTER);
+    }
 
-        DateTimeFormatter dateTimeFormat = DateTimeFormatter.ofPattern(DUKE_DATETIME_INPUT_FORMAT);
-        LocalDateTime inputDateTime = LocalDateTime.parse(input, dateTimeFormat);
-        return inputDateTime.format(dayOfMonthFormatter);
+    /**
+     * Gets the formatter for date-time Strings returned by {@link #formatDate(String)}, which is also used to parse
+     * the deadline of a {@link duke.task.DukeTaskDeadline} back into a LocalDateTime object. The formatter is
+     * immutable, so the same one is shared by every caller instead of being built again.
+     *
+     * @return Formatter for the format "ddth of MMMM uuuu, h:mma".
+     */
+    public static DateTimeFormatter getOutputDateTimeFormatter() {
+        return OUTPUT_DATETIME_FORMATTER;
     }
 
     /**
@@ -113,8 +135,9 @@ public class DukeParser {
     /**
      * Checks the user input to determine the course of action depending on the command. If the command is to "TODO/
      * DEADLINE/EVENT", a {@link DukeCommandAdd} class will be instantiated and returned. If the command is to "DONE/
-     * DELETE", a {@link DukeCommandUpdate} class will be instantiated and returned. If the command is to "LIST/FIND", a
-     * {@link DukeCommandList} class will be instantiated and returned. If the command is to "BYE", a
+     * DELETE", a {@link DukeCommandUpdate} class will be instantiated and returned. If the command is to "LIST/FIND/
+     * HISTORY", a {@link DukeCommandList} class will be instantiated and returned. If the command is to "IMPORT/
+     * EXPORT", a {@link DukeCommandTransfer} class will be instantiated and returned. If the command is to "BYE", a
      * {@link DukeCommandExit} class will be instantiated and returned. An Optional.empty() will be returned if the
      *     user input cannot be parsed.
      *
@@ -143,7 +166,12 @@ public class DukeParser {
             case DONE:
                 return Optional.of(new DukeCommandUpdate(inputTokens));
 
+            case EXPORT:
+            case IMPORT:
+                return Optional.of(new DukeCommandTransfer(inputTokens));
+
             case FIND:
+            case HISTORY:
             case LIST:
             case REMINDERS:
                 return Optional.of(new DukeCommandList(inputTokens));
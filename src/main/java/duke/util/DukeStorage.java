@@ -4,24 +4,78 @@ import duke.task.DukeTask;
 import duke.task.DukeTaskDeadline;
 import duke.task.DukeTaskEvent;
 import duke.task.DukeTaskToDo;
+import duke.util.storage.DukeStorageArchive;
+import duke.util.storage.DukeStorageBackend;
+import duke.util.storage.DukeStorageBinaryBackend;
+import duke.util.storage.DukeStorageBinaryFormat;
+import duke.util.storage.DukeStorageChange;
+import duke.util.storage.DukeStorageColumnarBackend;
+import duke.util.storage.DukeStorageColumnarFormat;
+import duke.util.storage.DukeStorageCompressedBackend;
+import duke.util.storage.DukeStorageCompressedFormat;
+import duke.util.storage.DukeStorageDurability;
+import duke.util.storage.DukeStorageFileBackend;
+import duke.util.storage.DukeStorageJournal;
+import duke.util.storage.DukeStorageKnownTasks;
+import duke.util.storage.DukeStorageLazyTaskList;
+import duke.util.storage.DukeStorageLock;
+import duke.util.storage.DukeStorageLsmBackend;
+import duke.util.storage.DukeStorageMemoryBackend;
+import duke.util.storage.DukeStoragePersister;
+import duke.util.storage.DukeStorageQuarantine;
+import duke.util.storage.DukeStorageSnapshotStats;
+import duke.util.storage.DukeStorageSqlBackend;
+import duke.util.storage.DukeStorageStringTable;
+import duke.util.storage.DukeStorageTextBackend;
+import duke.util.storage.DukeStorageType;
+import duke.util.storage.DukeStorageWatcher;
 import duke.util.ui.DukeUiMessages;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.time.LocalDateTime;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
+/**
+ * Saves and loads the list of {@link DukeTask} through a {@link DukeStorageBackend}, chosen by a
+ * {@link DukeStorageType}. Write-behind through a {@link DukeStoragePersister} is applied here, on top of the
+ * backend.
+ * Every read and write of a data file is made while holding its {@link DukeStorageLock}, so that several Duke
+ * instances can share the same data file. Writes are optimistic: the lock is only taken for the write itself, and if
+ * the version stamp shows that another instance has written the data file since it was last read or written here,
+ * the write is rebased instead, through {@link #rebase(List)}, rather than overwriting the other instance's changes.
+ */
 public class DukeStorage {
 
-    private BufferedReader taskFileInputBuffer;
-    private BufferedWriter taskFileOutputBuffer;
-    private File file;
+    public static final String DUKE_TEMPORARY_FILE_SUFFIX = ".tmp";
+
+    private DukeStorageBackend backend;
+    private DukeStoragePersister persister;
+    private DukeStorageArchive archive;
+    private DukeStorageLock lock;
     private String taskFilePath;
+    private DukeStorageKnownTasks knownTasks;
+    private long knownVersion;
+    private volatile boolean isRebaseNeeded;
+    private volatile int rebaseCount;
+    private List<DukeTask> dirtyTasks;
+
+    /**
+     * Write made to the data file while holding its {@link DukeStorageLock}.
+     */
+    private interface DukeStorageWrite {
+        /**
+         * Writes to the data file.
+         *
+         * @return true if the data file was written, or false if the write could not be made.
+         * @throws IOException If the data file cannot be written.
+         */
+        boolean write() throws IOException;
+    }
 
     /**
      * This constructor takes in the path of the data file stored on the hard disk.
@@ -29,69 +83,279 @@ public class DukeStorage {
      * @param filePath Relative/Full path to the data file.
      */
     public DukeStorage(String filePath) throws NullPointerException {
-        this.file = new File(filePath);
-        this.taskFilePath = filePath;
+        this(filePath, false);
     }
 
     /**
-     * Initializes the BufferedReader object to prepare for reading from the specified file in {@link #file}. If
-     * the data file does not exist, create it along with the necessary folders.
+     * This constructor takes in the path of the data file stored on the hard disk, and whether mutations should be
+     * appended to a {@link DukeStorageJournal} instead of rewriting the entire data file each time. The journal is
+     * folded back into the data file in the background by a {@link duke.util.storage.DukeStorageCompactor}.
      *
-     * @throws IOException File parsing error.
+     * @param filePath Relative/Full path to the data file.
+     * @param isJournaled true if mutations should be appended to a journal next to the data file.
+     */
+    public DukeStorage(String filePath, boolean isJournaled) throws NullPointerException {
+        this(filePath, isJournaled, DukeStorageDurability.SYNC);
+    }
+
+    /**
+     * This constructor takes in the path of the data file stored on the hard disk, whether mutations should be
+     * appended to a {@link DukeStorageJournal}, and the {@link DukeStorageDurability} level applied to every write.
+     *
+     * @param filePath Relative/Full path to the data file.
+     * @param isJournaled true if mutations should be appended to a journal next to the data file.
+     * @param durability How hard each write tries to reach the disk before returning.
+     */
+    public DukeStorage(String filePath, boolean isJournaled, DukeStorageDurability durability)
+            throws NullPointerException {
+        this(filePath, isJournaled, durability, false);
+    }
+
+    /**
+     * This constructor takes in the path of the data file stored on the hard disk, whether mutations should be
+     * appended to a {@link DukeStorageJournal}, the {@link DukeStorageDurability} level applied to every write, and
+     * whether saves of the entire List should be handed off to a {@link DukeStoragePersister}. The data file is
+     * written in the {@link DukeStorageBinaryFormat} if its name ends with
+     * {@link DukeStorageBinaryFormat#DUKE_BINARY_FILE_EXTENSION}, in the {@link DukeStorageCompressedFormat} if it ends
+     * with {@link DukeStorageCompressedFormat#DUKE_COMPRESSED_FILE_EXTENSION}, and in the text format otherwise.
+     *
+     * @param filePath Relative/Full path to the data file.
+     * @param isJournaled true if mutations should be appended to a journal next to the data file.
+     * @param durability How hard each write tries to reach the disk before returning.
+     * @param isWriteBehind true if saves should be collapsed and performed on a background thread.
+     */
+    public DukeStorage(String filePath, boolean isJournaled, DukeStorageDurability durability,
+            boolean isWriteBehind) throws NullPointerException {
+        this(getStorageType(filePath), filePath, isJournaled, durability, isWriteBehind);
+    }
+
+    /**
+     * Chooses the {@link DukeStorageType} of a data file by the extension of its name.
+     *
+     * @param filePath Relative/Full path to the data file.
+     * @return Binary or compressed storage if the name ends with their extension, and text storage otherwise.
      */
-    private void initializeFileInputStream() throws IOException {
-        if (!file.exists()) {
-            file.createNewFile();
+    private static DukeStorageType getStorageType(String filePath) {
+        if (DukeStorageBinaryFormat.isBinaryPath(filePath)) {
+            return DukeStorageType.BINARY;
+        } else if (DukeStorageCompressedFormat.isCompressedPath(filePath)) {
+            return DukeStorageType.COMPRESSED;
         }
-        taskFileInputBuffer = new BufferedReader(new FileReader(file));
+        return DukeStorageType.TEXT;
     }
 
     /**
-     * Initializes the BufferedWriter object to prepare for writing to the specified file in {@link #file}.
+     * This constructor takes in the {@link DukeStorageType} of backend to use, and how it should save. The path,
+     * journaling and durability level are ignored by the {@link DukeStorageType#MEMORY} backend.
      *
-     * @throws IOException If there are any errors like insufficient permissions, file not found or other file errors.
+     * @param storageType Backend to keep the tasks in.
+     * @param filePath Relative/Full path to the data file.
+     * @param isJournaled true if mutations should be appended to a journal next to the data file.
+     * @param durability How hard each write tries to reach the disk before returning.
+     * @param isWriteBehind true if saves should be collapsed and performed on a background thread.
      */
-    private void initializeFileOutputStream() throws IOException {
-        taskFileOutputBuffer = new BufferedWriter(new FileWriter(file, false));
+    public DukeStorage(DukeStorageType storageType, String filePath, boolean isJournaled,
+            DukeStorageDurability durability, boolean isWriteBehind) throws NullPointerException {
+        this(createBackend(storageType, filePath, isJournaled, durability), isWriteBehind);
     }
 
     /**
-     * Reads the specified file in {@link #file} and initializes a List&lt;duke.task.DukeTask&gt;
-     * object to be returned.
+     * This constructor takes in an already created {@link DukeStorageBackend}, e.g. a
+     * {@link DukeStorageMemoryBackend} holding tasks prepared by a benchmark. Write-behind only applies when the
+     * backend is not journaled, since journaled mutations only append a single record and the journal is already
+     * compacted in the background.
      *
-     * @param ui Instance of {@link DukeUiMessages} which will show output to the user.
-     * @return An initialized List of duke.task.DukeTask objects, can be an empty List if there are no
-     *     tasks in the read file.
-     * @throws IOException File parsing error.
+     * @param backend Backend to keep the tasks in.
+     * @param isWriteBehind true if saves should be collapsed and performed on a background thread.
      */
-    private List<DukeTask> readDukeTasks(DukeUiMessages ui) throws IOException {
-        List<DukeTask> userTasks = new ArrayList<>();
-        String line;
-        while ((line = taskFileInputBuffer.readLine()) != null) { //readLine until EOF
-            Optional<DukeTask> readTask = processReadTask(line);
+    public DukeStorage(DukeStorageBackend backend, boolean isWriteBehind) {
+        this.backend = backend;
+        this.knownTasks = new DukeStorageKnownTasks();
+        if (backend instanceof DukeStorageFileBackend) {
+            this.lock = ((DukeStorageFileBackend) backend).getLock();
+            this.taskFilePath = ((DukeStorageFileBackend) backend).getTaskFilePath();
+            this.archive = new DukeStorageArchive(taskFilePath);
+        }
+        if (isWriteBehind && !backend.isJournaled() && !(backend instanceof DukeStorageMemoryBackend)) {
+            this.persister = new DukeStoragePersister(this);
+        }
+    }
 
-            if (!readTask.isEmpty()) {
-                userTasks.add(readTask.get());
-            } else {
-                ui.displayUnknownTask();
-            }
+    /**
+     * Creates the {@link DukeStorageBackend} selected by a {@link DukeStorageType}.
+     *
+     * @param storageType Backend to create.
+     * @param filePath Relative/Full path to the data file.
+     * @param isJournaled true if mutations should be appended to a journal next to the data file.
+     * @param durability How hard each write tries to reach the disk before returning.
+     * @return Created backend.
+     */
+    private static DukeStorageBackend createBackend(DukeStorageType storageType, String filePath,
+            boolean isJournaled, DukeStorageDurability durability) {
+        switch (storageType) {
+        case BINARY:
+            return new DukeStorageBinaryBackend(filePath, isJournaled, durability);
+
+        case MEMORY:
+            return new DukeStorageMemoryBackend();
+
+        case LSM:
+            return new DukeStorageLsmBackend(filePath, durability);
+
+        case SQL:
+            return new DukeStorageSqlBackend(filePath);
+
+        case COLUMNAR:
+            return new DukeStorageColumnarBackend(filePath, isJournaled, durability);
+
+        case COMPRESSED:
+            return new DukeStorageCompressedBackend(filePath, isJournaled, durability);
+
+        default:
+            return new DukeStorageTextBackend(filePath, isJournaled, durability);
+        }
+    }
+
+    /**
+     * Gets the sizes and timings of the {@link DukeStorageCompressedFormat} snapshots saved and loaded by a file
+     * backend, so that the compression ratio can be weighed against the time it costs.
+     *
+     * @return Snapshot statistics, or Optional.empty() if no compressed snapshot has been saved or loaded yet.
+     */
+    public Optional<DukeStorageSnapshotStats> getSnapshotStats() {
+        if (!(backend instanceof DukeStorageFileBackend)) {
+            return Optional.empty();
         }
-        return userTasks;
+        DukeStorageSnapshotStats stats = ((DukeStorageFileBackend) backend).getSnapshotStats();
+        return stats.hasSaved() || stats.hasLoaded() ? Optional.of(stats) : Optional.empty();
     }
 
     /**
-     * Loads the data file and reads it, initializing a List&lt;duke.task.DukeTask&gt; to be returned to the caller.
-     * This List will be populated with {@link duke.task.DukeTask} from the data file.
+     * Loads every {@link DukeTask} from the backend. See {@link duke.util.storage.DukeStorageFileBackend#load} for how
+     * a data file is read.
      *
      * @param ui Instance of {@link DukeUiMessages} which will show output to the user.
-     * @return Optional&lt;duke.task.DukeTask&gt; which could be Optional.empty() if there are file parsing errors.
+     * @return List&lt;duke.task.DukeTask&gt; which can be empty if there are no saved tasks.
      * @throws IOException File parsing error.
      */
     public List<DukeTask> load(DukeUiMessages ui) throws IOException {
-        initializeFileInputStream();
-        List<DukeTask> retrievedTasks = readDukeTasks(ui);
-        taskFileInputBuffer.close();
-        return retrievedTasks;
+        return readShared(ui, false);
+    }
+
+    /**
+     * Loads every {@link DukeTask} from the backend, decoding them only when they are first accessed if the backend
+     * supports it. The text backend returns a {@link DukeStorageLazyTaskList} for a journaled data file.
+     *
+     * @param ui Instance of {@link DukeUiMessages} which will show output to the user.
+     * @return List&lt;duke.task.DukeTask&gt; which can be empty if there are no saved tasks.
+     * @throws IOException File parsing error.
+     */
+    public List<DukeTask> loadLazily(DukeUiMessages ui) throws IOException {
+        return readShared(ui, true);
+    }
+
+    /**
+     * Loads every {@link DukeTask} from the backend while holding the {@link DukeStorageLock} of the data file, and
+     * remembers the version and the tasks that were read.
+     *
+     * @param ui Instance of {@link DukeUiMessages} which will show output to the user.
+     * @param isLazy true if the tasks should only be decoded when they are first accessed.
+     * @return List&lt;duke.task.DukeTask&gt; which can be empty if there are no saved tasks.
+     * @throws IOException File parsing error.
+     */
+    private synchronized List<DukeTask> readShared(DukeUiMessages ui, boolean isLazy) throws IOException {
+        if (lock == null) {
+            return isLazy ? backend.loadLazily(ui) : backend.load(ui);
+        }
+        long version = lock.lock();
+        try {
+            List<DukeTask> userTasks = isLazy ? backend.loadLazily(ui) : backend.load(ui);
+            knownVersion = version;
+            knownTasks.capture(userTasks);
+            return userTasks;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Moves the old completed tasks out of the List&lt;duke.task.DukeTask&gt; and into the
+     * {@link DukeStorageArchive} of the data file, and saves the remaining tasks. See
+     * {@link DukeStorageArchive#findColdTasks(List)} for which tasks are moved. Only data files have an archive.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; that was just loaded, which will be updated in place.
+     * @return Number of tasks that were moved to the archive.
+     * @throws IOException If the archive or the data file cannot be written.
+     */
+    public int archiveCompletedTasks(List<DukeTask> userTasks) throws IOException {
+        if (archive == null) {
+            return 0;
+        }
+        int[] archivedCount = new int[1];
+        writeShared(userTasks, () -> {
+            BitSet coldIndexes = archive.findColdTasks(userTasks);
+            if (coldIndexes.isEmpty()) {
+                return false;
+            }
+            archive.archive(userTasks, coldIndexes);
+            archivedCount[0] = coldIndexes.cardinality();
+            return saveTasks(userTasks);
+        });
+        return archivedCount[0];
+    }
+
+    /**
+     * Reads every task moved to the {@link DukeStorageArchive} of the data file back, oldest first. The archived
+     * tasks are not kept in memory afterwards. Archived records that cannot be read are moved to the quarantine side
+     * file of the data file.
+     *
+     * @param ui Instance of {@link DukeUiMessages} which will show output to the user.
+     * @return List&lt;duke.task.DukeTask&gt; which can be empty if nothing has been archived.
+     * @throws IOException If the archive cannot be read.
+     */
+    public List<DukeTask> loadArchivedTasks(DukeUiMessages ui) throws IOException {
+        if (archive == null) {
+            return List.of();
+        }
+        DukeStorageQuarantine quarantine = new DukeStorageQuarantine();
+        List<DukeTask> archivedTasks;
+        lock.lock();
+        try {
+            archivedTasks = archive.load(quarantine);
+        } finally {
+            lock.unlock();
+        }
+        if (quarantine.getRecordCount() > 0) {
+            ui.displaySkippedRecords(quarantine.getRecordCount(), quarantine.write(taskFilePath));
+        }
+        return archivedTasks;
+    }
+
+    /**
+     * Starts watching the data file for changes made outside of Duke through a {@link DukeStorageWatcher}. Only text
+     * data files are watched, since those are the ones edited by hand. Writes made by the backend itself are made
+     * through the watcher, so that they are skipped, and do not replace a change the watcher has yet to hand over.
+     *
+     * @param executor Executor the listener is run on, e.g. the UI thread.
+     * @param listener Listener that applies every {@link DukeStorageChange} to the list of tasks.
+     * @return Started watcher, or Optional.empty() if the backend does not keep the tasks in a text data file.
+     * @throws IOException If the data file cannot be read, or its directory cannot be watched.
+     */
+    public Optional<DukeStorageWatcher> watch(Executor executor, Consumer<DukeStorageChange> listener)
+            throws IOException {
+        if (!(backend instanceof DukeStorageTextBackend)) {
+            return Optional.empty();
+        }
+        DukeStorageTextBackend textBackend = (DukeStorageTextBackend) backend;
+        File file = new File(textBackend.getTaskFilePath());
+        if (DukeStorageBinaryFormat.hasBinaryHeader(file) || DukeStorageColumnarFormat.hasColumnarHeader(file)
+                || DukeStorageCompressedFormat.hasCompressedHeader(file)) {
+            return Optional.empty();
+        }
+        DukeStorageWatcher watcher = new DukeStorageWatcher(textBackend.getTaskFilePath(), executor, listener);
+        textBackend.setWatcher(watcher);
+        watcher.start();
+        return Optional.of(watcher);
     }
 
     /**
@@ -101,7 +365,23 @@ public class DukeStorage {
      * @return Optional&lt;duke.task.DukeTask&gt; which could be Optional.empty() if the String has an unexpected
      *     formatting.
      */
-    private Optional<DukeTask> processReadTask(String line) throws IOException {
+    public static Optional<DukeTask> processReadTask(String line) throws IOException {
+        return processReadTask(line, null);
+    }
+
+    /**
+     * Takes in a line read from the data file and determines what duke.task.DukeTask should be re-constructed, like
+     * {@link #processReadTask(String)}. The name, deadline and location are interned in a
+     * {@link DukeStorageStringTable}, so that tasks loaded together share repeated Strings.
+     *
+     * @param line A single line from the data file.
+     * @param stringTable {@link DukeStorageStringTable} to intern Strings in, or null if they should not be interned.
+     * @return Optional&lt;duke.task.DukeTask&gt; which could be Optional.empty() if the String has an unexpected
+     *     formatting.
+     * @throws IOException If the line has too few fields.
+     */
+    public static Optional<DukeTask> processReadTask(String line, DukeStorageStringTable stringTable)
+            throws IOException {
         DukeTask task;
         String[] lineTokens = line.split(" \\| ");
 
@@ -110,15 +390,23 @@ public class DukeStorage {
         }
 
         String taskType = lineTokens[0];
+        if (lineTokens.length < 4 && (taskType.equals("D") || taskType.equals("E"))) {
+            throw new IOException();
+        }
         boolean isComplete = lineTokens[1].equals("1") ? true : false;
         String taskName = lineTokens[2];
+        String taskConstraint = lineTokens.length > 3 ? lineTokens[3] : "";
+        if (stringTable != null) {
+            taskName = stringTable.intern(taskName);
+            taskConstraint = stringTable.intern(taskConstraint);
+        }
 
         if (taskType.equals("T")) {
             task = new DukeTaskToDo(taskName, isComplete);
         } else if (taskType.equals("D")) {
-            task = new DukeTaskDeadline(taskName, isComplete, lineTokens[3]);
+            task = new DukeTaskDeadline(taskName, isComplete, taskConstraint);
         } else if (taskType.equals("E")) {
-            task = new DukeTaskEvent(taskName, isComplete, lineTokens[3]);
+            task = new DukeTaskEvent(taskName, isComplete, taskConstraint);
         } else {
             return Optional.empty();
         }
@@ -133,7 +421,7 @@ public class DukeStorage {
      * @param task {@link DukeTask} object to save to file as a String.
      * @return Formatted String to be written to the file.
      */
-    private String processWriteTask(DukeTask task) {
+    public static String processWriteTask(DukeTask task) {
         int taskComplete = task.getTaskIsComplete() ? 1 : 0;
         String taskConstraint = "";
         String writtenString = "";
@@ -153,29 +441,294 @@ public class DukeStorage {
     }
 
     /**
-     * Saves the List&lt;duke.task.DukeTask&gt; into the data file. Saving process is opening the target data file for
-     * writing without append option, meaning the file will be reset each time.
+     * Saves the List&lt;duke.task.DukeTask&gt; through the backend. If write-behind is enabled, the List is only
+     * marked as dirty and this method returns right away, unless a save in the background found that another Duke
+     * instance has written the data file, in which case the List is rebased on the calling thread.
      *
-     * @param userTasks List&lt;duke.task.DukeTask&gt; to be written to the data file in String format.
+     * @param userTasks List&lt;duke.task.DukeTask&gt; to be saved.
      * @throws IOException File parsing error.
      */
     public void save(List<DukeTask> userTasks) throws IOException {
-        initializeFileOutputStream();
-        writeDukeTasks(userTasks);
-        taskFileOutputBuffer.close();
+        if (persister == null) {
+            writeShared(userTasks, () -> saveTasks(userTasks));
+        } else if (isRebaseNeeded) {
+            persister.flush();
+            isRebaseNeeded = false;
+            writeShared(userTasks, () -> saveTasks(userTasks));
+        } else {
+            dirtyTasks = userTasks;
+            persister.markDirty(userTasks);
+        }
+    }
+
+    /**
+     * Saves the List&lt;duke.task.DukeTask&gt; through the backend on the calling thread, bypassing write-behind.
+     * This is what the {@link DukeStoragePersister} calls in the background, with a copy of the List. Since the copy
+     * cannot be rebased, the save is skipped if another Duke instance has written the data file, and the List is
+     * rebased by the next {@link #save(List)} or {@link #flush()} instead.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; to be saved.
+     * @throws IOException File parsing error.
+     */
+    public synchronized void saveNow(List<DukeTask> userTasks) throws IOException {
+        if (lock == null) {
+            backend.save(userTasks);
+            return;
+        }
+        long version = lock.lock();
+        try {
+            if (version != knownVersion) {
+                isRebaseNeeded = true;
+                return;
+            }
+            saveTasks(userTasks);
+            setKnownVersion(version + 1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Saves the entire List&lt;duke.task.DukeTask&gt; through the backend, and remembers the saved tasks. The tasks
+     * are remembered before they are written, since the only change a {@link DukeTask} can go through while it is
+     * written in the background is being marked as complete, which a rebase then finds as a change in this instance.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; to be saved.
+     * @return true, since the data file is always written.
+     * @throws IOException File parsing error.
+     */
+    private boolean saveTasks(List<DukeTask> userTasks) throws IOException {
+        synchronized (userTasks) {
+            knownTasks.capture(userTasks);
+        }
+        backend.save(userTasks);
+        return true;
+    }
+
+    /**
+     * Makes a write to the data file while holding its {@link DukeStorageLock}. If another Duke instance has written
+     * the data file since it was last read or written here, the write is not made, and the List is rebased instead
+     * through {@link #rebase(List)}, which also saves the change the write would have made. The version stamp is
+     * incremented whenever the data file is written.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; after the change to be written.
+     * @param write Write to make if the data file has not been written by another instance.
+     * @return true if the data file was written, or false if the write could not be made.
+     * @throws IOException If the data file cannot be read or written.
+     */
+    private synchronized boolean writeShared(List<DukeTask> userTasks, DukeStorageWrite write) throws IOException {
+        if (lock == null) {
+            return write.write();
+        }
+        long version = lock.lock();
+        try {
+            boolean isWritten;
+            if (version != knownVersion) {
+                rebase(userTasks);
+                isWritten = true;
+            } else {
+                isWritten = write.write();
+            }
+            if (isWritten) {
+                setKnownVersion(version + 1);
+            }
+            return isWritten;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Merges the changes another Duke instance has written to the data file into the List&lt;duke.task.DukeTask&gt;,
+     * and saves the merged List. The tasks in the data file are compared against the tasks that were last read or
+     * written here, and the tasks the other instance changed are applied to the List through
+     * {@link DukeStorageChange#applyTo(List)}. If the same tasks were also changed here, the List is kept as is, and
+     * the tasks the other instance wrote are moved to the quarantine side file instead. If the tasks were lazily
+     * loaded and are not known, every task in the data file is moved to the quarantine side file. The lock must be
+     * held.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; to rebase, which will be updated in place.
+     * @throws IOException If the data file cannot be read or written.
+     */
+    private void rebase(List<DukeTask> userTasks) throws IOException {
+        List<DukeTask> savedTasks = backend.load(null);
+        if (!knownTasks.isKnown()) {
+            new DukeStorageChange(0, new long[0], savedTasks, 0, taskFilePath).quarantineAddedTasks();
+        } else {
+            Optional<DukeStorageChange> change = knownTasks.diff(savedTasks, taskFilePath);
+            if (change.isPresent() && change.get().applyTo(userTasks) == DukeStorageChange.DUKE_CHANGE_CONFLICT) {
+                change.get().quarantineAddedTasks();
+            } else if (change.isPresent()) {
+                rebaseCount++;
+            }
+        }
+        saveTasks(userTasks);
+    }
+
+    /**
+     * Gets the number of times the changes of another Duke instance have been merged into the List, so that anything
+     * built from the List, e.g. a search index, can tell that it changed without going through
+     * {@link DukeTaskList}.
+     *
+     * @return Number of rebases that changed the List.
+     */
+    public int getRebaseCount() {
+        return this.rebaseCount;
+    }
+
+    /**
+     * Stores a new version stamp for the data file that was just written. The lock must be held.
+     *
+     * @param version New version of the data file.
+     * @throws IOException If the version stamp cannot be written.
+     */
+    private void setKnownVersion(long version) throws IOException {
+        lock.setVersion(version);
+        knownVersion = version;
+    }
+
+    /**
+     * Finds the tasks whose name contains the search terms through the backend. See
+     * {@link DukeStorageBackend#findTasks(String)}.
+     *
+     * @param searchTerms Substring to search for in the name of every task.
+     * @return Zero-based indexes of the matching tasks, or Optional.empty() if the List should be scanned instead.
+     * @throws IOException If the saved tasks cannot be queried.
+     */
+    public Optional<List<Integer>> findTasks(String searchTerms) throws IOException {
+        return backend.findTasks(searchTerms);
+    }
+
+    /**
+     * Finds the incomplete deadlines due in a range through the backend. See
+     * {@link DukeStorageBackend#findIncompleteDeadlines(LocalDateTime, LocalDateTime)}.
+     *
+     * @param from Start of the range, inclusive.
+     * @param to End of the range, exclusive.
+     * @return Zero-based indexes of the matching deadlines, or Optional.empty() if the List should be scanned instead.
+     * @throws IOException If the saved tasks cannot be queried.
+     */
+    public Optional<List<Integer>> findIncompleteDeadlines(LocalDateTime from, LocalDateTime to) throws IOException {
+        return backend.findIncompleteDeadlines(from, to);
+    }
+
+    /**
+     * Waits for every write that is still running in the background to complete, and forces every write that is
+     * still waiting for a group commit to the disk. This must be called before the application exits.
+     *
+     * @throws IOException If a write in the background failed.
+     */
+    public void flush() throws IOException {
+        if (persister != null) {
+            persister.flush();
+            if (isRebaseNeeded) {
+                isRebaseNeeded = false;
+                writeShared(dirtyTasks, () -> saveTasks(dirtyTasks));
+            }
+        }
+        backend.flush();
+    }
+
+    /**
+     * Persists a {@link DukeTask} that was just appended to the List&lt;duke.task.DukeTask&gt;. If the backend is
+     * journaled, only a single record is appended. Otherwise the entire List is saved through {@link #save(List)}.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; after the task has been added.
+     * @param task {@link DukeTask} that was added.
+     * @throws IOException File parsing error.
+     */
+    public void saveAddedTask(List<DukeTask> userTasks, DukeTask task) throws IOException {
+        if (backend.isJournaled()) {
+            writeShared(userTasks, () -> {
+                backend.saveAddedTask(userTasks, task);
+                knownTasks.add(task);
+                return true;
+            });
+        } else {
+            save(userTasks);
+        }
+    }
+
+    /**
+     * Persists a batch of {@link DukeTask} that were just appended to the List&lt;duke.task.DukeTask&gt;, e.g. by an
+     * import, with a single durable write for the entire batch. If the backend is journaled, a record is appended for
+     * every task and the records are committed together. Otherwise the entire List is saved on the calling thread,
+     * bypassing write-behind, so that the batch is on the disk before the next batch is read.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; after the tasks have been added.
+     * @param addedTasks Tasks that were added, in order.
+     * @throws IOException File parsing error.
+     */
+    public void saveAddedTasks(List<DukeTask> userTasks, List<DukeTask> addedTasks) throws IOException {
+        if (backend.isJournaled()) {
+            writeShared(userTasks, () -> {
+                backend.saveAddedTasks(userTasks, addedTasks);
+                for (DukeTask task : addedTasks) {
+                    knownTasks.add(task);
+                }
+                return true;
+            });
+            return;
+        }
+        if (persister != null) {
+            persister.flush();
+            isRebaseNeeded = false;
+        }
+        writeShared(userTasks, () -> saveTasks(userTasks));
+    }
+
+    /**
+     * Persists a {@link DukeTask} that was just marked as complete. If the backend is journaled, only a single record
+     * is appended. Otherwise the backend first tries to overwrite the task in place, and the entire List is only saved
+     * through {@link #save(List)} if it cannot. The task is not overwritten in place while a save is waiting or running
+     * in the background, since that save rewrites the data file anyway, and waiting for it would block the caller.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; after the task has been marked as complete.
+     * @param taskIndex Zero-based index of the completed task.
+     * @throws IOException File parsing error.
+     */
+    public void saveCompletedTask(List<DukeTask> userTasks, int taskIndex) throws IOException {
+        if (backend.isJournaled()) {
+            writeShared(userTasks, () -> {
+                backend.saveCompletedTask(userTasks, taskIndex);
+                knownTasks.set(taskIndex, userTasks.get(taskIndex));
+                return true;
+            });
+            return;
+        }
+        if (persister != null && !persister.isIdle()) {
+            save(userTasks);
+            return;
+        }
+        boolean isWritten = !isRebaseNeeded && writeShared(userTasks, () -> {
+            if (!backend.saveCompletedTaskInPlace(userTasks, taskIndex)) {
+                return false;
+            }
+            knownTasks.set(taskIndex, userTasks.get(taskIndex));
+            return true;
+        });
+        if (!isWritten) {
+            save(userTasks);
+        }
     }
 
     /**
-     * Writes a specified List&lt;duke.task.DukeTask&gt; into the specified file in {@link #file}.
-     * Each task will be written on a new line.
+     * Persists the deletion of a {@link DukeTask}. If the backend is journaled, only a single record is appended.
+     * Otherwise the entire List is saved through {@link #save(List)}.
      *
-     * @param userTasks List&lt;duke.task.DukeTask&gt; to save tasks from, to the file.
+     * @param userTasks List&lt;duke.task.DukeTask&gt; after the task has been deleted.
+     * @param taskIndex Zero-based index the deleted task was at.
      * @throws IOException File parsing error.
      */
-    private void writeDukeTasks(List<DukeTask> userTasks) throws IOException {
-        for (DukeTask task : userTasks) {
-            taskFileOutputBuffer.write(processWriteTask(task));
-            taskFileOutputBuffer.newLine();
+    public void saveDeletedTask(List<DukeTask> userTasks, int taskIndex) throws IOException {
+        if (backend.isJournaled()) {
+            writeShared(userTasks, () -> {
+                backend.saveDeletedTask(userTasks, taskIndex);
+                knownTasks.remove(taskIndex);
+                return true;
+            });
+        } else {
+            save(userTasks);
         }
     }
 }
@@ -2,50 +2,87 @@ package duke.util;
 
 import duke.task.DukeTask;
 import duke.task.DukeTaskDeadline;
+import duke.util.index.DukeIndexDeadlines;
+import duke.util.index.DukeIndexTokens;
+import duke.util.index.DukeIndexTrigrams;
+import duke.util.storage.DukeStorageChange;
+import duke.util.storage.DukeStorageColumnarTaskList;
+import duke.util.storage.DukeStorageExporter;
+import duke.util.storage.DukeStorageImporter;
+import duke.util.storage.DukeStorageLazyTaskList;
+import duke.util.storage.DukeStorageLockedException;
+import duke.util.storage.DukeStorageQuarantine;
+import duke.util.storage.DukeStorageTransferFormat;
+import duke.util.storage.DukeStorageTreeTaskList;
 import duke.util.ui.DukeUiMessages;
 
 import java.io.IOException;
-import java.time.LocalDateTime;
-import java.time.Period;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
-import java.time.format.DateTimeParseException;
-import java.time.temporal.ChronoField;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
+/**
+ * Holds the list of user {@link DukeTask}, which is kept in a {@link DukeStorageTreeTaskList} unless it is a
+ * {@link DukeStorageLazyTaskList} or a {@link DukeStorageColumnarTaskList}, so that "delete" and "done" find their
+ * task in O(log n), and every task has an id that survives deletes. The list is locked while it is being mutated, since
+ * {@link DukeStorage} may copy it on a background thread to save it. A task that is changed in place is stored back
+ * into the list, so that a {@link DukeStorageLazyTaskList} keeps the change and a {@link DukeStorageColumnarTaskList}
+ * updates its columns. The names of the tasks are indexed by a {@link DukeIndexTokens} and a
+ * {@link DukeIndexTrigrams}, which are kept up to date as tasks are added and deleted, so that "find" only checks the
+ * tasks that can match. The incomplete deadlines are kept sorted by a {@link DukeIndexDeadlines} in the same way, so
+ * that the approaching deadlines are a range query, and so that the deadlines that come within
+ * {@link #DUKE_DAYS_LEFT_TO_REMIND} days while Duke is running are reminded of through its timers.
+ */
 public class DukeTaskList {
 
-    private static final int DUKE_MAXIMUM_TASKS = 100;
     public static final int DUKE_DAYS_LEFT_TO_REMIND = 3;
 
     private List<DukeTask> userDukeTasks;
     private List<DukeTaskDeadline> userDeadlines;
+    private DukeIndexTokens tokenIndex;
+    private DukeIndexTrigrams trigramIndex;
+    private DukeIndexDeadlines deadlineIndex;
+    private int indexedRebaseCount;
+    private int deadlineRebaseCount;
+    private LocalDate remindedDate;
     private StringBuilder sb;
 
     /**
-     * This constructor is used if a new List&lt;duke.task.DukeTask&gt; of initial capacity of
-     * {@link #DUKE_MAXIMUM_TASKS} is to be instantiated.
+     * This constructor is used if a new, empty List&lt;duke.task.DukeTask&gt; is to be instantiated.
      */
     public DukeTaskList() {
-        this.userDukeTasks = new ArrayList<>(DUKE_MAXIMUM_TASKS);
+        this.userDukeTasks = new DukeStorageTreeTaskList();
+        buildIndexes();
+        this.remindedDate = LocalDate.now();
         this.sb = new StringBuilder();
     }
 
     /**
-     * This constructor is used if an existing List&lt;duke.task.DukeTask&gt; is to be used.
+     * This constructor is used if an existing List&lt;duke.task.DukeTask&gt; is to be used. The tasks are copied
+     * into a {@link DukeStorageTreeTaskList}, unless the list is a {@link DukeStorageLazyTaskList} or a
+     * {@link DukeStorageColumnarTaskList}, which are kept as they are. The tasks are indexed right away, unless they
+     * were loaded lazily, in which case they are indexed by the first "find" instead.
      *
      * @param userDukeTasks An existing and initialized List&lt;duke.task.DukeTask&gt; to be used.
      */
     public DukeTaskList(List<DukeTask> userDukeTasks) {
-        this.userDukeTasks = userDukeTasks;
+        this.userDukeTasks = userDukeTasks instanceof DukeStorageLazyTaskList
+                || userDukeTasks instanceof DukeStorageColumnarTaskList
+                || userDukeTasks instanceof DukeStorageTreeTaskList
+                ? userDukeTasks
+                : DukeStorageTreeTaskList.fromTasks(userDukeTasks);
+        if (!(userDukeTasks instanceof DukeStorageLazyTaskList)) {
+            buildIndexes();
+        }
+        this.remindedDate = LocalDate.now();
         this.sb = new StringBuilder();
     }
 
     /**
      * Creates a new duke.task.DukeTask and adds it into the current list of user {@link duke.task.DukeTask}.
-     * The specified input is also mirrored to the user. The list of user {@link duke.task.DukeTask}
-     * is then saved to the hard disk via {@link DukeStorage#save}.
+     * The specified input is also mirrored to the user. The new {@link duke.task.DukeTask}
+     * is then saved to the hard disk via {@link DukeStorage#saveAddedTask}.
      *
      * @param inputTask User specified input that will be the name of the {@link duke.task.DukeTask}
      *                  to be added to the current list of {@link duke.task.DukeTask}.
@@ -54,13 +91,18 @@ public class DukeTaskList {
      */
     public void addToDukeTasks(DukeTask inputTask, DukeUiMessages ui, DukeStorage storage) {
         try {
-            userDukeTasks.add(inputTask);
+            synchronized (userDukeTasks) {
+                userDukeTasks.add(inputTask);
+            }
+            indexAddedTask(inputTask);
             sb.setLength(0);
             sb.append("Got it. I've added this task:\n\t   ");
             sb.append(inputTask.toString());
             sb.append("\n\t Now you have " + userDukeTasks.size() + " tasks in the list.");
             ui.displayToUser(sb.toString());
-            storage.save(userDukeTasks);
+            storage.saveAddedTask(userDukeTasks, inputTask);
+        } catch (DukeStorageLockedException ex) {
+            ui.displayFileLockedError();
         } catch (IOException ex) {
             ui.displayFileLoadingError();
         }
@@ -81,13 +123,18 @@ public class DukeTaskList {
                 ui.displayTaskIndexOutOfBounds();
             } else {
                 DukeTask deletedTask = userDukeTasks.get(taskIndex - 1);
-                userDukeTasks.remove(taskIndex - 1);
+                indexDeletedTask(taskIndex - 1, deletedTask);
+                synchronized (userDukeTasks) {
+                    userDukeTasks.remove(taskIndex - 1);
+                }
                 sb.setLength(0);
                 sb.append("Noted. I've removed this task:\n\t   " + deletedTask.toString());
                 sb.append("\n\t Now you have " + userDukeTasks.size() + " tasks in the list.");
                 ui.displayToUser(sb.toString());
-                storage.save(userDukeTasks);
+                storage.saveDeletedTask(userDukeTasks, taskIndex - 1);
             }
+        } catch (DukeStorageLockedException ex) {
+            ui.displayFileLockedError();
         } catch (IOException ex) {
             ui.displayFileLoadingError();
         } catch (NumberFormatException ex) {
@@ -139,20 +186,101 @@ public class DukeTaskList {
         ui.displayToUser(sb.toString());
     }
 
+    /**
+     * Displays the tasks that were moved to the {@link duke.util.storage.DukeStorageArchive} in a formatted style,
+     * like {@link #displayDukeTasks(DukeUiMessages)}. The archive is read from the hard disk every time, since it is
+     * not kept in memory.
+     *
+     * @param ui {@link duke.util.ui.DukeUiMessages} object for displaying output to the user.
+     * @param storage {@link duke.util.DukeStorage} object which reads the archive from the hard disk.
+     */
+    public void displayArchivedTasks(DukeUiMessages ui, DukeStorage storage) {
+        List<DukeTask> archivedTasks;
+        try {
+            archivedTasks = storage.loadArchivedTasks(ui);
+        } catch (DukeStorageLockedException ex) {
+            ui.displayFileLockedError();
+            return;
+        } catch (IOException ex) {
+            ui.displayFileLoadingError();
+            return;
+        }
+        if (archivedTasks.isEmpty()) {
+            ui.displayEmptyArchive();
+            return;
+        }
+
+        sb.setLength(0);
+        sb.append("Here are the archived tasks:\n\t ");
+        for (int index = 0; index < archivedTasks.size(); index++) {
+            sb.append((index + 1) + "." + archivedTasks.get(index).toString() + "\n\t ");
+        }
+        //Remove trailing \n\t
+        sb.setLength(sb.length() - 3);
+        ui.displayToUser(sb.toString());
+    }
+
+    /**
+     * Exports the list of user {@link DukeTask} into a CSV or JSON-lines file, chosen by the extension of its name. The
+     * file is streamed one task at a time, and the list is locked while it is exported.
+     *
+     * @param exportFilePath Relative/Full path to the exported file.
+     * @param ui {@link duke.util.ui.DukeUiMessages} object for displaying output to the user.
+     */
+    public void exportDukeTasks(String exportFilePath, DukeUiMessages ui) {
+        Optional<DukeStorageTransferFormat> format = DukeStorageTransferFormat.fromPath(exportFilePath);
+        if (format.isEmpty()) {
+            ui.displayUnknownTransferFormat();
+            return;
+        }
+        try {
+            int exportedCount;
+            synchronized (userDukeTasks) {
+                exportedCount = DukeStorageExporter.export(userDukeTasks, exportFilePath, format.get());
+            }
+            ui.displayExportedTasks(exportedCount, exportFilePath);
+        } catch (IOException ex) {
+            ui.displayFileLoadingError();
+        }
+    }
+
     /**
      * Searches the user-supplied list of tasks for the input search terms. Then prints out tasks that matches the
-     * search terms.
+     * search terms. If the backend of the {@link DukeStorage} can answer the search with a query, e.g. the SQL
+     * backend, the list is not scanned. Otherwise only the tasks found by the {@link DukeIndexTokens} or the
+     * {@link DukeIndexTrigrams} are checked, if either can answer the search terms. A
+     * {@link DukeStorageColumnarTaskList} only goes through its name column.
      *
      * @param searchTerms Substring to search for in the entire task list.
      * @param ui {@link duke.util.ui.DukeUiMessages} object for displaying output to the user.
+     * @param storage {@link duke.util.DukeStorage} object which may answer the search instead of the list.
      */
-    public void findDukeTasks(String searchTerms, DukeUiMessages ui) {
+    public void findDukeTasks(String searchTerms, DukeUiMessages ui, DukeStorage storage) {
+        Optional<List<Integer>> matchingIndexes;
+        try {
+            matchingIndexes = storage.findTasks(searchTerms);
+        } catch (IOException ex) {
+            matchingIndexes = Optional.empty();
+        }
+
         sb.setLength(0);
         sb.append("Here are the matching tasks in your list:\n\t ");
-        for (int index = 0; index < userDukeTasks.size(); index++) {
-            DukeTask currentTask = userDukeTasks.get(index);
-            if (currentTask.getTaskName().contains(searchTerms)) {
-                sb.append((index + 1) + "." + currentTask.toString() + "\n\t ");
+        if (matchingIndexes.isEmpty()) {
+            matchingIndexes = findIndexedTasks(searchTerms, storage);
+        }
+        if (matchingIndexes.isEmpty() && userDukeTasks instanceof DukeStorageColumnarTaskList) {
+            matchingIndexes = Optional.of(((DukeStorageColumnarTaskList) userDukeTasks).findTasks(searchTerms));
+        }
+        if (matchingIndexes.isPresent()) {
+            for (int index : matchingIndexes.get()) {
+                sb.append((index + 1) + "." + userDukeTasks.get(index).toString() + "\n\t ");
+            }
+        } else {
+            for (int index = 0; index < userDukeTasks.size(); index++) {
+                DukeTask currentTask = userDukeTasks.get(index);
+                if (currentTask.getTaskName().contains(searchTerms)) {
+                    sb.append((index + 1) + "." + currentTask.toString() + "\n\t ");
+                }
             }
         }
         //Remove trailing \n\t
@@ -162,40 +290,259 @@ public class DukeTaskList {
         ui.displayToUser(sb.toString());
     }
 
+    /**
+     * Finds the tasks whose name contains the search terms through the {@link DukeIndexTrigrams}, or the
+     * {@link DukeIndexTokens} if it returns fewer candidates, checking only those candidates against their names. The
+     * indexes are rebuilt first if they are missing, if too many of their tasks have been deleted, or if the
+     * {@link DukeStorage} has merged the changes of another Duke instance into the list since they were built.
+     *
+     * @param searchTerms Substring to search for in the name of every task.
+     * @param storage {@link duke.util.DukeStorage} object which may have changed the list.
+     * @return Zero-based indexes of the matching tasks, or Optional.empty() if the index cannot answer the search.
+     */
+    private Optional<List<Integer>> findIndexedTasks(String searchTerms, DukeStorage storage) {
+        if (tokenIndex == null || tokenIndex.isStale() || trigramIndex.isStale()
+                || indexedRebaseCount != storage.getRebaseCount()) {
+            indexedRebaseCount = storage.getRebaseCount();
+            buildIndexes();
+        }
+        Optional<int[]> candidates = trigramIndex.findCandidates(searchTerms);
+        Optional<int[]> tokenCandidates = tokenIndex.findCandidates(searchTerms,
+                candidates.isPresent() ? candidates.get().length : Integer.MAX_VALUE);
+        if (tokenCandidates.isPresent()) {
+            candidates = tokenCandidates;
+        }
+        if (candidates.isEmpty()) {
+            return Optional.empty();
+        }
+
+        DukeStorageColumnarTaskList columnarTasks = userDukeTasks instanceof DukeStorageColumnarTaskList
+                ? (DukeStorageColumnarTaskList) userDukeTasks
+                : null;
+        List<Integer> matchingIndexes = new ArrayList<>();
+        for (int index : candidates.get()) {
+            String taskName = columnarTasks != null
+                    ? columnarTasks.getTaskName(index)
+                    : userDukeTasks.get(index).getTaskName();
+            if (taskName.contains(searchTerms)) {
+                matchingIndexes.add(index);
+            }
+        }
+        return Optional.of(matchingIndexes);
+    }
+
+    /**
+     * Indexes the names of every task in the list from scratch.
+     */
+    private void buildIndexes() {
+        tokenIndex = new DukeIndexTokens(userDukeTasks);
+        trigramIndex = new DukeIndexTrigrams(userDukeTasks);
+    }
+
+    /**
+     * Adds a task that was just appended to the list to the indexes, unless they have not been built yet.
+     *
+     * @param task Appended task.
+     */
+    private void indexAddedTask(DukeTask task) {
+        if (tokenIndex != null) {
+            tokenIndex.add(task);
+            trigramIndex.add(task);
+        }
+        if (deadlineIndex != null) {
+            deadlineIndex.add(task);
+        }
+    }
+
+    /**
+     * Removes a task that is about to be deleted from the list from the indexes, unless they have not been built yet.
+     *
+     * @param taskIndex Zero-based index of the deleted task.
+     * @param task Deleted task.
+     */
+    private void indexDeletedTask(int taskIndex, DukeTask task) {
+        if (tokenIndex != null) {
+            tokenIndex.remove(taskIndex);
+            trigramIndex.remove(taskIndex);
+        }
+        if (deadlineIndex != null) {
+            deadlineIndex.remove(taskIndex, task);
+        }
+    }
+
+    /**
+     * Imports tasks from a CSV or JSON-lines file, chosen by the extension of its name, and appends them to the list of
+     * user {@link DukeTask}. The file is streamed a batch at a time by a {@link DukeStorageImporter}, and every batch
+     * is saved with a single durable write via {@link DukeStorage#saveAddedTasks} before the next batch is read. Rows
+     * that fail the checks of the importer are moved to the quarantine side file of the imported file.
+     *
+     * @param importFilePath Relative/Full path to the imported file.
+     * @param ui {@link duke.util.ui.DukeUiMessages} object for displaying output to the user.
+     * @param storage {@link duke.util.DukeStorage} object for updating the data file on the hard disk.
+     */
+    public void importDukeTasks(String importFilePath, DukeUiMessages ui, DukeStorage storage) {
+        Optional<DukeStorageTransferFormat> format = DukeStorageTransferFormat.fromPath(importFilePath);
+        if (format.isEmpty()) {
+            ui.displayUnknownTransferFormat();
+            return;
+        }
+        try (DukeStorageImporter importer = new DukeStorageImporter(importFilePath, format.get())) {
+            List<DukeTask> batchTasks = importer.readBatch();
+            while (!batchTasks.isEmpty()) {
+                for (DukeTask task : batchTasks) {
+                    synchronized (userDukeTasks) {
+                        userDukeTasks.add(task);
+                    }
+                    indexAddedTask(task);
+                }
+                storage.saveAddedTasks(userDukeTasks, batchTasks);
+                batchTasks = importer.readBatch();
+            }
+            ui.displayImportedTasks(importer.getImportedCount(), importFilePath, userDukeTasks.size());
+            if (importer.getRejectedCount() > 0) {
+                ui.displayRejectedRows(importer.getRejectedCount(), importer.getQuarantineFilePath());
+            }
+        } catch (DukeStorageLockedException ex) {
+            ui.displayFileLockedError();
+        } catch (IOException ex) {
+            ui.displayFileLoadingError();
+        }
+        initDeadlines(storage);
+    }
+
     /**
      * Examines the current user list of Tasks and initialize a List of {@link DukeTaskDeadline} which contains
-     * deadlines lesser than or equals to 3 days.
+     * deadlines lesser than or equals to 3 days, i.e. due from tomorrow until the end of the third day from today. The
+     * deadlines are found with a range query on the {@link DukeIndexDeadlines}, which is built the first time, so that
+     * no deadline is parsed again. The approaching deadlines of a {@link DukeStorageLazyTaskList} are stored back into
+     * it so that they stay the same objects.
      */
     public void initDeadlines() {
+        if (deadlineIndex == null) {
+            deadlineIndex = new DukeIndexDeadlines(userDukeTasks, remindedDate);
+        }
+        LocalDate currentDate = LocalDate.now();
+        int[] deadlineIndexes = deadlineIndex.findDeadlines(currentDate.plusDays(1).atStartOfDay(),
+                currentDate.plusDays(DUKE_DAYS_LEFT_TO_REMIND + 1).atStartOfDay());
+
+        userDeadlines = new ArrayList<>(deadlineIndexes.length);
+        for (int index : deadlineIndexes) {
+            DukeTaskDeadline deadline = (DukeTaskDeadline) userDukeTasks.get(index);
+            userDeadlines.add(deadline);
+            if (userDukeTasks instanceof DukeStorageLazyTaskList) {
+                userDukeTasks.set(index, deadline);
+            }
+        }
+    }
+
+    /**
+     * Initializes the List of {@link DukeTaskDeadline} like {@link #initDeadlines()}, but asks the backend of the
+     * {@link DukeStorage} for the incomplete deadlines due within {@link #DUKE_DAYS_LEFT_TO_REMIND} days first. The
+     * {@link DukeIndexDeadlines} is only queried if the backend cannot answer this with a query, and is rebuilt first
+     * if the {@link DukeStorage} has merged the changes of another Duke instance into the list since it was built.
+     *
+     * @param storage {@link duke.util.DukeStorage} object which may find the deadlines instead of the list.
+     */
+    public void initDeadlines(DukeStorage storage) {
+        LocalDate currentDate = LocalDate.now();
+        Optional<List<Integer>> deadlineIndexes;
+        try {
+            deadlineIndexes = storage.findIncompleteDeadlines(currentDate.plusDays(1).atStartOfDay(),
+                    currentDate.plusDays(DUKE_DAYS_LEFT_TO_REMIND + 1).atStartOfDay());
+        } catch (IOException ex) {
+            deadlineIndexes = Optional.empty();
+        }
+        if (deadlineIndexes.isEmpty()) {
+            checkDeadlineIndex(storage);
+            initDeadlines();
+            return;
+        }
+
         userDeadlines = new ArrayList<>();
-        DateTimeFormatter dateTimeFormat = new DateTimeFormatterBuilder()
-                .appendText(ChronoField.DAY_OF_MONTH, DukeParser.getOrdinalNumbersList())
-                .appendLiteral(" of ")
-                .appendPattern(DukeParser.DUKE_DATETIME_OUTPUT_FORMAT)
-                .toFormatter();
-        LocalDateTime currentDateTime = LocalDateTime.now();
-
-        for (DukeTask task : userDukeTasks) {
-            if (task instanceof DukeTaskDeadline) {
-                try {
-                    DukeTaskDeadline deadline = (DukeTaskDeadline) task;
-                    if (deadline.getTaskIsComplete()) {
-                        continue;
-                    }
+        for (int index : deadlineIndexes.get()) {
+            userDeadlines.add((DukeTaskDeadline) userDukeTasks.get(index));
+        }
+    }
 
-                    LocalDateTime deadlineDateTime = LocalDateTime.parse(deadline.getTaskDeadline(), dateTimeFormat);
-                    Period difference = Period.between(currentDateTime.toLocalDate(), deadlineDateTime.toLocalDate());
+    /**
+     * Reminds the user of the deadlines that have come within {@link #DUKE_DAYS_LEFT_TO_REMIND} days since the
+     * reminders were last shown, by firing their timers in the {@link DukeIndexDeadlines}. This is called by a
+     * {@link duke.util.reminder.DukeReminderScheduler} at the start of every day, and only goes through the timers of
+     * the days that have passed. The list of approaching deadlines is initialized again if any timer fired.
+     *
+     * @param ui {@link duke.util.ui.DukeUiMessages} object for displaying output to the user.
+     * @param storage {@link duke.util.DukeStorage} object which may have changed the list.
+     */
+    public void remindDukeDeadlines(DukeUiMessages ui, DukeStorage storage) {
+        checkDeadlineIndex(storage);
+        if (deadlineIndex == null) {
+            deadlineIndex = new DukeIndexDeadlines(userDukeTasks, remindedDate);
+        }
+        remindedDate = LocalDate.now();
+        int[] reminderIndexes = deadlineIndex.advanceReminders(remindedDate);
+        if (reminderIndexes.length == 0) {
+            return;
+        }
+        initDeadlines(storage);
 
-                    if (difference.getDays() <= DUKE_DAYS_LEFT_TO_REMIND
-                            && difference.getDays() > 0
-                            && difference.getMonths() == 0
-                            && difference.getYears() == 0) {
-                        userDeadlines.add(deadline);
-                    }
-                } catch (DateTimeParseException ex) {
-                    continue;
-                }
+        sb.setLength(0);
+        sb.append("Reminder! These deadlines are now due within " + DUKE_DAYS_LEFT_TO_REMIND + " days:\n\t ");
+        for (int index : reminderIndexes) {
+            sb.append((index + 1) + "." + userDukeTasks.get(index).toString() + "\n\t ");
+        }
+        //Remove trailing \n\t
+        sb.setLength(sb.length() - 3);
+        ui.displayToUser(sb.toString());
+    }
+
+    /**
+     * Drops the {@link DukeIndexDeadlines} if the {@link DukeStorage} has merged the changes of another Duke instance
+     * into the list since it was built, so that it is built again.
+     *
+     * @param storage {@link duke.util.DukeStorage} object which may have changed the list.
+     */
+    private void checkDeadlineIndex(DukeStorage storage) {
+        if (deadlineRebaseCount != storage.getRebaseCount()) {
+            deadlineRebaseCount = storage.getRebaseCount();
+            deadlineIndex = null;
+        }
+    }
+
+    /**
+     * Merges a change made to the data file outside of Duke into the list of user {@link DukeTask}, as found by a
+     * {@link duke.util.storage.DukeStorageWatcher}. The change is located through {@link DukeStorageChange#locate},
+     * and ignored if the list already holds it. If the replaced tasks were also changed in Duke, Duke keeps its own
+     * tasks, and the new lines are moved to the quarantine side file of the data file instead. Otherwise the replaced
+     * tasks are swapped for the new ones, the entire list is saved so that the data file and the journal agree with
+     * it again, and the approaching deadlines are displayed again.
+     *
+     * @param change Change made to the data file.
+     * @param ui {@link duke.util.ui.DukeUiMessages} object for displaying output to the user.
+     * @param storage {@link duke.util.DukeStorage} object for updating the data file on the hard disk.
+     */
+    public void mergeExternalChange(DukeStorageChange change, DukeUiMessages ui, DukeStorage storage) {
+        try {
+            int startIndex = change.applyTo(userDukeTasks);
+            tokenIndex = null;
+            trigramIndex = null;
+            deadlineIndex = null;
+            if (change.getSkippedCount() > 0) {
+                ui.displaySkippedRecords(change.getSkippedCount(),
+                        change.getTaskFilePath() + DukeStorageQuarantine.DUKE_QUARANTINE_FILE_SUFFIX);
             }
+            if (startIndex == DukeStorageChange.DUKE_CHANGE_CONFLICT) {
+                ui.displayExternalChangeConflict(change.quarantineAddedTasks());
+                storage.save(userDukeTasks);
+            } else if (startIndex >= 0) {
+                ui.displayExternalChanges(change.getAddedTasks().size(), change.getRemovedCount());
+                storage.save(userDukeTasks);
+                initDeadlines(storage);
+                displayDukeDeadlines(ui);
+            }
+        } catch (DukeStorageLockedException ex) {
+            ui.displayFileLockedError();
+        } catch (IOException ex) {
+            ui.displayFileLoadingError();
         }
     }
 
@@ -217,18 +564,27 @@ public class DukeTaskList {
                 sb.setLength(0);
                 if (completedTask.getTaskIsComplete()) {
                     sb.append("This task has already been marked as done!");
+                    ui.displayToUser(sb.toString());
                 } else {
                     completedTask.setTaskComplete();
+                    synchronized (userDukeTasks) {
+                        userDukeTasks.set(taskIndex - 1, completedTask);
+                    }
 
-                    //Check if the deadline should be removed from the approaching deadline list.
-                    if (userDeadlines.remove(completedTask)) {
-                        initDeadlines();
+                    //Take the deadline out of the index and the approaching deadline list.
+                    if (completedTask instanceof DukeTaskDeadline) {
+                        if (deadlineIndex != null) {
+                            deadlineIndex.complete(taskIndex - 1, completedTask);
+                        }
+                        initDeadlines(storage);
                     }
                     sb.append("Nice! I've marked this task as done:\n\t   " + completedTask.toString());
+                    ui.displayToUser(sb.toString());
+                    storage.saveCompletedTask(userDukeTasks, taskIndex - 1);
                 }
-                ui.displayToUser(sb.toString());
-                storage.save(userDukeTasks);
             }
+        } catch (DukeStorageLockedException ex) {
+            ui.displayFileLockedError();
         } catch (IOException ex) {
             ui.displayFileLoadingError();
         } catch (NumberFormatException ex) {
@@ -0,0 +1,205 @@
+package duke.util.index;
+
+import duke.task.DukeTask;
+import duke.task.DukeTaskDeadline;
+import duke.util.DukeTaskList;
+import duke.util.reminder.DukeReminderWheel;
+import duke.util.storage.DukeStorageColumnarTaskList;
+import duke.util.storage.DukeStorageLazyTaskList;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Sorted index from the date-time of every incomplete {@link DukeTaskDeadline} to the tasks due at it, so that the
+ * approaching deadlines are found with a range query instead of parsing the deadline of every task. The date-times are
+ * kept as seconds since the epoch, like the deadline column of a {@link DukeStorageColumnarTaskList}. A deadline is
+ * taken out of the index as soon as it is completed or deleted, so the index only ever holds pending deadlines, and a
+ * query costs O(log n + k) for k matching deadlines. Deadlines whose date-time cannot be parsed are never indexed,
+ * since they were never reminded of either. Every indexed deadline that has yet to come within
+ * {@link DukeTaskList#DUKE_DAYS_LEFT_TO_REMIND} days also has a timer in a {@link DukeReminderWheel}, which fires on
+ * the day it does, and is cancelled along with the deadline.
+ */
+public class DukeIndexDeadlines {
+
+    private static final long SECONDS_PER_DAY = 86400;
+
+    private TreeMap<Long, DukeIndexPostings> deadlines;
+    private DukeIndexPositions positions;
+    private DukeReminderWheel reminderWheel;
+
+    /**
+     * This constructor indexes every incomplete deadline in a list. A {@link DukeStorageColumnarTaskList} is indexed
+     * through its type and deadline columns and its completion bitmap, without creating any of its tasks, and a
+     * {@link DukeStorageLazyTaskList} only decodes its incomplete deadlines.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; to index.
+     * @param remindedDate Last date whose reminders have been shown. Timers are only armed after it.
+     */
+    public DukeIndexDeadlines(List<DukeTask> userTasks, LocalDate remindedDate) {
+        this.deadlines = new TreeMap<>();
+        this.positions = new DukeIndexPositions(userTasks);
+        this.reminderWheel = new DukeReminderWheel(remindedDate.toEpochDay());
+        if (userTasks instanceof DukeStorageColumnarTaskList) {
+            DukeStorageColumnarTaskList columnarTasks = (DukeStorageColumnarTaskList) userTasks;
+            for (int index = 0; index < columnarTasks.size(); index++) {
+                long deadlineSeconds = columnarTasks.getDeadlineSeconds(index);
+                if (deadlineSeconds != DukeStorageColumnarTaskList.DUKE_NO_DEADLINE
+                        && !columnarTasks.isComplete(index)) {
+                    addDeadline(deadlineSeconds, positions.getSequence(index));
+                }
+            }
+            return;
+        }
+        DukeStorageLazyTaskList lazyTasks = userTasks instanceof DukeStorageLazyTaskList
+                ? (DukeStorageLazyTaskList) userTasks
+                : null;
+        for (int index = 0; index < userTasks.size(); index++) {
+            if (lazyTasks != null && !lazyTasks.isIncompleteDeadline(index)) {
+                continue;
+            }
+            Optional<Long> deadlineSeconds = getPendingDeadlineSeconds(userTasks.get(index));
+            if (deadlineSeconds.isPresent()) {
+                addDeadline(deadlineSeconds.get(), positions.getSequence(index));
+            }
+        }
+    }
+
+    /**
+     * Indexes a task that was appended to the list, if it is an incomplete deadline.
+     *
+     * @param task Appended task.
+     */
+    public void add(DukeTask task) {
+        int sequence = positions.append();
+        Optional<Long> deadlineSeconds = getPendingDeadlineSeconds(task);
+        if (deadlineSeconds.isPresent()) {
+            addDeadline(deadlineSeconds.get(), sequence);
+        }
+    }
+
+    /**
+     * Removes a task from the list, taking it out of the index if it is an incomplete deadline. This must be called
+     * before the task is removed from the list.
+     *
+     * @param position Zero-based position of the removed task.
+     * @param task Removed task.
+     */
+    public void remove(int position, DukeTask task) {
+        int sequence = positions.remove(position);
+        removeDeadline(task, sequence);
+    }
+
+    /**
+     * Takes a deadline that was just completed out of the index. The task stays in the list.
+     *
+     * @param position Zero-based position of the completed task.
+     * @param task Completed task.
+     */
+    public void complete(int position, DukeTask task) {
+        removeDeadline(task, positions.getSequence(position));
+    }
+
+    /**
+     * Finds the incomplete deadlines due in a range.
+     *
+     * @param from Start of the range, inclusive.
+     * @param to End of the range, exclusive.
+     * @return Zero-based positions of the matching deadlines in ascending order.
+     */
+    public int[] findDeadlines(LocalDateTime from, LocalDateTime to) {
+        Map<Long, DukeIndexPostings> dueDeadlines = deadlines.subMap(
+                DukeStorageColumnarTaskList.toDeadlineSeconds(from), true,
+                DukeStorageColumnarTaskList.toDeadlineSeconds(to), false);
+        int count = 0;
+        for (DukeIndexPostings postings : dueDeadlines.values()) {
+            count += postings.size();
+        }
+        int[] deadlinePositions = new int[count];
+        count = 0;
+        for (DukeIndexPostings postings : dueDeadlines.values()) {
+            for (int index = 0; index < postings.size(); index++) {
+                deadlinePositions[count++] = positions.getPosition(postings.get(index));
+            }
+        }
+        Arrays.sort(deadlinePositions);
+        return deadlinePositions;
+    }
+
+    /**
+     * Fires the timers of the deadlines that have come within {@link DukeTaskList#DUKE_DAYS_LEFT_TO_REMIND} days since
+     * the last date whose reminders were shown, up to a date. Only the days in between are gone through.
+     *
+     * @param currentDate Date to advance to, usually today.
+     * @return Zero-based positions of the deadlines to remind of in ascending order, which are still incomplete.
+     */
+    public int[] advanceReminders(LocalDate currentDate) {
+        int[] reminderPositions = reminderWheel.advance(currentDate.toEpochDay());
+        for (int index = 0; index < reminderPositions.length; index++) {
+            reminderPositions[index] = positions.getPosition(reminderPositions[index]);
+        }
+        Arrays.sort(reminderPositions);
+        return reminderPositions;
+    }
+
+    /**
+     * Gets the date-time a task is due by as seconds since the epoch, if it is an incomplete deadline.
+     *
+     * @param task Task to check.
+     * @return Seconds of its deadline, or Optional.empty() if it is not an incomplete deadline with a date-time.
+     */
+    private static Optional<Long> getPendingDeadlineSeconds(DukeTask task) {
+        if (!(task instanceof DukeTaskDeadline) || task.getTaskIsComplete()) {
+            return Optional.empty();
+        }
+        return ((DukeTaskDeadline) task).getDeadlineDateTime().map(DukeStorageColumnarTaskList::toDeadlineSeconds);
+    }
+
+    /**
+     * Adds a deadline to the postings of its date-time, and arms its reminder timer if it has yet to come within
+     * {@link DukeTaskList#DUKE_DAYS_LEFT_TO_REMIND} days.
+     *
+     * @param deadlineSeconds Seconds of the deadline.
+     * @param sequence Sequence number of the task.
+     */
+    private void addDeadline(long deadlineSeconds, int sequence) {
+        DukeIndexPostings postings = deadlines.get(deadlineSeconds);
+        if (postings == null) {
+            postings = new DukeIndexPostings();
+            deadlines.put(deadlineSeconds, postings);
+        }
+        postings.add(sequence);
+        long reminderDay = Math.floorDiv(deadlineSeconds, SECONDS_PER_DAY) - DukeTaskList.DUKE_DAYS_LEFT_TO_REMIND;
+        if (reminderDay > reminderWheel.getCurrentDay()) {
+            reminderWheel.arm(sequence, reminderDay);
+        }
+    }
+
+    /**
+     * Takes a task out of the postings of its date-time, if it is an incomplete deadline, and cancels its reminder
+     * timer. Postings that are left empty are dropped, so that a range query never walks past them.
+     *
+     * @param task Task to take out, which may already be marked as complete.
+     * @param sequence Sequence number of the task.
+     */
+    private void removeDeadline(DukeTask task, int sequence) {
+        reminderWheel.cancel(sequence);
+        if (!(task instanceof DukeTaskDeadline)) {
+            return;
+        }
+        Optional<LocalDateTime> deadlineDateTime = ((DukeTaskDeadline) task).getDeadlineDateTime();
+        if (deadlineDateTime.isEmpty()) {
+            return;
+        }
+        long deadlineSeconds = DukeStorageColumnarTaskList.toDeadlineSeconds(deadlineDateTime.get());
+        DukeIndexPostings postings = deadlines.get(deadlineSeconds);
+        if (postings != null && postings.remove(sequence) && postings.size() == 0) {
+            deadlines.remove(deadlineSeconds);
+        }
+    }
+}
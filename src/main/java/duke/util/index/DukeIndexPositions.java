@@ -0,0 +1,190 @@
+package duke.util.index;
+
+import duke.task.DukeTask;
+import duke.util.storage.DukeStorageTreeTaskList;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Gives every task in the list of user tasks a sequence number, which is handed out in list order as tasks are
+ * appended and never reused, so that an index can refer to a task by a number that does not shift when an earlier
+ * task is deleted. The current position of a sequence number is its rank among the sequence numbers that are still
+ * live, which is kept in a Fenwick tree, so that both directions take O(log n). Tasks can only be appended and
+ * removed, and an index is rebuilt whenever tasks are inserted anywhere else. If the list is a
+ * {@link DukeStorageTreeTaskList}, the ids the tree already gives its tasks are used as the sequence numbers instead,
+ * and their positions are looked up in the tree, so that no Fenwick tree is kept next to it.
+ */
+public class DukeIndexPositions {
+
+    private static final int MINIMUM_CAPACITY = 16;
+
+    private int[] liveCounts;
+    private boolean[] isLive;
+    private int nextSequence;
+    private int liveCount;
+    private DukeStorageTreeTaskList treeTasks;
+    private int removedCount;
+
+    /**
+     * This constructor gives sequence numbers 0 to taskCount - 1 to the tasks that are already in the list.
+     *
+     * @param taskCount Number of tasks in the list.
+     */
+    public DukeIndexPositions(int taskCount) {
+        int capacity = Math.max(MINIMUM_CAPACITY, taskCount);
+        this.liveCounts = new int[capacity + 1];
+        this.isLive = new boolean[capacity];
+        Arrays.fill(isLive, 0, taskCount, true);
+        this.nextSequence = taskCount;
+        this.liveCount = taskCount;
+        buildTree();
+    }
+
+    /**
+     * This constructor gives sequence numbers to the tasks that are already in a list. The tasks of a
+     * {@link DukeStorageTreeTaskList} keep the ids of the tree, while the tasks of any other list get the sequence
+     * numbers 0 to size - 1.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; to give sequence numbers to.
+     */
+    public DukeIndexPositions(List<DukeTask> userTasks) {
+        this(userTasks instanceof DukeStorageTreeTaskList ? 0 : userTasks.size());
+        if (userTasks instanceof DukeStorageTreeTaskList) {
+            this.treeTasks = (DukeStorageTreeTaskList) userTasks;
+        }
+    }
+
+    public int size() {
+        return treeTasks != null ? treeTasks.size() : this.liveCount;
+    }
+
+    /**
+     * Gets the number of sequence numbers that were handed out to tasks that have since been removed.
+     *
+     * @return Number of removed tasks.
+     */
+    public int getRemovedCount() {
+        return treeTasks != null ? removedCount : nextSequence - liveCount;
+    }
+
+    /**
+     * Hands out the sequence number of a task that was appended to the list. This must be called right after the task
+     * is appended, before any other task is.
+     *
+     * @return Sequence number of the task.
+     */
+    public int append() {
+        if (treeTasks != null) {
+            return treeTasks.getTaskId(treeTasks.size() - 1);
+        }
+        if (nextSequence == isLive.length) {
+            isLive = Arrays.copyOf(isLive, isLive.length * 2);
+            liveCounts = new int[isLive.length + 1];
+            buildTree();
+        }
+        int sequence = nextSequence++;
+        isLive[sequence] = true;
+        liveCount++;
+        update(sequence, 1);
+        return sequence;
+    }
+
+    /**
+     * Removes the task at a position of the list. This must be called before the task is removed from the list.
+     *
+     * @param position Zero-based position of the removed task.
+     * @return Sequence number of the removed task.
+     */
+    public int remove(int position) {
+        if (treeTasks != null) {
+            removedCount++;
+            return treeTasks.getTaskId(position);
+        }
+        int sequence = getSequence(position);
+        isLive[sequence] = false;
+        liveCount--;
+        update(sequence, -1);
+        return sequence;
+    }
+
+    /**
+     * Checks if a sequence number still belongs to a task in the list.
+     *
+     * @param sequence Sequence number of the task.
+     * @return true if the task has not been removed.
+     */
+    public boolean isLive(int sequence) {
+        if (treeTasks != null) {
+            return treeTasks.indexOfTaskId(sequence) >= 0;
+        }
+        return sequence >= 0 && sequence < nextSequence && isLive[sequence];
+    }
+
+    /**
+     * Gets the current position of a task.
+     *
+     * @param sequence Sequence number of the task.
+     * @return Zero-based position of the task, or -1 if it has been removed.
+     */
+    public int getPosition(int sequence) {
+        if (treeTasks != null) {
+            return treeTasks.indexOfTaskId(sequence);
+        }
+        if (!isLive(sequence)) {
+            return -1;
+        }
+        int count = 0;
+        for (int node = sequence + 1; node > 0; node -= node & -node) {
+            count += liveCounts[node];
+        }
+        return count - 1;
+    }
+
+    /**
+     * Gets the sequence number of the task at a position, by walking down the Fenwick tree or the tree list.
+     *
+     * @param position Zero-based position of the task.
+     * @return Sequence number of the task.
+     */
+    public int getSequence(int position) {
+        if (treeTasks != null) {
+            return treeTasks.getTaskId(position);
+        }
+        assert position >= 0 && position < liveCount;
+        int node = 0;
+        int remaining = position + 1;
+        for (int step = Integer.highestOneBit(liveCounts.length - 1); step > 0; step >>= 1) {
+            if (node + step < liveCounts.length && liveCounts[node + step] < remaining) {
+                node += step;
+                remaining -= liveCounts[node];
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Adds to the live count of a sequence number.
+     *
+     * @param sequence Sequence number to update.
+     * @param delta Change of its live count.
+     */
+    private void update(int sequence, int delta) {
+        for (int node = sequence + 1; node < liveCounts.length; node += node & -node) {
+            liveCounts[node] += delta;
+        }
+    }
+
+    /**
+     * Builds the Fenwick tree from the live flags in O(n).
+     */
+    private void buildTree() {
+        for (int node = 1; node < liveCounts.length; node++) {
+            liveCounts[node] += isLive[node - 1] ? 1 : 0;
+            int parent = node + (node & -node);
+            if (parent < liveCounts.length) {
+                liveCounts[parent] += liveCounts[node];
+            }
+        }
+    }
+}
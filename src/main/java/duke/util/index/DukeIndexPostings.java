@@ -0,0 +1,87 @@
+package duke.util.index;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of the {@link DukeIndexPositions} sequence numbers of the tasks that hold a key of an index, which is
+ * kept sorted. Sequence numbers are almost always appended in increasing order. Only a task that was inserted in the
+ * middle of a {@link duke.util.storage.DukeStorageTreeTaskList}, whose id is higher than the ids after it, is
+ * inserted in place when an index is built. The name indexes do not take
+ * removed tasks out, but skip them when the list is read, until the entire index is rebuilt.
+ */
+public class DukeIndexPostings {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] sequences;
+    private int size;
+
+    /**
+     * This constructor creates an empty list.
+     */
+    public DukeIndexPostings() {
+        this.sequences = new int[INITIAL_CAPACITY];
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Adds the sequence number of a task, unless this list already holds it, e.g. because the key appears twice in
+     * the same task. A sequence number higher than the last one is appended in O(1).
+     *
+     * @param sequence Sequence number to add.
+     */
+    public void add(int sequence) {
+        int index = size;
+        if (size > 0 && sequences[size - 1] >= sequence) {
+            index = Arrays.binarySearch(sequences, 0, size, sequence);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+        }
+        if (size == sequences.length) {
+            sequences = Arrays.copyOf(sequences, size * 2);
+        }
+        System.arraycopy(sequences, index, sequences, index + 1, size - index);
+        sequences[index] = sequence;
+        size++;
+    }
+
+    /**
+     * Takes the sequence number of a task out of this list, if it holds it.
+     *
+     * @param sequence Sequence number to take out.
+     * @return true if this list held the sequence number.
+     */
+    public boolean remove(int sequence) {
+        int index = Arrays.binarySearch(sequences, 0, size, sequence);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(sequences, index + 1, sequences, index, size - index - 1);
+        size--;
+        return true;
+    }
+
+    /**
+     * Gets a sequence number.
+     *
+     * @param index Index within this list.
+     * @return Sequence number at the index.
+     */
+    public int get(int index) {
+        return sequences[index];
+    }
+
+    /**
+     * Copies every sequence number into an array.
+     *
+     * @return Sorted sequence numbers.
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(sequences, size);
+    }
+}
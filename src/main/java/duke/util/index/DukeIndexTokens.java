@@ -0,0 +1,199 @@
+package duke.util.index;
+
+import duke.task.DukeTask;
+import duke.util.storage.DukeStorageColumnarTaskList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Inverted index from the tokens of every task name to the tasks holding them, so that "find" only looks at the
+ * tasks that can match instead of every task. A token is a run of letters and digits, lower-cased one character at a
+ * time, so that the tokens of a search term line up with the tokens of every name that contains it. The search term
+ * still has to be a substring of the name, so the index only narrows the tasks down, and every candidate is checked
+ * against the real name afterwards. Only the tokens of the search term that have a separator on both sides are
+ * looked up, since those have to be whole tokens of the name, while the others may be part of a longer token and are
+ * left to the {@link DukeIndexTrigrams}.
+ */
+public class DukeIndexTokens {
+
+    private Map<String, DukeIndexPostings> tokens;
+    private DukeIndexPositions positions;
+
+    /**
+     * This constructor indexes every task in a list. A {@link DukeStorageColumnarTaskList} is indexed through its name
+     * column, without creating any of its tasks.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; to index.
+     */
+    public DukeIndexTokens(List<DukeTask> userTasks) {
+        this.tokens = new HashMap<>();
+        this.positions = new DukeIndexPositions(userTasks);
+        DukeStorageColumnarTaskList columnarTasks = userTasks instanceof DukeStorageColumnarTaskList
+                ? (DukeStorageColumnarTaskList) userTasks
+                : null;
+        for (int index = 0; index < userTasks.size(); index++) {
+            String taskName = columnarTasks != null
+                    ? columnarTasks.getTaskName(index)
+                    : userTasks.get(index).getTaskName();
+            addTokens(taskName, positions.getSequence(index));
+        }
+    }
+
+    /**
+     * Checks if so many tasks have been removed that the index should be rebuilt, since removed tasks stay in the
+     * postings until then.
+     *
+     * @return true if more tasks were removed than are left.
+     */
+    public boolean isStale() {
+        return positions.getRemovedCount() > Math.max(positions.size(), 1024);
+    }
+
+    /**
+     * Indexes a task that was appended to the list.
+     *
+     * @param task Appended task.
+     */
+    public void add(DukeTask task) {
+        addTokens(task.getTaskName(), positions.append());
+    }
+
+    /**
+     * Removes a task from the list. Its postings are skipped from now on. This must be called before the task is
+     * removed from the list.
+     *
+     * @param position Zero-based position of the removed task.
+     */
+    public void remove(int position) {
+        positions.remove(position);
+    }
+
+    /**
+     * Finds the tasks whose name holds every whole token of the search terms, i.e. every token with a separator on
+     * both sides. The postings are intersected from the shortest one, and nothing is returned if even that one is not
+     * shorter than a limit, e.g. the number of candidates another index has already found.
+     *
+     * @param searchTerms Substring to search for in the name of every task.
+     * @param maximumCount Number of candidates the shortest postings must stay below.
+     * @return Sorted zero-based positions of every task that may match, which still have to be checked against the
+     *     name, or Optional.empty() if the search terms hold no whole token, or too many tasks hold them.
+     */
+    public Optional<int[]> findCandidates(String searchTerms, int maximumCount) {
+        List<DukeIndexPostings> matchingPostings = new ArrayList<>();
+        int start = 0;
+        while (start < searchTerms.length()) {
+            if (!Character.isLetterOrDigit(searchTerms.charAt(start))) {
+                start++;
+                continue;
+            }
+            int end = start;
+            while (end < searchTerms.length() && Character.isLetterOrDigit(searchTerms.charAt(end))) {
+                end++;
+            }
+            if (start > 0 && end < searchTerms.length()) {
+                DukeIndexPostings postings = tokens.get(normalize(searchTerms, start, end));
+                if (postings == null) {
+                    return Optional.of(new int[0]);
+                }
+                matchingPostings.add(postings);
+            }
+            start = end;
+        }
+        if (matchingPostings.isEmpty()) {
+            return Optional.empty();
+        }
+        matchingPostings.sort((first, second) -> Integer.compare(first.size(), second.size()));
+        if (matchingPostings.get(0).size() >= maximumCount) {
+            return Optional.empty();
+        }
+
+        int[] candidates = matchingPostings.get(0).toArray();
+        for (int index = 1; index < matchingPostings.size(); index++) {
+            candidates = intersect(candidates, matchingPostings.get(index).toArray());
+        }
+        int count = 0;
+        for (int sequence : candidates) {
+            int position = positions.getPosition(sequence);
+            if (position >= 0) {
+                candidates[count++] = position;
+            }
+        }
+        Arrays.sort(candidates, 0, count);
+        return Optional.of(Arrays.copyOf(candidates, count));
+    }
+
+    /**
+     * Indexes every token of a task name.
+     *
+     * @param taskName Name of the task.
+     * @param sequence Sequence number of the task.
+     */
+    private void addTokens(String taskName, int sequence) {
+        int start = 0;
+        while (start < taskName.length()) {
+            if (!Character.isLetterOrDigit(taskName.charAt(start))) {
+                start++;
+                continue;
+            }
+            int end = start;
+            while (end < taskName.length() && Character.isLetterOrDigit(taskName.charAt(end))) {
+                end++;
+            }
+            String token = normalize(taskName, start, end);
+            DukeIndexPostings postings = tokens.get(token);
+            if (postings == null) {
+                postings = new DukeIndexPostings();
+                tokens.put(token, postings);
+            }
+            postings.add(sequence);
+            start = end;
+        }
+    }
+
+    /**
+     * Lower-cases a token one character at a time, so that it keeps its length and lines up with the text around it.
+     *
+     * @param text Text holding the token.
+     * @param start Start of the token, inclusive.
+     * @param end End of the token, exclusive.
+     * @return Normalized token.
+     */
+    private static String normalize(String text, int start, int end) {
+        char[] token = new char[end - start];
+        for (int index = start; index < end; index++) {
+            token[index - start] = Character.toLowerCase(text.charAt(index));
+        }
+        return new String(token);
+    }
+
+    /**
+     * Intersects two sorted arrays.
+     *
+     * @param first Sorted sequence numbers.
+     * @param second Sorted sequence numbers.
+     * @return Sorted sequence numbers found in both.
+     */
+    private static int[] intersect(int[] first, int[] second) {
+        int[] sequences = new int[Math.min(first.length, second.length)];
+        int count = 0;
+        int firstIndex = 0;
+        int secondIndex = 0;
+        while (firstIndex < first.length && secondIndex < second.length) {
+            if (first[firstIndex] < second[secondIndex]) {
+                firstIndex++;
+            } else if (first[firstIndex] > second[secondIndex]) {
+                secondIndex++;
+            } else {
+                sequences[count++] = first[firstIndex];
+                firstIndex++;
+                secondIndex++;
+            }
+        }
+        return Arrays.copyOf(sequences, count);
+    }
+}
@@ -0,0 +1,226 @@
+package duke.util.index;
+
+import duke.task.DukeTask;
+import duke.util.storage.DukeStorageColumnarTaskList;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Index from every three consecutive characters of every task name, its trigrams, to the tasks holding them, so that
+ * "find" keeps matching arbitrary substrings while only looking at the tasks that can match. Every trigram of the
+ * search terms must be a trigram of a matching name, so the tasks holding all of them are the candidates, which are
+ * then checked against the real name, since holding every trigram does not make the search terms a substring.
+ * Trigrams are case-sensitive, like String.contains. Search terms shorter than a trigram are not answered here. The
+ * trigrams are packed into a long and kept in an open-addressing hash table, so that millions of them do not each need
+ * a boxed key.
+ */
+public class DukeIndexTrigrams {
+
+    public static final int DUKE_TRIGRAM_LENGTH = 3;
+
+    private static final long EMPTY_KEY = -1L;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private long[] keys;
+    private DukeIndexPostings[] values;
+    private int keyCount;
+    private DukeIndexPositions positions;
+
+    /**
+     * This constructor indexes every task in a list. A {@link DukeStorageColumnarTaskList} is indexed through its name
+     * column, without creating any of its tasks.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; to index.
+     */
+    public DukeIndexTrigrams(List<DukeTask> userTasks) {
+        this.keys = new long[INITIAL_CAPACITY];
+        Arrays.fill(keys, EMPTY_KEY);
+        this.values = new DukeIndexPostings[INITIAL_CAPACITY];
+        this.positions = new DukeIndexPositions(userTasks);
+        DukeStorageColumnarTaskList columnarTasks = userTasks instanceof DukeStorageColumnarTaskList
+                ? (DukeStorageColumnarTaskList) userTasks
+                : null;
+        for (int index = 0; index < userTasks.size(); index++) {
+            String taskName = columnarTasks != null
+                    ? columnarTasks.getTaskName(index)
+                    : userTasks.get(index).getTaskName();
+            addTrigrams(taskName, positions.getSequence(index));
+        }
+    }
+
+    /**
+     * Checks if so many tasks have been removed that the index should be rebuilt, since removed tasks stay in the
+     * postings until then.
+     *
+     * @return true if more tasks were removed than are left.
+     */
+    public boolean isStale() {
+        return positions.getRemovedCount() > Math.max(positions.size(), 1024);
+    }
+
+    /**
+     * Indexes a task that was appended to the list.
+     *
+     * @param task Appended task.
+     */
+    public void add(DukeTask task) {
+        addTrigrams(task.getTaskName(), positions.append());
+    }
+
+    /**
+     * Removes a task from the list. Its postings are skipped from now on. This must be called before the task is
+     * removed from the list.
+     *
+     * @param position Zero-based position of the removed task.
+     */
+    public void remove(int position) {
+        positions.remove(position);
+    }
+
+    /**
+     * Finds the tasks whose name holds every trigram of the search terms. The postings are intersected from the
+     * shortest one, so that the work done depends on the rarest trigram rather than the number of tasks.
+     *
+     * @param searchTerms Substring to search for in the name of every task.
+     * @return Sorted zero-based positions of every task that may match, which still have to be checked against the
+     *     name, or Optional.empty() if the search terms are shorter than a trigram.
+     */
+    public Optional<int[]> findCandidates(String searchTerms) {
+        if (searchTerms.length() < DUKE_TRIGRAM_LENGTH) {
+            return Optional.empty();
+        }
+        int trigramCount = searchTerms.length() - DUKE_TRIGRAM_LENGTH + 1;
+        DukeIndexPostings[] matchingPostings = new DukeIndexPostings[trigramCount];
+        for (int index = 0; index < trigramCount; index++) {
+            matchingPostings[index] = values[findSlot(pack(searchTerms, index))];
+            if (matchingPostings[index] == null) {
+                return Optional.of(new int[0]);
+            }
+        }
+        Arrays.sort(matchingPostings, (first, second) -> Integer.compare(first.size(), second.size()));
+
+        int[] candidates = matchingPostings[0].toArray();
+        int count = candidates.length;
+        for (int index = 1; index < trigramCount && count > 0; index++) {
+            if (matchingPostings[index] != matchingPostings[index - 1]) {
+                count = intersect(candidates, count, matchingPostings[index]);
+            }
+        }
+
+        int positionCount = 0;
+        for (int index = 0; index < count; index++) {
+            int position = positions.getPosition(candidates[index]);
+            if (position >= 0) {
+                candidates[positionCount++] = position;
+            }
+        }
+        Arrays.sort(candidates, 0, positionCount);
+        return Optional.of(Arrays.copyOf(candidates, positionCount));
+    }
+
+    /**
+     * Keeps the candidates that are also in a postings list, galloping through the postings since they are usually
+     * much longer than the candidates.
+     *
+     * @param candidates Sorted sequence numbers, which are overwritten with the result.
+     * @param count Number of candidates.
+     * @param postings Postings to intersect with.
+     * @return Number of candidates left.
+     */
+    private static int intersect(int[] candidates, int count, DukeIndexPostings postings) {
+        int kept = 0;
+        int low = 0;
+        for (int index = 0; index < count; index++) {
+            int candidate = candidates[index];
+            int step = 1;
+            int high = low;
+            while (high < postings.size() && postings.get(high) < candidate) {
+                low = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            high = Math.min(high, postings.size() - 1);
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (postings.get(middle) < candidate) {
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            if (low < postings.size() && postings.get(low) == candidate) {
+                candidates[kept++] = candidate;
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Indexes every trigram of a task name.
+     *
+     * @param taskName Name of the task.
+     * @param sequence Sequence number of the task.
+     */
+    private void addTrigrams(String taskName, int sequence) {
+        for (int index = 0; index + DUKE_TRIGRAM_LENGTH <= taskName.length(); index++) {
+            long trigram = pack(taskName, index);
+            int slot = findSlot(trigram);
+            if (values[slot] == null) {
+                keys[slot] = trigram;
+                values[slot] = new DukeIndexPostings();
+                keyCount++;
+                if (keyCount * 2 > keys.length) {
+                    grow();
+                    slot = findSlot(trigram);
+                }
+            }
+            values[slot].add(sequence);
+        }
+    }
+
+    /**
+     * Packs the three characters of a trigram into a long.
+     *
+     * @param text Text holding the trigram.
+     * @param start Start of the trigram.
+     * @return Packed trigram, which is never {@link #EMPTY_KEY}.
+     */
+    private static long pack(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+
+    /**
+     * Finds the slot of a trigram in the hash table, by linear probing.
+     *
+     * @param trigram Packed trigram.
+     * @return Slot holding the trigram, or the empty slot it would be put in.
+     */
+    private int findSlot(long trigram) {
+        int mask = keys.length - 1;
+        int slot = (int) ((trigram * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        while (keys[slot] != EMPTY_KEY && keys[slot] != trigram) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Doubles the hash table, putting every trigram into its new slot.
+     */
+    private void grow() {
+        long[] oldKeys = keys;
+        DukeIndexPostings[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        Arrays.fill(keys, EMPTY_KEY);
+        values = new DukeIndexPostings[oldValues.length * 2];
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldValues[slot] != null) {
+                int newSlot = findSlot(oldKeys[slot]);
+                keys[newSlot] = oldKeys[slot];
+                values[newSlot] = oldValues[slot];
+            }
+        }
+    }
+}
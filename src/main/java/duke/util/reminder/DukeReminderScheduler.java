@@ -0,0 +1,75 @@
+package duke.util.reminder;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.concurrent.Executor;
+
+/**
+ * Wakes up at the start of every day on a background thread, and hands the new day over to a listener on the thread
+ * of an {@link Executor}, which advances the {@link DukeReminderWheel} of the list of tasks. The thread sleeps until
+ * the next midnight of the default time zone, but never longer than {@link #DUKE_REMINDER_MAXIMUM_SLEEP_MILLIS}, so
+ * that a change of the clock or a suspended computer only delays the reminders by that much. Nothing is done while
+ * the day stays the same.
+ */
+public class DukeReminderScheduler implements Closeable {
+
+    public static final long DUKE_REMINDER_MAXIMUM_SLEEP_MILLIS = 60 * 60 * 1000;
+
+    private Executor executor;
+    private Runnable listener;
+    private Thread schedulerThread;
+
+    /**
+     * This constructor takes in where the start of every day should go. Scheduling only starts with {@link #start()}.
+     *
+     * @param executor Executor the listener is run on, e.g. the UI thread.
+     * @param listener Listener that shows the reminders of the new day.
+     */
+    public DukeReminderScheduler(Executor executor, Runnable listener) {
+        this.executor = executor;
+        this.listener = listener;
+    }
+
+    /**
+     * Starts waiting for the next day on a background thread.
+     */
+    public synchronized void start() {
+        schedulerThread = new Thread(this::schedule, "duke-reminder-scheduler");
+        schedulerThread.setDaemon(true);
+        schedulerThread.start();
+    }
+
+    /**
+     * Stops waiting for the next day.
+     */
+    @Override
+    public synchronized void close() {
+        if (schedulerThread != null) {
+            schedulerThread.interrupt();
+        }
+    }
+
+    /**
+     * Body of the background thread. Sleeps until the next midnight, and hands it over once the date has changed.
+     */
+    private void schedule() {
+        LocalDate currentDate = LocalDate.now();
+        try {
+            while (true) {
+                ZonedDateTime now = ZonedDateTime.now();
+                ZonedDateTime nextMidnight = now.toLocalDate().plusDays(1).atStartOfDay(now.getZone());
+                long sleepMillis = Duration.between(now, nextMidnight).toMillis();
+                Thread.sleep(Math.max(1, Math.min(sleepMillis, DUKE_REMINDER_MAXIMUM_SLEEP_MILLIS)));
+                LocalDate date = LocalDate.now();
+                if (!date.equals(currentDate)) {
+                    currentDate = date;
+                    executor.execute(listener);
+                }
+            }
+        } catch (InterruptedException ex) {
+            return;
+        }
+    }
+}
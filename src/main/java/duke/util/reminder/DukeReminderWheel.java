@@ -0,0 +1,156 @@
+package duke.util.reminder;
+
+import java.util.Arrays;
+
+/**
+ * Hashed timing wheel of reminder timers, one slot per day. Since the reminder window is counted in whole days, a
+ * deadline can only cross into it at the start of a day, so a timer is just the day it fires on, and every timer of a
+ * day hangs off the slot of that day modulo {@link #DUKE_REMINDER_WHEEL_SLOTS}. A timer is keyed by an int, e.g. the
+ * sequence number of its task, and the slots are doubly linked lists threaded through int arrays indexed by the key,
+ * so that arming and cancelling a timer are O(1) and allocate nothing. Advancing the wheel by a day only goes through
+ * the slot of that day, skipping the timers that belong to a later turn of the wheel, so the wheel is never rescanned
+ * as a whole unless more than a full turn of days has passed at once.
+ */
+public class DukeReminderWheel {
+
+    public static final int DUKE_REMINDER_WHEEL_SLOTS = 512;
+
+    private static final int NO_KEY = -1;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private int[] slotHeads;
+    private int[] nextKeys;
+    private int[] previousKeys;
+    private long[] dueDays;
+    private boolean[] isArmed;
+    private long currentDay;
+    private int armedCount;
+
+    /**
+     * This constructor creates an empty wheel.
+     *
+     * @param currentDay Day the wheel starts at, as days since the epoch. Timers can only be armed after it.
+     */
+    public DukeReminderWheel(long currentDay) {
+        this.slotHeads = new int[DUKE_REMINDER_WHEEL_SLOTS];
+        Arrays.fill(slotHeads, NO_KEY);
+        this.nextKeys = new int[INITIAL_CAPACITY];
+        this.previousKeys = new int[INITIAL_CAPACITY];
+        this.dueDays = new long[INITIAL_CAPACITY];
+        this.isArmed = new boolean[INITIAL_CAPACITY];
+        this.currentDay = currentDay;
+    }
+
+    public long getCurrentDay() {
+        return this.currentDay;
+    }
+
+    public int size() {
+        return this.armedCount;
+    }
+
+    /**
+     * Arms the timer of a key, replacing its earlier timer if it has one.
+     *
+     * @param key Non-negative key of the timer.
+     * @param dueDay Day the timer fires on, as days since the epoch, which must be after the current day.
+     */
+    public void arm(int key, long dueDay) {
+        assert key >= 0 && dueDay > currentDay;
+        if (key >= isArmed.length) {
+            grow(key);
+        }
+        cancel(key);
+        int slot = getSlot(dueDay);
+        dueDays[key] = dueDay;
+        previousKeys[key] = NO_KEY;
+        nextKeys[key] = slotHeads[slot];
+        if (slotHeads[slot] != NO_KEY) {
+            previousKeys[slotHeads[slot]] = key;
+        }
+        slotHeads[slot] = key;
+        isArmed[key] = true;
+        armedCount++;
+    }
+
+    /**
+     * Cancels the timer of a key, if it is armed.
+     *
+     * @param key Key of the timer.
+     */
+    public void cancel(int key) {
+        if (key < 0 || key >= isArmed.length || !isArmed[key]) {
+            return;
+        }
+        int previousKey = previousKeys[key];
+        int nextKey = nextKeys[key];
+        if (previousKey != NO_KEY) {
+            nextKeys[previousKey] = nextKey;
+        } else {
+            slotHeads[getSlot(dueDays[key])] = nextKey;
+        }
+        if (nextKey != NO_KEY) {
+            previousKeys[nextKey] = previousKey;
+        }
+        isArmed[key] = false;
+        armedCount--;
+    }
+
+    /**
+     * Advances the wheel to a day, firing and disarming every timer due on or before it. Only the slots of the days
+     * that have passed are gone through, or every slot once if more than a full turn of days has passed.
+     *
+     * @param day Day to advance to, as days since the epoch.
+     * @return Keys of the fired timers, in no particular order.
+     */
+    public int[] advance(long day) {
+        if (day <= currentDay) {
+            return new int[0];
+        }
+        int[] firedKeys = new int[16];
+        int firedCount = 0;
+        long slotCount = Math.min(day - currentDay, DUKE_REMINDER_WHEEL_SLOTS);
+        for (long slotDay = day - slotCount + 1; slotDay <= day; slotDay++) {
+            int key = slotHeads[getSlot(slotDay)];
+            while (key != NO_KEY) {
+                int nextKey = nextKeys[key];
+                if (dueDays[key] <= day) {
+                    cancel(key);
+                    if (firedCount == firedKeys.length) {
+                        firedKeys = Arrays.copyOf(firedKeys, firedCount * 2);
+                    }
+                    firedKeys[firedCount++] = key;
+                }
+                key = nextKey;
+            }
+        }
+        currentDay = day;
+        return Arrays.copyOf(firedKeys, firedCount);
+    }
+
+    /**
+     * Gets the slot of a day.
+     *
+     * @param day Day as days since the epoch.
+     * @return Index of its slot.
+     */
+    private static int getSlot(long day) {
+        return (int) Math.floorMod(day, (long) DUKE_REMINDER_WHEEL_SLOTS);
+    }
+
+    /**
+     * Grows the arrays indexed by key until they hold a key.
+     *
+     * @param key Key that must fit.
+     */
+    private void grow(int key) {
+        int capacity = isArmed.length;
+        while (capacity <= key) {
+            capacity *= 2;
+        }
+        nextKeys = Arrays.copyOf(nextKeys, capacity);
+        previousKeys = Arrays.copyOf(previousKeys, capacity);
+        dueDays = Arrays.copyOf(dueDays, capacity);
+        isArmed = Arrays.copyOf(isArmed, capacity);
+    }
+}
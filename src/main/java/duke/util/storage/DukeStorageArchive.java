@@ -0,0 +1,236 @@
+package duke.util.storage;
+
+import duke.task.DukeTask;
+import duke.util.DukeStorage;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cold tier of the data file, holding completed tasks that are old enough to no longer be worth keeping in memory.
+ * The archive is a side file next to the data file, with {@link #DUKE_ARCHIVE_FILE_SUFFIX} appended to its name, made
+ * of segments that are only ever appended. Every segment holds a batch of archived tasks as text records, compressed
+ * with GZIP, and starts with the length of its compressed bytes, so that a segment torn by a crash can be found and
+ * cut off before the next one is appended. A task is considered old once {@link #DUKE_ARCHIVE_HOT_TASK_COUNT} newer
+ * tasks have been added after it, since tasks do not record when they were added or completed. The archive is only
+ * read when the user asks for the history of their tasks.
+ */
+public class DukeStorageArchive {
+
+    public static final String DUKE_ARCHIVE_FILE_SUFFIX = ".archive";
+    public static final int DUKE_ARCHIVE_HOT_TASK_COUNT = 100;
+    public static final int DUKE_ARCHIVE_MINIMUM_TASK_COUNT = 20;
+
+    private static final int SEGMENT_HEADER_LENGTH = Integer.BYTES;
+
+    private File archiveFile;
+
+    /**
+     * This constructor takes in the path of the data file whose completed tasks are archived.
+     *
+     * @param taskFilePath Relative/Full path to the data file.
+     */
+    public DukeStorageArchive(String taskFilePath) {
+        this.archiveFile = new File(taskFilePath + DUKE_ARCHIVE_FILE_SUFFIX);
+    }
+
+    /**
+     * Finds the tasks that should be moved to the archive: every completed task that has at least
+     * {@link #DUKE_ARCHIVE_HOT_TASK_COUNT} tasks after it. Nothing is archived until there are at least
+     * {@link #DUKE_ARCHIVE_MINIMUM_TASK_COUNT} such tasks, so that the data file is not rewritten for every few tasks.
+     * A {@link DukeStorageLazyTaskList} is never archived, since that would decode every task.
+     *
+     * @param userTasks Current List&lt;duke.task.DukeTask&gt;.
+     * @return Zero-based indexes of the tasks to archive, which is empty if nothing should be archived yet.
+     */
+    public BitSet findColdTasks(List<DukeTask> userTasks) {
+        BitSet coldIndexes = new BitSet();
+        if (userTasks instanceof DukeStorageLazyTaskList) {
+            return coldIndexes;
+        }
+        DukeStorageColumnarTaskList columnarTasks = userTasks instanceof DukeStorageColumnarTaskList
+                ? (DukeStorageColumnarTaskList) userTasks
+                : null;
+        int coldEnd = userTasks.size() - DUKE_ARCHIVE_HOT_TASK_COUNT;
+        for (int index = 0; index < coldEnd; index++) {
+            boolean isComplete = columnarTasks != null
+                    ? columnarTasks.isComplete(index)
+                    : userTasks.get(index).getTaskIsComplete();
+            if (isComplete) {
+                coldIndexes.set(index);
+            }
+        }
+        if (coldIndexes.cardinality() < DUKE_ARCHIVE_MINIMUM_TASK_COUNT) {
+            coldIndexes.clear();
+        }
+        return coldIndexes;
+    }
+
+    /**
+     * Moves tasks to the archive: the tasks are appended as a new segment, which is forced to the disk, and only then
+     * removed from the List, so that a crash in between can leave a task in both tiers, but never in neither. The
+     * List must then be saved by the caller.
+     *
+     * @param userTasks Current List&lt;duke.task.DukeTask&gt;, which will be updated in place.
+     * @param coldIndexes Zero-based indexes of the tasks to archive, as found by {@link #findColdTasks(List)}.
+     * @throws IOException If the archive cannot be written.
+     */
+    public void archive(List<DukeTask> userTasks, BitSet coldIndexes) throws IOException {
+        ByteArrayOutputStream segmentStream = new ByteArrayOutputStream();
+        segmentStream.write(new byte[SEGMENT_HEADER_LENGTH]);
+        try (Writer segmentWriter = new OutputStreamWriter(new GZIPOutputStream(segmentStream),
+                Charset.defaultCharset())) {
+            for (int index = coldIndexes.nextSetBit(0); index >= 0; index = coldIndexes.nextSetBit(index + 1)) {
+                segmentWriter.write(DukeStorage.processWriteTask(userTasks.get(index)));
+                segmentWriter.write(System.lineSeparator());
+            }
+        }
+        ByteBuffer segment = ByteBuffer.wrap(segmentStream.toByteArray());
+        segment.putInt(0, segment.capacity() - SEGMENT_HEADER_LENGTH);
+
+        try (FileChannel archiveChannel = FileChannel.open(archiveFile.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long position = findEnd(archiveChannel);
+            archiveChannel.truncate(position);
+            while (segment.hasRemaining()) {
+                position += archiveChannel.write(segment, position);
+            }
+            archiveChannel.force(true);
+        }
+
+        synchronized (userTasks) {
+            removeTasks(userTasks, coldIndexes);
+        }
+    }
+
+    /**
+     * Finds the end of the last complete segment of the archive, skipping from header to header.
+     *
+     * @param archiveChannel Open archive.
+     * @return Byte offset the next segment should be written at.
+     * @throws IOException If the archive cannot be read.
+     */
+    private static long findEnd(FileChannel archiveChannel) throws IOException {
+        long fileLength = archiveChannel.size();
+        ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_LENGTH);
+        long position = 0;
+        while (position + SEGMENT_HEADER_LENGTH <= fileLength) {
+            header.clear();
+            while (header.hasRemaining() && archiveChannel.read(header, position + header.position()) > 0) {
+                continue;
+            }
+            long segmentEnd = position + SEGMENT_HEADER_LENGTH + header.getInt(0);
+            if (header.getInt(0) < 0 || segmentEnd > fileLength) {
+                break;
+            }
+            position = segmentEnd;
+        }
+        return position;
+    }
+
+    /**
+     * Removes tasks from a List in a single pass. A {@link DukeStorageColumnarTaskList} removes them column by column
+     * without creating any of its tasks.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; to remove the tasks from.
+     * @param removedIndexes Zero-based indexes of the tasks to remove.
+     */
+    private static void removeTasks(List<DukeTask> userTasks, BitSet removedIndexes) {
+        if (userTasks instanceof DukeStorageColumnarTaskList) {
+            ((DukeStorageColumnarTaskList) userTasks).removeTasks(removedIndexes);
+            return;
+        }
+        int keptCount = 0;
+        for (int index = 0; index < userTasks.size(); index++) {
+            if (!removedIndexes.get(index)) {
+                userTasks.set(keptCount++, userTasks.get(index));
+            }
+        }
+        userTasks.subList(keptCount, userTasks.size()).clear();
+    }
+
+    /**
+     * Reads every archived task back, oldest first. Records that cannot be read are collected in a quarantine instead,
+     * along with a note for every segment that is corrupted or was torn by a crash.
+     *
+     * @param quarantine Quarantine to collect the records that could not be read in.
+     * @return List&lt;duke.task.DukeTask&gt; which can be empty if nothing has been archived yet.
+     * @throws IOException If the archive cannot be read.
+     */
+    public List<DukeTask> load(DukeStorageQuarantine quarantine) throws IOException {
+        List<DukeTask> archivedTasks = new ArrayList<>();
+        if (!archiveFile.exists()) {
+            return archivedTasks;
+        }
+        try (FileChannel archiveChannel = FileChannel.open(archiveFile.toPath(), StandardOpenOption.READ)) {
+            long end = findEnd(archiveChannel);
+            ByteBuffer segment = ByteBuffer.allocate((int) end);
+            while (segment.hasRemaining() && archiveChannel.read(segment, segment.position()) > 0) {
+                continue;
+            }
+            int position = 0;
+            while (position < end) {
+                int segmentLength = segment.getInt(position);
+                try {
+                    readSegment(segment.array(), position + SEGMENT_HEADER_LENGTH, segmentLength, archivedTasks,
+                            quarantine);
+                } catch (IOException ex) {
+                    quarantine.add("# Corrupted archive segment at byte " + position + " of " + archiveFile.getPath());
+                }
+                position += SEGMENT_HEADER_LENGTH + segmentLength;
+            }
+            if (archiveChannel.size() > end) {
+                quarantine.add("# Torn archive segment of " + (archiveChannel.size() - end) + " bytes in "
+                        + archiveFile.getPath());
+            }
+        }
+        return archivedTasks;
+    }
+
+    /**
+     * Reads the tasks of a single segment.
+     *
+     * @param archive Bytes of the archive.
+     * @param offset Index of the first compressed byte of the segment.
+     * @param length Number of compressed bytes of the segment.
+     * @param archivedTasks List&lt;duke.task.DukeTask&gt; to add the read tasks to.
+     * @param quarantine Quarantine to collect the records that could not be read in.
+     * @throws IOException If the segment cannot be decompressed, e.g. because it is corrupted.
+     */
+    private static void readSegment(byte[] archive, int offset, int length, List<DukeTask> archivedTasks,
+            DukeStorageQuarantine quarantine) throws IOException {
+        try (BufferedReader segmentReader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(archive, offset, length)), Charset.defaultCharset()))) {
+            String line;
+            while ((line = segmentReader.readLine()) != null) {
+                try {
+                    Optional<DukeTask> archivedTask = DukeStorage.processReadTask(line);
+                    if (archivedTask.isPresent()) {
+                        archivedTasks.add(archivedTask.get());
+                    } else {
+                        quarantine.add(line);
+                    }
+                } catch (IOException ex) {
+                    quarantine.add(line);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,143 @@
+package duke.util.storage;
+
+import duke.task.DukeTask;
+import duke.util.ui.DukeUiMessages;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Where {@link duke.util.DukeStorage} keeps the list of {@link DukeTask}. Which backend is used is chosen by a
+ * {@link DukeStorageType}. Write-behind through a {@link DukeStoragePersister} is applied by
+ * {@link duke.util.DukeStorage} on top of any backend, so backends only ever save on the calling thread.
+ */
+public interface DukeStorageBackend {
+
+    /**
+     * Loads every {@link DukeTask} that was saved.
+     *
+     * @param ui Instance of {@link DukeUiMessages} which will show output to the user.
+     * @return List&lt;duke.task.DukeTask&gt; in the order they were saved in.
+     * @throws IOException If the saved tasks cannot be read.
+     */
+    List<DukeTask> load(DukeUiMessages ui) throws IOException;
+
+    /**
+     * Loads every {@link DukeTask} that was saved, decoding them only when they are first accessed if the backend
+     * supports it.
+     *
+     * @param ui Instance of {@link DukeUiMessages} which will show output to the user.
+     * @return List&lt;duke.task.DukeTask&gt; in the order they were saved in.
+     * @throws IOException If the saved tasks cannot be read.
+     */
+    default List<DukeTask> loadLazily(DukeUiMessages ui) throws IOException {
+        return load(ui);
+    }
+
+    /**
+     * Checks if single mutations can be saved on their own through {@link #saveAddedTask}, {@link #saveCompletedTask}
+     * and {@link #saveDeletedTask}. Otherwise, the entire List is saved after every mutation.
+     *
+     * @return true if single mutations are journaled.
+     */
+    boolean isJournaled();
+
+    /**
+     * Saves the entire List&lt;duke.task.DukeTask&gt;, and waits for it to complete.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; to save.
+     * @throws IOException If the tasks cannot be saved.
+     */
+    void save(List<DukeTask> userTasks) throws IOException;
+
+    /**
+     * Saves a {@link DukeTask} that was just appended to the List&lt;duke.task.DukeTask&gt;.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; after the task has been added.
+     * @param task {@link DukeTask} that was added.
+     * @throws IOException If the task cannot be saved.
+     */
+    void saveAddedTask(List<DukeTask> userTasks, DukeTask task) throws IOException;
+
+    /**
+     * Saves a batch of {@link DukeTask} that were just appended to the List&lt;duke.task.DukeTask&gt;, e.g. by an
+     * import. By default, every task is saved through {@link #saveAddedTask(List, DukeTask)}, while a backend that can
+     * write the entire batch at once with a single durable write does so instead.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; after the tasks have been added.
+     * @param addedTasks Tasks that were added, in order.
+     * @throws IOException If the tasks cannot be saved.
+     */
+    default void saveAddedTasks(List<DukeTask> userTasks, List<DukeTask> addedTasks) throws IOException {
+        for (DukeTask task : addedTasks) {
+            saveAddedTask(userTasks, task);
+        }
+    }
+
+    /**
+     * Saves a {@link DukeTask} that was just marked as complete.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; after the task has been marked as complete.
+     * @param taskIndex Zero-based index of the completed task.
+     * @throws IOException If the task cannot be saved.
+     */
+    void saveCompletedTask(List<DukeTask> userTasks, int taskIndex) throws IOException;
+
+    /**
+     * Saves a {@link DukeTask} that was just marked as complete by overwriting it in place, for backends that are not
+     * journaled and would otherwise save the entire List.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; after the task has been marked as complete.
+     * @param taskIndex Zero-based index of the completed task.
+     * @return true if the task was overwritten in place, false if the entire List has to be saved instead.
+     * @throws IOException If the task cannot be overwritten.
+     */
+    default boolean saveCompletedTaskInPlace(List<DukeTask> userTasks, int taskIndex) throws IOException {
+        return false;
+    }
+
+    /**
+     * Saves the deletion of a {@link DukeTask}.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; after the task has been deleted.
+     * @param taskIndex Zero-based index the deleted task was at.
+     * @throws IOException If the deletion cannot be saved.
+     */
+    void saveDeletedTask(List<DukeTask> userTasks, int taskIndex) throws IOException;
+
+    /**
+     * Finds the tasks whose name contains the search terms, if the backend can answer this without going through the
+     * List&lt;duke.task.DukeTask&gt;.
+     *
+     * @param searchTerms Substring to search for in the name of every task.
+     * @return Zero-based indexes of the matching tasks in ascending order, or Optional.empty() if the backend cannot
+     *     answer this and the List should be scanned instead.
+     * @throws IOException If the saved tasks cannot be queried.
+     */
+    default Optional<List<Integer>> findTasks(String searchTerms) throws IOException {
+        return Optional.empty();
+    }
+
+    /**
+     * Finds the incomplete {@link duke.task.DukeTaskDeadline} due in a range, if the backend can answer this without
+     * going through the List&lt;duke.task.DukeTask&gt;.
+     *
+     * @param from Start of the range, inclusive.
+     * @param to End of the range, exclusive.
+     * @return Zero-based indexes of the matching deadlines in ascending order, or Optional.empty() if the backend
+     *     cannot answer this and the List should be scanned instead.
+     * @throws IOException If the saved tasks cannot be queried.
+     */
+    default Optional<List<Integer>> findIncompleteDeadlines(LocalDateTime from, LocalDateTime to) throws IOException {
+        return Optional.empty();
+    }
+
+    /**
+     * Waits for every write that is still running in the background to complete.
+     *
+     * @throws IOException If a write in the background failed.
+     */
+    void flush() throws IOException;
+}
@@ -0,0 +1,75 @@
+package duke.util.storage;
+
+import duke.task.DukeTask;
+import duke.util.DukeStorage;
+import duke.util.ui.DukeUiMessages;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Upgrades an existing text data file, together with its journal, to the {@link DukeStorageBinaryFormat}. The text
+ * data file is left untouched. Run with:
+ * <pre>
+ * java -cp duke.jar duke.util.storage.DukeStorageBinaryConverter data/duke.txt [data/duke.bin]
+ * </pre>
+ */
+public class DukeStorageBinaryConverter {
+
+    /**
+     * Converts the text data file at the first argument into the binary data file at the second argument. If the
+     * second argument is left out, the binary data file is written next to the text data file, with its extension
+     * replaced by {@link DukeStorageBinaryFormat#DUKE_BINARY_FILE_EXTENSION}.
+     *
+     * @param args Path to the text data file, optionally followed by the path to the binary data file.
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Usage: DukeStorageBinaryConverter TEXT_FILE_PATH [BINARY_FILE_PATH]");
+            return;
+        }
+
+        String binaryFilePath = args.length > 1 ? args[1] : getBinaryFilePath(args[0]);
+        try {
+            int convertedCount = convert(args[0], binaryFilePath);
+            System.out.println("Converted " + convertedCount + " tasks into " + binaryFilePath);
+        } catch (IOException ex) {
+            System.out.println("Failed to convert " + args[0] + ": " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Reads the text data file, replaying its journal if there is one, and saves every task into the binary data
+     * file.
+     *
+     * @param textFilePath Relative/Full path to the text data file.
+     * @param binaryFilePath Relative/Full path to the binary data file.
+     * @return Number of tasks converted.
+     * @throws IOException If either file cannot be read or written.
+     */
+    public static int convert(String textFilePath, String binaryFilePath) throws IOException {
+        List<DukeTask> userTasks = new DukeStorage(textFilePath, true).load(new DukeUiMessages() {
+            @Override
+            public void displayToUser(String input) {
+                System.out.println(input);
+            }
+        });
+        new DukeStorageBinaryBackend(binaryFilePath, false, DukeStorageDurability.SYNC).save(userTasks);
+        return userTasks.size();
+    }
+
+    /**
+     * Replaces the extension of the text data file path with the binary data file extension.
+     *
+     * @param textFilePath Relative/Full path to the text data file.
+     * @return Path to the binary data file.
+     */
+    private static String getBinaryFilePath(String textFilePath) {
+        int extensionIndex = textFilePath.lastIndexOf('.');
+        int separatorIndex = Math.max(textFilePath.lastIndexOf('/'), textFilePath.lastIndexOf('\\'));
+        if (extensionIndex <= separatorIndex) {
+            return textFilePath + DukeStorageBinaryFormat.DUKE_BINARY_FILE_EXTENSION;
+        }
+        return textFilePath.substring(0, extensionIndex) + DukeStorageBinaryFormat.DUKE_BINARY_FILE_EXTENSION;
+    }
+}
@@ -0,0 +1,669 @@
+package duke.util.storage;
+
+import duke.task.DukeTask;
+import duke.task.DukeTaskDeadline;
+import duke.task.DukeTaskEvent;
+import duke.task.DukeTaskToDo;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Compact binary data file format, used instead of the text format when the data file name ends with
+ * {@link #DUKE_BINARY_FILE_EXTENSION}. The file starts with the magic bytes "DUKE" followed by a version byte and a
+ * string dictionary, which holds every name, deadline and location that is used by more than one task, most used
+ * first. Every dictionary entry and every task is then stored as a frame, holding its length and its CRC32:
+ * <pre>
+ * count    varint number of dictionary entries, followed by that many entry frames and then the task frames
+ *
+ * length   varint length of the frame body
+ * body     UTF-8 bytes of a dictionary entry, or the record of a task
+ * checksum 4 bytes  CRC32 of the body, big-endian
+ *
+ * tag      1 byte   task type in the low bits, with {@link #TAG_COMPLETE} set if the task is complete
+ * name     String field holding the task name
+ * extra    String field holding the deadline or location (deadlines and events only)
+ * </pre>
+ * A String field is a varint which is 0 if the UTF-8 bytes of the String follow, preceded by their length as a
+ * varint, or otherwise the one-based index of the dictionary entry holding the String. Every task that refers to an
+ * entry shares the same String once loaded. Version 2 files, which have no dictionary and always store the String
+ * itself without the leading 0, and version 1 files, whose records have neither a length nor a checksum, can still be
+ * read.
+ */
+public class DukeStorageBinaryFormat {
+
+    public static final String DUKE_BINARY_FILE_EXTENSION = ".bin";
+
+    private static final byte[] MAGIC = {'D', 'U', 'K', 'E'};
+    private static final int VERSION = 3;
+    private static final int VERSION_WITHOUT_DICTIONARY = 2;
+    private static final int VERSION_UNCHECKED = 1;
+    private static final int TAG_TODO = 1;
+    private static final int TAG_DEADLINE = 2;
+    private static final int TAG_EVENT = 3;
+    private static final int TAG_COMPLETE = 0x80;
+    private static final int TAG_TYPE_MASK = 0x7F;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Checks if a data file path selects the binary format.
+     *
+     * @param taskFilePath Relative/Full path to the data file.
+     * @return true if the path ends with {@link #DUKE_BINARY_FILE_EXTENSION}.
+     */
+    public static boolean isBinaryPath(String taskFilePath) {
+        return taskFilePath.endsWith(DUKE_BINARY_FILE_EXTENSION);
+    }
+
+    /**
+     * Checks if a file starts with the binary format header, regardless of its name.
+     *
+     * @param file File to check.
+     * @return true if the file starts with the magic bytes.
+     * @throws IOException If the file cannot be read.
+     */
+    public static boolean hasBinaryHeader(File file) throws IOException {
+        byte[] header = new byte[MAGIC.length];
+        try (InputStream headerInputStream = new FileInputStream(file)) {
+            return headerInputStream.readNBytes(header, 0, header.length) == header.length
+                    && Arrays.equals(header, MAGIC);
+        }
+    }
+
+    /**
+     * Reads every {@link DukeTask} from a data file in the binary format. A frame whose checksum does not match, or a
+     * record that cannot be decoded, is moved to the {@link DukeStorageQuarantine} and the next frame is read. This
+     * includes every record that refers to a corrupted dictionary entry. If the file ends in the middle of a frame, the
+     * rest of the file is moved to the quarantine.
+     *
+     * @param file Data file to read from.
+     * @param quarantine {@link DukeStorageQuarantine} to move corrupted records to.
+     * @return List&lt;duke.task.DukeTask&gt; in the order they are stored in.
+     * @throws IOException If the file cannot be read, or is not in a format this version understands.
+     */
+    public static List<DukeTask> read(File file, DukeStorageQuarantine quarantine) throws IOException {
+        try (DataInputStream taskFileInputStream = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE))) {
+            int version = readHeader(taskFileInputStream);
+            if (version == VERSION_UNCHECKED) {
+                return readUnchecked(taskFileInputStream);
+            }
+
+            List<DukeTask> userTasks = new ArrayList<>();
+            FrameReader frameReader = new FrameReader(taskFileInputStream, file.length(), quarantine);
+            String[] dictionary = null;
+            if (version == VERSION) {
+                dictionary = readDictionary(frameReader);
+                if (dictionary == null) {
+                    return userTasks;
+                }
+            }
+            while (true) {
+                int length = frameReader.readFrame();
+                if (length == FrameReader.FRAME_END) {
+                    return userTasks;
+                } else if (length == FrameReader.FRAME_CORRUPTED) {
+                    continue;
+                }
+                DukeTask task = decodeRecord(frameReader.getBody(length), dictionary);
+                if (task != null) {
+                    userTasks.add(task);
+                } else {
+                    frameReader.quarantineBody(length);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the string dictionary at the start of a version 3 file. A corrupted entry is left as null, so that only
+     * the records referring to it fail to decode.
+     *
+     * @param frameReader Reader positioned right after the header.
+     * @return Dictionary entries in order, or null if the file ends within the dictionary.
+     * @throws IOException If the file cannot be read.
+     */
+    private static String[] readDictionary(FrameReader frameReader) throws IOException {
+        int entryCount = frameReader.readCount();
+        if (entryCount < 0) {
+            return null;
+        }
+        String[] dictionary = new String[entryCount];
+        for (int index = 0; index < entryCount; index++) {
+            int length = frameReader.readFrame();
+            if (length == FrameReader.FRAME_END) {
+                return null;
+            } else if (length >= 0) {
+                ByteBuffer entryBuffer = frameReader.getBody(length);
+                dictionary[index] = new String(entryBuffer.array(), 0, length, StandardCharsets.UTF_8);
+            }
+        }
+        return dictionary;
+    }
+
+    /**
+     * Reads every {@link DukeTask} from a version 1 data file, whose records have no checksum.
+     *
+     * @param taskFileInputStream Stream positioned right after the header.
+     * @return List&lt;duke.task.DukeTask&gt; in the order they are stored in.
+     * @throws IOException If the file cannot be read, or a record is malformed.
+     */
+    private static List<DukeTask> readUnchecked(DataInputStream taskFileInputStream) throws IOException {
+        List<DukeTask> userTasks = new ArrayList<>();
+        byte[] stringBuffer = new byte[256];
+        int tag;
+        while ((tag = taskFileInputStream.read()) != -1) {
+            boolean isComplete = (tag & TAG_COMPLETE) != 0;
+            int length = readVarInt(taskFileInputStream);
+            stringBuffer = ensureCapacity(stringBuffer, length);
+            taskFileInputStream.readFully(stringBuffer, 0, length);
+            String taskName = new String(stringBuffer, 0, length, StandardCharsets.UTF_8);
+
+            switch (tag & TAG_TYPE_MASK) {
+            case TAG_TODO:
+                userTasks.add(new DukeTaskToDo(taskName, isComplete));
+                break;
+
+            case TAG_DEADLINE:
+                userTasks.add(new DukeTaskDeadline(taskName, isComplete, readString(taskFileInputStream)));
+                break;
+
+            case TAG_EVENT:
+                userTasks.add(new DukeTaskEvent(taskName, isComplete, readString(taskFileInputStream)));
+                break;
+
+            default:
+                throw new IOException("Unknown task tag " + tag);
+            }
+        }
+        return userTasks;
+    }
+
+    /**
+     * Decodes a single record whose checksum has already been checked.
+     *
+     * @param recordBuffer Buffer holding exactly the tag, name and extra of the record.
+     * @param dictionary String dictionary of a version 3 file, or null for a version 2 file.
+     * @return Decoded {@link DukeTask}, or null if the record is malformed or refers to a missing dictionary entry.
+     */
+    private static DukeTask decodeRecord(ByteBuffer recordBuffer, String[] dictionary) {
+        try {
+            int tag = recordBuffer.get() & 0xFF;
+            boolean isComplete = (tag & TAG_COMPLETE) != 0;
+            String taskName = readField(recordBuffer, dictionary);
+            switch (tag & TAG_TYPE_MASK) {
+            case TAG_TODO:
+                return new DukeTaskToDo(taskName, isComplete);
+
+            case TAG_DEADLINE:
+                return new DukeTaskDeadline(taskName, isComplete, readField(recordBuffer, dictionary));
+
+            case TAG_EVENT:
+                return new DukeTaskEvent(taskName, isComplete, readField(recordBuffer, dictionary));
+
+            default:
+                return null;
+            }
+        } catch (BufferUnderflowException | IOException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads a String field of a record, which either holds the String itself or refers to a dictionary entry.
+     *
+     * @param recordBuffer Buffer holding the rest of the record.
+     * @param dictionary String dictionary of a version 3 file, or null for a version 2 file.
+     * @return Decoded or shared String.
+     * @throws IOException If the field is malformed, or refers to a missing or corrupted dictionary entry.
+     * @throws BufferUnderflowException If the record ends early.
+     */
+    private static String readField(ByteBuffer recordBuffer, String[] dictionary) throws IOException {
+        if (dictionary == null) {
+            return readString(recordBuffer);
+        }
+        int entryNumber = readVarInt(recordBuffer);
+        if (entryNumber == 0) {
+            return readString(recordBuffer);
+        }
+        if (entryNumber < 0 || entryNumber > dictionary.length || dictionary[entryNumber - 1] == null) {
+            throw new IOException("Missing dictionary entry " + entryNumber);
+        }
+        return dictionary[entryNumber - 1];
+    }
+
+    /**
+     * Writes every {@link DukeTask} to a stream in the binary format. The tasks are gone through twice, first to build
+     * the string dictionary and then to write the records. The stream is flushed but not closed.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; to write.
+     * @param outputStream Stream to write to, usually a temporary data file.
+     * @throws IOException If the stream cannot be written to.
+     */
+    public static void write(List<DukeTask> userTasks, OutputStream outputStream) throws IOException {
+        DataOutputStream taskFileOutputStream = new DataOutputStream(
+                new BufferedOutputStream(outputStream, BUFFER_SIZE));
+        taskFileOutputStream.write(MAGIC);
+        taskFileOutputStream.write(VERSION);
+        CRC32 checksum = new CRC32();
+        CheckedOutputStream frameOutputStream = new CheckedOutputStream(taskFileOutputStream, checksum);
+
+        Map<String, Integer> entryNumbers = buildDictionary(userTasks);
+        writeVarInt(taskFileOutputStream, entryNumbers.size());
+        for (String entry : entryNumbers.keySet()) {
+            byte[] entryBytes = entry.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(taskFileOutputStream, entryBytes.length);
+            checksum.reset();
+            frameOutputStream.write(entryBytes);
+            taskFileOutputStream.writeInt((int) checksum.getValue());
+        }
+
+        for (DukeTask task : userTasks) {
+            int tag = task.getTaskIsComplete() ? TAG_COMPLETE : 0;
+            String extra = getExtra(task);
+            if (task instanceof DukeTaskDeadline) {
+                tag |= TAG_DEADLINE;
+            } else if (task instanceof DukeTaskEvent) {
+                tag |= TAG_EVENT;
+            } else {
+                tag |= TAG_TODO;
+            }
+            Integer nameNumber = entryNumbers.get(task.getTaskName());
+            byte[] nameBytes = nameNumber == null ? task.getTaskName().getBytes(StandardCharsets.UTF_8) : null;
+            Integer extraNumber = extra == null ? null : entryNumbers.get(extra);
+            byte[] extraBytes = extra != null && extraNumber == null ? extra.getBytes(StandardCharsets.UTF_8) : null;
+
+            int length = 1 + getFieldLength(nameNumber, nameBytes);
+            if (extra != null) {
+                length += getFieldLength(extraNumber, extraBytes);
+            }
+            writeVarInt(taskFileOutputStream, length);
+
+            checksum.reset();
+            frameOutputStream.write(tag);
+            writeField(frameOutputStream, nameNumber, nameBytes);
+            if (extra != null) {
+                writeField(frameOutputStream, extraNumber, extraBytes);
+            }
+            taskFileOutputStream.writeInt((int) checksum.getValue());
+        }
+        taskFileOutputStream.flush();
+    }
+
+    /**
+     * Builds the string dictionary from every name, deadline and location used by more than one task. The most used
+     * Strings come first, so that they get the shortest entry numbers.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; to write.
+     * @return One-based entry number of every String in the dictionary, in the order of the entries.
+     */
+    private static Map<String, Integer> buildDictionary(List<DukeTask> userTasks) {
+        Map<String, Integer> useCounts = new HashMap<>();
+        for (DukeTask task : userTasks) {
+            useCounts.merge(task.getTaskName(), 1, Integer::sum);
+            String extra = getExtra(task);
+            if (extra != null) {
+                useCounts.merge(extra, 1, Integer::sum);
+            }
+        }
+        List<Map.Entry<String, Integer>> repeatedStrings = new ArrayList<>();
+        for (Map.Entry<String, Integer> useCount : useCounts.entrySet()) {
+            if (useCount.getValue() > 1) {
+                repeatedStrings.add(useCount);
+            }
+        }
+        repeatedStrings.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+
+        Map<String, Integer> entryNumbers = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> repeatedString : repeatedStrings) {
+            entryNumbers.put(repeatedString.getKey(), entryNumbers.size() + 1);
+        }
+        return entryNumbers;
+    }
+
+    /**
+     * Gets the deadline or location of a task.
+     *
+     * @param task {@link DukeTask} to get the extra field of.
+     * @return Deadline or location, or null for a to-do.
+     */
+    private static String getExtra(DukeTask task) {
+        if (task instanceof DukeTaskDeadline) {
+            return ((DukeTaskDeadline) task).getTaskDeadline();
+        } else if (task instanceof DukeTaskEvent) {
+            return ((DukeTaskEvent) task).getTaskLocation();
+        }
+        return null;
+    }
+
+    /**
+     * Gets the number of bytes {@link #writeField} takes to write a String field.
+     *
+     * @param entryNumber Dictionary entry number of the String, or null if it is not in the dictionary.
+     * @param stringBytes UTF-8 bytes of the String if it is not in the dictionary.
+     * @return Number of bytes.
+     */
+    private static int getFieldLength(Integer entryNumber, byte[] stringBytes) {
+        if (entryNumber != null) {
+            return getVarIntLength(entryNumber);
+        }
+        return 1 + getVarIntLength(stringBytes.length) + stringBytes.length;
+    }
+
+    /**
+     * Writes a String field, referring to its dictionary entry if it has one.
+     *
+     * @param outputStream Stream to write to.
+     * @param entryNumber Dictionary entry number of the String, or null if it is not in the dictionary.
+     * @param stringBytes UTF-8 bytes of the String if it is not in the dictionary.
+     * @throws IOException If the stream cannot be written to.
+     */
+    private static void writeField(OutputStream outputStream, Integer entryNumber, byte[] stringBytes)
+            throws IOException {
+        if (entryNumber != null) {
+            writeVarInt(outputStream, entryNumber);
+        } else {
+            outputStream.write(0);
+            writeString(outputStream, stringBytes);
+        }
+    }
+
+    /**
+     * Reads and checks the magic bytes and version at the start of the file.
+     *
+     * @param inputStream Stream positioned at the start of the file.
+     * @return Version of the file.
+     * @throws IOException If the header is missing or has an unsupported version.
+     */
+    private static int readHeader(DataInputStream inputStream) throws IOException {
+        byte[] header = new byte[MAGIC.length];
+        inputStream.readFully(header);
+        if (!Arrays.equals(header, MAGIC)) {
+            throw new IOException("Missing binary data file header");
+        }
+        int version = inputStream.read();
+        if (version != VERSION && version != VERSION_WITHOUT_DICTIONARY && version != VERSION_UNCHECKED) {
+            throw new IOException("Unsupported binary data file version " + version);
+        }
+        return version;
+    }
+
+    /**
+     * Reads a varint length followed by that many UTF-8 bytes.
+     *
+     * @param inputStream Stream to read from.
+     * @return Decoded String.
+     * @throws IOException If the stream ends early.
+     */
+    private static String readString(DataInputStream inputStream) throws IOException {
+        int length = readVarInt(inputStream);
+        byte[] stringBytes = new byte[length];
+        inputStream.readFully(stringBytes);
+        return new String(stringBytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a varint length followed by that many UTF-8 bytes from a record.
+     *
+     * @param recordBuffer Buffer holding the rest of the record.
+     * @return Decoded String.
+     * @throws IOException If the varint is malformed.
+     * @throws BufferUnderflowException If the record ends early.
+     */
+    private static String readString(ByteBuffer recordBuffer) throws IOException {
+        int length = readVarInt(recordBuffer);
+        if (length < 0 || length > recordBuffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        String decodedString = new String(recordBuffer.array(), recordBuffer.position(), length,
+                StandardCharsets.UTF_8);
+        recordBuffer.position(recordBuffer.position() + length);
+        return decodedString;
+    }
+
+    /**
+     * Writes UTF-8 bytes, preceded by their length as a varint.
+     *
+     * @param outputStream Stream to write to.
+     * @param stringBytes UTF-8 bytes of the String to write.
+     * @throws IOException If the stream cannot be written to.
+     */
+    private static void writeString(OutputStream outputStream, byte[] stringBytes) throws IOException {
+        writeVarInt(outputStream, stringBytes.length);
+        outputStream.write(stringBytes);
+    }
+
+    /**
+     * Reads an unsigned integer stored 7 bits per byte, least significant group first, with the high bit of each
+     * byte set if more bytes follow.
+     *
+     * @param inputStream Stream to read from.
+     * @return Decoded integer.
+     * @throws IOException If the stream ends early or the varint is longer than 5 bytes.
+     */
+    public static int readVarInt(InputStream inputStream) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int nextByte = inputStream.read();
+            if (nextByte == -1) {
+                throw new EOFException();
+            }
+            value |= (nextByte & 0x7F) << shift;
+            if ((nextByte & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    /**
+     * Reads an unsigned integer stored like {@link #readVarInt(InputStream)} from a record.
+     *
+     * @param recordBuffer Buffer holding the rest of the record.
+     * @return Decoded integer.
+     * @throws IOException If the varint is longer than 5 bytes.
+     * @throws BufferUnderflowException If the record ends early.
+     */
+    private static int readVarInt(ByteBuffer recordBuffer) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int nextByte = recordBuffer.get();
+            value |= (nextByte & 0x7F) << shift;
+            if ((nextByte & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    /**
+     * Writes an unsigned integer 7 bits per byte, as read by {@link #readVarInt(InputStream)}.
+     *
+     * @param outputStream Stream to write to.
+     * @param value Non-negative integer to write.
+     * @throws IOException If the stream cannot be written to.
+     */
+    public static void writeVarInt(OutputStream outputStream, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            outputStream.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        outputStream.write(value);
+    }
+
+    /**
+     * Gets the number of bytes {@link #writeVarInt(OutputStream, int)} takes to write an integer.
+     *
+     * @param value Non-negative integer to write.
+     * @return Number of bytes.
+     */
+    private static int getVarIntLength(int value) {
+        int length = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * Grows a reusable buffer if it is too small.
+     *
+     * @param buffer Current buffer.
+     * @param length Number of bytes that must fit.
+     * @return The same buffer if it is large enough, otherwise a larger one.
+     */
+    private static byte[] ensureCapacity(byte[] buffer, int length) {
+        if (buffer.length >= length) {
+            return buffer;
+        }
+        return new byte[Math.max(length, buffer.length * 2)];
+    }
+
+    /**
+     * Reads the length-and-checksum frames of a version 2 or 3 file, moving every frame that is truncated or whose
+     * checksum does not match to the quarantine.
+     */
+    private static class FrameReader {
+
+        private static final int FRAME_END = -1;
+        private static final int FRAME_CORRUPTED = -2;
+
+        private DataInputStream inputStream;
+        private long fileLength;
+        private DukeStorageQuarantine quarantine;
+        private byte[] frameBytes;
+        private ByteBuffer frameBuffer;
+        private CRC32 checksum;
+
+        /**
+         * This constructor takes in the stream of the file, positioned right after the header.
+         *
+         * @param inputStream Stream to read the frames from.
+         * @param fileLength Length of the file, which no valid frame can be longer than.
+         * @param quarantine {@link DukeStorageQuarantine} to move corrupted frames to.
+         */
+        FrameReader(DataInputStream inputStream, long fileLength, DukeStorageQuarantine quarantine) {
+            this.inputStream = inputStream;
+            this.fileLength = fileLength;
+            this.quarantine = quarantine;
+            this.frameBytes = new byte[256];
+            this.frameBuffer = ByteBuffer.wrap(frameBytes);
+            this.checksum = new CRC32();
+        }
+
+        /**
+         * Reads the varint count at the start of the dictionary.
+         *
+         * @return Number of dictionary entries, or -1 if the count is missing or corrupted.
+         * @throws IOException If the file cannot be read.
+         */
+        int readCount() throws IOException {
+            int count;
+            try {
+                count = readVarInt(inputStream);
+            } catch (EOFException ex) {
+                return -1;
+            }
+            if (count < 0 || count > fileLength) {
+                quarantineRest();
+                return -1;
+            }
+            return count;
+        }
+
+        /**
+         * Reads the next frame and checks its checksum.
+         *
+         * @return Length of the frame body, which {@link #getBody} then holds, {@link #FRAME_CORRUPTED} if the frame
+         *     was moved to the quarantine, or {@link #FRAME_END} if there are no more frames to read.
+         * @throws IOException If the file cannot be read.
+         */
+        int readFrame() throws IOException {
+            int length;
+            try {
+                length = readVarInt(inputStream);
+            } catch (EOFException ex) {
+                return FRAME_END;
+            }
+            if (length < 0 || length > fileLength) {
+                //The length itself is corrupted, so the start of the next frame cannot be found
+                quarantineRest();
+                return FRAME_END;
+            }
+            if (frameBytes.length < length) {
+                frameBytes = ensureCapacity(frameBytes, length);
+                frameBuffer = ByteBuffer.wrap(frameBytes);
+            }
+            int readCount = inputStream.readNBytes(frameBytes, 0, length);
+            if (readCount < length) {
+                quarantineBody(readCount);
+                return FRAME_END;
+            }
+            int expectedChecksum;
+            try {
+                expectedChecksum = inputStream.readInt();
+            } catch (EOFException ex) {
+                quarantineBody(length);
+                return FRAME_END;
+            }
+
+            checksum.reset();
+            checksum.update(frameBytes, 0, length);
+            if ((int) checksum.getValue() != expectedChecksum) {
+                quarantineBody(length);
+                return FRAME_CORRUPTED;
+            }
+            return length;
+        }
+
+        /**
+         * Gets the body of the frame that was just read.
+         *
+         * @param length Length returned by {@link #readFrame}.
+         * @return Buffer holding exactly the frame body, backed by an array starting at the body.
+         */
+        ByteBuffer getBody(int length) {
+            frameBuffer.clear().limit(length);
+            return frameBuffer;
+        }
+
+        /**
+         * Moves the body of the frame that was just read to the quarantine as Base64.
+         *
+         * @param length Number of bytes of the body.
+         */
+        void quarantineBody(int length) {
+            quarantine.add(Base64.getEncoder().encodeToString(Arrays.copyOf(frameBytes, length)));
+        }
+
+        /**
+         * Moves the rest of the file to the quarantine as Base64.
+         *
+         * @throws IOException If the file cannot be read.
+         */
+        private void quarantineRest() throws IOException {
+            quarantine.add(Base64.getEncoder().encodeToString(inputStream.readAllBytes()));
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package duke.util.storage;
+
+import duke.task.DukeTask;
+import duke.task.DukeTaskDeadline;
+import duke.task.DukeTaskEvent;
+import duke.util.DukeStorage;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Change made to the data file outside of Duke, found by a {@link DukeStorageWatcher}, or by another Duke instance,
+ * found by {@link DukeStorageKnownTasks}. The change replaces {@link #getRemovedCount()} consecutive tasks, starting at
+ * {@link #getStartIndex()}, with the tasks of {@link #getAddedTasks()}. Since the list of tasks may have moved on
+ * since the data file was last seen, the change is located in the list by the content of its tasks through
+ * {@link #locate(List)}, which also recognizes a change that is already in the list, e.g. one written by Duke itself.
+ */
+public class DukeStorageChange {
+
+    public static final int DUKE_CHANGE_APPLIED = -1;
+    public static final int DUKE_CHANGE_CONFLICT = -2;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class,
+            ByteOrder.LITTLE_ENDIAN);
+
+    private int startIndex;
+    private long[] removedHashes;
+    private List<DukeTask> addedTasks;
+    private int skippedCount;
+    private String taskFilePath;
+    private ToLongFunction<DukeTask> taskHasher;
+
+    /**
+     * This constructor takes in where the change is and what it replaces, as lines of the text data file.
+     *
+     * @param startIndex Zero-based index of the first changed line, as the data file was last seen.
+     * @param removedHashes {@link #hashRecord} of every line that was replaced.
+     * @param addedTasks List&lt;duke.task.DukeTask&gt; read from the lines that replaced them.
+     * @param skippedCount Number of new lines that could not be read, and were moved to the quarantine.
+     * @param taskFilePath Relative/Full path to the data file.
+     */
+    public DukeStorageChange(int startIndex, long[] removedHashes, List<DukeTask> addedTasks, int skippedCount,
+            String taskFilePath) {
+        this(startIndex, removedHashes, addedTasks, skippedCount, taskFilePath, DukeStorageChange::hashRecord);
+    }
+
+    /**
+     * This constructor takes in where the change is and what it replaces, hashed by any function of a task.
+     *
+     * @param startIndex Zero-based index of the first changed task, as the data file was last seen.
+     * @param removedHashes Hash of every task that was replaced, by taskHasher.
+     * @param addedTasks List&lt;duke.task.DukeTask&gt; that replaced them.
+     * @param skippedCount Number of new tasks that could not be read, and were moved to the quarantine.
+     * @param taskFilePath Relative/Full path to the data file.
+     * @param taskHasher Function the removed tasks were hashed with, e.g. {@link #hashTask(DukeTask)}.
+     */
+    public DukeStorageChange(int startIndex, long[] removedHashes, List<DukeTask> addedTasks, int skippedCount,
+            String taskFilePath, ToLongFunction<DukeTask> taskHasher) {
+        this.startIndex = startIndex;
+        this.removedHashes = removedHashes;
+        this.addedTasks = addedTasks;
+        this.skippedCount = skippedCount;
+        this.taskFilePath = taskFilePath;
+        this.taskHasher = taskHasher;
+    }
+
+    public int getStartIndex() {
+        return this.startIndex;
+    }
+
+    public int getRemovedCount() {
+        return this.removedHashes.length;
+    }
+
+    public List<DukeTask> getAddedTasks() {
+        return this.addedTasks;
+    }
+
+    public int getSkippedCount() {
+        return this.skippedCount;
+    }
+
+    public String getTaskFilePath() {
+        return this.taskFilePath;
+    }
+
+    /**
+     * Hashes the record of a line, i.e. the line without its checksum. The hash is computed like 64-bit FNV-1a, but
+     * 8 bytes at a time, since every line of the data file is hashed whenever it is changed in the middle.
+     *
+     * @param record Buffer holding the record.
+     * @param offset Index of the first byte of the record.
+     * @param length Number of bytes of the record.
+     * @return Hash of the record.
+     */
+    public static long hashRecord(byte[] record, int offset, int length) {
+        long hash = FNV_OFFSET_BASIS ^ length;
+        int index = offset;
+        int end = offset + length;
+        for (; index + Long.BYTES <= end; index += Long.BYTES) {
+            hash = (hash ^ (long) LONG_VIEW.get(record, index)) * FNV_PRIME;
+            hash ^= hash >>> 32;
+        }
+        for (; index < end; index++) {
+            hash = (hash ^ (record[index] & 0xFF)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Hashes the record a {@link DukeTask} is written as in the text data file.
+     *
+     * @param task Task to hash.
+     * @return Hash of the record, equal to {@link #hashRecord(byte[], int, int)} of the line the task is written as.
+     */
+    public static long hashRecord(DukeTask task) {
+        byte[] record = DukeStorage.processWriteTask(task).getBytes(Charset.defaultCharset());
+        return hashRecord(record, 0, record.length);
+    }
+
+    /**
+     * Hashes the fields of a {@link DukeTask} without formatting it as a record. This is cheap enough to hash every
+     * task after each save, since the hash codes of the Strings are cached, but only tells apart tasks whose Strings
+     * have different hash codes.
+     *
+     * @param task Task to hash.
+     * @return Hash of the task.
+     */
+    public static long hashTask(DukeTask task) {
+        String taskDetail = "";
+        if (task instanceof DukeTaskDeadline) {
+            taskDetail = ((DukeTaskDeadline) task).getTaskDeadline();
+        } else if (task instanceof DukeTaskEvent) {
+            taskDetail = ((DukeTaskEvent) task).getTaskLocation();
+        }
+        return hashTask(task.getTaskType().charAt(0), task.getTaskIsComplete(), task.getTaskName(), taskDetail);
+    }
+
+    /**
+     * Hashes the fields of a task like {@link #hashTask(DukeTask)}, without the task having to be created.
+     *
+     * @param taskType Type of the task, e.g. 'T'.
+     * @param isComplete true if the task is complete.
+     * @param taskName Name of the task.
+     * @param taskDetail Deadline or location of the task, or null or an empty String if it has neither.
+     * @return Hash of the task.
+     */
+    public static long hashTask(char taskType, boolean isComplete, String taskName, String taskDetail) {
+        if (taskDetail == null) {
+            taskDetail = "";
+        }
+        long hash = FNV_OFFSET_BASIS;
+        hash = (hash ^ taskType) * FNV_PRIME;
+        hash = (hash ^ (isComplete ? 1 : 0)) * FNV_PRIME;
+        hash = (hash ^ taskName.hashCode() ^ ((long) taskName.length() << 32)) * FNV_PRIME;
+        hash = (hash ^ taskDetail.hashCode() ^ ((long) taskDetail.length() << 32)) * FNV_PRIME;
+        return hash ^ (hash >>> 32);
+    }
+
+    /**
+     * Finds where this change should be applied to the list of tasks. The list is first expected to hold the
+     * replaced lines at {@link #getStartIndex()}, as it does if nothing was changed in Duke since the data file was
+     * last seen. If the list already holds the added tasks there instead, the change is already applied. Otherwise,
+     * the replaced lines are searched for in the entire list, nearest to {@link #getStartIndex()} first. A change that
+     * only adds lines is inserted at {@link #getStartIndex()}, or at the end of a list that has become shorter.
+     *
+     * @param userTasks Current List&lt;duke.task.DukeTask&gt;.
+     * @return Zero-based index to apply the change at, {@link #DUKE_CHANGE_APPLIED} if the list already holds it, or
+     *     {@link #DUKE_CHANGE_CONFLICT} if the replaced lines were also changed in Duke.
+     */
+    public int locate(List<DukeTask> userTasks) {
+        if (removedHashes.length == 0) {
+            if (matchesAddedTasks(userTasks, startIndex)) {
+                return DUKE_CHANGE_APPLIED;
+            }
+            return Math.min(startIndex, userTasks.size());
+        }
+        if (matchesRemovedLines(userTasks, startIndex)) {
+            return startIndex;
+        }
+        if (matchesAddedTasks(userTasks, startIndex)) {
+            return DUKE_CHANGE_APPLIED;
+        }
+        for (int distance = 1; distance <= userTasks.size(); distance++) {
+            if (matchesRemovedLines(userTasks, startIndex - distance)) {
+                return startIndex - distance;
+            } else if (matchesRemovedLines(userTasks, startIndex + distance)) {
+                return startIndex + distance;
+            }
+        }
+        return DUKE_CHANGE_CONFLICT;
+    }
+
+    /**
+     * Locates this change in the list of tasks through {@link #locate(List)}, and applies it there while holding the
+     * lock of the list.
+     *
+     * @param userTasks Current List&lt;duke.task.DukeTask&gt;, which will be updated in place.
+     * @return Zero-based index the change was applied at, {@link #DUKE_CHANGE_APPLIED} if the list already held it,
+     *     or {@link #DUKE_CHANGE_CONFLICT} if the replaced tasks were also changed in the list, which is left as is.
+     */
+    public int applyTo(List<DukeTask> userTasks) {
+        synchronized (userTasks) {
+            int index = locate(userTasks);
+            if (index < 0) {
+                return index;
+            }
+            for (int counter = 0; counter < removedHashes.length; counter++) {
+                userTasks.remove(index);
+            }
+            for (int offset = 0; offset < addedTasks.size(); offset++) {
+                userTasks.add(index + offset, addedTasks.get(offset));
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Moves the added tasks to the quarantine side file of the data file, for when this change conflicts with the
+     * list of tasks and cannot be applied.
+     *
+     * @return Path to the side file.
+     * @throws IOException If the side file cannot be written to.
+     */
+    public String quarantineAddedTasks() throws IOException {
+        DukeStorageQuarantine quarantine = new DukeStorageQuarantine();
+        for (DukeTask addedTask : addedTasks) {
+            quarantine.add(DukeStorage.processWriteTask(addedTask));
+        }
+        return quarantine.write(taskFilePath);
+    }
+
+    /**
+     * Checks if the list holds the replaced lines at an index.
+     *
+     * @param userTasks Current List&lt;duke.task.DukeTask&gt;.
+     * @param index Zero-based index to check at.
+     * @return true if every replaced line matches the task at the same position.
+     */
+    private boolean matchesRemovedLines(List<DukeTask> userTasks, int index) {
+        if (index < 0 || index + removedHashes.length > userTasks.size()) {
+            return false;
+        }
+        for (int offset = 0; offset < removedHashes.length; offset++) {
+            if (taskHasher.applyAsLong(userTasks.get(index + offset)) != removedHashes[offset]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the list holds the added tasks at an index.
+     *
+     * @param userTasks Current List&lt;duke.task.DukeTask&gt;.
+     * @param index Zero-based index to check at.
+     * @return true if every added task matches the task at the same position.
+     */
+    private boolean matchesAddedTasks(List<DukeTask> userTasks, int index) {
+        if (index + addedTasks.size() > userTasks.size()) {
+            return false;
+        }
+        for (int offset = 0; offset < addedTasks.size(); offset++) {
+            if (taskHasher.applyAsLong(userTasks.get(index + offset))
+                    != taskHasher.applyAsLong(addedTasks.get(offset))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
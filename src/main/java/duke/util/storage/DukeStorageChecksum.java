@@ -0,0 +1,188 @@
+package duke.util.storage;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+import java.util.zip.CRC32;
+
+/**
+ * Checksums of the lines in a text data file or a journal. Every line is written with a tab and the CRC32 of the
+ * line appended to it, as 8 hexadecimal digits:
+ * <pre>
+ * T | 0 | taskName\t1a2b3c4d
+ * </pre>
+ * A line without a checksum is only accepted as it is in a file that has no checksummed lines at all, i.e. one written
+ * before checksums were introduced, and only if its end does not look like a damaged checksum. The checksum is computed
+ * over the bytes of the line in the platform default charset, which is what the text data file is written in.
+ */
+public class DukeStorageChecksum {
+
+    public static final int DUKE_CHECKSUM_LENGTH = 9;
+
+    private static final char CHECKSUM_SEPARATOR = '\t';
+    private static final int CHECKSUM_DIGITS = 8;
+
+    /**
+     * Appends the checksum of a line to it.
+     *
+     * @param record Line to be written, without the trailing line separator.
+     * @return Line followed by a tab and its checksum.
+     */
+    public static String appendChecksum(String record) {
+        CRC32 checksum = new CRC32();
+        checksum.update(record.getBytes(Charset.defaultCharset()));
+        String checksumDigits = Long.toHexString(checksum.getValue());
+        StringBuilder sb = new StringBuilder(record.length() + DUKE_CHECKSUM_LENGTH);
+        sb.append(record).append(CHECKSUM_SEPARATOR);
+        for (int padding = checksumDigits.length(); padding < CHECKSUM_DIGITS; padding++) {
+            sb.append('0');
+        }
+        return sb.append(checksumDigits).toString();
+    }
+
+    /**
+     * Checks the checksum at the end of a line that was read back, and strips it off.
+     *
+     * @param line Line that was read, without the trailing line separator.
+     * @param isChecksumRequired true if the line comes from a file that has checksummed lines, as found by
+     *                           {@link #hasChecksums(File)}, so that a line without a checksum is corrupted.
+     * @return Line without its checksum, the line itself if it has no checksum and none is required, or null if the
+     *     checksum does not match, is missing or looks damaged.
+     */
+    public static String stripChecksum(String line, boolean isChecksumRequired) {
+        int recordLength = line.length() - DUKE_CHECKSUM_LENGTH;
+        if (recordLength < 0) {
+            return isChecksumRequired ? null : line;
+        }
+        long expectedChecksum = parseChecksum(line.substring(recordLength + 1));
+        char separator = line.charAt(recordLength);
+        if (separator != CHECKSUM_SEPARATOR || expectedChecksum < 0) {
+            return isChecksumRequired || isDamagedChecksum(separator, expectedChecksum >= 0) ? null : line;
+        }
+        String record = line.substring(0, recordLength);
+        CRC32 checksum = new CRC32();
+        checksum.update(record.getBytes(Charset.defaultCharset()));
+        return checksum.getValue() == expectedChecksum ? record : null;
+    }
+
+    /**
+     * Checks the checksum at the end of the bytes of a line that was read back.
+     *
+     * @param line Bytes of the line, without the trailing line separator.
+     * @param length Number of bytes of the line.
+     * @param isChecksumRequired true if the line comes from a file that has checksummed lines, as found by
+     *                           {@link #hasChecksums(File)}, so that a line without a checksum is corrupted.
+     * @return Number of bytes of the line without its checksum, length if it has no checksum and none is required, or
+     *     -1 if the checksum does not match, is missing or looks damaged.
+     */
+    public static int stripChecksum(byte[] line, int length, boolean isChecksumRequired) {
+        int recordLength = length - DUKE_CHECKSUM_LENGTH;
+        if (recordLength < 0) {
+            return isChecksumRequired ? -1 : length;
+        }
+        long expectedChecksum = 0;
+        for (int index = recordLength + 1; index < length && expectedChecksum >= 0; index++) {
+            int digit = Character.digit(line[index], 16);
+            expectedChecksum = digit < 0 ? -1 : (expectedChecksum << 4) | digit;
+        }
+        char separator = (char) (line[recordLength] & 0xff);
+        if (separator != CHECKSUM_SEPARATOR || expectedChecksum < 0) {
+            return isChecksumRequired || isDamagedChecksum(separator, expectedChecksum >= 0) ? -1 : length;
+        }
+        CRC32 checksum = new CRC32();
+        checksum.update(line, 0, recordLength);
+        return checksum.getValue() == expectedChecksum ? recordLength : -1;
+    }
+
+    /**
+     * Checks if a file has any line with a checksum, which decides once for the entire file whether a line without a
+     * checksum is accepted. Only a file without a single checksummed line, i.e. one written before checksums were
+     * introduced, may have lines without a checksum. Anywhere else, a line without a checksum has lost it, e.g. to a
+     * damaged tab, and its damaged tail must not be loaded. This stops at the first checksummed line, which is usually
+     * the first line of the file.
+     *
+     * @param file File whose lines may be checksummed.
+     * @return true if at least one line ends with a tab and 8 hexadecimal digits, whether they match or not.
+     * @throws IOException If the file cannot be read.
+     */
+    public static boolean hasChecksums(File file) throws IOException {
+        try (BufferedReader fileInputBuffer = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = fileInputBuffer.readLine()) != null) {
+                int recordLength = line.length() - DUKE_CHECKSUM_LENGTH;
+                if (recordLength >= 0 && line.charAt(recordLength) == CHECKSUM_SEPARATOR
+                        && parseChecksum(line.substring(recordLength + 1)) >= 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds where the record of a line ends, without checking the checksum. This is for comparing lines cheaply,
+     * e.g. by a {@link DukeStorageWatcher}, and must not be used for lines that are read back as tasks.
+     *
+     * @param line Buffer holding the line, without the trailing line separator.
+     * @param offset Index of the first byte of the line.
+     * @param length Number of bytes of the line.
+     * @return Number of bytes of the line without its checksum, or length if it has no checksum.
+     */
+    public static int getRecordLength(byte[] line, int offset, int length) {
+        int recordLength = length - DUKE_CHECKSUM_LENGTH;
+        return recordLength >= 0 && line[offset + recordLength] == CHECKSUM_SEPARATOR ? recordLength : length;
+    }
+
+    /**
+     * Checks if the last line of a file that is only ever appended to was cut short, i.e. the file does not end with a
+     * line separator. A line that was cut short may have lost its checksum, or only part of it, and would then be
+     * accepted as a line without a checksum, so it has to be rejected before its checksum is even looked at.
+     *
+     * @param file File whose lines are each written with a trailing line separator.
+     * @return true if the file is not empty and its last byte is not a line separator.
+     * @throws IOException If the file cannot be read.
+     */
+    public static boolean isLastLineTorn(File file) throws IOException {
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+            long length = randomAccessFile.length();
+            if (length == 0) {
+                return false;
+            }
+            randomAccessFile.seek(length - 1);
+            return randomAccessFile.read() != '\n';
+        }
+    }
+
+    /**
+     * Checks if the last 9 characters of a line without a valid checksum look like a checksum that was damaged, i.e.
+     * a tab followed by anything, or an ASCII control character in place of the tab followed by 8 hexadecimal digits.
+     *
+     * @param separator Character 9 characters before the end of the line.
+     * @param isHexadecimal true if the last 8 characters of the line are all hexadecimal digits.
+     * @return true if the line must not be accepted as a line without a checksum.
+     */
+    private static boolean isDamagedChecksum(char separator, boolean isHexadecimal) {
+        return separator == CHECKSUM_SEPARATOR || (separator < ' ' || separator == 0x7f) && isHexadecimal;
+    }
+
+    /**
+     * Parses the hexadecimal digits of a checksum.
+     *
+     * @param checksumDigits 8 hexadecimal digits.
+     * @return Parsed checksum, or -1 if they are not all hexadecimal digits.
+     */
+    private static long parseChecksum(String checksumDigits) {
+        long checksum = 0;
+        for (int index = 0; index < checksumDigits.length(); index++) {
+            int digit = Character.digit(checksumDigits.charAt(index), 16);
+            if (digit < 0) {
+                return -1;
+            }
+            checksum = (checksum << 4) | digit;
+        }
+        return checksum;
+    }
+}
@@ -0,0 +1,49 @@
+package duke.util.storage;
+
+import duke.task.DukeTask;
+import duke.util.ui.DukeUiMessages;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * {@link DukeStorageFileBackend} that writes the data file in the {@link DukeStorageColumnarFormat}, and always loads
+ * the tasks into a {@link DukeStorageColumnarTaskList}, so that reminders and searches only go through the columns
+ * they need. A data file in any other format is converted into columns once it is loaded.
+ */
+public class DukeStorageColumnarBackend extends DukeStorageFileBackend {
+
+    /**
+     * This constructor takes in the path of the columnar data file and how it is written.
+     *
+     * @param filePath Relative/Full path to the data file.
+     * @param isJournaled true if mutations should be appended to a journal next to the data file.
+     * @param durability How hard each write tries to reach the disk before returning.
+     */
+    public DukeStorageColumnarBackend(String filePath, boolean isJournaled, DukeStorageDurability durability) {
+        super(filePath, isJournaled, durability);
+    }
+
+    /**
+     * Loads the data file like {@link DukeStorageFileBackend#load}, and copies the tasks into columns if the data
+     * file was not in the columnar format.
+     *
+     * @param ui Instance of {@link DukeUiMessages} which will show output to the user.
+     * @return {@link DukeStorageColumnarTaskList} of the tasks read from the data file.
+     * @throws IOException File parsing error.
+     */
+    @Override
+    public List<DukeTask> load(DukeUiMessages ui) throws IOException {
+        List<DukeTask> retrievedTasks = super.load(ui);
+        if (retrievedTasks instanceof DukeStorageColumnarTaskList) {
+            return retrievedTasks;
+        }
+        return DukeStorageColumnarTaskList.fromTasks(retrievedTasks);
+    }
+
+    @Override
+    protected void writeTasks(List<DukeTask> userTasks, OutputStream outputStream) throws IOException {
+        DukeStorageColumnarFormat.write(userTasks, outputStream);
+    }
+}
@@ -0,0 +1,354 @@
+package duke.util.storage;
+
+import duke.task.DukeTask;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Columnar data file format, used by {@link DukeStorageColumnarBackend}. The file starts with the magic bytes "DUKC"
+ * followed by a version byte and the number of tasks as a varint, and then holds one block per column of a
+ * {@link DukeStorageColumnarTaskList}, each framed by its length and its CRC32:
+ * <pre>
+ * length    varint length of the column
+ * column    bytes of the column
+ * checksum  4 bytes  CRC32 of the column, big-endian
+ *
+ * types     1 byte per task, 'T', 'D' or 'E'
+ * complete  1 bit per task, lowest bit first
+ * deadlines 8 bytes per deadline, the parsed deadline in seconds, big-endian
+ * names     varint length followed by the UTF-8 bytes of the name, per task
+ * entries   varint number of entries, each a varint length followed by UTF-8 bytes
+ * details   varint per deadline and event, the one-based entry holding its deadline or location, or 0 followed by
+ *           the varint length and UTF-8 bytes of the deadline or location
+ * </pre>
+ * Deadlines are stored already parsed, so that reminders never parse a deadline String after loading. The entries
+ * hold every deadline and location shared by more than one task, which then share a single String once loaded. Since
+ * the rows cannot be lined up again once a column is corrupted, a corrupted file is moved to the quarantine as a
+ * whole.
+ */
+public class DukeStorageColumnarFormat {
+
+    private static final byte[] MAGIC = {'D', 'U', 'K', 'C'};
+    private static final int VERSION = 1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Checks if a file starts with the columnar format header, regardless of its name.
+     *
+     * @param file File to check.
+     * @return true if the file starts with the magic bytes.
+     * @throws IOException If the file cannot be read.
+     */
+    public static boolean hasColumnarHeader(File file) throws IOException {
+        byte[] header = new byte[MAGIC.length];
+        try (InputStream headerInputStream = new FileInputStream(file)) {
+            return headerInputStream.readNBytes(header, 0, header.length) == header.length
+                    && Arrays.equals(header, MAGIC);
+        }
+    }
+
+    /**
+     * Reads every task from a data file in the columnar format straight into columns, without creating any
+     * {@link DukeTask}.
+     *
+     * @param file Data file to read from.
+     * @param quarantine {@link DukeStorageQuarantine} to move the file to if any column is corrupted.
+     * @return Columnar list of the tasks, which is empty if the file was corrupted.
+     * @throws IOException If the file cannot be read, or is not in a format this version understands.
+     */
+    public static DukeStorageColumnarTaskList read(File file, DukeStorageQuarantine quarantine) throws IOException {
+        try (DataInputStream taskFileInputStream = new DataInputStream(new FileInputStream(file))) {
+            byte[] header = new byte[MAGIC.length];
+            taskFileInputStream.readFully(header);
+            int version = taskFileInputStream.read();
+            if (!Arrays.equals(header, MAGIC) || version != VERSION) {
+                throw new IOException("Unsupported columnar data file version " + version);
+            }
+
+            try {
+                int taskCount = DukeStorageBinaryFormat.readVarInt(taskFileInputStream);
+                return readColumns(taskFileInputStream, file.length(), taskCount);
+            } catch (IOException | RuntimeException ex) {
+                //The rows cannot be lined up again, so keep the entire file for the user to recover
+                quarantine.add(Base64.getEncoder().encodeToString(Files.readAllBytes(file.toPath())));
+                return new DukeStorageColumnarTaskList();
+            }
+        }
+    }
+
+    /**
+     * Reads and checks every column, and decodes them into a columnar list.
+     *
+     * @param inputStream Stream positioned right after the number of tasks.
+     * @param fileLength Length of the file, which no valid column can be longer than.
+     * @param taskCount Number of tasks.
+     * @return Columnar list of the tasks.
+     * @throws IOException If a column is truncated, its checksum does not match, or it does not hold every task.
+     */
+    private static DukeStorageColumnarTaskList readColumns(DataInputStream inputStream, long fileLength,
+            int taskCount) throws IOException {
+        if (taskCount < 0 || taskCount > fileLength) {
+            throw new IOException("Corrupted task count " + taskCount);
+        }
+        byte[] taskTypes = readColumn(inputStream, fileLength);
+        byte[] completionBits = readColumn(inputStream, fileLength);
+        ByteBuffer deadlineColumn = ByteBuffer.wrap(readColumn(inputStream, fileLength));
+        ByteBuffer nameColumn = ByteBuffer.wrap(readColumn(inputStream, fileLength));
+        ByteBuffer entryColumn = ByteBuffer.wrap(readColumn(inputStream, fileLength));
+        ByteBuffer detailColumn = ByteBuffer.wrap(readColumn(inputStream, fileLength));
+        if (taskTypes.length != taskCount || completionBits.length != (taskCount + 7) / 8) {
+            throw new IOException("Column does not hold every task");
+        }
+        int entryCount = readVarInt(entryColumn);
+        if (entryCount < 0 || entryCount > entryColumn.remaining()) {
+            throw new IOException("Corrupted entry count " + entryCount);
+        }
+        String[] entries = new String[entryCount];
+        for (int index = 0; index < entryCount; index++) {
+            entries[index] = readString(entryColumn);
+        }
+
+        DukeStorageColumnarTaskList userTasks = new DukeStorageColumnarTaskList(taskCount);
+        for (int index = 0; index < taskCount; index++) {
+            byte taskType = taskTypes[index];
+            boolean isComplete = (completionBits[index >>> 3] & (1 << (index & 7))) != 0;
+            String taskName = readString(nameColumn);
+            String taskDetail = null;
+            long taskDeadlineSeconds = DukeStorageColumnarTaskList.DUKE_NO_DEADLINE;
+            if (taskType == 'D') {
+                taskDetail = readDetail(detailColumn, entries);
+                taskDeadlineSeconds = deadlineColumn.getLong();
+            } else if (taskType == 'E') {
+                taskDetail = readDetail(detailColumn, entries);
+            } else if (taskType != 'T') {
+                throw new IOException("Unknown task type " + taskType);
+            }
+            userTasks.addColumns(taskType, isComplete, taskName, taskDetail, taskDeadlineSeconds);
+        }
+        return userTasks;
+    }
+
+    /**
+     * Reads a single column and checks its checksum.
+     *
+     * @param inputStream Stream positioned at the length of the column.
+     * @param fileLength Length of the file, which no valid column can be longer than.
+     * @return Bytes of the column.
+     * @throws IOException If the column is truncated or its checksum does not match.
+     */
+    private static byte[] readColumn(DataInputStream inputStream, long fileLength) throws IOException {
+        int length = DukeStorageBinaryFormat.readVarInt(inputStream);
+        if (length < 0 || length > fileLength) {
+            throw new IOException("Corrupted column length " + length);
+        }
+        byte[] column = new byte[length];
+        inputStream.readFully(column);
+        int expectedChecksum = inputStream.readInt();
+        CRC32 checksum = new CRC32();
+        checksum.update(column);
+        if ((int) checksum.getValue() != expectedChecksum) {
+            throw new IOException("Checksum mismatch");
+        }
+        return column;
+    }
+
+    /**
+     * Reads the deadline or location of a task from the detail column.
+     *
+     * @param detailColumn Buffer holding the rest of the detail column.
+     * @param entries Shared deadlines and locations read from the entry column.
+     * @return Decoded or shared String.
+     * @throws IOException If the column ends early, or refers to an entry that does not exist.
+     */
+    private static String readDetail(ByteBuffer detailColumn, String[] entries) throws IOException {
+        int entryNumber = readVarInt(detailColumn);
+        if (entryNumber == 0) {
+            return readString(detailColumn);
+        }
+        if (entryNumber < 0 || entryNumber > entries.length) {
+            throw new IOException("Missing entry " + entryNumber);
+        }
+        return entries[entryNumber - 1];
+    }
+
+    /**
+     * Reads a varint length followed by that many UTF-8 bytes from a column.
+     *
+     * @param column Buffer holding the rest of the column.
+     * @return Decoded String.
+     * @throws IOException If the column ends early.
+     */
+    private static String readString(ByteBuffer column) throws IOException {
+        int length = readVarInt(column);
+        if (length < 0 || length > column.remaining()) {
+            throw new EOFException();
+        }
+        String decodedString = new String(column.array(), column.position(), length, StandardCharsets.UTF_8);
+        column.position(column.position() + length);
+        return decodedString;
+    }
+
+    /**
+     * Reads an unsigned integer stored like {@link DukeStorageBinaryFormat#readVarInt} from a column.
+     *
+     * @param column Buffer holding the rest of the column.
+     * @return Decoded integer.
+     * @throws IOException If the column ends early or the varint is longer than 5 bytes.
+     */
+    private static int readVarInt(ByteBuffer column) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            if (!column.hasRemaining()) {
+                throw new EOFException();
+            }
+            int nextByte = column.get();
+            value |= (nextByte & 0x7F) << shift;
+            if ((nextByte & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    /**
+     * Writes every {@link DukeTask} to a stream in the columnar format. A List that is not a
+     * {@link DukeStorageColumnarTaskList} is copied into columns first. The stream is flushed but not closed.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; to write.
+     * @param outputStream Stream to write to, usually a temporary data file.
+     * @throws IOException If the stream cannot be written to.
+     */
+    public static void write(List<DukeTask> userTasks, OutputStream outputStream) throws IOException {
+        DukeStorageColumnarTaskList columnarTasks = userTasks instanceof DukeStorageColumnarTaskList
+                ? (DukeStorageColumnarTaskList) userTasks
+                : DukeStorageColumnarTaskList.fromTasks(userTasks);
+        int taskCount = columnarTasks.size();
+        byte[] taskTypes = new byte[taskCount];
+        byte[] completionBits = new byte[(taskCount + 7) / 8];
+        ByteArrayOutputStream deadlineColumn = new ByteArrayOutputStream();
+        DataOutputStream deadlineOutputStream = new DataOutputStream(deadlineColumn);
+        ByteArrayOutputStream nameColumn = new ByteArrayOutputStream(taskCount * 16);
+        ByteArrayOutputStream entryColumn = new ByteArrayOutputStream();
+        ByteArrayOutputStream detailColumn = new ByteArrayOutputStream();
+        Map<String, Integer> entryNumbers = buildEntries(columnarTasks);
+        DukeStorageBinaryFormat.writeVarInt(entryColumn, entryNumbers.size());
+        for (String entry : entryNumbers.keySet()) {
+            writeString(entryColumn, entry);
+        }
+        for (int index = 0; index < taskCount; index++) {
+            taskTypes[index] = columnarTasks.getTaskType(index);
+            if (columnarTasks.isComplete(index)) {
+                completionBits[index >>> 3] |= 1 << (index & 7);
+            }
+            writeString(nameColumn, columnarTasks.getTaskName(index));
+            if (taskTypes[index] != 'T') {
+                String taskDetail = columnarTasks.getTaskDetail(index);
+                Integer entryNumber = entryNumbers.get(taskDetail);
+                if (entryNumber != null) {
+                    DukeStorageBinaryFormat.writeVarInt(detailColumn, entryNumber);
+                } else {
+                    detailColumn.write(0);
+                    writeString(detailColumn, taskDetail);
+                }
+            }
+            if (taskTypes[index] == 'D') {
+                deadlineOutputStream.writeLong(columnarTasks.getDeadlineSeconds(index));
+            }
+        }
+
+        DataOutputStream taskFileOutputStream = new DataOutputStream(
+                new BufferedOutputStream(outputStream, BUFFER_SIZE));
+        taskFileOutputStream.write(MAGIC);
+        taskFileOutputStream.write(VERSION);
+        DukeStorageBinaryFormat.writeVarInt(taskFileOutputStream, taskCount);
+        writeColumn(taskFileOutputStream, taskTypes, taskTypes.length);
+        writeColumn(taskFileOutputStream, completionBits, completionBits.length);
+        writeColumn(taskFileOutputStream, deadlineColumn);
+        writeColumn(taskFileOutputStream, nameColumn);
+        writeColumn(taskFileOutputStream, entryColumn);
+        writeColumn(taskFileOutputStream, detailColumn);
+        taskFileOutputStream.flush();
+    }
+
+    /**
+     * Builds the entries from every deadline and location shared by more than one task.
+     *
+     * @param columnarTasks Tasks to write.
+     * @return One-based entry number of every shared deadline and location, in the order of the entries.
+     */
+    private static Map<String, Integer> buildEntries(DukeStorageColumnarTaskList columnarTasks) {
+        Map<String, Integer> useCounts = new HashMap<>();
+        for (int index = 0; index < columnarTasks.size(); index++) {
+            String taskDetail = columnarTasks.getTaskDetail(index);
+            if (taskDetail != null) {
+                useCounts.merge(taskDetail, 1, Integer::sum);
+            }
+        }
+        Map<String, Integer> entryNumbers = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> useCount : useCounts.entrySet()) {
+            if (useCount.getValue() > 1) {
+                entryNumbers.put(useCount.getKey(), entryNumbers.size() + 1);
+            }
+        }
+        return entryNumbers;
+    }
+
+    /**
+     * Writes a column preceded by its length and followed by its CRC32.
+     *
+     * @param outputStream Stream to write to.
+     * @param column Bytes of the column.
+     * @param length Number of bytes of the column.
+     * @throws IOException If the stream cannot be written to.
+     */
+    private static void writeColumn(DataOutputStream outputStream, byte[] column, int length) throws IOException {
+        DukeStorageBinaryFormat.writeVarInt(outputStream, length);
+        outputStream.write(column, 0, length);
+        CRC32 checksum = new CRC32();
+        checksum.update(column, 0, length);
+        outputStream.writeInt((int) checksum.getValue());
+    }
+
+    /**
+     * Writes a column that was built up in memory.
+     *
+     * @param outputStream Stream to write to.
+     * @param column Stream holding the bytes of the column.
+     * @throws IOException If the stream cannot be written to.
+     */
+    private static void writeColumn(DataOutputStream outputStream, ByteArrayOutputStream column) throws IOException {
+        writeColumn(outputStream, column.toByteArray(), column.size());
+    }
+
+    /**
+     * Writes the UTF-8 bytes of a String, preceded by their length as a varint.
+     *
+     * @param outputStream Stream to write to.
+     * @param value String to write.
+     * @throws IOException If the stream cannot be written to.
+     */
+    private static void writeString(OutputStream outputStream, String value) throws IOException {
+        byte[] stringBytes = value.getBytes(StandardCharsets.UTF_8);
+        DukeStorageBinaryFormat.writeVarInt(outputStream, stringBytes.length);
+        outputStream.write(stringBytes);
+    }
+}
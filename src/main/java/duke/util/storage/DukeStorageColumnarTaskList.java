@@ -0,0 +1,474 @@
+package duke.util.storage;
+
+import duke.task.DukeTask;
+import duke.task.DukeTaskDeadline;
+import duke.task.DukeTaskEvent;
+import duke.task.DukeTaskToDo;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * List of {@link DukeTask} stored as one array per field instead of one object per task: a type code column, a
+ * completion bitmap, a name column, a detail column holding the deadline or location, and a deadline column holding
+ * every deadline already parsed into seconds. Reminders and searches only go through the columns they need through
+ * {@link #findIncompleteDeadlines} and {@link #findTasks}, without creating any {@link DukeTask}. A {@link DukeTask}
+ * is only created the first time it is accessed through {@link #get(int)}, and is then kept, so that the same task
+ * is always returned. A task that is changed must be stored back through {@link #set(int, DukeTask)}, which updates
+ * the columns.
+ */
+public class DukeStorageColumnarTaskList extends AbstractList<DukeTask> implements RandomAccess {
+
+    public static final long DUKE_NO_DEADLINE = Long.MIN_VALUE;
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final byte TYPE_TODO = 'T';
+    private static final byte TYPE_DEADLINE = 'D';
+    private static final byte TYPE_EVENT = 'E';
+
+    private byte[] taskTypes;
+    private long[] completionBits;
+    private String[] taskNames;
+    private String[] taskDetails;
+    private long[] deadlineSeconds;
+    private DukeTask[] createdTasks;
+    private int size;
+
+    /**
+     * This constructor creates an empty list.
+     */
+    public DukeStorageColumnarTaskList() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * This constructor creates an empty list with room for a number of tasks.
+     *
+     * @param capacity Number of tasks the columns can hold before they have to grow.
+     */
+    public DukeStorageColumnarTaskList(int capacity) {
+        capacity = Math.max(capacity, 1);
+        this.taskTypes = new byte[capacity];
+        this.completionBits = new long[getWordCount(capacity)];
+        this.taskNames = new String[capacity];
+        this.taskDetails = new String[capacity];
+        this.deadlineSeconds = new long[capacity];
+        this.createdTasks = new DukeTask[capacity];
+    }
+
+    /**
+     * Copies a List&lt;duke.task.DukeTask&gt; into columns. A deadline is parsed once here, and never again.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; to copy.
+     * @return Columnar list holding the same tasks, which are kept as they are.
+     */
+    public static DukeStorageColumnarTaskList fromTasks(List<DukeTask> userTasks) {
+        DukeStorageColumnarTaskList columnarTasks = new DukeStorageColumnarTaskList(userTasks.size());
+        for (DukeTask task : userTasks) {
+            columnarTasks.add(task);
+        }
+        return columnarTasks;
+    }
+
+    /**
+     * Converts a local date-time into the value held by the deadline column.
+     *
+     * @param dateTime Local date-time.
+     * @return Seconds since the epoch of the local date-time as if it were in UTC.
+     */
+    public static long toDeadlineSeconds(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Appends a task straight from its column values, without creating a {@link DukeTask}. This is used when the
+     * columns are read from a data file.
+     *
+     * @param taskType Type code of the task, i.e. 'T', 'D' or 'E'.
+     * @param isComplete true if the task is complete.
+     * @param taskName Name of the task.
+     * @param taskDetail Deadline or location of the task, or null for a to-do.
+     * @param taskDeadlineSeconds Parsed deadline, or {@link #DUKE_NO_DEADLINE}.
+     */
+    void addColumns(byte taskType, boolean isComplete, String taskName, String taskDetail, long taskDeadlineSeconds) {
+        if (size == taskTypes.length) {
+            grow();
+        }
+        setColumns(size, taskType, isComplete, taskName, taskDetail, taskDeadlineSeconds);
+        createdTasks[size] = null;
+        size++;
+    }
+
+    /**
+     * Overwrites the column values of a task.
+     *
+     * @param index Index of the task.
+     * @param taskType Type code of the task.
+     * @param isComplete true if the task is complete.
+     * @param taskName Name of the task.
+     * @param taskDetail Deadline or location of the task, or null for a to-do.
+     * @param taskDeadlineSeconds Parsed deadline, or {@link #DUKE_NO_DEADLINE}.
+     */
+    private void setColumns(int index, byte taskType, boolean isComplete, String taskName, String taskDetail,
+            long taskDeadlineSeconds) {
+        taskTypes[index] = taskType;
+        if (isComplete) {
+            completionBits[index >>> 6] |= 1L << index;
+        } else {
+            completionBits[index >>> 6] &= ~(1L << index);
+        }
+        taskNames[index] = taskName;
+        taskDetails[index] = taskDetail;
+        deadlineSeconds[index] = taskDeadlineSeconds;
+    }
+
+    /**
+     * Overwrites the column values of a task from a {@link DukeTask}. The deadline is only parsed again if it changed.
+     *
+     * @param index Index of the task.
+     * @param task Task to take the values from.
+     * @param isNew true if the index holds no task yet.
+     */
+    private void setColumns(int index, DukeTask task, boolean isNew) {
+        if (task instanceof DukeTaskDeadline) {
+            DukeTaskDeadline deadline = (DukeTaskDeadline) task;
+            String taskDeadline = deadline.getTaskDeadline();
+            long taskDeadlineSeconds = !isNew && taskTypes[index] == TYPE_DEADLINE
+                    && taskDeadline.equals(taskDetails[index])
+                    ? deadlineSeconds[index]
+                    : deadline.getDeadlineDateTime().map(DukeStorageColumnarTaskList::toDeadlineSeconds)
+                            .orElse(DUKE_NO_DEADLINE);
+            setColumns(index, TYPE_DEADLINE, task.getTaskIsComplete(), task.getTaskName(), taskDeadline,
+                    taskDeadlineSeconds);
+        } else if (task instanceof DukeTaskEvent) {
+            setColumns(index, TYPE_EVENT, task.getTaskIsComplete(), task.getTaskName(),
+                    ((DukeTaskEvent) task).getTaskLocation(), DUKE_NO_DEADLINE);
+        } else {
+            setColumns(index, TYPE_TODO, task.getTaskIsComplete(), task.getTaskName(), null, DUKE_NO_DEADLINE);
+        }
+    }
+
+    /**
+     * Doubles the capacity of every column.
+     */
+    private void grow() {
+        int capacity = taskTypes.length * 2;
+        taskTypes = Arrays.copyOf(taskTypes, capacity);
+        completionBits = Arrays.copyOf(completionBits, getWordCount(capacity));
+        taskNames = Arrays.copyOf(taskNames, capacity);
+        taskDetails = Arrays.copyOf(taskDetails, capacity);
+        deadlineSeconds = Arrays.copyOf(deadlineSeconds, capacity);
+        createdTasks = Arrays.copyOf(createdTasks, capacity);
+    }
+
+    /**
+     * Gets the number of longs the completion bitmap needs for a number of tasks.
+     *
+     * @param taskCount Number of tasks.
+     * @return Number of longs.
+     */
+    private static int getWordCount(int taskCount) {
+        return (taskCount + 63) >>> 6;
+    }
+
+    /**
+     * Creates a copy of this list which shares the tasks that were already created, but has columns of its own. The
+     * copy can be read on another thread while this list keeps changing.
+     *
+     * @return Copy of this list.
+     */
+    public DukeStorageColumnarTaskList copy() {
+        DukeStorageColumnarTaskList copiedTasks = new DukeStorageColumnarTaskList(size);
+        System.arraycopy(taskTypes, 0, copiedTasks.taskTypes, 0, size);
+        System.arraycopy(completionBits, 0, copiedTasks.completionBits, 0, getWordCount(size));
+        System.arraycopy(taskNames, 0, copiedTasks.taskNames, 0, size);
+        System.arraycopy(taskDetails, 0, copiedTasks.taskDetails, 0, size);
+        System.arraycopy(deadlineSeconds, 0, copiedTasks.deadlineSeconds, 0, size);
+        System.arraycopy(createdTasks, 0, copiedTasks.createdTasks, 0, size);
+        copiedTasks.size = size;
+        return copiedTasks;
+    }
+
+    /**
+     * Gets the type code of a task without creating it.
+     *
+     * @param index Index of the task.
+     * @return 'T', 'D' or 'E'.
+     */
+    public byte getTaskType(int index) {
+        checkIndex(index);
+        return taskTypes[index];
+    }
+
+    /**
+     * Checks if a task is complete without creating it.
+     *
+     * @param index Index of the task.
+     * @return true if the task is complete.
+     */
+    public boolean isComplete(int index) {
+        checkIndex(index);
+        return (completionBits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Gets the name of a task without creating it.
+     *
+     * @param index Index of the task.
+     * @return Name of the task.
+     */
+    public String getTaskName(int index) {
+        checkIndex(index);
+        return taskNames[index];
+    }
+
+    /**
+     * Gets the deadline or location of a task without creating it.
+     *
+     * @param index Index of the task.
+     * @return Deadline or location, or null for a to-do.
+     */
+    public String getTaskDetail(int index) {
+        checkIndex(index);
+        return taskDetails[index];
+    }
+
+    /**
+     * Gets the parsed deadline of a task without creating it.
+     *
+     * @param index Index of the task.
+     * @return Value of the deadline column, or {@link #DUKE_NO_DEADLINE} if the task is not a deadline or its
+     *     deadline cannot be parsed.
+     */
+    public long getDeadlineSeconds(int index) {
+        checkIndex(index);
+        return deadlineSeconds[index];
+    }
+
+    /**
+     * Finds the incomplete deadlines due in a range, going through only the deadline column and the completion bitmap.
+     *
+     * @param from Start of the range, inclusive.
+     * @param to End of the range, exclusive.
+     * @return Zero-based indexes of the matching deadlines in ascending order.
+     */
+    public List<Integer> findIncompleteDeadlines(LocalDateTime from, LocalDateTime to) {
+        long fromSeconds = toDeadlineSeconds(from);
+        long toSeconds = toDeadlineSeconds(to);
+        List<Integer> deadlineIndexes = new ArrayList<>();
+        for (int index = 0; index < size; index++) {
+            long taskDeadlineSeconds = deadlineSeconds[index];
+            if (taskDeadlineSeconds >= fromSeconds && taskDeadlineSeconds < toSeconds
+                    && (completionBits[index >>> 6] & (1L << index)) == 0) {
+                deadlineIndexes.add(index);
+            }
+        }
+        return deadlineIndexes;
+    }
+
+    /**
+     * Finds the tasks whose name contains the search terms, going through only the name column.
+     *
+     * @param searchTerms Substring to search for in the name of every task.
+     * @return Zero-based indexes of the matching tasks in ascending order.
+     */
+    public List<Integer> findTasks(String searchTerms) {
+        List<Integer> matchingIndexes = new ArrayList<>();
+        for (int index = 0; index < size; index++) {
+            if (taskNames[index].contains(searchTerms)) {
+                matchingIndexes.add(index);
+            }
+        }
+        return matchingIndexes;
+    }
+
+    @Override
+    public DukeTask get(int index) {
+        checkIndex(index);
+        DukeTask task = createdTasks[index];
+        if (task == null) {
+            task = createTask(index);
+            createdTasks[index] = task;
+        }
+        return task;
+    }
+
+    /**
+     * Creates the {@link DukeTask} at an index from its column values.
+     *
+     * @param index Index of the task.
+     * @return Created task.
+     */
+    private DukeTask createTask(int index) {
+        boolean isComplete = (completionBits[index >>> 6] & (1L << index)) != 0;
+        switch (taskTypes[index]) {
+        case TYPE_DEADLINE:
+            return new DukeTaskDeadline(taskNames[index], isComplete, taskDetails[index]);
+
+        case TYPE_EVENT:
+            return new DukeTaskEvent(taskNames[index], isComplete, taskDetails[index]);
+
+        default:
+            return new DukeTaskToDo(taskNames[index], isComplete);
+        }
+    }
+
+    /**
+     * Replaces the task at an index, and updates its columns. This must be called after changing a task that was
+     * obtained from {@link #get(int)}, so that the columns see the change.
+     *
+     * @param index Index of the task.
+     * @param task Task to store.
+     * @return Task previously at the index.
+     */
+    @Override
+    public DukeTask set(int index, DukeTask task) {
+        DukeTask previousTask = get(index);
+        setColumns(index, task, false);
+        createdTasks[index] = task;
+        return previousTask;
+    }
+
+    @Override
+    public boolean add(DukeTask task) {
+        if (size == taskTypes.length) {
+            grow();
+        }
+        setColumns(size, task, true);
+        createdTasks[size] = task;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, DukeTask task) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (size == taskTypes.length) {
+            grow();
+        }
+        int movedCount = size - index;
+        System.arraycopy(taskTypes, index, taskTypes, index + 1, movedCount);
+        System.arraycopy(taskNames, index, taskNames, index + 1, movedCount);
+        System.arraycopy(taskDetails, index, taskDetails, index + 1, movedCount);
+        System.arraycopy(deadlineSeconds, index, deadlineSeconds, index + 1, movedCount);
+        System.arraycopy(createdTasks, index, createdTasks, index + 1, movedCount);
+        insertCompletionBit(index);
+        setColumns(index, task, true);
+        createdTasks[index] = task;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public DukeTask remove(int index) {
+        DukeTask removedTask = get(index);
+        int movedCount = size - index - 1;
+        System.arraycopy(taskTypes, index + 1, taskTypes, index, movedCount);
+        System.arraycopy(taskNames, index + 1, taskNames, index, movedCount);
+        System.arraycopy(taskDetails, index + 1, taskDetails, index, movedCount);
+        System.arraycopy(deadlineSeconds, index + 1, deadlineSeconds, index, movedCount);
+        System.arraycopy(createdTasks, index + 1, createdTasks, index, movedCount);
+        removeCompletionBit(index);
+        size--;
+        taskNames[size] = null;
+        taskDetails[size] = null;
+        createdTasks[size] = null;
+        modCount++;
+        return removedTask;
+    }
+
+    /**
+     * Removes many tasks in a single pass over the columns, without creating any of them, instead of shifting every
+     * column once per removed task through {@link #remove(int)}.
+     *
+     * @param removedIndexes Indexes of the tasks to remove.
+     */
+    public void removeTasks(BitSet removedIndexes) {
+        int keptCount = 0;
+        for (int index = 0; index < size; index++) {
+            if (removedIndexes.get(index)) {
+                continue;
+            }
+            boolean isComplete = isComplete(index);
+            taskTypes[keptCount] = taskTypes[index];
+            taskNames[keptCount] = taskNames[index];
+            taskDetails[keptCount] = taskDetails[index];
+            deadlineSeconds[keptCount] = deadlineSeconds[index];
+            createdTasks[keptCount] = createdTasks[index];
+            if (isComplete) {
+                completionBits[keptCount >>> 6] |= 1L << keptCount;
+            } else {
+                completionBits[keptCount >>> 6] &= ~(1L << keptCount);
+            }
+            keptCount++;
+        }
+        Arrays.fill(completionBits, getWordCount(keptCount), getWordCount(size), 0);
+        if ((keptCount & 63) != 0) {
+            completionBits[keptCount >>> 6] &= (1L << keptCount) - 1;
+        }
+        Arrays.fill(taskNames, keptCount, size, null);
+        Arrays.fill(taskDetails, keptCount, size, null);
+        Arrays.fill(createdTasks, keptCount, size, null);
+        size = keptCount;
+        modCount++;
+    }
+
+    /**
+     * Removes a bit from the completion bitmap, shifting every later bit down by one a whole long at a time. The bits
+     * past the end of the list are always clear, so the last bit becomes clear.
+     *
+     * @param index Index of the removed task.
+     */
+    private void removeCompletionBit(int index) {
+        int word = index >>> 6;
+        long lowerBits = (1L << index) - 1;
+        long bits = completionBits[word];
+        completionBits[word] = (bits & lowerBits) | ((bits >>> 1) & ~lowerBits);
+        int lastWord = (size - 1) >>> 6;
+        for (int nextWord = word + 1; nextWord <= lastWord; nextWord++) {
+            completionBits[nextWord - 1] |= completionBits[nextWord] << 63;
+            completionBits[nextWord] >>>= 1;
+        }
+    }
+
+    /**
+     * Inserts a clear bit into the completion bitmap, shifting every later bit up by one a whole long at a time.
+     *
+     * @param index Index of the inserted task.
+     */
+    private void insertCompletionBit(int index) {
+        int word = index >>> 6;
+        for (int nextWord = size >>> 6; nextWord > word; nextWord--) {
+            completionBits[nextWord] = (completionBits[nextWord] << 1) | (completionBits[nextWord - 1] >>> 63);
+        }
+        long lowerBits = (1L << index) - 1;
+        long bits = completionBits[word];
+        completionBits[word] = (bits & lowerBits) | ((bits << 1) & ~lowerBits & ~(1L << index));
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Checks that an index is within the list.
+     *
+     * @param index Index to check.
+     * @throws IndexOutOfBoundsException If the index is outside the list.
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
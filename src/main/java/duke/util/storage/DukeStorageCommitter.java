@@ -0,0 +1,145 @@
+package duke.util.storage;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies a {@link DukeStorageDurability} level to the files written by {@link duke.util.DukeStorage}. For
+ * {@link DukeStorageDurability#GROUP_COMMIT}, a background thread forces every file that was written since its last
+ * run to the disk once every commit interval.
+ */
+public class DukeStorageCommitter {
+
+    public static final long DUKE_GROUP_COMMIT_INTERVAL_MILLIS = 50;
+
+    private DukeStorageDurability durability;
+    private ScheduledExecutorService commitExecutor;
+    private Set<Path> pendingFiles;
+
+    /**
+     * This constructor takes in the durability level, and uses {@link #DUKE_GROUP_COMMIT_INTERVAL_MILLIS} as the
+     * commit interval.
+     *
+     * @param durability {@link DukeStorageDurability} level to apply.
+     */
+    public DukeStorageCommitter(DukeStorageDurability durability) {
+        this(durability, DUKE_GROUP_COMMIT_INTERVAL_MILLIS);
+    }
+
+    /**
+     * This constructor takes in the durability level and the commit interval. The background thread is only
+     * started for {@link DukeStorageDurability#GROUP_COMMIT}.
+     *
+     * @param durability {@link DukeStorageDurability} level to apply.
+     * @param commitIntervalMillis Milliseconds between each group commit.
+     */
+    public DukeStorageCommitter(DukeStorageDurability durability, long commitIntervalMillis) {
+        this.durability = durability;
+        this.pendingFiles = ConcurrentHashMap.newKeySet();
+        if (durability == DukeStorageDurability.GROUP_COMMIT) {
+            this.commitExecutor = Executors.newSingleThreadScheduledExecutor((runnable) -> {
+                Thread commitThread = new Thread(runnable, "duke-storage-committer");
+                commitThread.setDaemon(true);
+                return commitThread;
+            });
+            this.commitExecutor.scheduleWithFixedDelay(this::commitPendingFiles, commitIntervalMillis,
+                    commitIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Gets the durability level that this committer applies.
+     *
+     * @return {@link DukeStorageDurability} level.
+     */
+    public DukeStorageDurability getDurability() {
+        return this.durability;
+    }
+
+    /**
+     * Commits data that has just been written to a file and flushed out of any Java buffers. For
+     * {@link DukeStorageDurability#SYNC}, the stream is forced to the disk right away. For
+     * {@link DukeStorageDurability#GROUP_COMMIT}, the file is queued for the next group commit.
+     *
+     * @param stream Open stream the data was written through.
+     * @param file File which will hold the data once the write completes. When writing through a temporary file that
+     *             is renamed afterwards, this is the final file.
+     * @throws IOException If the stream cannot be forced to the disk.
+     */
+    public void commit(FileOutputStream stream, File file) throws IOException {
+        commit(stream.getChannel(), file);
+    }
+
+    /**
+     * Commits data that has just been written to a file through a channel, e.g. a positional write. See
+     * {@link #commit(FileOutputStream, File)}.
+     *
+     * @param channel Open channel the data was written through.
+     * @param file File which holds the data.
+     * @throws IOException If the channel cannot be forced to the disk.
+     */
+    public void commit(FileChannel channel, File file) throws IOException {
+        switch (durability) {
+        case SYNC:
+            channel.force(false);
+            break;
+
+        case GROUP_COMMIT:
+            pendingFiles.add(file.toPath());
+            break;
+
+        default:
+            break;
+        }
+    }
+
+    /**
+     * Forces the directory holding a file to the disk after the file was renamed, so that the rename itself survives
+     * the operating system stopping. This is only done for {@link DukeStorageDurability#SYNC}, and is skipped on
+     * platforms that cannot open a directory for syncing.
+     *
+     * @param file File that was renamed.
+     */
+    public void commitRename(File file) {
+        File directory = file.getAbsoluteFile().getParentFile();
+        if (durability != DukeStorageDurability.SYNC || directory == null) {
+            return;
+        }
+        try (FileChannel directoryChannel = FileChannel.open(directory.toPath(), StandardOpenOption.READ)) {
+            directoryChannel.force(true);
+        } catch (IOException ex) {
+            return;
+        }
+    }
+
+    /**
+     * Forces every file queued for the next group commit to the disk right away.
+     */
+    public void flush() {
+        commitPendingFiles();
+    }
+
+    /**
+     * Forces every file queued for the next group commit to the disk. A file that no longer exists has been renamed
+     * or deleted, so it is skipped.
+     */
+    private void commitPendingFiles() {
+        for (Path pendingFile : pendingFiles) {
+            pendingFiles.remove(pendingFile);
+            try (FileChannel pendingChannel = FileChannel.open(pendingFile, StandardOpenOption.WRITE)) {
+                pendingChannel.force(false);
+            } catch (IOException ex) {
+                continue;
+            }
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package duke.util.storage;
+
+import duke.task.DukeTask;
+import duke.util.DukeStorage;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Folds the {@link DukeStorageJournal} back into the data file on a background thread, so that the journal does not
+ * grow without bound and replaying it at start-up stays fast. A compaction goes through the following steps, and
+ * {@link #recover()} can tell from the files left behind how far a compaction got if the application stopped in the
+ * middle of it:
+ * <ol>
+ * <li>The journal is rotated, and a copy of the current list of tasks is taken.</li>
+ * <li>The copy is written to a temporary file, which is then renamed to the compacted file. The compacted file is
+ * named with {@link #DUKE_COMPACTED_FILE_SUFFIX} and the number of the last rotated journal it covers appended.</li>
+ * <li>That rotated journal is deleted. This is the point where the compaction is committed. Any older rotated
+ * journal left behind by a compaction that failed is deleted after it.</li>
+ * <li>The compacted file is renamed over the data file.</li>
+ * </ol>
+ */
+public class DukeStorageCompactor {
+
+    public static final int DUKE_COMPACTION_RECORD_THRESHOLD = 1000;
+    public static final long DUKE_COMPACTION_BYTE_THRESHOLD = 1024 * 1024;
+    public static final String DUKE_COMPACTED_FILE_SUFFIX = ".compacted.";
+
+    private ExecutorService compactionExecutor;
+    private Future<?> pendingCompaction;
+    private DukeStorageFileBackend backend;
+    private DukeStorageJournal journal;
+    private File file;
+    private File directory;
+    private String compactedFilePrefix;
+    private File temporaryFile;
+
+    /**
+     * This constructor takes in the path of the data file, the journal that will be compacted into it, and the
+     * backend whose format the data file is written in.
+     *
+     * @param taskFilePath Relative/Full path to the data file.
+     * @param journal {@link DukeStorageJournal} of the data file.
+     * @param backend {@link DukeStorageFileBackend} which writes the data file.
+     */
+    public DukeStorageCompactor(String taskFilePath, DukeStorageJournal journal, DukeStorageFileBackend backend) {
+        this.file = new File(taskFilePath);
+        this.directory = file.getAbsoluteFile().getParentFile();
+        this.compactedFilePrefix = file.getName() + DUKE_COMPACTED_FILE_SUFFIX;
+        this.temporaryFile = new File(taskFilePath + DukeStorage.DUKE_TEMPORARY_FILE_SUFFIX);
+        this.journal = journal;
+        this.backend = backend;
+        this.compactionExecutor = Executors.newSingleThreadExecutor((runnable) -> {
+            Thread compactionThread = new Thread(runnable, "duke-storage-compactor");
+            compactionThread.setDaemon(true);
+            return compactionThread;
+        });
+    }
+
+    /**
+     * Starts a compaction in the background if the journal has grown past {@link #DUKE_COMPACTION_RECORD_THRESHOLD}
+     * records or {@link #DUKE_COMPACTION_BYTE_THRESHOLD} characters, and no other compaction is still running.
+     *
+     * @param userTasks Current List&lt;duke.task.DukeTask&gt;, which must already reflect every journal record.
+     * @throws IOException If the journal cannot be rotated.
+     */
+    public void compactIfNeeded(List<DukeTask> userTasks) throws IOException {
+        if (journal.getRecordCount() < DUKE_COMPACTION_RECORD_THRESHOLD
+                && journal.getByteCount() < DUKE_COMPACTION_BYTE_THRESHOLD) {
+            return;
+        }
+        if (pendingCompaction != null && !pendingCompaction.isDone()) {
+            return;
+        }
+        startCompaction(userTasks);
+    }
+
+    /**
+     * Compacts the journal into the data file and waits for the compaction to complete.
+     *
+     * @param userTasks Current List&lt;duke.task.DukeTask&gt;, which must already reflect every journal record.
+     * @throws IOException If the data file cannot be written.
+     */
+    public void compact(List<DukeTask> userTasks) throws IOException {
+        awaitPendingCompaction();
+        startCompaction(userTasks);
+        awaitPendingCompaction();
+    }
+
+    /**
+     * Rotates the journal and takes a shallow copy of the List&lt;duke.task.DukeTask&gt; on the calling thread, so
+     * that both reflect the same point in time. Writing the copy out is left to the background thread. The only
+     * state of a {@link DukeTask} that can still change after the copy is its completion, and replaying a completion
+     * record onto an already completed task has no effect. A {@link DukeStorageLazyTaskList} is copied without
+     * decoding any of its tasks, which are then decoded on the background thread instead, and a
+     * {@link DukeStorageColumnarTaskList} is copied column by column without creating any of its tasks. The
+     * {@link DukeStorageLock} of the data file is held from the rotation until the compaction has completed, so that
+     * no other Duke instance finds the journal half compacted.
+     *
+     * @param userTasks Current List&lt;duke.task.DukeTask&gt;.
+     * @throws IOException If the journal cannot be rotated.
+     */
+    private void startCompaction(List<DukeTask> userTasks) throws IOException {
+        long rotatedNumber = journal.rotate();
+        List<DukeTask> snapshotTasks;
+        if (userTasks instanceof DukeStorageLazyTaskList) {
+            snapshotTasks = ((DukeStorageLazyTaskList) userTasks).copy();
+        } else if (userTasks instanceof DukeStorageColumnarTaskList) {
+            snapshotTasks = ((DukeStorageColumnarTaskList) userTasks).copy();
+        } else {
+            snapshotTasks = new ArrayList<>(userTasks);
+        }
+        DukeStorageLock lock = backend.getLock();
+        lock.lock();
+        pendingCompaction = compactionExecutor.submit(() -> {
+            try {
+                writeSnapshot(snapshotTasks, rotatedNumber);
+            } finally {
+                lock.unlock();
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Waits for the compaction that is currently running in the background, if there is one.
+     *
+     * @throws IOException If the compaction failed.
+     */
+    public void awaitPendingCompaction() throws IOException {
+        if (pendingCompaction == null) {
+            return;
+        }
+        try {
+            pendingCompaction.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException(ex);
+        } catch (ExecutionException ex) {
+            throw new IOException(ex.getCause());
+        } finally {
+            pendingCompaction = null;
+        }
+    }
+
+    /**
+     * Writes the snapshot of tasks to the temporary file in the format of the backend and forces it to the
+     * disk, then commits it as described in {@link DukeStorageCompactor}. The snapshot is always forced regardless of
+     * the {@link DukeStorageDurability} level, since the rotated journals are deleted right after and this happens off
+     * the UI thread anyway.
+     *
+     * @param snapshotTasks Copy of the List&lt;duke.task.DukeTask&gt; taken when the journal was rotated.
+     * @param rotatedNumber Number of the last rotated journal, which the copy covers.
+     * @throws IOException If any of the files cannot be written, renamed or deleted.
+     */
+    private void writeSnapshot(List<DukeTask> snapshotTasks, long rotatedNumber) throws IOException {
+        File compactedFile = getCompactedFile(rotatedNumber);
+        try (FileOutputStream temporaryOutputStream = new FileOutputStream(temporaryFile, false)) {
+            backend.writeTasks(snapshotTasks, temporaryOutputStream);
+            temporaryOutputStream.getChannel().force(true);
+        }
+        Files.move(temporaryFile.toPath(), compactedFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        journal.deleteRotated(rotatedNumber);
+        backend.writeWatched(() -> {
+            Files.move(compactedFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        }, false);
+    }
+
+    /**
+     * Gets the compacted file of a compaction.
+     *
+     * @param rotatedNumber Number of the last rotated journal covered by the compaction.
+     * @return File named after the data file, with {@link #DUKE_COMPACTED_FILE_SUFFIX} and the number appended.
+     */
+    private File getCompactedFile(long rotatedNumber) {
+        return new File(directory, compactedFilePrefix + rotatedNumber);
+    }
+
+    /**
+     * Finishes or rolls back the compactions that were interrupted by the application stopping, oldest first. This
+     * must be called before the data file and the journal are read. For every compacted file that is left:
+     * <ul>
+     * <li>If the last rotated journal it covers still exists, the compaction was not committed, so the compacted file
+     * is discarded and the rotated journals will be replayed on top of the old data file.</li>
+     * <li>Otherwise, the compaction was committed, so the older rotated journals it covers are deleted, and it is
+     * moved over the data file.</li>
+     * </ul>
+     *
+     * @throws IOException If the leftover files cannot be moved or deleted.
+     */
+    public void recover() throws IOException {
+        Files.deleteIfExists(temporaryFile.toPath());
+        for (long rotatedNumber : DukeStorageJournal.getFileNumbers(directory, compactedFilePrefix)) {
+            File compactedFile = getCompactedFile(rotatedNumber);
+            if (journal.hasRotated(rotatedNumber)) {
+                Files.delete(compactedFile.toPath());
+            } else {
+                journal.deleteRotated(rotatedNumber);
+                Files.move(compactedFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package duke.util.storage;
+
+import duke.task.DukeTask;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * {@link DukeStorageFileBackend} that writes the data file in the {@link DukeStorageCompressedFormat}. The sizes and
+ * timings of every snapshot are recorded in the {@link DukeStorageSnapshotStats} of the backend.
+ */
+public class DukeStorageCompressedBackend extends DukeStorageFileBackend {
+
+    /**
+     * This constructor takes in the path of the compressed data file and how it is written.
+     *
+     * @param filePath Relative/Full path to the data file.
+     * @param isJournaled true if mutations should be appended to a journal next to the data file.
+     * @param durability How hard each write tries to reach the disk before returning.
+     */
+    public DukeStorageCompressedBackend(String filePath, boolean isJournaled, DukeStorageDurability durability) {
+        super(filePath, isJournaled, durability);
+    }
+
+    @Override
+    protected void writeTasks(List<DukeTask> userTasks, OutputStream outputStream) throws IOException {
+        DukeStorageCompressedFormat.write(userTasks, outputStream, getSnapshotStats());
+    }
+}
@@ -0,0 +1,175 @@
+package duke.util.storage;
+
+import duke.task.DukeTask;
+import duke.util.DukeStorage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Compressed data file format, used instead of the text format when the data file name ends with
+ * {@link #DUKE_COMPRESSED_FILE_EXTENSION}. The file starts with the magic bytes "DUKZ" and a version byte, followed by
+ * a single zlib stream holding the records of the text format, one per line as UTF-8 with their
+ * {@link DukeStorageChecksum}. Task names repeat a lot, so the stream is usually several times smaller than the text
+ * data file. Both directions stream through a {@link Deflater} or an {@link Inflater} with a fixed buffer, so neither
+ * the compressed nor the decompressed file is ever held in memory, and the sizes and timings of every snapshot are
+ * recorded in a {@link DukeStorageSnapshotStats}.
+ */
+public class DukeStorageCompressedFormat {
+
+    public static final String DUKE_COMPRESSED_FILE_EXTENSION = ".dz";
+    public static final int DUKE_COMPRESSION_LEVEL = Deflater.DEFAULT_COMPRESSION;
+
+    private static final byte[] MAGIC = {'D', 'U', 'K', 'Z'};
+    private static final int VERSION = 1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Checks if a data file should be written in this format, judging by its name.
+     *
+     * @param taskFilePath Relative/Full path to the data file.
+     * @return true if the path ends with {@link #DUKE_COMPRESSED_FILE_EXTENSION}.
+     */
+    public static boolean isCompressedPath(String taskFilePath) {
+        return taskFilePath.endsWith(DUKE_COMPRESSED_FILE_EXTENSION);
+    }
+
+    /**
+     * Checks if a file starts with the compressed format header, regardless of its name.
+     *
+     * @param file File to check.
+     * @return true if the file starts with the magic bytes.
+     * @throws IOException If the file cannot be read.
+     */
+    public static boolean hasCompressedHeader(File file) throws IOException {
+        byte[] header = new byte[MAGIC.length];
+        try (InputStream headerInputStream = new FileInputStream(file)) {
+            return headerInputStream.readNBytes(header, 0, header.length) == header.length
+                    && Arrays.equals(header, MAGIC);
+        }
+    }
+
+    /**
+     * Reads every task from a data file in the compressed format, decompressing it a buffer at a time. Lines whose
+     * checksum does not match, or that are malformed, are moved to the quarantine. If the zlib stream itself is
+     * corrupted or cut short, the tasks before that point are kept, and the entire file is moved to the quarantine as
+     * Base64, since nothing after it can be decompressed.
+     *
+     * @param file Data file to read from.
+     * @param quarantine {@link DukeStorageQuarantine} to move corrupted lines to.
+     * @param stats {@link DukeStorageSnapshotStats} to record the size and timing of the load in.
+     * @return List&lt;duke.task.DukeTask&gt; in the order they are stored in.
+     * @throws IOException If the file cannot be read, or is not in a format this version understands.
+     */
+    public static List<DukeTask> read(File file, DukeStorageQuarantine quarantine, DukeStorageSnapshotStats stats)
+            throws IOException {
+        long startTime = System.nanoTime();
+        List<DukeTask> userTasks = new ArrayList<>();
+        DukeStorageStringTable stringTable = new DukeStorageStringTable();
+        Inflater inflater = new Inflater();
+        try (InputStream taskFileInputStream = new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE)) {
+            byte[] header = new byte[MAGIC.length];
+            int version = taskFileInputStream.readNBytes(header, 0, header.length) == header.length
+                    ? taskFileInputStream.read()
+                    : -1;
+            if (!Arrays.equals(header, MAGIC) || version != VERSION) {
+                throw new IOException("Unsupported compressed data file version " + version);
+            }
+
+            BufferedReader taskFileReader = new BufferedReader(new InputStreamReader(
+                    new InflaterInputStream(taskFileInputStream, inflater, BUFFER_SIZE), StandardCharsets.UTF_8));
+            try {
+                String line;
+                while ((line = taskFileReader.readLine()) != null) {
+                    readLine(line, userTasks, stringTable, quarantine);
+                }
+            } catch (EOFException | ZipException ex) {
+                //Nothing after this point can be decompressed, so keep the entire file for the user to recover
+                quarantine.add(Base64.getEncoder().encodeToString(Files.readAllBytes(file.toPath())));
+            }
+            stats.recordLoad(inflater.getBytesWritten(), file.length(), System.nanoTime() - startTime);
+            return userTasks;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Decodes a decompressed line into a task, or moves it to the quarantine if it cannot be decoded.
+     *
+     * @param line Line that was decompressed, without the line separator.
+     * @param userTasks List&lt;duke.task.DukeTask&gt; to add the task to.
+     * @param stringTable Table to intern the name, deadline and location in.
+     * @param quarantine {@link DukeStorageQuarantine} to move the line to if it cannot be decoded.
+     */
+    private static void readLine(String line, List<DukeTask> userTasks, DukeStorageStringTable stringTable,
+            DukeStorageQuarantine quarantine) {
+        String record = DukeStorageChecksum.stripChecksum(line, true);
+        Optional<DukeTask> readTask = Optional.empty();
+        if (record != null) {
+            try {
+                readTask = DukeStorage.processReadTask(record, stringTable);
+            } catch (IOException ex) {
+                readTask = Optional.empty();
+            }
+        }
+        if (readTask.isPresent()) {
+            userTasks.add(readTask.get());
+        } else {
+            quarantine.add(line);
+        }
+    }
+
+    /**
+     * Writes every {@link DukeTask} to a stream in the compressed format, compressing it a buffer at a time. The
+     * stream is flushed but not closed.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; to write.
+     * @param outputStream Stream to write to, usually a temporary data file.
+     * @param stats {@link DukeStorageSnapshotStats} to record the size and timing of the save in.
+     * @throws IOException If the stream cannot be written to.
+     */
+    public static void write(List<DukeTask> userTasks, OutputStream outputStream, DukeStorageSnapshotStats stats)
+            throws IOException {
+        long startTime = System.nanoTime();
+        BufferedOutputStream taskFileOutputStream = new BufferedOutputStream(outputStream, BUFFER_SIZE);
+        taskFileOutputStream.write(MAGIC);
+        taskFileOutputStream.write(VERSION);
+        Deflater deflater = new Deflater(DUKE_COMPRESSION_LEVEL);
+        try {
+            DeflaterOutputStream compressedOutputStream = new DeflaterOutputStream(taskFileOutputStream, deflater,
+                    BUFFER_SIZE);
+            for (DukeTask task : userTasks) {
+                String line = DukeStorageChecksum.appendChecksum(DukeStorage.processWriteTask(task));
+                compressedOutputStream.write(line.getBytes(StandardCharsets.UTF_8));
+                compressedOutputStream.write('\n');
+            }
+            compressedOutputStream.finish();
+            taskFileOutputStream.flush();
+            stats.recordSave(deflater.getBytesRead(), MAGIC.length + 1 + deflater.getBytesWritten(),
+                    System.nanoTime() - startTime);
+        } finally {
+            deflater.end();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package duke.util.storage;
+
+/**
+ * How hard {@link duke.util.DukeStorage} tries to get each write onto the disk before returning. Every level keeps
+ * the data file consistent if the application itself stops, since saves always go through a temporary file that is
+ * renamed over the data file. The levels only differ in what survives the operating system stopping.
+ */
+public enum DukeStorageDurability {
+    /**
+     * Every write is forced to the disk before returning. Slowest, but nothing that was acknowledged is lost.
+     */
+    SYNC,
+
+    /**
+     * Writes are left to the operating system, and a background thread forces every file written since its last run
+     * to the disk. At most the writes from the last commit interval can be lost.
+     */
+    GROUP_COMMIT,
+
+    /**
+     * Writes are left to the operating system to flush whenever it sees fit. Fastest, but recent writes can be lost.
+     */
+    BUFFERED
+}
@@ -0,0 +1,79 @@
+package duke.util.storage;
+
+import duke.task.DukeTask;
+import duke.task.DukeTaskDeadline;
+import duke.task.DukeTaskEvent;
+import duke.util.DukeStorage;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Streams tasks into a file in a {@link DukeStorageTransferFormat}, one line at a time, without building the file in
+ * memory. The file is written as UTF-8 into a temporary file first, which is then renamed over the exported file, so
+ * that an export that fails never leaves a partial file behind. A {@link DukeStorageColumnarTaskList} is exported
+ * column by column without creating any of its tasks.
+ */
+public class DukeStorageExporter {
+
+    /**
+     * Exports every task of a List. The List must not change while it is exported.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; to export.
+     * @param exportFilePath Relative/Full path to the exported file.
+     * @param format Format to export in.
+     * @return Number of exported tasks.
+     * @throws IOException If the file cannot be written.
+     */
+    public static int export(List<DukeTask> userTasks, String exportFilePath, DukeStorageTransferFormat format)
+            throws IOException {
+        File exportFile = new File(exportFilePath);
+        File temporaryFile = new File(exportFilePath + DukeStorage.DUKE_TEMPORARY_FILE_SUFFIX);
+        DukeStorageColumnarTaskList columnarTasks = userTasks instanceof DukeStorageColumnarTaskList
+                ? (DukeStorageColumnarTaskList) userTasks
+                : null;
+        try (BufferedWriter writer = Files.newBufferedWriter(temporaryFile.toPath(), StandardCharsets.UTF_8)) {
+            Optional<String> header = format.getHeader();
+            if (header.isPresent()) {
+                writer.write(header.get());
+                writer.newLine();
+            }
+            for (int index = 0; index < userTasks.size(); index++) {
+                if (columnarTasks != null) {
+                    writer.write(format.formatRow((char) columnarTasks.getTaskType(index),
+                            columnarTasks.isComplete(index), columnarTasks.getTaskName(index),
+                            columnarTasks.getTaskDetail(index)));
+                } else {
+                    writer.write(formatTask(userTasks.get(index), format));
+                }
+                writer.newLine();
+            }
+        }
+        Files.move(temporaryFile.toPath(), exportFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        return userTasks.size();
+    }
+
+    /**
+     * Formats a task as a line of a format.
+     *
+     * @param task Task to format.
+     * @param format Format of the line.
+     * @return Line without the trailing line separator.
+     */
+    private static String formatTask(DukeTask task, DukeStorageTransferFormat format) {
+        String taskDetail = "";
+        if (task instanceof DukeTaskDeadline) {
+            taskDetail = ((DukeTaskDeadline) task).getTaskDeadline();
+        } else if (task instanceof DukeTaskEvent) {
+            taskDetail = ((DukeTaskEvent) task).getTaskLocation();
+        }
+        return format.formatRow(task.getTaskType().charAt(0), task.getTaskIsComplete(), task.getTaskName(),
+                taskDetail);
+    }
+}
@@ -0,0 +1,396 @@
+package duke.util.storage;
+
+import duke.task.DukeTask;
+import duke.util.DukeStorage;
+import duke.util.ui.DukeUiMessages;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link DukeStorageBackend} that keeps the tasks in a data file on the hard disk, optionally with a
+ * {@link DukeStorageJournal}. The data file is always read in whichever format it is in, detected from its header,
+ * and written in the format of the subclass.
+ */
+public abstract class DukeStorageFileBackend implements DukeStorageBackend {
+
+    private DukeStorageCommitter committer;
+    private DukeStorageCompactor compactor;
+    private DukeStorageJournal journal;
+    private DukeStorageLock lock;
+    private DukeStorageSnapshotStats snapshotStats;
+    private File file;
+    private File temporaryFile;
+    private String taskFilePath;
+    private DukeStorageWatcher watcher;
+
+    /**
+     * This constructor takes in the path of the data file stored on the hard disk, whether mutations should be
+     * appended to a {@link DukeStorageJournal} instead of rewriting the entire data file each time, and the
+     * {@link DukeStorageDurability} level applied to every write. The journal is folded back into the data file in the
+     * background by a {@link DukeStorageCompactor}.
+     *
+     * @param filePath Relative/Full path to the data file.
+     * @param isJournaled true if mutations should be appended to a journal next to the data file.
+     * @param durability How hard each write tries to reach the disk before returning.
+     */
+    public DukeStorageFileBackend(String filePath, boolean isJournaled, DukeStorageDurability durability) {
+        this.file = new File(filePath);
+        this.temporaryFile = new File(filePath + DukeStorage.DUKE_TEMPORARY_FILE_SUFFIX);
+        this.taskFilePath = filePath;
+        this.committer = new DukeStorageCommitter(durability);
+        this.lock = new DukeStorageLock(filePath);
+        this.snapshotStats = new DukeStorageSnapshotStats();
+        if (isJournaled) {
+            this.journal = new DukeStorageJournal(filePath, committer);
+            this.compactor = new DukeStorageCompactor(filePath, journal, this);
+        }
+    }
+
+    /**
+     * Gets the data file.
+     *
+     * @return Data file on the hard disk.
+     */
+    protected File getFile() {
+        return this.file;
+    }
+
+    /**
+     * Gets the path to the data file.
+     *
+     * @return Relative/Full path to the data file.
+     */
+    public String getTaskFilePath() {
+        return this.taskFilePath;
+    }
+
+    /**
+     * Gets the lock shared with every other Duke instance that keeps its tasks in the same data file.
+     *
+     * @return Lock of the data file.
+     */
+    public DukeStorageLock getLock() {
+        return this.lock;
+    }
+
+    /**
+     * Gets the sizes and timings of the last {@link DukeStorageCompressedFormat} snapshots saved and loaded.
+     *
+     * @return Snapshot statistics of this backend.
+     */
+    public DukeStorageSnapshotStats getSnapshotStats() {
+        return this.snapshotStats;
+    }
+
+    /**
+     * Gets the committer that applies the {@link DukeStorageDurability} level of this backend.
+     *
+     * @return Committer of this backend.
+     */
+    protected DukeStorageCommitter getCommitter() {
+        return this.committer;
+    }
+
+    /**
+     * Sets the {@link DukeStorageWatcher} of the data file, so that every write to the data file is made through
+     * {@link DukeStorageWatcher#write}. The watcher then neither mistakes the write for a change made outside of
+     * Duke, nor lets the write replace such a change before it has been handed over.
+     *
+     * @param watcher Watcher of the data file, or null to remove it.
+     */
+    public void setWatcher(DukeStorageWatcher watcher) {
+        this.watcher = watcher;
+    }
+
+    /**
+     * Makes a write to the data file, through the {@link DukeStorageWatcher} of the data file if it is watched.
+     *
+     * @param write Write to make.
+     * @param isPartial true if the write only changes part of the data file in place.
+     * @return true if the data file was written, or false if the write was not made.
+     * @throws IOException If the data file cannot be written.
+     */
+    protected boolean writeWatched(DukeStorageWatcher.DukeStorageWatchedWrite write, boolean isPartial)
+            throws IOException {
+        if (watcher == null) {
+            return write.write();
+        }
+        return watcher.write(write, isPartial);
+    }
+
+    /**
+     * Writes every {@link DukeTask} to a stream in the format of this backend. The stream is flushed but not closed.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; to write.
+     * @param outputStream Stream to write to, usually a temporary data file.
+     * @throws IOException If the stream cannot be written to.
+     */
+    protected abstract void writeTasks(List<DukeTask> userTasks, OutputStream outputStream) throws IOException;
+
+    /**
+     * Loads the data file and reads it, initializing a List&lt;duke.task.DukeTask&gt; to be returned to the caller.
+     * This List will be populated with {@link duke.task.DukeTask} from the data file. If the data file does not exist,
+     * it is created. A data file that starts with the {@link DukeStorageBinaryFormat},
+     * {@link DukeStorageColumnarFormat} or {@link DukeStorageCompressedFormat} header is read in that format, and any
+     * other data file in the text format.
+     * Text data files of at least {@link DukeStorageMappedReader#DUKE_MAPPED_LOAD_THRESHOLD} bytes are read through a
+     * {@link DukeStorageMappedReader}, and those of at least
+     * {@link DukeStorageParallelReader#DUKE_PARALLEL_LOAD_THRESHOLD} bytes are split up and read on multiple cores
+     * through a {@link DukeStorageParallelReader}. If journaling is enabled, an interrupted compaction is
+     * recovered first, and the records in the {@link DukeStorageJournal} are then replayed on top of the data file.
+     * Corrupted records do not stop the load, and are handled by {@link #quarantineSkippedRecords}.
+     *
+     * @param ui Instance of {@link DukeUiMessages} which will show output to the user, or null if nothing should be
+     *     shown, e.g. when the data file is read again after another Duke instance has written it.
+     * @return List&lt;duke.task.DukeTask&gt; read from the data file.
+     * @throws IOException File parsing error.
+     */
+    @Override
+    public List<DukeTask> load(DukeUiMessages ui) throws IOException {
+        prepareDataFile();
+        DukeStorageQuarantine quarantine = new DukeStorageQuarantine();
+        List<DukeTask> retrievedTasks;
+        if (DukeStorageBinaryFormat.hasBinaryHeader(file)) {
+            retrievedTasks = DukeStorageBinaryFormat.read(file, quarantine);
+        } else if (DukeStorageColumnarFormat.hasColumnarHeader(file)) {
+            retrievedTasks = DukeStorageColumnarFormat.read(file, quarantine);
+        } else if (DukeStorageCompressedFormat.hasCompressedHeader(file)) {
+            retrievedTasks = DukeStorageCompressedFormat.read(file, quarantine, snapshotStats);
+        } else if (file.length() >= DukeStorageParallelReader.DUKE_PARALLEL_LOAD_THRESHOLD) {
+            retrievedTasks = new DukeStorageParallelReader(file, ui, quarantine).read();
+        } else if (file.length() >= DukeStorageMappedReader.DUKE_MAPPED_LOAD_THRESHOLD) {
+            retrievedTasks = new DukeStorageMappedReader(quarantine).read(file, ui);
+        } else {
+            retrievedTasks = readDukeTasks(ui, quarantine);
+        }
+        return finishLoad(retrievedTasks, ui, quarantine);
+    }
+
+    /**
+     * Recovers an interrupted compaction if journaling is enabled, and creates the data file if it does not exist.
+     * This must be called before the data file is read. The journal is closed first, since another Duke instance may
+     * have moved it aside since it was opened.
+     *
+     * @throws IOException If the data file cannot be created, or the compaction cannot be recovered.
+     */
+    protected void prepareDataFile() throws IOException {
+        if (compactor != null) {
+            journal.close();
+            compactor.recover();
+        }
+        if (!file.exists()) {
+            file.createNewFile();
+        }
+    }
+
+    /**
+     * Replays the {@link DukeStorageJournal} on top of the tasks read from the data file, and then handles the records
+     * that were skipped through {@link #quarantineSkippedRecords}.
+     *
+     * @param retrievedTasks List&lt;duke.task.DukeTask&gt; read from the data file.
+     * @param ui Instance of {@link DukeUiMessages} which will show output to the user.
+     * @param quarantine {@link DukeStorageQuarantine} holding the records skipped so far.
+     * @return retrievedTasks after the journal has been replayed.
+     * @throws IOException If the journal cannot be read, or the skipped records cannot be moved.
+     */
+    protected List<DukeTask> finishLoad(List<DukeTask> retrievedTasks, DukeUiMessages ui,
+            DukeStorageQuarantine quarantine) throws IOException {
+        if (journal != null) {
+            journal.replay(retrievedTasks, quarantine);
+        }
+        quarantineSkippedRecords(retrievedTasks, quarantine, ui);
+        return retrievedTasks;
+    }
+
+    /**
+     * Reads the specified file in {@link #file} line by line and initializes a List&lt;duke.task.DukeTask&gt;
+     * object to be returned. Lines whose {@link DukeStorageChecksum} does not match, or that are malformed, are moved
+     * to the quarantine. Repeated names, deadlines and locations are interned in a {@link DukeStorageStringTable}.
+     *
+     * @param ui Instance of {@link DukeUiMessages} which will show output to the user.
+     * @param quarantine {@link DukeStorageQuarantine} to move corrupted lines to.
+     * @return An initialized List of duke.task.DukeTask objects, can be an empty List if there are no
+     *     tasks in the read file.
+     * @throws IOException File parsing error.
+     */
+    private List<DukeTask> readDukeTasks(DukeUiMessages ui, DukeStorageQuarantine quarantine) throws IOException {
+        List<DukeTask> userTasks = new ArrayList<>();
+        DukeStorageStringTable stringTable = new DukeStorageStringTable();
+        boolean isChecksumRequired = DukeStorageChecksum.hasChecksums(file);
+        try (BufferedReader taskFileInputBuffer = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = taskFileInputBuffer.readLine()) != null) { //readLine until EOF
+                String record = DukeStorageChecksum.stripChecksum(line, isChecksumRequired);
+                Optional<DukeTask> readTask;
+                try {
+                    if (record == null) {
+                        throw new IOException("Checksum mismatch");
+                    }
+                    readTask = DukeStorage.processReadTask(record, stringTable);
+                } catch (IOException ex) {
+                    quarantine.add(line);
+                    continue;
+                }
+
+                if (!readTask.isEmpty()) {
+                    userTasks.add(readTask.get());
+                } else if (ui != null) {
+                    ui.displayUnknownTask();
+                }
+            }
+        }
+        return userTasks;
+    }
+
+    /**
+     * Moves every record that was skipped while loading into the {@link DukeStorageQuarantine} side file, and then
+     * saves the tasks that were loaded, so that the data file and the journal no longer hold the skipped records.
+     * The user is told how many records were skipped and where they were moved to.
+     *
+     * @param retrievedTasks List&lt;duke.task.DukeTask&gt; that was loaded.
+     * @param quarantine {@link DukeStorageQuarantine} holding the skipped records.
+     * @param ui Instance of {@link DukeUiMessages} which will show output to the user.
+     * @throws IOException If the side file or the data file cannot be written.
+     */
+    private void quarantineSkippedRecords(List<DukeTask> retrievedTasks, DukeStorageQuarantine quarantine,
+            DukeUiMessages ui) throws IOException {
+        if (quarantine.getRecordCount() == 0) {
+            return;
+        }
+        String quarantineFilePath = quarantine.write(taskFilePath);
+        save(retrievedTasks);
+        if (ui != null) {
+            ui.displaySkippedRecords(quarantine.getRecordCount(), quarantineFilePath);
+        }
+    }
+
+    @Override
+    public boolean isJournaled() {
+        return journal != null;
+    }
+
+    /**
+     * Saves the List&lt;duke.task.DukeTask&gt; into the data file. Saving process is writing every task into a
+     * temporary file through {@link #writeTasks}, committing it according to the {@link DukeStorageDurability} level
+     * and then renaming it over the data file, so the data file is never left partially written. If journaling is
+     * enabled, the {@link DukeStorageJournal} is compacted into the data file instead, and this method waits for it to
+     * complete.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; to be written to the data file.
+     * @throws IOException File parsing error.
+     */
+    @Override
+    public void save(List<DukeTask> userTasks) throws IOException {
+        if (compactor != null) {
+            compactor.compact(userTasks);
+            return;
+        }
+        try (FileOutputStream taskFileOutputStream = new FileOutputStream(temporaryFile, false)) {
+            writeTasks(userTasks, taskFileOutputStream);
+            committer.commit(taskFileOutputStream, file);
+        }
+        writeWatched(() -> {
+            Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        }, false);
+        committer.commitRename(file);
+    }
+
+    /**
+     * Waits for the compaction running in the background, and forces every write that is still waiting for a group
+     * commit to the disk.
+     *
+     * @throws IOException If the compaction failed.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (compactor != null) {
+            compactor.awaitPendingCompaction();
+        }
+        committer.flush();
+    }
+
+    /**
+     * Persists a {@link DukeTask} that was just appended to the List&lt;duke.task.DukeTask&gt;. If journaling is
+     * enabled, only a single record is appended, and a compaction is started if the journal has grown too large.
+     * Otherwise the entire List is saved through {@link #save(List)}.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; after the task has been added.
+     * @param task {@link DukeTask} that was added.
+     * @throws IOException File parsing error.
+     */
+    @Override
+    public void saveAddedTask(List<DukeTask> userTasks, DukeTask task) throws IOException {
+        if (journal != null) {
+            journal.appendAddedTask(task);
+            compactor.compactIfNeeded(userTasks);
+        } else {
+            save(userTasks);
+        }
+    }
+
+    /**
+     * Persists a batch of {@link DukeTask} that were just appended to the List&lt;duke.task.DukeTask&gt;. If
+     * journaling is enabled, a record is appended for every task, and the records are committed together. Otherwise
+     * the entire List is saved through {@link #save(List)} once for the entire batch.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; after the tasks have been added.
+     * @param addedTasks Tasks that were added, in order.
+     * @throws IOException File parsing error.
+     */
+    @Override
+    public void saveAddedTasks(List<DukeTask> userTasks, List<DukeTask> addedTasks) throws IOException {
+        if (journal != null) {
+            journal.appendAddedTasks(addedTasks);
+            compactor.compactIfNeeded(userTasks);
+        } else {
+            save(userTasks);
+        }
+    }
+
+    /**
+     * Persists a {@link DukeTask} that was just marked as complete. If journaling is enabled, only a single record
+     * is appended. Otherwise the entire List is saved through {@link #save(List)}.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; after the task has been marked as complete.
+     * @param taskIndex Zero-based index of the completed task.
+     * @throws IOException File parsing error.
+     */
+    @Override
+    public void saveCompletedTask(List<DukeTask> userTasks, int taskIndex) throws IOException {
+        if (journal != null) {
+            journal.appendCompletedTask(taskIndex);
+            compactor.compactIfNeeded(userTasks);
+        } else {
+            save(userTasks);
+        }
+    }
+
+    /**
+     * Persists the deletion of a {@link DukeTask}. If journaling is enabled, only a single record is appended.
+     * Otherwise the entire List is saved through {@link #save(List)}.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; after the task has been deleted.
+     * @param taskIndex Zero-based index the deleted task was at.
+     * @throws IOException File parsing error.
+     */
+    @Override
+    public void saveDeletedTask(List<DukeTask> userTasks, int taskIndex) throws IOException {
+        if (journal != null) {
+            journal.appendDeletedTask(taskIndex);
+            compactor.compactIfNeeded(userTasks);
+        } else {
+            save(userTasks);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package duke.util.storage;
+
+import duke.task.DukeTask;
+import duke.task.DukeTaskDeadline;
+import duke.task.DukeTaskEvent;
+import duke.task.DukeTaskToDo;
+import duke.util.DukeParser;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Streams tasks out of a file in a {@link DukeStorageTransferFormat}, a batch of at most
+ * {@link #DUKE_IMPORT_BATCH_SIZE} tasks at a time, so that only a single batch is held in memory however large the
+ * file is. Every row is checked before it becomes a {@link DukeTask}: its type must be known, its name must not be
+ * empty, a deadline must be a date-time in the input or the output format of {@link DukeParser}, and an event must
+ * have a location. Nothing may hold a " | " or a control character, since those cannot be stored in the text data
+ * file. Rows that fail the checks are moved to the quarantine side file of the imported file, batch by batch.
+ */
+public class DukeStorageImporter implements Closeable {
+
+    public static final int DUKE_IMPORT_BATCH_SIZE = 1000;
+
+    private static final String FIELD_DELIMITER = " | ";
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+
+    private BufferedReader reader;
+    private DukeStorageTransferFormat format;
+    private String importFilePath;
+    private DateTimeFormatter inputDateTimeFormat;
+    private DateTimeFormatter outputDateTimeFormat;
+    private int lineCount;
+    private int importedCount;
+    private int rejectedCount;
+
+    /**
+     * This constructor opens a file to import. The file is read as UTF-8.
+     *
+     * @param importFilePath Relative/Full path to the file.
+     * @param format Format of the file.
+     * @throws IOException If the file cannot be opened.
+     */
+    public DukeStorageImporter(String importFilePath, DukeStorageTransferFormat format) throws IOException {
+        this.reader = Files.newBufferedReader(Paths.get(importFilePath), StandardCharsets.UTF_8);
+        this.format = format;
+        this.importFilePath = importFilePath;
+        this.inputDateTimeFormat = DateTimeFormatter.ofPattern(DukeParser.DUKE_DATETIME_INPUT_FORMAT);
+        this.outputDateTimeFormat = DukeParser.getOutputDateTimeFormatter();
+    }
+
+    public int getImportedCount() {
+        return this.importedCount;
+    }
+
+    public int getRejectedCount() {
+        return this.rejectedCount;
+    }
+
+    /**
+     * Gets the path of the side file that rejected rows are moved to.
+     *
+     * @return Path to the side file.
+     */
+    public String getQuarantineFilePath() {
+        return importFilePath + DukeStorageQuarantine.DUKE_QUARANTINE_FILE_SUFFIX;
+    }
+
+    /**
+     * Reads the next batch of tasks. Blank lines, the header line of the format and a byte order mark are skipped, and
+     * rejected rows are moved to the quarantine side file before this returns.
+     *
+     * @return At most {@link #DUKE_IMPORT_BATCH_SIZE} tasks, which is empty once the entire file has been read.
+     * @throws IOException If the file cannot be read, or the quarantine side file cannot be written to.
+     */
+    public List<DukeTask> readBatch() throws IOException {
+        List<DukeTask> batchTasks = new ArrayList<>(DUKE_IMPORT_BATCH_SIZE);
+        DukeStorageQuarantine quarantine = new DukeStorageQuarantine();
+        String line;
+        while (batchTasks.size() < DUKE_IMPORT_BATCH_SIZE && (line = reader.readLine()) != null) {
+            lineCount++;
+            if (lineCount == 1 && line.startsWith(BYTE_ORDER_MARK)) {
+                line = line.substring(BYTE_ORDER_MARK.length());
+            }
+            if (line.isBlank() || (lineCount == 1 && isHeader(line))) {
+                continue;
+            }
+            Optional<DukeTask> task;
+            try {
+                task = createTask(format.parseRow(line));
+            } catch (IOException ex) {
+                task = Optional.empty();
+            }
+            if (task.isPresent()) {
+                batchTasks.add(task.get());
+            } else {
+                quarantine.add(line);
+            }
+        }
+        if (quarantine.getRecordCount() > 0) {
+            quarantine.write(importFilePath);
+            rejectedCount += quarantine.getRecordCount();
+        }
+        importedCount += batchTasks.size();
+        return batchTasks;
+    }
+
+    /**
+     * Checks if the first line of the file is the header line of the format.
+     *
+     * @param line First line of the file.
+     * @return true if the line is the header line.
+     */
+    private boolean isHeader(String line) {
+        Optional<String> header = format.getHeader();
+        return header.isPresent() && line.trim().equalsIgnoreCase(header.get());
+    }
+
+    /**
+     * Checks the fields of a row and creates the task they describe.
+     *
+     * @param fields Type, completion, name and detail of the task.
+     * @return Created task, or Optional.empty() if the row fails a check.
+     */
+    private Optional<DukeTask> createTask(String[] fields) {
+        String taskType = fields[0].trim().toUpperCase();
+        String taskName = fields[2].trim();
+        String taskDetail = fields[3].trim();
+        Optional<Boolean> isComplete = parseCompletion(fields[1].trim());
+        if (isComplete.isEmpty() || taskName.isEmpty() || !isStorable(taskName) || !isStorable(taskDetail)) {
+            return Optional.empty();
+        }
+
+        switch (taskType) {
+        case "T":
+        case "TODO":
+            return Optional.of(new DukeTaskToDo(taskName, isComplete.get()));
+
+        case "D":
+        case "DEADLINE":
+            Optional<LocalDateTime> taskDeadline = parseDeadline(taskDetail);
+            if (taskDeadline.isEmpty()) {
+                return Optional.empty();
+            }
+            return Optional.of(new DukeTaskDeadline(taskName, isComplete.get(), taskDeadline.get()));
+
+        case "E":
+        case "EVENT":
+            if (taskDetail.isEmpty()) {
+                return Optional.empty();
+            }
+            return Optional.of(new DukeTaskEvent(taskName, isComplete.get(), taskDetail));
+
+        default:
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Reads whether a task is complete, as "1" or "true", or "0", "false" or nothing.
+     *
+     * @param field Completion field.
+     * @return true if the task is complete, or Optional.empty() if the field holds anything else.
+     */
+    private static Optional<Boolean> parseCompletion(String field) {
+        if (field.equals("1") || field.equalsIgnoreCase("true")) {
+            return Optional.of(true);
+        } else if (field.isEmpty() || field.equals("0") || field.equalsIgnoreCase("false")) {
+            return Optional.of(false);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Reads a deadline in the input format of {@link DukeParser}, e.g. "2/12/2019 1800", or in its output format,
+     * which is what an export holds.
+     *
+     * @param field Deadline field.
+     * @return Parsed deadline, or Optional.empty() if it is in neither format.
+     */
+    private Optional<LocalDateTime> parseDeadline(String field) {
+        try {
+            return Optional.of(LocalDateTime.parse(field, inputDateTimeFormat));
+        } catch (DateTimeParseException ex) {
+            try {
+                return Optional.of(LocalDateTime.parse(field, outputDateTimeFormat));
+            } catch (DateTimeParseException outputEx) {
+                return Optional.empty();
+            }
+        }
+    }
+
+    /**
+     * Checks that a field can be stored in the text data file, i.e. it holds neither the field delimiter nor a control
+     * character, which would split the record or be taken for its checksum.
+     *
+     * @param field Name or detail of a task.
+     * @return true if the field can be stored.
+     */
+    private static boolean isStorable(String field) {
+        if (field.contains(FIELD_DELIMITER)) {
+            return false;
+        }
+        for (int index = 0; index < field.length(); index++) {
+            if (Character.isISOControl(field.charAt(index))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,385 @@
+package duke.util.storage;
+
+import duke.task.DukeTask;
+import duke.util.DukeStorage;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Append-only log of the mutations made to the list of {@link DukeTask} since the data file was last written.
+ * Each mutation is written as a single line, so adding, completing or deleting a task costs one small append
+ * instead of a rewrite of the entire data file. The records are:
+ * <pre>
+ * A | T | 0 | taskName       (add, followed by the task in the data file format)
+ * C | taskIndex              (mark the task at the zero-based index as complete)
+ * X | taskIndex              (delete the task at the zero-based index)
+ * </pre>
+ * Every record is followed by its {@link DukeStorageChecksum}.
+ * When the journal is compacted by {@link DukeStorageCompactor}, it is first renamed to a rotated journal, with
+ * {@link #DUKE_JOURNAL_ROTATED_FILE_SUFFIX} and the next rotation number appended, and new records go to a fresh
+ * journal while the rotated one is folded into the data file. A rotated journal is never written to again, so a
+ * compaction that failed leaves its rotated journal as it was, and the next one simply rotates into a higher number.
+ * The rotated journals are replayed in the order of their numbers, before the current journal.
+ */
+public class DukeStorageJournal {
+
+    public static final String DUKE_JOURNAL_FILE_SUFFIX = ".journal";
+    public static final String DUKE_JOURNAL_ROTATED_FILE_SUFFIX = ".journal.old.";
+
+    private static final String RECORD_ADD = "A";
+    private static final String RECORD_COMPLETE = "C";
+    private static final String RECORD_DELETE = "X";
+    private static final String RECORD_DELIMITER = " | ";
+
+    private BufferedWriter journalOutputBuffer;
+    private DukeStorageCommitter committer;
+    private FileOutputStream journalOutputStream;
+    private File file;
+    private File directory;
+    private String rotatedFilePrefix;
+    private int recordCount;
+    private long byteCount;
+
+    /**
+     * This constructor takes in the path of the data file that this journal belongs to. The journal is stored next
+     * to the data file, with {@link #DUKE_JOURNAL_FILE_SUFFIX} appended to its name.
+     *
+     * @param taskFilePath Relative/Full path to the data file.
+     * @param committer {@link DukeStorageCommitter} which applies the durability level to every appended record.
+     */
+    public DukeStorageJournal(String taskFilePath, DukeStorageCommitter committer) {
+        this.committer = committer;
+        this.file = new File(taskFilePath + DUKE_JOURNAL_FILE_SUFFIX);
+        this.directory = file.getAbsoluteFile().getParentFile();
+        this.rotatedFilePrefix = new File(taskFilePath).getName() + DUKE_JOURNAL_ROTATED_FILE_SUFFIX;
+    }
+
+    /**
+     * Gets the number of records that have not yet been folded into the data file.
+     *
+     * @return Number of records in the journal, including the rotated journals that have not been compacted.
+     */
+    public int getRecordCount() {
+        return this.recordCount;
+    }
+
+    /**
+     * Gets the approximate size of the records that have not yet been folded into the data file.
+     *
+     * @return Size of the journal in characters, including the rotated journals that have not been compacted.
+     */
+    public long getByteCount() {
+        return this.byteCount;
+    }
+
+    /**
+     * Appends a record for a newly added {@link DukeTask}.
+     *
+     * @param task {@link DukeTask} that was added to the end of the list.
+     * @throws IOException If the journal cannot be written to.
+     */
+    public void appendAddedTask(DukeTask task) throws IOException {
+        appendRecord(RECORD_ADD + RECORD_DELIMITER + DukeStorage.processWriteTask(task));
+    }
+
+    /**
+     * Appends a record for every {@link DukeTask} of a batch that was added, e.g. by an import, and commits them
+     * together, so that the entire batch costs a single durable write.
+     *
+     * @param tasks Tasks that were added to the end of the list, in order.
+     * @throws IOException If the journal cannot be written to.
+     */
+    public void appendAddedTasks(List<DukeTask> tasks) throws IOException {
+        for (DukeTask task : tasks) {
+            writeRecord(RECORD_ADD + RECORD_DELIMITER + DukeStorage.processWriteTask(task));
+        }
+        commitRecords();
+    }
+
+    /**
+     * Appends a record for a {@link DukeTask} that was marked as complete.
+     *
+     * @param taskIndex Zero-based index of the completed task.
+     * @throws IOException If the journal cannot be written to.
+     */
+    public void appendCompletedTask(int taskIndex) throws IOException {
+        appendRecord(RECORD_COMPLETE + RECORD_DELIMITER + taskIndex);
+    }
+
+    /**
+     * Appends a record for a {@link DukeTask} that was deleted.
+     *
+     * @param taskIndex Zero-based index of the deleted task.
+     * @throws IOException If the journal cannot be written to.
+     */
+    public void appendDeletedTask(int taskIndex) throws IOException {
+        appendRecord(RECORD_DELETE + RECORD_DELIMITER + taskIndex);
+    }
+
+    /**
+     * Writes a single record to the journal. The journal is opened for appending on first use and kept open, and
+     * every record is flushed so that it survives the application exiting right after the command. The record is
+     * then committed according to the {@link DukeStorageDurability} level.
+     *
+     * @param record Formatted record without the trailing line separator.
+     * @throws IOException If the journal cannot be written to.
+     */
+    private void appendRecord(String record) throws IOException {
+        writeRecord(record);
+        commitRecords();
+    }
+
+    /**
+     * Writes a single record into the buffer of the journal, opening the journal for appending on first use.
+     *
+     * @param record Formatted record without the trailing line separator.
+     * @throws IOException If the journal cannot be written to.
+     */
+    private void writeRecord(String record) throws IOException {
+        if (journalOutputBuffer == null) {
+            journalOutputStream = new FileOutputStream(file, true);
+            journalOutputBuffer = new BufferedWriter(new OutputStreamWriter(journalOutputStream));
+        }
+        String checkedRecord = DukeStorageChecksum.appendChecksum(record);
+        journalOutputBuffer.write(checkedRecord);
+        journalOutputBuffer.newLine();
+        recordCount++;
+        byteCount += checkedRecord.length() + System.lineSeparator().length();
+    }
+
+    /**
+     * Flushes the records written so far and commits them according to the {@link DukeStorageDurability} level.
+     *
+     * @throws IOException If the journal cannot be written to.
+     */
+    private void commitRecords() throws IOException {
+        journalOutputBuffer.flush();
+        committer.commit(journalOutputStream, file);
+    }
+
+    /**
+     * Moves the current journal aside as the next rotated journal, so that a snapshot of the current list of tasks
+     * can be compacted into the data file while new records are appended to a fresh journal. The journal is renamed
+     * atomically, so every record is in exactly one file at any time. A rotated journal left behind by a compaction
+     * that failed stays where it is, and is covered by the snapshot along with the new one.
+     *
+     * @return Number of the last rotated journal, which a snapshot of the list taken now covers, or 0 if there is none.
+     * @throws IOException If the journal cannot be rotated.
+     */
+    public long rotate() throws IOException {
+        close();
+        long[] rotatedNumbers = getRotatedNumbers();
+        long lastNumber = rotatedNumbers.length == 0 ? 0 : rotatedNumbers[rotatedNumbers.length - 1];
+        if (file.exists()) {
+            lastNumber++;
+            Files.move(file.toPath(), getRotatedFile(lastNumber).toPath(), StandardCopyOption.ATOMIC_MOVE);
+        }
+        recordCount = 0;
+        byteCount = 0;
+        return lastNumber;
+    }
+
+    /**
+     * Checks if a rotated journal has not been folded into the data file yet.
+     *
+     * @param rotatedNumber Number of the rotated journal.
+     * @return true if the rotated journal exists.
+     */
+    public boolean hasRotated(long rotatedNumber) {
+        return getRotatedFile(rotatedNumber).exists();
+    }
+
+    /**
+     * Deletes every rotated journal up to a number. Deleting the last of them is what commits a compaction, since a
+     * compaction is only rolled back while it exists. The older ones are deleted after it, and are no longer replayed
+     * once the compacted file has replaced the data file, which {@link DukeStorageCompactor} only does afterwards.
+     *
+     * @param lastNumber Number of the last rotated journal covered by the compaction.
+     * @throws IOException If a rotated journal cannot be deleted.
+     */
+    public void deleteRotated(long lastNumber) throws IOException {
+        Files.deleteIfExists(getRotatedFile(lastNumber).toPath());
+        for (long rotatedNumber : getRotatedNumbers()) {
+            if (rotatedNumber < lastNumber) {
+                Files.delete(getRotatedFile(rotatedNumber).toPath());
+            }
+        }
+    }
+
+    /**
+     * Gets the numbers of the rotated journals that exist.
+     *
+     * @return Numbers of the rotated journals in ascending order.
+     */
+    private long[] getRotatedNumbers() {
+        return getFileNumbers(directory, rotatedFilePrefix);
+    }
+
+    /**
+     * Gets the numbers of the files in a directory that are named with a prefix followed by a number, like the
+     * rotated journals.
+     *
+     * @param directory Directory to look in.
+     * @param fileNamePrefix Name of the files without their number.
+     * @return Numbers of the files in ascending order.
+     */
+    static long[] getFileNumbers(File directory, String fileNamePrefix) {
+        String[] fileNames = directory.list();
+        if (fileNames == null) {
+            return new long[0];
+        }
+        long[] fileNumbers = new long[fileNames.length];
+        int fileCount = 0;
+        for (String fileName : fileNames) {
+            if (fileName.startsWith(fileNamePrefix)) {
+                try {
+                    fileNumbers[fileCount] = Long.parseLong(fileName.substring(fileNamePrefix.length()));
+                    fileCount++;
+                } catch (NumberFormatException ex) {
+                    continue;
+                }
+            }
+        }
+        fileNumbers = Arrays.copyOf(fileNumbers, fileCount);
+        Arrays.sort(fileNumbers);
+        return fileNumbers;
+    }
+
+    /**
+     * Gets the file of a rotated journal.
+     *
+     * @param rotatedNumber Number of the rotated journal.
+     * @return File named after the data file, with {@link #DUKE_JOURNAL_ROTATED_FILE_SUFFIX} and the number appended.
+     */
+    private File getRotatedFile(long rotatedNumber) {
+        return new File(directory, rotatedFilePrefix + rotatedNumber);
+    }
+
+    /**
+     * Closes the journal file if it is open. The next append will re-open it.
+     *
+     * @throws IOException If the journal cannot be closed.
+     */
+    public void close() throws IOException {
+        if (journalOutputBuffer != null) {
+            journalOutputBuffer.close();
+            journalOutputBuffer = null;
+            journalOutputStream = null;
+        }
+    }
+
+    /**
+     * Re-applies every record in the rotated journals, in the order of their numbers, and then the current journal
+     * onto the List&lt;duke.task.DukeTask&gt; read from the data file.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; read from the data file, which will be updated in place.
+     * @param quarantine {@link DukeStorageQuarantine} to move records that cannot be replayed to.
+     * @throws IOException If the journal cannot be read.
+     */
+    public void replay(List<DukeTask> userTasks, DukeStorageQuarantine quarantine) throws IOException {
+        recordCount = 0;
+        byteCount = 0;
+        for (long rotatedNumber : getRotatedNumbers()) {
+            replayFile(getRotatedFile(rotatedNumber), userTasks, quarantine);
+        }
+        replayFile(file, userTasks, quarantine);
+    }
+
+    /**
+     * Re-applies every record in a single journal file. A record that is corrupted or cannot be understood is moved
+     * to the quarantine together with every record after it in that file, since the later records refer to task
+     * indexes that may no longer be the same. The last record is also moved to the quarantine if it was torn, i.e. the
+     * application stopped before its line separator was written, even if what is left of it can still be read.
+     *
+     * @param journalFile Journal file to read records from.
+     * @param userTasks List&lt;duke.task.DukeTask&gt; to update.
+     * @param quarantine {@link DukeStorageQuarantine} to move records that cannot be replayed to.
+     * @throws IOException If the journal cannot be read.
+     */
+    private void replayFile(File journalFile, List<DukeTask> userTasks, DukeStorageQuarantine quarantine)
+            throws IOException {
+        if (!journalFile.exists()) {
+            return;
+        }
+
+        boolean isLastLineTorn = DukeStorageChecksum.isLastLineTorn(journalFile);
+        boolean isChecksumRequired = DukeStorageChecksum.hasChecksums(journalFile);
+        try (BufferedReader journalInputBuffer = new BufferedReader(new FileReader(journalFile))) {
+            String line = journalInputBuffer.readLine();
+            while (line != null) {
+                String nextLine = journalInputBuffer.readLine();
+                boolean isTorn = nextLine == null && isLastLineTorn;
+                if (isTorn || !replayRecord(line, isChecksumRequired, userTasks)) {
+                    quarantine.add(line);
+                    while (nextLine != null) {
+                        quarantine.add(nextLine);
+                        nextLine = journalInputBuffer.readLine();
+                    }
+                    break;
+                }
+                recordCount++;
+                byteCount += line.length() + System.lineSeparator().length();
+                line = nextLine;
+            }
+        }
+    }
+
+    /**
+     * Re-applies a single journal record onto the List&lt;duke.task.DukeTask&gt;.
+     *
+     * @param line A single line from the journal.
+     * @param isChecksumRequired true if the journal file has checksummed records, so that the line must have one.
+     * @param userTasks List&lt;duke.task.DukeTask&gt; to update.
+     * @return true if the record was applied, false if it is corrupted or malformed.
+     */
+    private boolean replayRecord(String line, boolean isChecksumRequired, List<DukeTask> userTasks) {
+        String record = DukeStorageChecksum.stripChecksum(line, isChecksumRequired);
+        if (record == null) {
+            return false;
+        }
+
+        String[] recordTokens = record.split(" \\| ", 2);
+        if (recordTokens.length < 2) {
+            return false;
+        }
+
+        try {
+            switch (recordTokens[0]) {
+            case RECORD_ADD:
+                Optional<DukeTask> addedTask = DukeStorage.processReadTask(recordTokens[1]);
+                if (addedTask.isEmpty()) {
+                    return false;
+                }
+                userTasks.add(addedTask.get());
+                return true;
+
+            case RECORD_COMPLETE:
+                int completedIndex = Integer.parseInt(recordTokens[1]);
+                DukeTask completedTask = userTasks.get(completedIndex);
+                completedTask.setTaskComplete();
+                userTasks.set(completedIndex, completedTask);
+                return true;
+
+            case RECORD_DELETE:
+                userTasks.remove(Integer.parseInt(recordTokens[1]));
+                return true;
+
+            default:
+                return false;
+            }
+        } catch (IOException | IndexOutOfBoundsException | NumberFormatException ex) {
+            return false;
+        }
+    }
+}
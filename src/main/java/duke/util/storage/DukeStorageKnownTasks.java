@@ -0,0 +1,165 @@
+package duke.util.storage;
+
+import duke.task.DukeTask;
+import duke.util.index.DukeIndexPositions;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Remembers the tasks in the data file as this Duke instance last read or wrote it, as one
+ * {@link DukeStorageChange#hashTask(DukeTask)} per task. When another Duke instance has written the data file since,
+ * the tasks it saved are compared against these through {@link #diff(List, String)}, which finds what the other
+ * instance changed by skipping the tasks that are unchanged at the start and at the end. A lazily loaded list is not
+ * hashed, since that would decode every task, and is remembered as unknown instead. The hashes are kept in the order
+ * the tasks were added, and a {@link DukeIndexPositions} maps the position of a task to its slot, so that forgetting
+ * a deleted task takes O(log n) instead of shifting every hash after it.
+ */
+public class DukeStorageKnownTasks {
+
+    private long[] taskHashes;
+    private DukeIndexPositions positions;
+
+    /**
+     * This constructor is used when no tasks are known yet.
+     */
+    public DukeStorageKnownTasks() {
+        this.taskHashes = new long[0];
+        this.positions = new DukeIndexPositions(0);
+    }
+
+    /**
+     * Checks if the tasks are known, i.e. they were not lazily loaded.
+     *
+     * @return true if the tasks are known.
+     */
+    public boolean isKnown() {
+        return this.taskHashes != null;
+    }
+
+    /**
+     * Remembers every task of a list that was just read or is about to be written. A
+     * {@link DukeStorageColumnarTaskList} is hashed column by column, without creating any of its tasks.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; in the data file.
+     */
+    public void capture(List<DukeTask> userTasks) {
+        if (userTasks instanceof DukeStorageLazyTaskList) {
+            taskHashes = null;
+            positions = null;
+            return;
+        }
+        int taskCount = userTasks.size();
+        taskHashes = new long[Math.max(taskCount, 16)];
+        positions = new DukeIndexPositions(taskCount);
+        if (userTasks instanceof DukeStorageColumnarTaskList) {
+            DukeStorageColumnarTaskList columnarTasks = (DukeStorageColumnarTaskList) userTasks;
+            for (int index = 0; index < taskCount; index++) {
+                taskHashes[index] = DukeStorageChange.hashTask((char) columnarTasks.getTaskType(index),
+                        columnarTasks.isComplete(index), columnarTasks.getTaskName(index),
+                        columnarTasks.getTaskDetail(index));
+            }
+            return;
+        }
+        for (int index = 0; index < taskCount; index++) {
+            taskHashes[index] = DukeStorageChange.hashTask(userTasks.get(index));
+        }
+    }
+
+    /**
+     * Remembers a task that was just appended to the data file.
+     *
+     * @param task Appended task.
+     */
+    public void add(DukeTask task) {
+        if (taskHashes == null) {
+            return;
+        }
+        int slot = positions.append();
+        if (slot == taskHashes.length) {
+            taskHashes = Arrays.copyOf(taskHashes, Math.max(16, slot * 2));
+        }
+        taskHashes[slot] = DukeStorageChange.hashTask(task);
+    }
+
+    /**
+     * Remembers a task that was just changed in the data file, e.g. marked as complete.
+     *
+     * @param taskIndex Zero-based index of the task.
+     * @param task Task as it was written.
+     */
+    public void set(int taskIndex, DukeTask task) {
+        if (taskHashes == null) {
+            return;
+        }
+        taskHashes[positions.getSequence(taskIndex)] = DukeStorageChange.hashTask(task);
+    }
+
+    /**
+     * Forgets a task that was just deleted from the data file.
+     *
+     * @param taskIndex Zero-based index the task was at.
+     */
+    public void remove(int taskIndex) {
+        if (taskHashes == null) {
+            return;
+        }
+        positions.remove(taskIndex);
+        if (positions.getRemovedCount() > Math.max(positions.size(), 1024)) {
+            compact();
+        }
+    }
+
+    /**
+     * Drops the slots of deleted tasks in O(n), so that the hash of every task is in the slot of its position again.
+     */
+    private void compact() {
+        int slotCount = positions.size() + positions.getRemovedCount();
+        long[] liveHashes = new long[Math.max(16, positions.size())];
+        int liveCount = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (positions.isLive(slot)) {
+                liveHashes[liveCount++] = taskHashes[slot];
+            }
+        }
+        taskHashes = liveHashes;
+        positions = new DukeIndexPositions(liveCount);
+    }
+
+    /**
+     * Compares the tasks that another Duke instance saved against the remembered tasks. The tasks must be known.
+     *
+     * @param savedTasks List&lt;duke.task.DukeTask&gt; read from the data file.
+     * @param taskFilePath Relative/Full path to the data file.
+     * @return Tasks the other instance changed, or Optional.empty() if every task is unchanged.
+     */
+    public Optional<DukeStorageChange> diff(List<DukeTask> savedTasks, String taskFilePath) {
+        assert isKnown();
+        compact();
+        int taskCount = positions.size();
+        long[] savedHashes = new long[savedTasks.size()];
+        for (int index = 0; index < savedHashes.length; index++) {
+            savedHashes[index] = DukeStorageChange.hashTask(savedTasks.get(index));
+        }
+
+        int commonLength = Math.min(taskCount, savedHashes.length);
+        int commonPrefix = 0;
+        while (commonPrefix < commonLength && taskHashes[commonPrefix] == savedHashes[commonPrefix]) {
+            commonPrefix++;
+        }
+        int commonSuffix = 0;
+        while (commonSuffix < commonLength - commonPrefix
+                && taskHashes[taskCount - 1 - commonSuffix] == savedHashes[savedHashes.length - 1 - commonSuffix]) {
+            commonSuffix++;
+        }
+        if (commonPrefix == taskCount && commonPrefix == savedHashes.length) {
+            return Optional.empty();
+        }
+
+        long[] removedHashes = Arrays.copyOfRange(taskHashes, commonPrefix, taskCount - commonSuffix);
+        List<DukeTask> addedTasks = savedTasks.subList(commonPrefix, savedHashes.length - commonSuffix);
+        return Optional.of(new DukeStorageChange(commonPrefix, removedHashes, addedTasks, 0, taskFilePath,
+                DukeStorageChange::hashTask));
+    }
+}
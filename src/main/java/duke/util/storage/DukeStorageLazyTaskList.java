@@ -0,0 +1,311 @@
+package duke.util.storage;
+
+import duke.task.DukeTask;
+import duke.util.ui.DukeUiMessages;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * List of {@link DukeTask} backed by a text data file, which only holds the offset, length and a few flag bits of
+ * every line in memory. A {@link DukeTask} is decoded from the data file the first time it is accessed, and kept in a
+ * cache of at most {@link #DUKE_LAZY_CACHE_SIZE} decoded tasks. Tasks that are added, or replaced through
+ * {@link #set(int, DukeTask)} after being changed, are pinned in memory instead, so that the change is never lost to
+ * the cache.
+ * The data file is kept open, so that the list stays readable after the data file has been replaced by a compaction.
+ */
+public class DukeStorageLazyTaskList extends AbstractList<DukeTask> implements RandomAccess {
+
+    public static final int DUKE_LAZY_CACHE_SIZE = 1024;
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int SCAN_BUFFER_SIZE = 64 * 1024;
+    private static final byte FLAG_DEADLINE = 1;
+    private static final byte FLAG_COMPLETE = 2;
+
+    private FileChannel taskFileChannel;
+    private DukeStorageMappedReader recordReader;
+    private Map<Long, DukeTask> decodedTasks;
+    private long[] recordOffsets;
+    private int[] recordLengths;
+    private byte[] recordFlags;
+    private DukeTask[] pinnedTasks;
+    private int size;
+
+    /**
+     * This constructor creates an empty list that reads from an already open data file.
+     *
+     * @param taskFileChannel Open channel of the data file.
+     * @param cacheSize Maximum number of decoded tasks to keep in the cache.
+     */
+    private DukeStorageLazyTaskList(FileChannel taskFileChannel, int cacheSize) {
+        this.taskFileChannel = taskFileChannel;
+        this.recordReader = new DukeStorageMappedReader();
+        this.decodedTasks = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, DukeTask> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        this.recordOffsets = new long[INITIAL_CAPACITY];
+        this.recordLengths = new int[INITIAL_CAPACITY];
+        this.recordFlags = new byte[INITIAL_CAPACITY];
+        this.pinnedTasks = new DukeTask[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Scans a text data file for the start of every line without decoding any task, and creates a list that decodes
+     * each line on first access. A line whose task type is unknown is skipped, as when the data file is read eagerly.
+     * The {@link DukeStorageChecksum} of every line is checked while scanning, and corrupted or malformed lines are
+     * moved to the {@link DukeStorageQuarantine}.
+     *
+     * @param file Text data file to index.
+     * @param ui Instance of {@link DukeUiMessages} which will show output to the user.
+     * @param quarantine {@link DukeStorageQuarantine} to move corrupted lines to.
+     * @return List backed by the data file.
+     * @throws IOException If the file cannot be read.
+     */
+    public static DukeStorageLazyTaskList index(File file, DukeUiMessages ui, DukeStorageQuarantine quarantine)
+            throws IOException {
+        FileChannel taskFileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        DukeStorageLazyTaskList userTasks = new DukeStorageLazyTaskList(taskFileChannel, DUKE_LAZY_CACHE_SIZE);
+        try {
+            userTasks.indexRecords(DukeStorageChecksum.hasChecksums(file), ui, quarantine);
+        } catch (IOException ex) {
+            taskFileChannel.close();
+            throw ex;
+        }
+        return userTasks;
+    }
+
+    /**
+     * Reads through the data file in blocks and records the offset, length and flags of every line.
+     *
+     * @param isChecksumRequired true if the data file has checksummed lines, so that every line must have one.
+     * @param ui Instance of {@link DukeUiMessages} which will show output to the user.
+     * @param quarantine {@link DukeStorageQuarantine} to move corrupted lines to.
+     * @throws IOException If the file cannot be read.
+     */
+    private void indexRecords(boolean isChecksumRequired, DukeUiMessages ui, DukeStorageQuarantine quarantine)
+            throws IOException {
+        ByteBuffer scanBuffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        byte[] lineBuffer = new byte[256];
+        int lineLength = 0;
+        long lineStart = 0;
+        long position = 0;
+        int readCount;
+        while ((readCount = taskFileChannel.read(scanBuffer, position)) > 0) {
+            for (int index = 0; index < readCount; index++) {
+                byte nextByte = scanBuffer.get(index);
+                if (nextByte == '\n') {
+                    indexRecord(lineStart, lineBuffer, lineLength, isChecksumRequired, ui, quarantine);
+                    lineStart = position + index + 1;
+                    lineLength = 0;
+                } else {
+                    if (lineLength == lineBuffer.length) {
+                        lineBuffer = Arrays.copyOf(lineBuffer, lineLength * 2);
+                    }
+                    lineBuffer[lineLength++] = nextByte;
+                }
+            }
+            position += readCount;
+            scanBuffer.clear();
+        }
+        if (lineStart < position) {
+            indexRecord(lineStart, lineBuffer, lineLength, isChecksumRequired, ui, quarantine);
+        }
+    }
+
+    /**
+     * Records a single line of the data file, after checking its checksum and that it starts with a known task type
+     * and a completion flag in the data file format, e.g. "D | 0 | ".
+     *
+     * @param lineStart Offset of the first byte of the line.
+     * @param line Bytes of the line, excluding the newline.
+     * @param length Number of bytes of the line.
+     * @param isChecksumRequired true if the data file has checksummed lines, so that the line must have one.
+     * @param ui Instance of {@link DukeUiMessages} which will show output to the user.
+     * @param quarantine {@link DukeStorageQuarantine} to move corrupted lines to.
+     */
+    private void indexRecord(long lineStart, byte[] line, int length, boolean isChecksumRequired, DukeUiMessages ui,
+            DukeStorageQuarantine quarantine) {
+        if (length > 0 && line[length - 1] == '\r') {
+            length--;
+        }
+        int recordLength = DukeStorageChecksum.stripChecksum(line, length, isChecksumRequired);
+        if (recordLength < 0 || !recordReader.isWellFormed(line, recordLength)) {
+            quarantine.add(new String(line, 0, length, Charset.defaultCharset()));
+            return;
+        }
+
+        byte taskType = line[0];
+        if (taskType != 'T' && taskType != 'D' && taskType != 'E') {
+            ui.displayUnknownTask();
+            return;
+        }
+
+        byte flags = taskType == 'D' ? FLAG_DEADLINE : 0;
+        if (line[4] == '1') {
+            flags |= FLAG_COMPLETE;
+        }
+        addRecord(lineStart, recordLength, flags, null);
+    }
+
+    /**
+     * Appends an entry to the end of the list, growing the arrays if needed.
+     *
+     * @param offset Offset of the line in the data file, or -1 if the task only exists in memory.
+     * @param length Length of the line in the data file.
+     * @param flags Flag bits of the task.
+     * @param pinnedTask Task to pin in memory, or null if it should be decoded from the data file.
+     */
+    private void addRecord(long offset, int length, byte flags, DukeTask pinnedTask) {
+        if (size == recordOffsets.length) {
+            int capacity = size * 2;
+            recordOffsets = Arrays.copyOf(recordOffsets, capacity);
+            recordLengths = Arrays.copyOf(recordLengths, capacity);
+            recordFlags = Arrays.copyOf(recordFlags, capacity);
+            pinnedTasks = Arrays.copyOf(pinnedTasks, capacity);
+        }
+        recordOffsets[size] = offset;
+        recordLengths[size] = length;
+        recordFlags[size] = flags;
+        pinnedTasks[size] = pinnedTask;
+        size++;
+    }
+
+    /**
+     * Creates a copy of this list which shares the data file and the pinned tasks, but has no cache of its own. This
+     * is cheap, and the copy can be read on another thread while this list keeps changing.
+     *
+     * @return Copy of this list.
+     */
+    public DukeStorageLazyTaskList copy() {
+        DukeStorageLazyTaskList copiedTasks = new DukeStorageLazyTaskList(taskFileChannel, 0);
+        copiedTasks.recordOffsets = Arrays.copyOf(recordOffsets, Math.max(size, 1));
+        copiedTasks.recordLengths = Arrays.copyOf(recordLengths, Math.max(size, 1));
+        copiedTasks.recordFlags = Arrays.copyOf(recordFlags, Math.max(size, 1));
+        copiedTasks.pinnedTasks = Arrays.copyOf(pinnedTasks, Math.max(size, 1));
+        copiedTasks.size = size;
+        return copiedTasks;
+    }
+
+    /**
+     * Checks if the task at an index is a {@link duke.task.DukeTaskDeadline} that has not been completed, without
+     * decoding it.
+     *
+     * @param index Index of the task.
+     * @return true if the task is an incomplete deadline.
+     */
+    public boolean isIncompleteDeadline(int index) {
+        if (pinnedTasks[index] != null) {
+            return pinnedTasks[index].getTaskType().equals("D") && !pinnedTasks[index].getTaskIsComplete();
+        }
+        return recordFlags[index] == FLAG_DEADLINE;
+    }
+
+    @Override
+    public DukeTask get(int index) {
+        checkIndex(index);
+        if (pinnedTasks[index] != null) {
+            return pinnedTasks[index];
+        }
+
+        long offset = recordOffsets[index];
+        DukeTask task = decodedTasks.get(offset);
+        if (task == null) {
+            task = decodeRecord(offset, recordLengths[index]);
+            decodedTasks.put(offset, task);
+        }
+        return task;
+    }
+
+    /**
+     * Reads a single line of the data file and decodes it.
+     *
+     * @param offset Offset of the line in the data file.
+     * @param length Length of the line.
+     * @return Decoded {@link DukeTask}.
+     * @throws UncheckedIOException If the data file cannot be read, or the line is malformed.
+     */
+    private DukeTask decodeRecord(long offset, int length) {
+        try {
+            ByteBuffer recordBuffer = ByteBuffer.allocate(length);
+            while (recordBuffer.hasRemaining()) {
+                if (taskFileChannel.read(recordBuffer, offset + recordBuffer.position()) < 0) {
+                    throw new IOException("Data file ended early");
+                }
+            }
+            DukeTask task = recordReader.processReadTask(recordBuffer.array(), length);
+            if (task == null) {
+                throw new IOException("Unknown task at offset " + offset);
+            }
+            return task;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Replaces the task at an index, and pins it in memory. This must be called after changing a task that was
+     * obtained from {@link #get(int)}, so that the change is not lost when the task is evicted from the cache.
+     *
+     * @param index Index of the task.
+     * @param task Task to store.
+     * @return Task previously at the index.
+     */
+    @Override
+    public DukeTask set(int index, DukeTask task) {
+        DukeTask previousTask = get(index);
+        pinnedTasks[index] = task;
+        return previousTask;
+    }
+
+    @Override
+    public boolean add(DukeTask task) {
+        addRecord(-1, 0, (byte) 0, task);
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public DukeTask remove(int index) {
+        DukeTask removedTask = get(index);
+        int movedCount = size - index - 1;
+        System.arraycopy(recordOffsets, index + 1, recordOffsets, index, movedCount);
+        System.arraycopy(recordLengths, index + 1, recordLengths, index, movedCount);
+        System.arraycopy(recordFlags, index + 1, recordFlags, index, movedCount);
+        System.arraycopy(pinnedTasks, index + 1, pinnedTasks, index, movedCount);
+        size--;
+        pinnedTasks[size] = null;
+        modCount++;
+        return removedTask;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Checks that an index is within the list.
+     *
+     * @param index Index to check.
+     * @throws IndexOutOfBoundsException If the index is outside the list.
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
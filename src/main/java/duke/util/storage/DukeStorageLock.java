@@ -0,0 +1,145 @@
+package duke.util.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Lock shared by every Duke instance that keeps its tasks in the same data file. The lock is a {@link FileLock} on a
+ * side file next to the data file, since the data file itself is replaced on every save, and the side file also holds
+ * the version stamp of the data file, which every write increments. An instance that finds a different version than
+ * the one it last read or wrote knows that another instance has written the data file since.
+ * The lock is only held while the data file is read or written, never while waiting for the user. Within a single
+ * instance, the lock is held as long as any thread holds it, e.g. by a {@link DukeStorageCompactor} writing in the
+ * background, since those threads already coordinate among themselves. Since the lock is taken on the UI thread, it is
+ * never waited for without bound: if another instance keeps holding it, acquiring it fails with a
+ * {@link DukeStorageLockedException} instead.
+ */
+public class DukeStorageLock implements Closeable {
+
+    public static final String DUKE_LOCK_FILE_SUFFIX = ".lock";
+    public static final long DUKE_LOCK_RETRY_MILLIS = 5;
+    public static final int DUKE_LOCK_RETRY_COUNT = 200;
+
+    private String lockFilePath;
+    private FileChannel lockChannel;
+    private FileLock fileLock;
+    private int holdCount;
+    private long version;
+
+    /**
+     * This constructor takes in the path of the data file to lock. The side file is created on first use.
+     *
+     * @param taskFilePath Relative/Full path to the data file.
+     */
+    public DukeStorageLock(String taskFilePath) {
+        this.lockFilePath = taskFilePath + DUKE_LOCK_FILE_SUFFIX;
+    }
+
+    /**
+     * Acquires the lock, waiting for any other Duke instance that holds it, and reads the version stamp. If another
+     * thread of this instance already holds the lock, this returns right away. The side file is never locked with a
+     * blocking call: locking it is tried up to {@link #DUKE_LOCK_RETRY_COUNT} times, every
+     * {@link #DUKE_LOCK_RETRY_MILLIS} milliseconds, and the monitor of this lock is released in between, so that
+     * other threads of this instance are not held up by the wait either.
+     *
+     * @return Current version of the data file, or 0 if it has never been written under the lock.
+     * @throws DukeStorageLockedException If another Duke instance kept holding the lock for every attempt.
+     * @throws IOException If the side file cannot be locked or read.
+     */
+    public synchronized long lock() throws IOException {
+        for (int attempt = 1; holdCount == 0; attempt++) {
+            if (lockChannel == null) {
+                lockChannel = FileChannel.open(Paths.get(lockFilePath), StandardOpenOption.CREATE,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE);
+            }
+            fileLock = tryFileLock();
+            if (fileLock != null) {
+                ByteBuffer versionBuffer = ByteBuffer.allocate(Long.BYTES);
+                while (versionBuffer.hasRemaining()
+                        && lockChannel.read(versionBuffer, versionBuffer.position()) > 0) {
+                    continue;
+                }
+                version = versionBuffer.hasRemaining() ? 0 : versionBuffer.getLong(0);
+                break;
+            }
+            if (attempt == DUKE_LOCK_RETRY_COUNT) {
+                throw new DukeStorageLockedException(lockFilePath);
+            }
+            try {
+                wait(DUKE_LOCK_RETRY_MILLIS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException(ex);
+            }
+        }
+        holdCount++;
+        return version;
+    }
+
+    /**
+     * Tries to lock the side file once, without waiting. A {@link FileLock} is held on behalf of the entire Java
+     * virtual machine, so another instance within the same virtual machine, e.g. in a benchmark, holding it is
+     * treated like another process holding it.
+     *
+     * @return Acquired lock, or null if another Duke instance holds it.
+     * @throws IOException If the side file cannot be locked.
+     */
+    private FileLock tryFileLock() throws IOException {
+        try {
+            return lockChannel.tryLock();
+        } catch (OverlappingFileLockException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Stores a new version stamp. The lock must be held.
+     *
+     * @param newVersion Version of the data file that was just written.
+     * @throws IOException If the side file cannot be written.
+     */
+    public synchronized void setVersion(long newVersion) throws IOException {
+        assert holdCount > 0;
+        ByteBuffer versionBuffer = ByteBuffer.allocate(Long.BYTES).putLong(0, newVersion);
+        while (versionBuffer.hasRemaining()) {
+            lockChannel.write(versionBuffer, versionBuffer.position());
+        }
+        version = newVersion;
+    }
+
+    /**
+     * Releases one hold of the lock. The lock is released to other Duke instances once every thread of this instance
+     * has released it.
+     *
+     * @throws IOException If the lock cannot be released.
+     */
+    public synchronized void unlock() throws IOException {
+        assert holdCount > 0;
+        holdCount--;
+        if (holdCount == 0) {
+            fileLock.release();
+            fileLock = null;
+        }
+    }
+
+    /**
+     * Closes the side file, which also releases the lock if it is still held.
+     *
+     * @throws IOException If the side file cannot be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (lockChannel != null) {
+            lockChannel.close();
+            lockChannel = null;
+            fileLock = null;
+            holdCount = 0;
+        }
+    }
+}
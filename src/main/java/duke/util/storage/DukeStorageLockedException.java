@@ -0,0 +1,21 @@
+package duke.util.storage;
+
+import java.io.IOException;
+
+/**
+ * Thrown when the {@link DukeStorageLock} of a data file could not be acquired within
+ * {@link DukeStorageLock#DUKE_LOCK_RETRY_COUNT} attempts, since another Duke instance kept holding it.
+ */
+public class DukeStorageLockedException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * This constructor takes in the path of the side file that could not be locked.
+     *
+     * @param lockFilePath Relative/Full path to the side file of the lock.
+     */
+    public DukeStorageLockedException(String lockFilePath) {
+        super("Timed out waiting for the lock on " + lockFilePath);
+    }
+}
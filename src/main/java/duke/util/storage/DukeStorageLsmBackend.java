@@ -0,0 +1,852 @@
+package duke.util.storage;
+
+import duke.task.DukeTask;
+import duke.util.DukeStorage;
+import duke.util.ui.DukeUiMessages;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * {@link DukeStorageBackend} in the style of a log-structured merge tree, for bursts of mutations. Every task is given
+ * an id that only ever grows, so the order of the list is the order of the ids. A mutation is appended to a
+ * write-ahead log and put into a memtable sorted by id, where a deleted task is a tombstone. Once the memtable holds
+ * {@link #DUKE_LSM_MEMTABLE_SIZE} entries, it is frozen and written out as an immutable sorted run on a background
+ * thread, and once there are {@link #DUKE_LSM_MERGE_THRESHOLD} runs, they are merged into one. Loading merges the runs
+ * and the memtable by id, with the newest entry of each id winning.
+ * All files are kept in a directory named after the data file, with {@link #DUKE_LSM_DIRECTORY_SUFFIX} appended:
+ * <pre>
+ * wal        write-ahead log of the current memtable
+ * wal.N      write-ahead log of a frozen memtable, until it has been written out as run N
+ * run.M-N    sorted run holding every entry of runs M to N
+ * </pre>
+ * Every line of these files is "id | task" in the data file format, or "id | -" for a tombstone, followed by its
+ * {@link DukeStorageChecksum}. A run whose range is covered by another run was already merged into it, and is deleted
+ * when loading, as is the log of a memtable that was already written out.
+ */
+public class DukeStorageLsmBackend implements DukeStorageBackend {
+
+    public static final String DUKE_LSM_DIRECTORY_SUFFIX = ".lsm";
+    public static final int DUKE_LSM_MEMTABLE_SIZE = 4096;
+    public static final int DUKE_LSM_MERGE_THRESHOLD = 4;
+    public static final int DUKE_LSM_FROZEN_MEMTABLE_LIMIT = 4;
+
+    private static final String LOG_FILE_NAME = "wal";
+    private static final String RUN_FILE_PREFIX = "run.";
+    private static final String TOMBSTONE = "-";
+    private static final String ENTRY_DELIMITER = " | ";
+
+    private ExecutorService flushExecutor;
+    private ArrayDeque<Future<?>> pendingFlushes;
+    private DukeStorageCommitter committer;
+    private BufferedWriter logOutputBuffer;
+    private FileOutputStream logOutputStream;
+    private TreeMap<Long, String> memtable;
+    private List<File> memtableLogFiles;
+    private List<Run> runs;
+    private File directory;
+    private File logFile;
+    private String taskFilePath;
+    private DukeStorageTaskIds taskIds;
+    private long nextRunNumber;
+
+    /**
+     * This constructor takes in the path of the data file, next to which the directory of the backend is kept, and
+     * the {@link DukeStorageDurability} level applied to the write-ahead log.
+     *
+     * @param filePath Relative/Full path to the data file.
+     * @param durability How hard each write tries to reach the disk before returning.
+     */
+    public DukeStorageLsmBackend(String filePath, DukeStorageDurability durability) {
+        this.directory = new File(filePath + DUKE_LSM_DIRECTORY_SUFFIX);
+        this.logFile = new File(directory, LOG_FILE_NAME);
+        this.taskFilePath = filePath;
+        this.committer = new DukeStorageCommitter(durability);
+        this.memtable = new TreeMap<>();
+        this.memtableLogFiles = new ArrayList<>();
+        this.runs = new ArrayList<>();
+        this.pendingFlushes = new ArrayDeque<>();
+        this.taskIds = new DukeStorageTaskIds();
+        this.flushExecutor = Executors.newSingleThreadExecutor((runnable) -> {
+            Thread flushThread = new Thread(runnable, "duke-storage-lsm");
+            flushThread.setDaemon(true);
+            return flushThread;
+        });
+    }
+
+    /**
+     * Loads every {@link DukeTask} by merging the runs and the write-ahead logs. Leftovers of a flush or merge that
+     * was interrupted are cleaned up first. Corrupted entries are moved to a {@link DukeStorageQuarantine}, after
+     * which everything that was loaded is saved again through {@link #save(List)}.
+     *
+     * @param ui Instance of {@link DukeUiMessages} which will show output to the user.
+     * @return List&lt;duke.task.DukeTask&gt; in the order of their ids.
+     * @throws IOException If the files of the backend cannot be read.
+     */
+    @Override
+    public List<DukeTask> load(DukeUiMessages ui) throws IOException {
+        awaitPendingFlushes(0);
+        closeLog();
+        Files.createDirectories(directory.toPath());
+        DukeStorageQuarantine quarantine = new DukeStorageQuarantine();
+        List<File> logFiles = new ArrayList<>();
+        List<Run> foundRuns = new ArrayList<>();
+        long lastRunNumber = -1;
+        for (File file : directory.listFiles()) {
+            String fileName = file.getName();
+            if (fileName.endsWith(DukeStorage.DUKE_TEMPORARY_FILE_SUFFIX)) {
+                Files.delete(file.toPath());
+            } else if (fileName.startsWith(RUN_FILE_PREFIX)) {
+                Run run = Run.parse(file);
+                foundRuns.add(run);
+                lastRunNumber = Math.max(lastRunNumber, run.lastNumber);
+            } else if (fileName.startsWith(LOG_FILE_NAME + ".")) {
+                logFiles.add(file);
+                lastRunNumber = Math.max(lastRunNumber, getLogNumber(file));
+            }
+        }
+        runs = removeMergedRuns(foundRuns);
+        nextRunNumber = lastRunNumber + 1;
+
+        memtable = new TreeMap<>();
+        memtableLogFiles = new ArrayList<>();
+        logFiles.sort(Comparator.comparingLong(DukeStorageLsmBackend::getLogNumber));
+        for (File file : logFiles) {
+            if (isCoveredByRun(getLogNumber(file))) {
+                Files.delete(file.toPath());
+            } else {
+                replayLog(file, quarantine);
+                memtableLogFiles.add(file);
+            }
+        }
+        replayLog(logFile, quarantine);
+
+        List<DukeTask> userTasks = mergeIntoTasks(quarantine, ui);
+        if (quarantine.getRecordCount() > 0) {
+            String quarantineFilePath = quarantine.write(taskFilePath);
+            save(userTasks);
+            ui.displaySkippedRecords(quarantine.getRecordCount(), quarantineFilePath);
+        }
+        return userTasks;
+    }
+
+    /**
+     * Merges every run, oldest first, with the memtable, and decodes the newest entry of each id.
+     *
+     * @param quarantine {@link DukeStorageQuarantine} to move corrupted entries to.
+     * @param ui Instance of {@link DukeUiMessages} which will show output to the user.
+     * @return List&lt;duke.task.DukeTask&gt; in the order of their ids.
+     * @throws IOException If a run cannot be read.
+     */
+    private List<DukeTask> mergeIntoTasks(DukeStorageQuarantine quarantine, DukeUiMessages ui) throws IOException {
+        List<DukeTask> userTasks = new ArrayList<>();
+        DukeStorageStringTable stringTable = new DukeStorageStringTable();
+        taskIds.clear();
+        List<Iterator<Map.Entry<Long, String>>> sources = new ArrayList<>();
+        for (Run run : runs) {
+            sources.add(new RunReader(run.file, quarantine));
+        }
+        sources.add(memtable.entrySet().iterator());
+        mergeEntries(sources, false, (taskId, value) -> {
+            taskIds.skipTo(taskId + 1);
+            if (value.equals(TOMBSTONE)) {
+                return;
+            }
+            try {
+                Optional<DukeTask> task = DukeStorage.processReadTask(value, stringTable);
+                if (task.isEmpty()) {
+                    ui.displayUnknownTask();
+                    return;
+                }
+                userTasks.add(task.get());
+                taskIds.add(taskId);
+            } catch (IOException | IndexOutOfBoundsException ex) {
+                quarantine.add(taskId + ENTRY_DELIMITER + value);
+            }
+        });
+        return userTasks;
+    }
+
+    /**
+     * Drops every run whose range is covered by another run, since it was already merged into that run, and deletes
+     * its file.
+     *
+     * @param foundRuns Every run found in the directory.
+     * @return Remaining runs, oldest first.
+     * @throws IOException If the file of a merged run cannot be deleted.
+     */
+    private static List<Run> removeMergedRuns(List<Run> foundRuns) throws IOException {
+        List<Run> remainingRuns = new ArrayList<>();
+        for (Run run : foundRuns) {
+            boolean isMerged = false;
+            for (Run otherRun : foundRuns) {
+                if (otherRun != run && otherRun.covers(run)) {
+                    isMerged = true;
+                    break;
+                }
+            }
+            if (isMerged) {
+                Files.delete(run.file.toPath());
+            } else {
+                remainingRuns.add(run);
+            }
+        }
+        remainingRuns.sort(Comparator.comparingLong((Run run) -> run.lastNumber));
+        return remainingRuns;
+    }
+
+    /**
+     * Checks if the memtable that was frozen for a run number has already been written out.
+     *
+     * @param runNumber Number of the run the memtable was frozen for.
+     * @return true if a run covers the number.
+     */
+    private boolean isCoveredByRun(long runNumber) {
+        for (Run run : runs) {
+            if (run.firstNumber <= runNumber && runNumber <= run.lastNumber) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the run number a frozen write-ahead log belongs to.
+     *
+     * @param file Write-ahead log named "wal.N".
+     * @return N, or -1 if the name has no valid number.
+     */
+    private static long getLogNumber(File file) {
+        try {
+            return Long.parseLong(file.getName().substring(LOG_FILE_NAME.length() + 1));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    /**
+     * Puts every entry of a write-ahead log into the memtable. An entry that is corrupted is moved to the quarantine
+     * together with every entry after it, since it can only be the result of the application stopping in the middle
+     * of an append. So is the last entry if the log does not end with a line separator, even if what is left of it can
+     * still be read.
+     *
+     * @param file Write-ahead log to replay.
+     * @param quarantine {@link DukeStorageQuarantine} to move corrupted entries to.
+     * @throws IOException If the log cannot be read.
+     */
+    private void replayLog(File file, DukeStorageQuarantine quarantine) throws IOException {
+        if (!file.exists()) {
+            return;
+        }
+        boolean isLastLineTorn = DukeStorageChecksum.isLastLineTorn(file);
+        try (BufferedReader logInputBuffer = new BufferedReader(new FileReader(file))) {
+            String line = logInputBuffer.readLine();
+            while (line != null) {
+                String nextLine = logInputBuffer.readLine();
+                Map.Entry<Long, String> entry = nextLine == null && isLastLineTorn ? null : parseEntry(line);
+                if (entry == null) {
+                    quarantine.add(line);
+                    while (nextLine != null) {
+                        quarantine.add(nextLine);
+                        nextLine = logInputBuffer.readLine();
+                    }
+                    return;
+                }
+                memtable.put(entry.getKey(), entry.getValue());
+                line = nextLine;
+            }
+        }
+    }
+
+    /**
+     * Checks the checksum of a line and splits it into its id and value.
+     *
+     * @param line Line of a write-ahead log or a run.
+     * @return Id and value of the entry, or null if the line is corrupted or malformed.
+     */
+    private static Map.Entry<Long, String> parseEntry(String line) {
+        String record = DukeStorageChecksum.stripChecksum(line, true);
+        if (record == null) {
+            return null;
+        }
+        int delimiterIndex = record.indexOf(ENTRY_DELIMITER);
+        if (delimiterIndex < 0) {
+            return null;
+        }
+        try {
+            long taskId = Long.parseLong(record.substring(0, delimiterIndex));
+            return new AbstractMap.SimpleImmutableEntry<>(taskId,
+                    record.substring(delimiterIndex + ENTRY_DELIMITER.length()));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Formats an entry as a line, followed by its checksum.
+     *
+     * @param taskId Id of the task.
+     * @param value Task in the data file format, or {@link #TOMBSTONE}.
+     * @return Formatted line without the trailing line separator.
+     */
+    private static String formatEntry(long taskId, String value) {
+        return DukeStorageChecksum.appendChecksum(taskId + ENTRY_DELIMITER + value);
+    }
+
+    @Override
+    public boolean isJournaled() {
+        return true;
+    }
+
+    @Override
+    public void saveAddedTask(List<DukeTask> userTasks, DukeTask task) throws IOException {
+        long taskId = taskIds.addNext();
+        putEntry(taskId, DukeStorage.processWriteTask(task));
+    }
+
+    /**
+     * Appends an entry for every task of a batch to the write-ahead log, and commits them together before putting them
+     * into the memtable, so that the entire batch costs a single durable write. The memtable is only frozen after the
+     * entire batch, since its log holds the entire batch, and may grow past {@link #DUKE_LSM_MEMTABLE_SIZE} until then.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; after the tasks have been added.
+     * @param addedTasks Tasks that were added, in order.
+     * @throws IOException If the log cannot be written to, or the previous flush failed.
+     */
+    @Override
+    public void saveAddedTasks(List<DukeTask> userTasks, List<DukeTask> addedTasks) throws IOException {
+        long[] addedTaskIds = new long[addedTasks.size()];
+        String[] values = new String[addedTasks.size()];
+        for (int index = 0; index < addedTaskIds.length; index++) {
+            addedTaskIds[index] = taskIds.addNext();
+            values[index] = DukeStorage.processWriteTask(addedTasks.get(index));
+            writeLogEntry(addedTaskIds[index], values[index]);
+        }
+        commitLog();
+        for (int index = 0; index < addedTaskIds.length; index++) {
+            memtable.put(addedTaskIds[index], values[index]);
+        }
+        if (memtable.size() >= DUKE_LSM_MEMTABLE_SIZE) {
+            freezeMemtable();
+        }
+    }
+
+    @Override
+    public void saveCompletedTask(List<DukeTask> userTasks, int taskIndex) throws IOException {
+        putEntry(taskIds.get(taskIndex), DukeStorage.processWriteTask(userTasks.get(taskIndex)));
+    }
+
+    @Override
+    public void saveDeletedTask(List<DukeTask> userTasks, int taskIndex) throws IOException {
+        long taskId = taskIds.remove(taskIndex);
+        putEntry(taskId, TOMBSTONE);
+    }
+
+    /**
+     * Appends an entry to the write-ahead log and puts it into the memtable, freezing the memtable if it is full.
+     *
+     * @param taskId Id of the task.
+     * @param value Task in the data file format, or {@link #TOMBSTONE}.
+     * @throws IOException If the log cannot be written to, or the previous flush failed.
+     */
+    private void putEntry(long taskId, String value) throws IOException {
+        writeLogEntry(taskId, value);
+        commitLog();
+        memtable.put(taskId, value);
+        if (memtable.size() >= DUKE_LSM_MEMTABLE_SIZE) {
+            freezeMemtable();
+        }
+    }
+
+    /**
+     * Writes an entry into the buffer of the write-ahead log, opening the log for appending on first use. The
+     * directory of the backend is created first if nothing has been loaded from it yet.
+     *
+     * @param taskId Id of the task.
+     * @param value Task in the data file format, or {@link #TOMBSTONE}.
+     * @throws IOException If the log cannot be written to.
+     */
+    private void writeLogEntry(long taskId, String value) throws IOException {
+        if (logOutputBuffer == null) {
+            Files.createDirectories(directory.toPath());
+            logOutputStream = new FileOutputStream(logFile, true);
+            logOutputBuffer = new BufferedWriter(new OutputStreamWriter(logOutputStream));
+        }
+        logOutputBuffer.write(formatEntry(taskId, value));
+        logOutputBuffer.newLine();
+    }
+
+    /**
+     * Flushes the entries written to the write-ahead log so far and commits them according to the
+     * {@link DukeStorageDurability} level.
+     *
+     * @throws IOException If the log cannot be written to.
+     */
+    private void commitLog() throws IOException {
+        logOutputBuffer.flush();
+        committer.commit(logOutputStream, logFile);
+    }
+
+    /**
+     * Freezes the memtable and writes it out as the next run on the background thread, which writes out frozen
+     * memtables one at a time and in order. Once {@link #DUKE_LSM_FROZEN_MEMTABLE_LIMIT} memtables are waiting, this
+     * waits for the oldest one first, so that a burst cannot outrun the disk without bound. The write-ahead log is
+     * renamed after the run, so that it is known to be obsolete once that run exists.
+     *
+     * @throws IOException If the log cannot be renamed, or the previous flush failed.
+     */
+    private void freezeMemtable() throws IOException {
+        awaitPendingFlushes(DUKE_LSM_FROZEN_MEMTABLE_LIMIT - 1);
+        long runNumber = nextRunNumber++;
+        List<File> frozenLogFiles = rotateLog(runNumber);
+        TreeMap<Long, String> frozenMemtable = memtable;
+        memtable = new TreeMap<>();
+        pendingFlushes.add(flushExecutor.submit(() -> {
+            Run run = new Run(runNumber, runNumber, directory);
+            writeRun(run, frozenMemtable.entrySet().iterator(), false);
+            runs.add(run);
+            deleteFiles(frozenLogFiles);
+            mergeIfNeeded();
+            return null;
+        }));
+    }
+
+    /**
+     * Closes the write-ahead log and renames it after a run number.
+     *
+     * @param runNumber Number of the run that will hold the entries of the log.
+     * @return Every log whose entries are in the memtable, which can be deleted once that run has been written.
+     * @throws IOException If the log cannot be renamed.
+     */
+    private List<File> rotateLog(long runNumber) throws IOException {
+        closeLog();
+        List<File> frozenLogFiles = memtableLogFiles;
+        memtableLogFiles = new ArrayList<>();
+        if (logFile.exists()) {
+            File frozenLogFile = new File(directory, LOG_FILE_NAME + "." + runNumber);
+            Files.move(logFile.toPath(), frozenLogFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            frozenLogFiles.add(frozenLogFile);
+        }
+        return frozenLogFiles;
+    }
+
+    /**
+     * Merges every run into a single run once there are {@link #DUKE_LSM_MERGE_THRESHOLD} of them. Since the oldest
+     * run is part of the merge, tombstones have nothing left to hide and are dropped. The merged runs are deleted
+     * after the new run is in place. This only runs on the background thread.
+     *
+     * @throws IOException If the runs cannot be read, or the merged run cannot be written.
+     */
+    private void mergeIfNeeded() throws IOException {
+        if (runs.size() < DUKE_LSM_MERGE_THRESHOLD) {
+            return;
+        }
+        Run mergedRun = new Run(runs.get(0).firstNumber, runs.get(runs.size() - 1).lastNumber, directory);
+        List<Iterator<Map.Entry<Long, String>>> sources = new ArrayList<>();
+        for (Run run : runs) {
+            sources.add(new RunReader(run.file, null));
+        }
+        writeRun(mergedRun, mergeSources(sources, true), true);
+        List<File> mergedFiles = new ArrayList<>();
+        for (Run run : runs) {
+            mergedFiles.add(run.file);
+        }
+        runs = new ArrayList<>(List.of(mergedRun));
+        deleteFiles(mergedFiles);
+    }
+
+    /**
+     * Writes entries sorted by id into a run, through a temporary file that is forced to the disk and then renamed.
+     *
+     * @param run Run to write.
+     * @param entries Entries sorted by id.
+     * @param isClosing true if the entries come from {@link RunReader}s that should be closed afterwards.
+     * @throws IOException If the run cannot be written.
+     */
+    private void writeRun(Run run, Iterator<Map.Entry<Long, String>> entries, boolean isClosing) throws IOException {
+        File temporaryFile = new File(run.file.getPath() + DukeStorage.DUKE_TEMPORARY_FILE_SUFFIX);
+        try (FileOutputStream runOutputStream = new FileOutputStream(temporaryFile, false)) {
+            BufferedWriter runOutputBuffer = new BufferedWriter(new OutputStreamWriter(runOutputStream));
+            while (entries.hasNext()) {
+                Map.Entry<Long, String> entry = entries.next();
+                runOutputBuffer.write(formatEntry(entry.getKey(), entry.getValue()));
+                runOutputBuffer.newLine();
+            }
+            runOutputBuffer.flush();
+            runOutputStream.getChannel().force(true);
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        } finally {
+            if (isClosing && entries instanceof Closeable) {
+                ((Closeable) entries).close();
+            }
+        }
+        Files.move(temporaryFile.toPath(), run.file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Saves the entire List as a single run covering every run number so far, which makes every other run and every
+     * write-ahead log obsolete. The tasks are given new ids in list order. The directory of the backend is created
+     * first if nothing has been loaded from it yet.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; to save.
+     * @throws IOException If the run cannot be written.
+     */
+    @Override
+    public void save(List<DukeTask> userTasks) throws IOException {
+        awaitPendingFlushes(0);
+        Files.createDirectories(directory.toPath());
+        long runNumber = nextRunNumber++;
+        List<File> obsoleteFiles = rotateLog(runNumber);
+        TreeMap<Long, String> entries = new TreeMap<>();
+        for (int index = 0; index < userTasks.size(); index++) {
+            entries.put((long) index, DukeStorage.processWriteTask(userTasks.get(index)));
+        }
+        Run run = new Run(0, runNumber, directory);
+        writeRun(run, entries.entrySet().iterator(), false);
+        for (Run obsoleteRun : runs) {
+            obsoleteFiles.add(obsoleteRun.file);
+        }
+        deleteFiles(obsoleteFiles);
+
+        runs = new ArrayList<>(List.of(run));
+        memtable = new TreeMap<>();
+        taskIds.reset(userTasks.size());
+    }
+
+    /**
+     * Waits for every memtable that is being written out in the background, and forces every write that is still
+     * waiting for a group commit to the disk.
+     *
+     * @throws IOException If writing out the memtable failed.
+     */
+    @Override
+    public void flush() throws IOException {
+        awaitPendingFlushes(0);
+        committer.flush();
+    }
+
+    /**
+     * Waits for the oldest flushes and merges running in the background, until only a number of them are left.
+     *
+     * @param pendingLimit Number of flushes that may still be running afterwards.
+     * @throws IOException If a flush or merge failed.
+     */
+    private void awaitPendingFlushes(int pendingLimit) throws IOException {
+        while (pendingFlushes.size() > pendingLimit) {
+            try {
+                pendingFlushes.poll().get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException(ex);
+            } catch (ExecutionException ex) {
+                throw new IOException(ex.getCause());
+            }
+        }
+    }
+
+    /**
+     * Closes the write-ahead log if it is open. The next entry will re-open it.
+     *
+     * @throws IOException If the log cannot be closed.
+     */
+    private void closeLog() throws IOException {
+        if (logOutputBuffer != null) {
+            logOutputBuffer.close();
+            logOutputBuffer = null;
+            logOutputStream = null;
+        }
+    }
+
+    /**
+     * Deletes files that are no longer needed.
+     *
+     * @param files Files to delete.
+     * @throws IOException If a file cannot be deleted.
+     */
+    private static void deleteFiles(List<File> files) throws IOException {
+        for (File file : files) {
+            Files.deleteIfExists(file.toPath());
+        }
+    }
+
+    /**
+     * Merges sources that are each sorted by id, and passes the newest entry of each id to a consumer. The sources are
+     * closed afterwards.
+     *
+     * @param sources Sources sorted by id, oldest first.
+     * @param isDroppingTombstones true if tombstones should be left out.
+     * @param consumer Consumer of the merged entries.
+     * @throws IOException If a source cannot be read.
+     */
+    private static void mergeEntries(List<Iterator<Map.Entry<Long, String>>> sources, boolean isDroppingTombstones,
+            EntryConsumer consumer) throws IOException {
+        Iterator<Map.Entry<Long, String>> mergedEntries = mergeSources(sources, isDroppingTombstones);
+        try {
+            while (mergedEntries.hasNext()) {
+                Map.Entry<Long, String> entry = mergedEntries.next();
+                consumer.accept(entry.getKey(), entry.getValue());
+            }
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        } finally {
+            ((Closeable) mergedEntries).close();
+        }
+    }
+
+    /**
+     * Creates an iterator over the merge of sources that are each sorted by id.
+     *
+     * @param sources Sources sorted by id, oldest first.
+     * @param isDroppingTombstones true if tombstones should be left out.
+     * @return Iterator over the newest entry of each id, in order of id.
+     */
+    private static Iterator<Map.Entry<Long, String>> mergeSources(List<Iterator<Map.Entry<Long, String>>> sources,
+            boolean isDroppingTombstones) {
+        return new MergeIterator(sources, isDroppingTombstones);
+    }
+
+    /**
+     * Receives the entries of a merge.
+     */
+    private interface EntryConsumer {
+        void accept(long taskId, String value);
+    }
+
+    /**
+     * Immutable sorted run, holding every entry of runs {@link #firstNumber} to {@link #lastNumber}.
+     */
+    private static class Run {
+
+        private long firstNumber;
+        private long lastNumber;
+        private File file;
+
+        /**
+         * This constructor takes in the range of run numbers that the run holds.
+         *
+         * @param firstNumber First run number.
+         * @param lastNumber Last run number.
+         * @param directory Directory of the backend.
+         */
+        Run(long firstNumber, long lastNumber, File directory) {
+            this.firstNumber = firstNumber;
+            this.lastNumber = lastNumber;
+            this.file = new File(directory, RUN_FILE_PREFIX + firstNumber + "-" + lastNumber);
+        }
+
+        /**
+         * Gets the run held in a file named "run.M-N".
+         *
+         * @param file Run file.
+         * @return Run held in the file.
+         * @throws IOException If the name of the file is not a valid range.
+         */
+        static Run parse(File file) throws IOException {
+            String[] numbers = file.getName().substring(RUN_FILE_PREFIX.length()).split("-");
+            try {
+                return new Run(Long.parseLong(numbers[0]), Long.parseLong(numbers[1]), file.getParentFile());
+            } catch (NumberFormatException | IndexOutOfBoundsException ex) {
+                throw new IOException("Malformed run file name " + file.getName());
+            }
+        }
+
+        /**
+         * Checks if this run holds every entry of another run.
+         *
+         * @param run Other run.
+         * @return true if the range of this run contains the range of the other run.
+         */
+        boolean covers(Run run) {
+            return firstNumber <= run.firstNumber && run.lastNumber <= lastNumber;
+        }
+    }
+
+    /**
+     * Reads the entries of a run file one line at a time.
+     */
+    private static class RunReader implements Iterator<Map.Entry<Long, String>>, Closeable {
+
+        private BufferedReader runInputBuffer;
+        private DukeStorageQuarantine quarantine;
+        private Map.Entry<Long, String> nextEntry;
+
+        /**
+         * This constructor opens the run file.
+         *
+         * @param file Run file to read.
+         * @param quarantine {@link DukeStorageQuarantine} to move corrupted entries to, or null if a corrupted entry
+         *                   should fail the read.
+         * @throws IOException If the run file cannot be opened.
+         */
+        RunReader(File file, DukeStorageQuarantine quarantine) throws IOException {
+            this.runInputBuffer = new BufferedReader(new FileReader(file));
+            this.quarantine = quarantine;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (nextEntry == null) {
+                    String line = runInputBuffer.readLine();
+                    if (line == null) {
+                        return false;
+                    }
+                    nextEntry = parseEntry(line);
+                    if (nextEntry == null && quarantine == null) {
+                        throw new IOException("Corrupted run entry");
+                    } else if (nextEntry == null) {
+                        quarantine.add(line);
+                    }
+                }
+                return true;
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        @Override
+        public Map.Entry<Long, String> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<Long, String> entry = nextEntry;
+            nextEntry = null;
+            return entry;
+        }
+
+        @Override
+        public void close() throws IOException {
+            runInputBuffer.close();
+        }
+    }
+
+    /**
+     * Merges sources sorted by id with a priority queue, keeping only the entry of the newest source for each id.
+     */
+    private static class MergeIterator implements Iterator<Map.Entry<Long, String>>, Closeable {
+
+        private List<Iterator<Map.Entry<Long, String>>> sources;
+        private PriorityQueue<Cursor> cursors;
+        private Map.Entry<Long, String> nextEntry;
+        private boolean isDroppingTombstones;
+
+        /**
+         * This constructor positions a cursor on the first entry of every source.
+         *
+         * @param sources Sources sorted by id, oldest first.
+         * @param isDroppingTombstones true if tombstones should be left out.
+         */
+        MergeIterator(List<Iterator<Map.Entry<Long, String>>> sources, boolean isDroppingTombstones) {
+            this.sources = sources;
+            this.isDroppingTombstones = isDroppingTombstones;
+            this.cursors = new PriorityQueue<>(Math.max(1, sources.size()), Comparator
+                    .comparingLong((Cursor cursor) -> cursor.entry.getKey())
+                    .thenComparing((Cursor cursor) -> -cursor.age));
+            for (int age = 0; age < sources.size(); age++) {
+                Cursor cursor = new Cursor(sources.get(age), age);
+                if (cursor.advance()) {
+                    cursors.add(cursor);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (nextEntry == null && !cursors.isEmpty()) {
+                Cursor newestCursor = cursors.poll();
+                Map.Entry<Long, String> newestEntry = newestCursor.entry;
+                if (newestCursor.advance()) {
+                    cursors.add(newestCursor);
+                }
+                while (!cursors.isEmpty() && cursors.peek().entry.getKey().equals(newestEntry.getKey())) {
+                    Cursor olderCursor = cursors.poll();
+                    if (olderCursor.advance()) {
+                        cursors.add(olderCursor);
+                    }
+                }
+                if (!isDroppingTombstones || !newestEntry.getValue().equals(TOMBSTONE)) {
+                    nextEntry = newestEntry;
+                }
+            }
+            return nextEntry != null;
+        }
+
+        @Override
+        public Map.Entry<Long, String> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<Long, String> entry = nextEntry;
+            nextEntry = null;
+            return entry;
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (Iterator<Map.Entry<Long, String>> source : sources) {
+                if (source instanceof Closeable) {
+                    ((Closeable) source).close();
+                }
+            }
+        }
+
+        /**
+         * Current position in a single source.
+         */
+        private static class Cursor {
+
+            private Iterator<Map.Entry<Long, String>> source;
+            private Map.Entry<Long, String> entry;
+            private int age;
+
+            /**
+             * This constructor takes in the source and how new it is.
+             *
+             * @param source Source sorted by id.
+             * @param age Position of the source, where a higher age is newer.
+             */
+            Cursor(Iterator<Map.Entry<Long, String>> source, int age) {
+                this.source = source;
+                this.age = age;
+            }
+
+            /**
+             * Moves to the next entry of the source.
+             *
+             * @return true if there is a next entry.
+             */
+            boolean advance() {
+                if (!source.hasNext()) {
+                    return false;
+                }
+                entry = source.next();
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package duke.util.storage;
+
+import duke.task.DukeTask;
+import duke.task.DukeTaskDeadline;
+import duke.task.DukeTaskEvent;
+import duke.task.DukeTaskToDo;
+import duke.util.ui.DukeUiMessages;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a text data file by memory-mapping it and scanning for the line and " | " delimiter bytes by hand, instead of
+ * reading it line by line and splitting each line with a regular expression. Each line is decoded straight into a
+ * {@link DukeTask}, so the only objects allocated per task are the task itself and its Strings.
+ * This is used by {@link duke.util.DukeStorage} for data files of at least {@link #DUKE_MAPPED_LOAD_THRESHOLD} bytes,
+ * where the start-up time is dominated by parsing. The file is mapped one region at a time, and each region is only
+ * unmapped once it is garbage collected. Lines that fail their {@link DukeStorageChecksum} or are malformed are moved
+ * to a {@link DukeStorageQuarantine} if one is given.
+ */
+public class DukeStorageMappedReader {
+
+    public static final long DUKE_MAPPED_LOAD_THRESHOLD = 8 * 1024 * 1024;
+
+    private static final int MAPPED_REGION_SIZE = 64 * 1024 * 1024;
+    private static final int DELIMITER_LENGTH = 3;
+    private static final int MAXIMUM_DELIMITERS = 3;
+    private static final byte NEWLINE = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final byte SPACE = ' ';
+    private static final byte PIPE = '|';
+
+    private Charset charset;
+    private DukeStorageQuarantine quarantine;
+    private DukeStorageStringTable stringTable;
+    private byte[] lineBuffer;
+    private int[] delimiterIndexes;
+    private boolean isChecksumRequired;
+    private int unknownTaskCount;
+
+    /**
+     * This constructor prepares the reusable buffers. The text data file is written in the platform default charset,
+     * which must encode the delimiters as single ASCII bytes. A corrupted line stops the read with an IOException, and
+     * decoded Strings are not interned, since this is meant for decoding single tasks on demand.
+     */
+    public DukeStorageMappedReader() {
+        this(null, null);
+    }
+
+    /**
+     * This constructor prepares the reusable buffers, and takes in where corrupted lines should be moved to. Names,
+     * deadlines and locations are interned in a {@link DukeStorageStringTable} of this reader.
+     *
+     * @param quarantine {@link DukeStorageQuarantine} to move corrupted lines to, or null if a corrupted line should
+     *                   stop the read with an IOException.
+     */
+    public DukeStorageMappedReader(DukeStorageQuarantine quarantine) {
+        this(quarantine, new DukeStorageStringTable());
+    }
+
+    /**
+     * This constructor prepares the reusable buffers, and takes in where corrupted lines should be moved to and where
+     * decoded Strings should be interned.
+     *
+     * @param quarantine {@link DukeStorageQuarantine} to move corrupted lines to, or null if a corrupted line should
+     *                   stop the read with an IOException.
+     * @param stringTable {@link DukeStorageStringTable} to intern names, deadlines and locations in, or null if every
+     *                    String should be decoded on its own.
+     */
+    public DukeStorageMappedReader(DukeStorageQuarantine quarantine, DukeStorageStringTable stringTable) {
+        this.charset = Charset.defaultCharset();
+        this.quarantine = quarantine;
+        this.stringTable = stringTable;
+        this.lineBuffer = new byte[256];
+        this.delimiterIndexes = new int[MAXIMUM_DELIMITERS];
+    }
+
+    /**
+     * Gets the number of lines read so far whose task type is unknown.
+     *
+     * @return Number of unknown tasks skipped.
+     */
+    public int getUnknownTaskCount() {
+        return this.unknownTaskCount;
+    }
+
+    /**
+     * Reads every {@link DukeTask} in a text data file.
+     *
+     * @param file Text data file to read.
+     * @param ui Instance of {@link DukeUiMessages} which will show output to the user.
+     * @return List&lt;duke.task.DukeTask&gt; in the order they are stored in.
+     * @throws IOException If the file cannot be read, or a line is malformed.
+     */
+    public List<DukeTask> read(File file, DukeUiMessages ui) throws IOException {
+        return read(file, 0, file.length(), DukeStorageChecksum.hasChecksums(file), ui);
+    }
+
+    /**
+     * Reads every {@link DukeTask} between two byte offsets of a text data file.
+     *
+     * @param file Text data file to read.
+     * @param startOffset Offset of the first byte to read, which must be the start of a line.
+     * @param endOffset Offset right after the last byte to read, which must be the end of a line or of the file.
+     * @param isChecksumRequired true if the data file has checksummed lines, as found by
+     *                           {@link DukeStorageChecksum#hasChecksums(File)}, so that every line must have one.
+     * @param ui Instance of {@link DukeUiMessages} which will show output to the user, or null if unknown tasks
+     *           should only be counted.
+     * @return List&lt;duke.task.DukeTask&gt; in the order they are stored in.
+     * @throws IOException If the file cannot be read, or a line is malformed.
+     */
+    public List<DukeTask> read(File file, long startOffset, long endOffset, boolean isChecksumRequired,
+            DukeUiMessages ui) throws IOException {
+        this.isChecksumRequired = isChecksumRequired;
+        List<DukeTask> userTasks = new ArrayList<>();
+        try (FileChannel taskFileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long regionOffset = startOffset;
+            while (regionOffset < endOffset) {
+                long regionSize = Math.min(MAPPED_REGION_SIZE, endOffset - regionOffset);
+                boolean isLastRegion = regionOffset + regionSize == endOffset;
+                MappedByteBuffer region = taskFileChannel.map(FileChannel.MapMode.READ_ONLY, regionOffset,
+                        regionSize);
+
+                int lineStart = 0;
+                int regionLimit = region.limit();
+                for (int index = 0; index < regionLimit; index++) {
+                    if (region.get(index) == NEWLINE) {
+                        readLine(region, lineStart, index, userTasks, ui);
+                        lineStart = index + 1;
+                    }
+                }
+
+                if (isLastRegion) {
+                    if (lineStart < regionLimit) {
+                        readLine(region, lineStart, regionLimit, userTasks, ui);
+                    }
+                    regionOffset = endOffset;
+                } else if (lineStart == 0) {
+                    throw new IOException("Line longer than " + MAPPED_REGION_SIZE + " bytes");
+                } else {
+                    //Re-map starting from the line that was cut off at the end of this region
+                    regionOffset += lineStart;
+                }
+            }
+        }
+        return userTasks;
+    }
+
+    /**
+     * Copies a single line out of the mapped region and re-creates the {@link DukeTask} it describes.
+     *
+     * @param region Mapped region of the data file.
+     * @param lineStart Index of the first byte of the line in the region.
+     * @param lineEnd Index right after the last byte of the line in the region, excluding the newline.
+     * @param userTasks List&lt;duke.task.DukeTask&gt; to add the task to.
+     * @param ui Instance of {@link DukeUiMessages} which will show output to the user, or null.
+     * @throws IOException If the line is corrupted or malformed, and there is no quarantine.
+     */
+    private void readLine(MappedByteBuffer region, int lineStart, int lineEnd, List<DukeTask> userTasks,
+            DukeUiMessages ui) throws IOException {
+        int length = lineEnd - lineStart;
+        if (lineBuffer.length < length) {
+            lineBuffer = new byte[Math.max(length, lineBuffer.length * 2)];
+        }
+        region.position(lineStart);
+        region.get(lineBuffer, 0, length);
+        if (length > 0 && lineBuffer[length - 1] == CARRIAGE_RETURN) {
+            length--;
+        }
+
+        DukeTask task;
+        try {
+            int recordLength = DukeStorageChecksum.stripChecksum(lineBuffer, length, isChecksumRequired);
+            if (recordLength < 0) {
+                throw new IOException("Checksum mismatch");
+            }
+            task = processReadTask(lineBuffer, recordLength);
+        } catch (IOException ex) {
+            if (quarantine == null) {
+                throw ex;
+            }
+            quarantine.add(new String(lineBuffer, 0, length, charset));
+            return;
+        }
+        if (task != null) {
+            userTasks.add(task);
+            return;
+        }
+        unknownTaskCount++;
+        if (ui != null) {
+            ui.displayUnknownTask();
+        }
+    }
+
+    /**
+     * Re-creates a {@link DukeTask} from the bytes of a single line, in the same way as
+     * {@link duke.util.DukeStorage#processReadTask(String)}.
+     *
+     * @param line Bytes of the line.
+     * @param length Number of bytes of the line, which may be followed by a carriage return.
+     * @return Re-created {@link DukeTask}, or null if the task type is unknown.
+     * @throws IOException If the line has fewer than three fields, or a deadline or event has no fourth field.
+     */
+    public DukeTask processReadTask(byte[] line, int length) throws IOException {
+        if (length > 0 && line[length - 1] == CARRIAGE_RETURN) {
+            length--;
+        }
+
+        int delimiterCount = findDelimiters(line, length);
+        if (delimiterCount < 2) {
+            throw new IOException("Malformed task line");
+        }
+
+        int completeStart = delimiterIndexes[0] + DELIMITER_LENGTH;
+        boolean isComplete = delimiterIndexes[1] - completeStart == 1 && line[completeStart] == '1';
+        int nameStart = delimiterIndexes[1] + DELIMITER_LENGTH;
+        int nameEnd = delimiterCount > 2 ? delimiterIndexes[2] : length;
+        String taskName = decodeString(line, nameStart, nameEnd - nameStart);
+
+        if (delimiterIndexes[0] != 1) {
+            return null;
+        }
+        switch (line[0]) {
+        case 'T':
+            return new DukeTaskToDo(taskName, isComplete);
+
+        case 'D':
+            return new DukeTaskDeadline(taskName, isComplete, readExtra(line, length, delimiterCount));
+
+        case 'E':
+            return new DukeTaskEvent(taskName, isComplete, readExtra(line, length, delimiterCount));
+
+        default:
+            return null;
+        }
+    }
+
+    /**
+     * Checks if a line has every field that {@link #processReadTask(byte[], int)} needs, with the type of the task
+     * in a field of its own, without decoding any of them.
+     *
+     * @param line Bytes of the line, without a trailing carriage return.
+     * @param length Number of bytes of the line.
+     * @return true if the line has enough fields and a single character task type, even if the type is unknown.
+     */
+    public boolean isWellFormed(byte[] line, int length) {
+        int delimiterCount = findDelimiters(line, length);
+        if (delimiterCount < 2 || delimiterIndexes[0] != 1) {
+            return false;
+        }
+        return delimiterCount > 2 || (line[0] != 'D' && line[0] != 'E');
+    }
+
+    /**
+     * Decodes the fourth field of a line, which holds the deadline or the location of a task. Like splitting on the
+     * delimiter, the field ends at the next delimiter if there is one.
+     *
+     * @param line Bytes of the line.
+     * @param length Number of bytes of the line.
+     * @param delimiterCount Number of delimiters found in the line.
+     * @return Decoded fourth field.
+     * @throws IOException If the line has no fourth field.
+     */
+    private String readExtra(byte[] line, int length, int delimiterCount) throws IOException {
+        if (delimiterCount < 3) {
+            throw new IOException("Missing deadline or location");
+        }
+        int extraStart = delimiterIndexes[2] + DELIMITER_LENGTH;
+        int extraEnd = findNextDelimiter(line, extraStart, length);
+        return decodeString(line, extraStart, extraEnd - extraStart);
+    }
+
+    /**
+     * Decodes a field of a line, through the {@link DukeStorageStringTable} if there is one.
+     *
+     * @param line Bytes of the line.
+     * @param offset Index of the first byte of the field.
+     * @param length Number of bytes of the field.
+     * @return Decoded field.
+     */
+    private String decodeString(byte[] line, int offset, int length) {
+        if (stringTable == null) {
+            return new String(line, offset, length, charset);
+        }
+        return stringTable.intern(line, offset, length, charset);
+    }
+
+    /**
+     * Finds the first three " | " delimiters of a line, left to right without overlapping, and stores their indexes
+     * in {@link #delimiterIndexes}.
+     *
+     * @param line Bytes of the line.
+     * @param length Number of bytes of the line.
+     * @return Number of delimiters found, at most three.
+     */
+    private int findDelimiters(byte[] line, int length) {
+        int delimiterCount = 0;
+        int index = 0;
+        while (delimiterCount < MAXIMUM_DELIMITERS) {
+            index = findNextDelimiter(line, index, length);
+            if (index == length) {
+                break;
+            }
+            delimiterIndexes[delimiterCount++] = index;
+            index += DELIMITER_LENGTH;
+        }
+        return delimiterCount;
+    }
+
+    /**
+     * Finds the next " | " delimiter of a line.
+     *
+     * @param line Bytes of the line.
+     * @param fromIndex Index to start searching from.
+     * @param length Number of bytes of the line.
+     * @return Index of the delimiter, or length if there is none.
+     */
+    private int findNextDelimiter(byte[] line, int fromIndex, int length) {
+        for (int index = fromIndex; index + 2 < length; index++) {
+            if (line[index + 1] == PIPE && line[index] == SPACE && line[index + 2] == SPACE) {
+                return index;
+            }
+        }
+        return length;
+    }
+}
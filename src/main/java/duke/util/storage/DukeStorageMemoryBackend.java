@@ -0,0 +1,67 @@
+package duke.util.storage;
+
+import duke.task.DukeTask;
+import duke.util.ui.DukeUiMessages;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link DukeStorageBackend} that never touches the disk. Saving only keeps a reference to the List that was saved,
+ * so every save costs the same regardless of the number of tasks, and loading again returns that same List.
+ */
+public class DukeStorageMemoryBackend implements DukeStorageBackend {
+
+    private List<DukeTask> userTasks;
+
+    /**
+     * This constructor starts off with no tasks.
+     */
+    public DukeStorageMemoryBackend() {
+        this(new ArrayList<>());
+    }
+
+    /**
+     * This constructor starts off with an existing List of tasks, e.g. one prepared by a benchmark.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; to return from {@link #load(DukeUiMessages)}.
+     */
+    public DukeStorageMemoryBackend(List<DukeTask> userTasks) {
+        this.userTasks = userTasks;
+    }
+
+    @Override
+    public List<DukeTask> load(DukeUiMessages ui) {
+        return this.userTasks;
+    }
+
+    @Override
+    public boolean isJournaled() {
+        return false;
+    }
+
+    @Override
+    public void save(List<DukeTask> userTasks) {
+        this.userTasks = userTasks;
+    }
+
+    @Override
+    public void saveAddedTask(List<DukeTask> userTasks, DukeTask task) {
+        this.userTasks = userTasks;
+    }
+
+    @Override
+    public void saveCompletedTask(List<DukeTask> userTasks, int taskIndex) {
+        this.userTasks = userTasks;
+    }
+
+    @Override
+    public void saveDeletedTask(List<DukeTask> userTasks, int taskIndex) {
+        this.userTasks = userTasks;
+    }
+
+    @Override
+    public void flush() {
+        //Nothing is ever written in the background
+    }
+}
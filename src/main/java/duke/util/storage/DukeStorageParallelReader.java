@@ -0,0 +1,190 @@
+package duke.util.storage;
+
+import duke.task.DukeTask;
+import duke.util.ui.DukeUiMessages;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Reads a text data file on multiple cores. The file is split into segments that start and end on line boundaries,
+ * each segment is parsed by its own {@link DukeStorageMappedReader} on the common {@link ForkJoinPool}, and the
+ * results are stitched back together in file order, so the index of every task stays the same as when reading the file
+ * from start to end. Unknown tasks are only counted by the segments, and reported on the calling thread. Likewise,
+ * every segment collects its corrupted lines separately, and they are then moved to the caller's
+ * {@link DukeStorageQuarantine} in file order.
+ * This is used by {@link duke.util.DukeStorage} for data files of at least {@link #DUKE_PARALLEL_LOAD_THRESHOLD} bytes.
+ */
+public class DukeStorageParallelReader {
+
+    public static final long DUKE_PARALLEL_LOAD_THRESHOLD = 32 * 1024 * 1024;
+
+    private static final long MINIMUM_SEGMENT_SIZE = 4 * 1024 * 1024;
+    private static final int SEGMENTS_PER_THREAD = 4;
+    private static final int BOUNDARY_SCAN_SIZE = 4096;
+
+    private DukeStorageQuarantine quarantine;
+    private File file;
+    private DukeUiMessages ui;
+    private boolean isChecksumRequired;
+
+    /**
+     * This constructor takes in the text data file to read.
+     *
+     * @param file Text data file to read.
+     * @param ui Instance of {@link DukeUiMessages} which will show output to the user.
+     * @param quarantine {@link DukeStorageQuarantine} to move corrupted lines to.
+     */
+    public DukeStorageParallelReader(File file, DukeUiMessages ui, DukeStorageQuarantine quarantine) {
+        this.file = file;
+        this.ui = ui;
+        this.quarantine = quarantine;
+    }
+
+    /**
+     * Reads every {@link DukeTask} in the text data file. Every segment is forked onto the common
+     * {@link ForkJoinPool}, and the segments are then joined in file order. Whether a line without a
+     * {@link DukeStorageChecksum} is accepted is decided once for the entire file, before it is split.
+     *
+     * @return List&lt;duke.task.DukeTask&gt; in the order they are stored in.
+     * @throws IOException If the file cannot be read, or a line is malformed.
+     */
+    public List<DukeTask> read() throws IOException {
+        long[] segmentOffsets = findSegmentOffsets();
+        isChecksumRequired = DukeStorageChecksum.hasChecksums(file);
+        if (segmentOffsets.length == 2) {
+            return new DukeStorageMappedReader(quarantine).read(file, 0, file.length(), isChecksumRequired, ui);
+        }
+
+        List<SegmentTask> segmentTasks = new ArrayList<>(segmentOffsets.length - 1);
+        for (int segment = 0; segment < segmentOffsets.length - 1; segment++) {
+            SegmentTask segmentTask = new SegmentTask(segmentOffsets[segment], segmentOffsets[segment + 1]);
+            segmentTask.fork();
+            segmentTasks.add(segmentTask);
+        }
+
+        try {
+            List<List<DukeTask>> segmentResults = new ArrayList<>(segmentTasks.size());
+            int taskCount = 0;
+            for (SegmentTask segmentTask : segmentTasks) {
+                List<DukeTask> segmentResult = segmentTask.join();
+                taskCount += segmentResult.size();
+                segmentResults.add(segmentResult);
+            }
+
+            List<DukeTask> userTasks = new ArrayList<>(taskCount);
+            for (List<DukeTask> segmentResult : segmentResults) {
+                userTasks.addAll(segmentResult);
+            }
+            for (SegmentTask segmentTask : segmentTasks) {
+                quarantine.addAll(segmentTask.segmentQuarantine);
+                for (int counter = 0; ui != null && counter < segmentTask.unknownTaskCount; counter++) {
+                    ui.displayUnknownTask();
+                }
+            }
+            return userTasks;
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    /**
+     * Splits the file into roughly equal segments, moving each boundary forward to just after the next newline. The
+     * file is left as a single segment if the common {@link ForkJoinPool} only has a single thread.
+     *
+     * @return Offsets of the segment boundaries, starting with 0 and ending with the file length.
+     * @throws IOException If the file cannot be read.
+     */
+    private long[] findSegmentOffsets() throws IOException {
+        long fileLength = file.length();
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        int segmentCount = parallelism < 2 ? 1 : (int) Math.max(1, Math.min(
+                (long) parallelism * SEGMENTS_PER_THREAD, fileLength / MINIMUM_SEGMENT_SIZE));
+
+        List<Long> segmentOffsets = new ArrayList<>(segmentCount + 1);
+        segmentOffsets.add(0L);
+        try (FileChannel taskFileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer scanBuffer = ByteBuffer.allocate(BOUNDARY_SCAN_SIZE);
+            for (int segment = 1; segment < segmentCount; segment++) {
+                long boundary = findLineStart(taskFileChannel, scanBuffer, fileLength * segment / segmentCount);
+                if (boundary > segmentOffsets.get(segmentOffsets.size() - 1) && boundary < fileLength) {
+                    segmentOffsets.add(boundary);
+                }
+            }
+        }
+        segmentOffsets.add(fileLength);
+        return segmentOffsets.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Finds the start of the first line that begins at or after an offset.
+     *
+     * @param taskFileChannel Channel of the data file.
+     * @param scanBuffer Reusable buffer to read into.
+     * @param offset Offset to start searching from.
+     * @return Offset right after the first newline at or after offset - 1, or the file length if there is none.
+     * @throws IOException If the file cannot be read.
+     */
+    private long findLineStart(FileChannel taskFileChannel, ByteBuffer scanBuffer, long offset) throws IOException {
+        long position = offset - 1;
+        while (true) {
+            scanBuffer.clear();
+            int readCount = taskFileChannel.read(scanBuffer, position);
+            if (readCount <= 0) {
+                return taskFileChannel.size();
+            }
+            for (int index = 0; index < readCount; index++) {
+                if (scanBuffer.get(index) == '\n') {
+                    return position + index + 1;
+                }
+            }
+            position += readCount;
+        }
+    }
+
+    /**
+     * Parses a single segment of the data file.
+     */
+    private class SegmentTask extends RecursiveTask<List<DukeTask>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private DukeStorageQuarantine segmentQuarantine;
+        private long startOffset;
+        private long endOffset;
+        private int unknownTaskCount;
+
+        /**
+         * This constructor takes in the byte range of the segment.
+         *
+         * @param startOffset Offset of the first byte of the segment, at the start of a line.
+         * @param endOffset Offset right after the last byte of the segment, at the end of a line or of the file.
+         */
+        SegmentTask(long startOffset, long endOffset) {
+            this.startOffset = startOffset;
+            this.endOffset = endOffset;
+            this.segmentQuarantine = new DukeStorageQuarantine();
+        }
+
+        @Override
+        protected List<DukeTask> compute() {
+            try {
+                DukeStorageMappedReader segmentReader = new DukeStorageMappedReader(segmentQuarantine);
+                List<DukeTask> segmentTasks = segmentReader.read(file, startOffset, endOffset, isChecksumRequired,
+                        null);
+                unknownTaskCount = segmentReader.getUnknownTaskCount();
+                return segmentTasks;
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+}
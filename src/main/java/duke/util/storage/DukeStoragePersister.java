@@ -0,0 +1,133 @@
+package duke.util.storage;
+
+import duke.task.DukeTask;
+import duke.util.DukeStorage;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Saves the list of {@link DukeTask} on a background thread instead of the thread that mutated it. Mutations only mark
+ * the list as dirty, and every mutation made while a save is running is collapsed into a single save afterwards, so a
+ * burst of commands costs at most two saves.
+ * The list must be locked while it is being mutated, since it is copied on the background thread.
+ */
+public class DukeStoragePersister {
+
+    private DukeStorage storage;
+    private List<DukeTask> dirtyTasks;
+    private IOException failure;
+    private boolean isSaving;
+
+    /**
+     * This constructor takes in the {@link DukeStorage} that will perform the actual saves, and starts the background
+     * thread.
+     *
+     * @param storage {@link DukeStorage} to save through with {@link DukeStorage#saveNow(List)}.
+     */
+    public DukeStoragePersister(DukeStorage storage) {
+        this.storage = storage;
+        Thread persisterThread = new Thread(this::persist, "duke-storage-persister");
+        persisterThread.setDaemon(true);
+        persisterThread.start();
+    }
+
+    /**
+     * Marks the List&lt;duke.task.DukeTask&gt; as dirty so that it will be saved in the background. If the previous
+     * save in the background failed, its error is reported here.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; to save. It is locked while it is copied.
+     * @throws IOException If the previous save in the background failed.
+     */
+    public synchronized void markDirty(List<DukeTask> userTasks) throws IOException {
+        dirtyTasks = userTasks;
+        notifyAll();
+        throwFailure();
+    }
+
+    /**
+     * Checks if no List&lt;duke.task.DukeTask&gt; is waiting to be saved or being saved in the background, so that the
+     * data file can be written on the calling thread without waiting. Only the calling thread marks the List as
+     * dirty, so this stays true until it does.
+     *
+     * @return true if the background thread has nothing left to save.
+     */
+    public synchronized boolean isIdle() {
+        return dirtyTasks == null && !isSaving;
+    }
+
+    /**
+     * Waits until every dirty List&lt;duke.task.DukeTask&gt; has been saved.
+     *
+     * @throws IOException If a save in the background failed.
+     */
+    public synchronized void flush() throws IOException {
+        try {
+            while (dirtyTasks != null || isSaving) {
+                wait();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException(ex);
+        }
+        throwFailure();
+    }
+
+    /**
+     * Throws and clears the error from the last failed save in the background, if there is one.
+     *
+     * @throws IOException Error from the last failed save.
+     */
+    private void throwFailure() throws IOException {
+        if (failure != null) {
+            IOException lastFailure = failure;
+            failure = null;
+            throw lastFailure;
+        }
+    }
+
+    /**
+     * Body of the background thread. Waits for the list to be marked as dirty, copies it while holding its lock and
+     * saves the copy. A {@link DukeStorageColumnarTaskList} is copied column by column, without creating its tasks.
+     */
+    private void persist() {
+        while (true) {
+            List<DukeTask> userTasks;
+            synchronized (this) {
+                while (dirtyTasks == null) {
+                    try {
+                        wait();
+                    } catch (InterruptedException ex) {
+                        return;
+                    }
+                }
+                userTasks = dirtyTasks;
+                dirtyTasks = null;
+                isSaving = true;
+            }
+
+            List<DukeTask> snapshotTasks;
+            synchronized (userTasks) {
+                snapshotTasks = userTasks instanceof DukeStorageColumnarTaskList
+                        ? ((DukeStorageColumnarTaskList) userTasks).copy()
+                        : new ArrayList<>(userTasks);
+            }
+
+            IOException saveFailure = null;
+            try {
+                storage.saveNow(snapshotTasks);
+            } catch (IOException ex) {
+                saveFailure = ex;
+            }
+
+            synchronized (this) {
+                if (saveFailure != null) {
+                    failure = saveFailure;
+                }
+                isSaving = false;
+                notifyAll();
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package duke.util.storage;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the records that could not be read back while loading the data file or replaying the journal, e.g.
+ * because their checksum does not match, so that the remaining tasks can still be loaded. The records are then
+ * appended to a side file next to the data file, with {@link #DUKE_QUARANTINE_FILE_SUFFIX} appended to its name, where
+ * the user can inspect and repair them by hand. Text records are kept as they were read, while binary records are
+ * kept as Base64.
+ */
+public class DukeStorageQuarantine {
+
+    public static final String DUKE_QUARANTINE_FILE_SUFFIX = ".quarantine";
+
+    private List<String> skippedRecords;
+
+    /**
+     * This constructor creates an empty quarantine.
+     */
+    public DukeStorageQuarantine() {
+        this.skippedRecords = new ArrayList<>();
+    }
+
+    /**
+     * Gets the number of records skipped so far.
+     *
+     * @return Number of skipped records.
+     */
+    public int getRecordCount() {
+        return skippedRecords.size();
+    }
+
+    /**
+     * Adds a record that could not be read back.
+     *
+     * @param record Raw record as it was read.
+     */
+    public void add(String record) {
+        skippedRecords.add(record);
+    }
+
+    /**
+     * Adds every record collected by another quarantine, e.g. one used by a segment of a
+     * {@link DukeStorageParallelReader}.
+     *
+     * @param quarantine Quarantine to take the records from.
+     */
+    public void addAll(DukeStorageQuarantine quarantine) {
+        skippedRecords.addAll(quarantine.skippedRecords);
+    }
+
+    /**
+     * Appends every skipped record to the side file of a data file, after a comment line with the current time.
+     *
+     * @param taskFilePath Relative/Full path to the data file.
+     * @return Path to the side file.
+     * @throws IOException If the side file cannot be written to.
+     */
+    public String write(String taskFilePath) throws IOException {
+        String quarantineFilePath = taskFilePath + DUKE_QUARANTINE_FILE_SUFFIX;
+        List<String> writtenLines = new ArrayList<>(skippedRecords.size() + 1);
+        writtenLines.add("# Skipped while loading on " + LocalDateTime.now());
+        writtenLines.addAll(skippedRecords);
+        Files.write(Paths.get(quarantineFilePath), writtenLines, Charset.defaultCharset(),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        return quarantineFilePath;
+    }
+}
@@ -0,0 +1,92 @@
+package duke.util.storage;
+
+/**
+ * Sizes and timings of the last {@link DukeStorageCompressedFormat} snapshot that was saved and loaded, so that the
+ * time spent compressing can be weighed against the bytes it saves on the disk. The snapshot may be saved by a
+ * {@link DukeStorageCompactor} in the background, so every access is synchronized.
+ */
+public class DukeStorageSnapshotStats {
+
+    private long savedRawBytes;
+    private long savedCompressedBytes;
+    private long saveNanos;
+    private long loadedRawBytes;
+    private long loadedCompressedBytes;
+    private long loadNanos;
+
+    /**
+     * Records a snapshot that was just saved.
+     *
+     * @param rawBytes Size of the records before they were compressed.
+     * @param compressedBytes Size of the compressed records.
+     * @param nanos Time taken to encode, compress and write the records.
+     */
+    public synchronized void recordSave(long rawBytes, long compressedBytes, long nanos) {
+        this.savedRawBytes = rawBytes;
+        this.savedCompressedBytes = compressedBytes;
+        this.saveNanos = nanos;
+    }
+
+    /**
+     * Records a snapshot that was just loaded.
+     *
+     * @param rawBytes Size of the records after they were decompressed.
+     * @param compressedBytes Size of the compressed records.
+     * @param nanos Time taken to read, decompress and decode the records.
+     */
+    public synchronized void recordLoad(long rawBytes, long compressedBytes, long nanos) {
+        this.loadedRawBytes = rawBytes;
+        this.loadedCompressedBytes = compressedBytes;
+        this.loadNanos = nanos;
+    }
+
+    public synchronized boolean hasSaved() {
+        return this.savedCompressedBytes > 0;
+    }
+
+    public synchronized boolean hasLoaded() {
+        return this.loadedCompressedBytes > 0;
+    }
+
+    public synchronized long getSavedRawBytes() {
+        return this.savedRawBytes;
+    }
+
+    public synchronized long getSavedCompressedBytes() {
+        return this.savedCompressedBytes;
+    }
+
+    public synchronized long getSaveNanos() {
+        return this.saveNanos;
+    }
+
+    public synchronized long getLoadedRawBytes() {
+        return this.loadedRawBytes;
+    }
+
+    public synchronized long getLoadedCompressedBytes() {
+        return this.loadedCompressedBytes;
+    }
+
+    public synchronized long getLoadNanos() {
+        return this.loadNanos;
+    }
+
+    /**
+     * Gets how many times smaller the last saved snapshot is than its records.
+     *
+     * @return Compression ratio, or 0 if nothing has been saved yet.
+     */
+    public synchronized double getSaveRatio() {
+        return savedCompressedBytes == 0 ? 0 : (double) savedRawBytes / savedCompressedBytes;
+    }
+
+    /**
+     * Gets how many times smaller the last loaded snapshot is than its records.
+     *
+     * @return Compression ratio, or 0 if nothing has been loaded yet.
+     */
+    public synchronized double getLoadRatio() {
+        return loadedCompressedBytes == 0 ? 0 : (double) loadedRawBytes / loadedCompressedBytes;
+    }
+}
@@ -0,0 +1,343 @@
+package duke.util.storage;
+
+import duke.task.DukeTask;
+import duke.task.DukeTaskDeadline;
+import duke.task.DukeTaskEvent;
+import duke.task.DukeTaskToDo;
+import duke.util.ui.DukeUiMessages;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link DukeStorageBackend} that keeps one row per task in an embedded H2 database, accessed in-process through
+ * JDBC. The database is kept next to the data file path, with {@link #DUKE_SQL_FILE_SUFFIX} appended. Rows are keyed
+ * by an id that only ever grows, so the order of the ids is the order of the list. Completing or deleting a task is a
+ * single-row update, and {@link #findTasks(String)} and {@link #findIncompleteDeadlines} are answered by queries
+ * on the indexed type, completion and deadline columns instead of scanning the list.
+ */
+public class DukeStorageSqlBackend implements DukeStorageBackend {
+
+    public static final String DUKE_SQL_URL_PREFIX = "jdbc:h2:file:";
+    public static final String DUKE_SQL_FILE_SUFFIX = ".mv.db";
+
+    private static final String[] CREATE_SCHEMA = {
+        "CREATE TABLE IF NOT EXISTS duke_tasks (id BIGINT PRIMARY KEY, task_type CHAR(1) NOT NULL, "
+                + "task_name VARCHAR NOT NULL, is_complete BOOLEAN NOT NULL, task_detail VARCHAR, "
+                + "deadline_at TIMESTAMP)",
+        "CREATE INDEX IF NOT EXISTS duke_tasks_type ON duke_tasks (task_type)",
+        "CREATE INDEX IF NOT EXISTS duke_tasks_complete ON duke_tasks (is_complete)",
+        "CREATE INDEX IF NOT EXISTS duke_tasks_deadline ON duke_tasks (deadline_at)"
+    };
+    private static final String SELECT_TASKS = "SELECT id, task_type, task_name, is_complete, task_detail "
+            + "FROM duke_tasks ORDER BY id";
+    private static final String INSERT_TASK = "INSERT INTO duke_tasks "
+            + "(id, task_type, task_name, is_complete, task_detail, deadline_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String COMPLETE_TASK = "UPDATE duke_tasks SET is_complete = TRUE WHERE id = ?";
+    private static final String DELETE_TASK = "DELETE FROM duke_tasks WHERE id = ?";
+    private static final String DELETE_TASKS = "DELETE FROM duke_tasks";
+    private static final String FIND_TASKS = "SELECT id FROM duke_tasks WHERE task_name LIKE ? ESCAPE '\\' "
+            + "ORDER BY id";
+    private static final String FIND_DEADLINES = "SELECT id FROM duke_tasks WHERE task_type = 'D' "
+            + "AND is_complete = FALSE AND deadline_at >= ? AND deadline_at < ? ORDER BY id";
+
+    private Connection connection;
+    private PreparedStatement insertStatement;
+    private PreparedStatement completeStatement;
+    private PreparedStatement deleteStatement;
+    private DukeStorageTaskIds taskIds;
+    private String url;
+
+    /**
+     * This constructor takes in the path of the data file, next to which the database is kept. The database is only
+     * opened by {@link #load(DukeUiMessages)}.
+     *
+     * @param filePath Relative/Full path to the data file.
+     */
+    public DukeStorageSqlBackend(String filePath) {
+        this.url = DUKE_SQL_URL_PREFIX + new File(filePath).getAbsolutePath();
+        this.taskIds = new DukeStorageTaskIds();
+    }
+
+    /**
+     * Opens the database, creating the table and its indexes if they do not exist, and loads every row in the order
+     * of their ids.
+     *
+     * @param ui Instance of {@link DukeUiMessages} which will show output to the user.
+     * @return List&lt;duke.task.DukeTask&gt; in the order they were saved in.
+     * @throws IOException If the database cannot be opened or read, e.g. because the H2 driver is missing.
+     */
+    @Override
+    public List<DukeTask> load(DukeUiMessages ui) throws IOException {
+        List<DukeTask> userTasks = new ArrayList<>();
+        DukeStorageStringTable stringTable = new DukeStorageStringTable();
+        try {
+            openConnection();
+            taskIds.clear();
+            try (Statement statement = connection.createStatement();
+                    ResultSet rows = statement.executeQuery(SELECT_TASKS)) {
+                while (rows.next()) {
+                    long taskId = rows.getLong(1);
+                    String taskDetail = rows.getString(5);
+                    Optional<DukeTask> task = readTask(rows.getString(2), stringTable.intern(rows.getString(3)),
+                            rows.getBoolean(4), taskDetail == null ? null : stringTable.intern(taskDetail));
+                    taskIds.skipTo(taskId + 1);
+                    if (task.isEmpty()) {
+                        ui.displayUnknownTask();
+                        continue;
+                    }
+                    userTasks.add(task.get());
+                    taskIds.add(taskId);
+                }
+            }
+        } catch (SQLException ex) {
+            throw new IOException(ex);
+        }
+        return userTasks;
+    }
+
+    /**
+     * Opens the connection to the database and prepares the statements used by every mutation, if this has not been
+     * done yet.
+     *
+     * @throws SQLException If the database cannot be opened.
+     */
+    private void openConnection() throws SQLException {
+        if (connection != null) {
+            return;
+        }
+        connection = DriverManager.getConnection(url);
+        try (Statement statement = connection.createStatement()) {
+            for (String schemaStatement : CREATE_SCHEMA) {
+                statement.execute(schemaStatement);
+            }
+        }
+        insertStatement = connection.prepareStatement(INSERT_TASK);
+        completeStatement = connection.prepareStatement(COMPLETE_TASK);
+        deleteStatement = connection.prepareStatement(DELETE_TASK);
+    }
+
+    /**
+     * Re-creates a {@link DukeTask} from the columns of a row.
+     *
+     * @param taskType "T", "D" or "E".
+     * @param taskName Name of the task.
+     * @param isComplete true if the task has been marked as complete.
+     * @param taskDetail Deadline or location of the task, null for a todo.
+     * @return Optional&lt;duke.task.DukeTask&gt; which is empty if the task type is unknown.
+     */
+    private static Optional<DukeTask> readTask(String taskType, String taskName, boolean isComplete,
+            String taskDetail) {
+        switch (taskType) {
+        case "T":
+            return Optional.of(new DukeTaskToDo(taskName, isComplete));
+
+        case "D":
+            return Optional.of(new DukeTaskDeadline(taskName, isComplete, taskDetail));
+
+        case "E":
+            return Optional.of(new DukeTaskEvent(taskName, isComplete, taskDetail));
+
+        default:
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Sets the parameters of {@link #insertStatement} to the columns of a task.
+     *
+     * @param taskId Id of the task.
+     * @param task {@link DukeTask} to insert.
+     * @throws SQLException If a parameter cannot be set.
+     */
+    private void bindTask(long taskId, DukeTask task) throws SQLException {
+        String taskDetail = null;
+        Timestamp deadlineAt = null;
+        if (task instanceof DukeTaskDeadline) {
+            DukeTaskDeadline deadline = (DukeTaskDeadline) task;
+            taskDetail = deadline.getTaskDeadline();
+            deadlineAt = deadline.getDeadlineDateTime().map(Timestamp::valueOf).orElse(null);
+        } else if (task instanceof DukeTaskEvent) {
+            taskDetail = ((DukeTaskEvent) task).getTaskLocation();
+        }
+        insertStatement.setLong(1, taskId);
+        insertStatement.setString(2, task.getTaskType());
+        insertStatement.setString(3, task.getTaskName());
+        insertStatement.setBoolean(4, task.getTaskIsComplete());
+        insertStatement.setString(5, taskDetail);
+        insertStatement.setNull(6, Types.TIMESTAMP);
+        if (deadlineAt != null) {
+            insertStatement.setTimestamp(6, deadlineAt);
+        }
+    }
+
+    @Override
+    public boolean isJournaled() {
+        return true;
+    }
+
+    /**
+     * Replaces every row with the entire List in a single transaction. The tasks are given new ids in list order.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; to save.
+     * @throws IOException If the database cannot be written to.
+     */
+    @Override
+    public void save(List<DukeTask> userTasks) throws IOException {
+        try {
+            openConnection();
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate(DELETE_TASKS);
+                for (int index = 0; index < userTasks.size(); index++) {
+                    bindTask(index, userTasks.get(index));
+                    insertStatement.addBatch();
+                }
+                insertStatement.executeBatch();
+                connection.commit();
+            } catch (SQLException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+            taskIds.reset(userTasks.size());
+        } catch (SQLException ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    @Override
+    public void saveAddedTask(List<DukeTask> userTasks, DukeTask task) throws IOException {
+        try {
+            bindTask(taskIds.addNext(), task);
+            insertStatement.executeUpdate();
+        } catch (SQLException ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    /**
+     * Inserts a batch of tasks in a single transaction, so that the entire batch is committed at once.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; after the tasks have been added.
+     * @param addedTasks Tasks that were added, in order.
+     * @throws IOException If the database cannot be written to.
+     */
+    @Override
+    public void saveAddedTasks(List<DukeTask> userTasks, List<DukeTask> addedTasks) throws IOException {
+        try {
+            connection.setAutoCommit(false);
+            try {
+                for (DukeTask task : addedTasks) {
+                    bindTask(taskIds.addNext(), task);
+                    insertStatement.addBatch();
+                }
+                insertStatement.executeBatch();
+                connection.commit();
+            } catch (SQLException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    @Override
+    public void saveCompletedTask(List<DukeTask> userTasks, int taskIndex) throws IOException {
+        try {
+            completeStatement.setLong(1, taskIds.get(taskIndex));
+            completeStatement.executeUpdate();
+        } catch (SQLException ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    @Override
+    public void saveDeletedTask(List<DukeTask> userTasks, int taskIndex) throws IOException {
+        try {
+            deleteStatement.setLong(1, taskIds.remove(taskIndex));
+            deleteStatement.executeUpdate();
+        } catch (SQLException ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    /**
+     * Finds the tasks whose name contains the search terms with a LIKE query, which matches case-sensitively like
+     * String.contains.
+     *
+     * @param searchTerms Substring to search for in the name of every task.
+     * @return Zero-based indexes of the matching tasks in ascending order.
+     * @throws IOException If the database cannot be queried.
+     */
+    @Override
+    public Optional<List<Integer>> findTasks(String searchTerms) throws IOException {
+        String pattern = "%" + searchTerms.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return Optional.of(queryTaskIndexes(FIND_TASKS, pattern, null));
+    }
+
+    /**
+     * Finds the incomplete deadlines due in a range with a query on the indexed deadline column.
+     *
+     * @param from Start of the range, inclusive.
+     * @param to End of the range, exclusive.
+     * @return Zero-based indexes of the matching deadlines in ascending order.
+     * @throws IOException If the database cannot be queried.
+     */
+    @Override
+    public Optional<List<Integer>> findIncompleteDeadlines(LocalDateTime from, LocalDateTime to) throws IOException {
+        return Optional.of(queryTaskIndexes(FIND_DEADLINES, Timestamp.valueOf(from), Timestamp.valueOf(to)));
+    }
+
+    /**
+     * Runs a query returning ids, and maps them to their positions in the list.
+     *
+     * @param query Query selecting the id column, ordered by id.
+     * @param firstParameter First parameter of the query.
+     * @param secondParameter Second parameter of the query, or null if there is none.
+     * @return Zero-based indexes of the selected tasks in ascending order.
+     * @throws IOException If the database cannot be queried.
+     */
+    private List<Integer> queryTaskIndexes(String query, Object firstParameter, Object secondParameter)
+            throws IOException {
+        List<Integer> taskIndexes = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            statement.setObject(1, firstParameter);
+            if (secondParameter != null) {
+                statement.setObject(2, secondParameter);
+            }
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    int taskIndex = taskIds.indexOf(rows.getLong(1));
+                    if (taskIndex >= 0) {
+                        taskIndexes.add(taskIndex);
+                    }
+                }
+            }
+        } catch (SQLException ex) {
+            throw new IOException(ex);
+        }
+        return taskIndexes;
+    }
+
+    @Override
+    public void flush() {
+        //Every statement is committed by the database before it returns.
+    }
+}
@@ -0,0 +1,135 @@
+package duke.util.storage;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Interning table used while loading, so that task names, deadlines and locations that repeat across many tasks,
+ * e.g. "COM1", share a single String instead of one copy per task. Strings can be interned straight from the bytes
+ * they are decoded from, in which case a repeated String is not even decoded again. Only Strings of up to
+ * {@link #DUKE_INTERNED_MAXIMUM_LENGTH} bytes or chars are kept in the table. A table is meant to live for a single
+ * load, after which only the tasks keep the Strings alive.
+ */
+public class DukeStorageStringTable {
+
+    public static final int DUKE_INTERNED_MAXIMUM_LENGTH = 256;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private Map<String, String> decodedStrings;
+    private byte[][] keys;
+    private int[] hashes;
+    private String[] values;
+    private int size;
+
+    /**
+     * This constructor creates an empty table.
+     */
+    public DukeStorageStringTable() {
+        this.decodedStrings = new HashMap<>();
+        this.keys = new byte[INITIAL_CAPACITY][];
+        this.hashes = new int[INITIAL_CAPACITY];
+        this.values = new String[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Gets the String held by the table that is equal to an already decoded String, adding it if there is none.
+     *
+     * @param value Decoded String.
+     * @return Equal String held by the table, or value itself.
+     */
+    public String intern(String value) {
+        if (value.length() > DUKE_INTERNED_MAXIMUM_LENGTH) {
+            return value;
+        }
+        String internedValue = decodedStrings.putIfAbsent(value, value);
+        return internedValue == null ? value : internedValue;
+    }
+
+    /**
+     * Gets the String held by the table that was decoded from the same bytes, decoding and adding it if there is none.
+     *
+     * @param bytes Buffer holding the encoded String.
+     * @param offset Index of the first byte of the String.
+     * @param length Number of bytes of the String.
+     * @param charset Charset the String is encoded in.
+     * @return Decoded String, shared with every other caller that passed the same bytes.
+     */
+    public String intern(byte[] bytes, int offset, int length, Charset charset) {
+        if (length > DUKE_INTERNED_MAXIMUM_LENGTH) {
+            return new String(bytes, offset, length, charset);
+        }
+        int hash = hash(bytes, offset, length);
+        int mask = values.length - 1;
+        int slot = hash & mask;
+        while (values[slot] != null) {
+            if (hashes[slot] == hash
+                    && Arrays.equals(keys[slot], 0, keys[slot].length, bytes, offset, offset + length)) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        String value = new String(bytes, offset, length, charset);
+        keys[slot] = Arrays.copyOfRange(bytes, offset, offset + length);
+        hashes[slot] = hash;
+        values[slot] = value;
+        size++;
+        if (size * 2 > values.length) {
+            grow();
+        }
+        return value;
+    }
+
+    /**
+     * Gets the number of Strings held by the table.
+     *
+     * @return Number of distinct Strings interned so far.
+     */
+    public int size() {
+        return decodedStrings.size() + size;
+    }
+
+    /**
+     * Doubles the capacity of the byte table, so that it stays at most half full.
+     */
+    private void grow() {
+        byte[][] oldKeys = keys;
+        int[] oldHashes = hashes;
+        String[] oldValues = values;
+        keys = new byte[oldValues.length * 2][];
+        hashes = new int[oldValues.length * 2];
+        values = new String[oldValues.length * 2];
+        int mask = values.length - 1;
+        for (int index = 0; index < oldValues.length; index++) {
+            if (oldValues[index] == null) {
+                continue;
+            }
+            int slot = oldHashes[index] & mask;
+            while (values[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[index];
+            hashes[slot] = oldHashes[index];
+            values[slot] = oldValues[index];
+        }
+    }
+
+    /**
+     * Hashes a range of bytes, spreading the bits so that the low bits used as the slot are well mixed.
+     *
+     * @param bytes Buffer holding the bytes.
+     * @param offset Index of the first byte.
+     * @param length Number of bytes.
+     * @return Hash of the bytes.
+     */
+    private static int hash(byte[] bytes, int offset, int length) {
+        int hash = 1;
+        for (int index = offset; index < offset + length; index++) {
+            hash = 31 * hash + bytes[index];
+        }
+        return hash ^ (hash >>> 16);
+    }
+}
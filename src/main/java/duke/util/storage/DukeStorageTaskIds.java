@@ -0,0 +1,144 @@
+package duke.util.storage;
+
+import duke.util.index.DukeIndexPositions;
+
+import java.util.Arrays;
+
+/**
+ * Ids that a {@link DukeStorageBackend} gives to the tasks it stores, in the same order as the
+ * List&lt;duke.task.DukeTask&gt;. A new task always gets a higher id than every task before it, so the ids are sorted
+ * and the slot of an id can be found with a binary search. The ids are kept in the order they were added, and a
+ * {@link DukeIndexPositions} maps the position of a task to its slot and back, so that removing a task takes
+ * O(log n) instead of shifting every id after it. The slots of removed tasks are only dropped once there are more of
+ * them than tasks left.
+ */
+public class DukeStorageTaskIds {
+
+    private long[] taskIds;
+    private DukeIndexPositions positions;
+    private long nextTaskId;
+
+    /**
+     * This constructor is used if no task has been given an id yet.
+     */
+    public DukeStorageTaskIds() {
+        this.taskIds = new long[16];
+        this.positions = new DukeIndexPositions(0);
+    }
+
+    /**
+     * Gives a new id to a task appended to the end of the list.
+     *
+     * @return New id.
+     */
+    public long addNext() {
+        long taskId = nextTaskId;
+        add(taskId);
+        return taskId;
+    }
+
+    /**
+     * Appends the id of a task that was loaded. Loaded ids must be appended in ascending order, and the next new id
+     * will be higher than every id appended so far.
+     *
+     * @param taskId Id of the task.
+     */
+    public void add(long taskId) {
+        int slot = positions.append();
+        if (slot == taskIds.length) {
+            taskIds = Arrays.copyOf(taskIds, slot * 2);
+        }
+        taskIds[slot] = taskId;
+        skipTo(taskId + 1);
+    }
+
+    /**
+     * Makes sure that no new id is lower than the specified id, e.g. because a deleted task once had a lower id.
+     *
+     * @param taskId Lowest id that can still be given out.
+     */
+    public void skipTo(long taskId) {
+        nextTaskId = Math.max(nextTaskId, taskId);
+    }
+
+    /**
+     * Gets the id of the task at a position.
+     *
+     * @param taskIndex Zero-based index of the task.
+     * @return Id of the task.
+     */
+    public long get(int taskIndex) {
+        assert taskIndex < positions.size();
+        return taskIds[positions.getSequence(taskIndex)];
+    }
+
+    /**
+     * Removes the id of a task that was deleted.
+     *
+     * @param taskIndex Zero-based index the deleted task was at.
+     * @return Id of the deleted task.
+     */
+    public long remove(int taskIndex) {
+        long taskId = taskIds[positions.remove(taskIndex)];
+        if (positions.getRemovedCount() > Math.max(positions.size(), 1024)) {
+            compact();
+        }
+        return taskId;
+    }
+
+    /**
+     * Gets the position of the task with an id.
+     *
+     * @param taskId Id of the task.
+     * @return Zero-based index of the task, or a negative number if no task has the id.
+     */
+    public int indexOf(long taskId) {
+        int slot = Arrays.binarySearch(taskIds, 0, getSlotCount(), taskId);
+        return slot < 0 ? slot : positions.getPosition(slot);
+    }
+
+    /**
+     * Gives the ids 0 to taskCount - 1 to a list that was saved in its entirety.
+     *
+     * @param taskCount Number of tasks in the list.
+     */
+    public void reset(int taskCount) {
+        this.taskIds = new long[Math.max(16, taskCount)];
+        this.positions = new DukeIndexPositions(taskCount);
+        for (int taskId = 0; taskId < taskCount; taskId++) {
+            taskIds[taskId] = taskId;
+        }
+        this.nextTaskId = taskCount;
+    }
+
+    /**
+     * Clears every id before the tasks are loaded again.
+     */
+    public void clear() {
+        reset(0);
+    }
+
+    /**
+     * Gets the number of slots in use, including the slots of removed tasks.
+     *
+     * @return Number of ids added since the slots were last compacted.
+     */
+    private int getSlotCount() {
+        return positions.size() + positions.getRemovedCount();
+    }
+
+    /**
+     * Drops the slots of removed tasks in O(n), so that the ids of the tasks left are in consecutive slots again.
+     */
+    private void compact() {
+        long[] liveTaskIds = new long[Math.max(16, positions.size())];
+        int liveCount = 0;
+        for (int slot = 0; slot < getSlotCount(); slot++) {
+            if (positions.isLive(slot)) {
+                liveTaskIds[liveCount++] = taskIds[slot];
+            }
+        }
+        taskIds = liveTaskIds;
+        positions = new DukeIndexPositions(liveCount);
+    }
+}
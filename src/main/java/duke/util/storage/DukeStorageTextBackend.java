@@ -0,0 +1,236 @@
+package duke.util.storage;
+
+import duke.task.DukeTask;
+import duke.util.DukeStorage;
+import duke.util.ui.DukeUiMessages;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@link DukeStorageFileBackend} that writes the data file in the line-based text format, one task per line followed
+ * by its {@link DukeStorageChecksum}. This is the only backend that can load lazily. When it is not journaled, a task
+ * that is marked as complete is overwritten in place, since its completion field and checksum have a fixed width.
+ */
+public class DukeStorageTextBackend extends DukeStorageFileBackend {
+
+    public static final int DUKE_OFFSET_SCAN_BLOCK_SIZE = 64 * 1024;
+
+    private static final int COMPLETION_FIELD_INDEX = "T | ".length();
+
+    private FileChannel dataChannel;
+    private long[] recordOffsets;
+    private long[] writtenRecordOffsets;
+
+    /**
+     * This constructor takes in the path of the text data file and how it is written.
+     *
+     * @param filePath Relative/Full path to the data file.
+     * @param isJournaled true if mutations should be appended to a journal next to the data file.
+     * @param durability How hard each write tries to reach the disk before returning.
+     */
+    public DukeStorageTextBackend(String filePath, boolean isJournaled, DukeStorageDurability durability) {
+        super(filePath, isJournaled, durability);
+    }
+
+    /**
+     * Loads the data file like {@link #load(DukeUiMessages)}, but only scans it for the position of every task
+     * instead of re-creating them, so that start-up time and memory use barely grow with the number of tasks. The
+     * returned {@link DukeStorageLazyTaskList} decodes each {@link DukeTask} from the data file on first access. This
+     * only applies to journaled data files in the text format, since they are never rewritten on the UI thread, and
+     * any other data file is loaded through {@link #load(DukeUiMessages)} instead.
+     *
+     * @param ui Instance of {@link DukeUiMessages} which will show output to the user.
+     * @return List&lt;duke.task.DukeTask&gt; backed by the data file.
+     * @throws IOException File parsing error.
+     */
+    @Override
+    public List<DukeTask> loadLazily(DukeUiMessages ui) throws IOException {
+        if (!isJournaled()) {
+            return load(ui);
+        }
+        prepareDataFile();
+        if (DukeStorageBinaryFormat.hasBinaryHeader(getFile())
+                || DukeStorageCompressedFormat.hasCompressedHeader(getFile())) {
+            return load(ui);
+        }
+
+        DukeStorageQuarantine quarantine = new DukeStorageQuarantine();
+        List<DukeTask> retrievedTasks = DukeStorageLazyTaskList.index(getFile(), ui, quarantine);
+        return finishLoad(retrievedTasks, ui, quarantine);
+    }
+
+    /**
+     * Writes each task on a new line, followed by its {@link DukeStorageChecksum}. The offset of every line is
+     * remembered, so that {@link #save(List)} can keep them as the record offset table of the data file.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; to write.
+     * @param outputStream Stream to write to, usually a temporary data file.
+     * @throws IOException If the stream cannot be written to.
+     */
+    @Override
+    protected void writeTasks(List<DukeTask> userTasks, OutputStream outputStream) throws IOException {
+        BufferedOutputStream taskFileOutputBuffer = new BufferedOutputStream(outputStream);
+        byte[] lineSeparator = System.lineSeparator().getBytes();
+        long[] lineOffsets = new long[userTasks.size()];
+        long offset = 0;
+        for (int index = 0; index < userTasks.size(); index++) {
+            String record = DukeStorage.processWriteTask(userTasks.get(index));
+            byte[] line = DukeStorageChecksum.appendChecksum(record).getBytes();
+            taskFileOutputBuffer.write(line);
+            taskFileOutputBuffer.write(lineSeparator);
+            lineOffsets[index] = offset;
+            offset += line.length + lineSeparator.length;
+        }
+        taskFileOutputBuffer.flush();
+        writtenRecordOffsets = lineOffsets;
+    }
+
+    /**
+     * Saves the entire List like {@link DukeStorageFileBackend#save(List)}. Since the data file is replaced, the
+     * channel used for overwriting tasks in place is closed, and the offsets of the lines that were just written
+     * become the new record offset table.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; to be written to the data file.
+     * @throws IOException File parsing error.
+     */
+    @Override
+    public void save(List<DukeTask> userTasks) throws IOException {
+        recordOffsets = null;
+        if (dataChannel != null) {
+            dataChannel.close();
+            dataChannel = null;
+        }
+        super.save(userTasks);
+        if (!isJournaled()) {
+            recordOffsets = writtenRecordOffsets;
+        }
+    }
+
+    /**
+     * Overwrites the line of a task that was just marked as complete with a single positional write, instead of
+     * rewriting the entire data file. Marking a task as complete only turns its completion field from "0" into "1",
+     * so the line keeps its length, and only the completion field and the checksum at the end of the line change. The
+     * line is found through the record offset table, which is built by scanning the data file the first time it is
+     * needed after loading. The line on the disk is read back first and must match the task before it was completed,
+     * otherwise nothing is written and the entire List has to be saved instead. Nothing is written either if the data
+     * file is watched and has been changed outside of Duke since it was last seen.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; after the task has been marked as complete.
+     * @param taskIndex Zero-based index of the completed task.
+     * @return true if the line was overwritten, false if the entire List has to be saved instead.
+     * @throws IOException If the data file cannot be read or written.
+     */
+    @Override
+    public boolean saveCompletedTaskInPlace(List<DukeTask> userTasks, int taskIndex) throws IOException {
+        if (isJournaled()) {
+            return false;
+        }
+        if (recordOffsets == null) {
+            recordOffsets = indexRecordOffsets();
+        }
+        String completedRecord = DukeStorage.processWriteTask(userTasks.get(taskIndex));
+        if (recordOffsets == null || recordOffsets.length != userTasks.size()
+                || completedRecord.charAt(COMPLETION_FIELD_INDEX) != '1') {
+            return false;
+        }
+        String savedRecord = completedRecord.substring(0, COMPLETION_FIELD_INDEX) + "0"
+                + completedRecord.substring(COMPLETION_FIELD_INDEX + 1);
+        byte[] completedLine = DukeStorageChecksum.appendChecksum(completedRecord).getBytes();
+        byte[] savedLine = DukeStorageChecksum.appendChecksum(savedRecord).getBytes();
+
+        if (dataChannel == null) {
+            dataChannel = FileChannel.open(getFile().toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+        long offset = recordOffsets[taskIndex];
+        return writeWatched(() -> {
+            ByteBuffer lineBuffer = ByteBuffer.allocate(savedLine.length);
+            while (lineBuffer.hasRemaining()) {
+                if (dataChannel.read(lineBuffer, offset + lineBuffer.position()) < 0) {
+                    break;
+                }
+            }
+            if (lineBuffer.hasRemaining() || !Arrays.equals(lineBuffer.array(), savedLine)) {
+                recordOffsets = null;
+                return false;
+            }
+
+            lineBuffer = ByteBuffer.wrap(completedLine);
+            while (lineBuffer.hasRemaining()) {
+                dataChannel.write(lineBuffer, offset + lineBuffer.position());
+            }
+            getCommitter().commit(dataChannel, getFile());
+            return true;
+        }, true);
+    }
+
+    /**
+     * Builds the record offset table by scanning the data file for the start of every line that was loaded as a
+     * task, i.e. every line starting with a known task type followed by " | ".
+     *
+     * @return Offset of the line of every task, or null if the data file is in the {@link DukeStorageBinaryFormat} or
+     *     the {@link DukeStorageCompressedFormat}.
+     * @throws IOException If the data file cannot be read.
+     */
+    private long[] indexRecordOffsets() throws IOException {
+        if (DukeStorageBinaryFormat.hasBinaryHeader(getFile())
+                || DukeStorageCompressedFormat.hasCompressedHeader(getFile())) {
+            return null;
+        }
+        long[] lineOffsets = new long[1024];
+        int lineCount = 0;
+        byte[] linePrefix = new byte[COMPLETION_FIELD_INDEX];
+        int prefixLength = 0;
+        long lineOffset = 0;
+        long position = 0;
+        try (FileChannel channel = FileChannel.open(getFile().toPath(), StandardOpenOption.READ)) {
+            ByteBuffer block = ByteBuffer.allocate(DUKE_OFFSET_SCAN_BLOCK_SIZE);
+            while (channel.read(block) > 0) {
+                block.flip();
+                while (block.hasRemaining()) {
+                    byte currentByte = block.get();
+                    position++;
+                    if (currentByte != '\n') {
+                        if (prefixLength < linePrefix.length) {
+                            linePrefix[prefixLength++] = currentByte;
+                        }
+                        continue;
+                    }
+                    if (isRecordPrefix(linePrefix, prefixLength)) {
+                        if (lineCount == lineOffsets.length) {
+                            lineOffsets = Arrays.copyOf(lineOffsets, lineCount * 2);
+                        }
+                        lineOffsets[lineCount++] = lineOffset;
+                    }
+                    prefixLength = 0;
+                    lineOffset = position;
+                }
+                block.clear();
+            }
+        }
+        if (isRecordPrefix(linePrefix, prefixLength)) {
+            lineOffsets = Arrays.copyOf(lineOffsets, lineCount + 1);
+            lineOffsets[lineCount++] = lineOffset;
+        }
+        return Arrays.copyOf(lineOffsets, lineCount);
+    }
+
+    /**
+     * Checks if a line starts like a task that {@link DukeStorage#processReadTask(String)} would load.
+     *
+     * @param linePrefix First bytes of the line.
+     * @param prefixLength Number of bytes in linePrefix.
+     * @return true if the line starts with "T | ", "D | " or "E | ".
+     */
+    private static boolean isRecordPrefix(byte[] linePrefix, int prefixLength) {
+        return prefixLength == COMPLETION_FIELD_INDEX
+                && (linePrefix[0] == 'T' || linePrefix[0] == 'D' || linePrefix[0] == 'E')
+                && linePrefix[1] == ' ' && linePrefix[2] == '|' && linePrefix[3] == ' ';
+    }
+}
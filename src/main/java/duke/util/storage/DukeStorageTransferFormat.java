@@ -0,0 +1,380 @@
+package duke.util.storage;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * File formats that tasks can be imported from and exported to by a {@link DukeStorageImporter} and a
+ * {@link DukeStorageExporter}. Both formats hold one task per line, so that a file of any size can be streamed, with
+ * four fields: the type of the task ("T", "D" or "E"), whether it is complete, its name, and its deadline or location.
+ */
+public enum DukeStorageTransferFormat {
+
+    /**
+     * Comma-separated values after a {@link #DUKE_CSV_HEADER} line, e.g. D,0,Submit report,"2nd of December 2019,
+     * 6:00PM". A field holding a comma or a double quote is quoted, with every double quote in it doubled.
+     */
+    CSV,
+
+    /**
+     * One JSON object per line, e.g. {"type":"T","done":false,"name":"Read book","detail":""}.
+     */
+    JSON_LINES;
+
+    public static final String DUKE_CSV_FILE_EXTENSION = ".csv";
+    public static final String DUKE_JSON_LINES_FILE_EXTENSION = ".jsonl";
+    public static final String DUKE_CSV_HEADER = "type,done,name,detail";
+
+    private static final String[] FIELD_NAMES = {"type", "done", "name", "detail"};
+
+    /**
+     * Chooses the format of a file by the extension of its name, {@link #DUKE_CSV_FILE_EXTENSION} or
+     * {@link #DUKE_JSON_LINES_FILE_EXTENSION}.
+     *
+     * @param filePath Relative/Full path to the file.
+     * @return Format of the file, or Optional.empty() if the extension is not known.
+     */
+    public static Optional<DukeStorageTransferFormat> fromPath(String filePath) {
+        String lowerCaseFilePath = filePath.toLowerCase();
+        if (lowerCaseFilePath.endsWith(DUKE_CSV_FILE_EXTENSION)) {
+            return Optional.of(CSV);
+        } else if (lowerCaseFilePath.endsWith(DUKE_JSON_LINES_FILE_EXTENSION)) {
+            return Optional.of(JSON_LINES);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Gets the line that a file in this format starts with.
+     *
+     * @return Header line, or Optional.empty() if the format has none.
+     */
+    public Optional<String> getHeader() {
+        return this == CSV ? Optional.of(DUKE_CSV_HEADER) : Optional.empty();
+    }
+
+    /**
+     * Formats the fields of a task as a line of this format.
+     *
+     * @param taskType Type of the task, e.g. 'T'.
+     * @param isComplete true if the task is complete.
+     * @param taskName Name of the task.
+     * @param taskDetail Deadline or location of the task, or null or an empty String if it has neither.
+     * @return Line without the trailing line separator.
+     */
+    public String formatRow(char taskType, boolean isComplete, String taskName, String taskDetail) {
+        if (taskDetail == null) {
+            taskDetail = "";
+        }
+        StringBuilder sb = new StringBuilder(taskName.length() + taskDetail.length() + 48);
+        if (this == CSV) {
+            sb.append(taskType).append(',').append(isComplete ? '1' : '0').append(',');
+            appendCsvField(sb, taskName);
+            sb.append(',');
+            appendCsvField(sb, taskDetail);
+        } else {
+            sb.append("{\"type\":\"").append(taskType).append("\",\"done\":").append(isComplete);
+            sb.append(",\"name\":");
+            appendJsonString(sb, taskName);
+            sb.append(",\"detail\":");
+            appendJsonString(sb, taskDetail);
+            sb.append('}');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Splits a line of this format into the fields of a task. Only the syntax of the line is checked here, while the
+     * values are checked by the {@link DukeStorageImporter}.
+     *
+     * @param line Line that was read, without the trailing line separator.
+     * @return Type, completion, name and detail of the task, where a missing field is an empty String.
+     * @throws IOException If the line is not valid in this format.
+     */
+    public String[] parseRow(String line) throws IOException {
+        return this == CSV ? parseCsvRow(line) : parseJsonRow(line);
+    }
+
+    /**
+     * Appends a CSV field, quoting it if it holds a comma, a double quote, or leading or trailing spaces.
+     *
+     * @param sb Builder of the line.
+     * @param field Value of the field.
+     */
+    private static void appendCsvField(StringBuilder sb, String field) {
+        boolean isQuoted = field.indexOf(',') >= 0 || field.indexOf('"') >= 0
+                || (!field.isEmpty() && (field.charAt(0) == ' ' || field.charAt(field.length() - 1) == ' '));
+        if (!isQuoted) {
+            sb.append(field);
+            return;
+        }
+        sb.append('"');
+        for (int index = 0; index < field.length(); index++) {
+            char character = field.charAt(index);
+            if (character == '"') {
+                sb.append('"');
+            }
+            sb.append(character);
+        }
+        sb.append('"');
+    }
+
+    /**
+     * Splits a CSV line into its fields.
+     *
+     * @param line Line that was read.
+     * @return Four fields, where missing fields are empty Strings.
+     * @throws IOException If a quoted field is not closed, or the line has more than four fields.
+     */
+    private static String[] parseCsvRow(String line) throws IOException {
+        List<String> fields = new ArrayList<>(FIELD_NAMES.length);
+        StringBuilder field = new StringBuilder();
+        int index = 0;
+        while (true) {
+            field.setLength(0);
+            if (index < line.length() && line.charAt(index) == '"') {
+                index++;
+                while (true) {
+                    if (index >= line.length()) {
+                        throw new IOException("Unclosed quote");
+                    }
+                    char character = line.charAt(index++);
+                    if (character != '"') {
+                        field.append(character);
+                    } else if (index < line.length() && line.charAt(index) == '"') {
+                        field.append('"');
+                        index++;
+                    } else {
+                        break;
+                    }
+                }
+                if (index < line.length() && line.charAt(index) != ',') {
+                    throw new IOException("Text after a quoted field");
+                }
+            } else {
+                int end = line.indexOf(',', index);
+                end = end < 0 ? line.length() : end;
+                field.append(line, index, end);
+                index = end;
+            }
+            fields.add(field.toString());
+            if (index >= line.length()) {
+                break;
+            }
+            index++;
+        }
+        if (fields.size() > FIELD_NAMES.length) {
+            throw new IOException("Too many fields");
+        }
+        while (fields.size() < FIELD_NAMES.length) {
+            fields.add("");
+        }
+        return fields.toArray(new String[0]);
+    }
+
+    /**
+     * Appends a JSON string, escaping double quotes, backslashes and control characters.
+     *
+     * @param sb Builder of the line.
+     * @param value Value of the string.
+     */
+    private static void appendJsonString(StringBuilder sb, String value) {
+        sb.append('"');
+        for (int index = 0; index < value.length(); index++) {
+            char character = value.charAt(index);
+            if (character == '"' || character == '\\') {
+                sb.append('\\').append(character);
+            } else if (character < 0x20) {
+                sb.append(String.format("\\u%04x", (int) character));
+            } else {
+                sb.append(character);
+            }
+        }
+        sb.append('"');
+    }
+
+    /**
+     * Reads a flat JSON object of string, boolean and number values into the fields of a task. Keys that are not
+     * fields of a task are ignored.
+     *
+     * @param line Line that was read.
+     * @return Four fields, where missing fields are empty Strings.
+     * @throws IOException If the line is not a flat JSON object.
+     */
+    private static String[] parseJsonRow(String line) throws IOException {
+        String[] fields = {"", "", "", ""};
+        JsonCursor cursor = new JsonCursor(line);
+        cursor.expect('{');
+        if (cursor.peek() == '}') {
+            cursor.expect('}');
+        } else {
+            do {
+                String key = cursor.readString();
+                cursor.expect(':');
+                String value = cursor.readValue();
+                for (int fieldIndex = 0; fieldIndex < FIELD_NAMES.length; fieldIndex++) {
+                    if (FIELD_NAMES[fieldIndex].equals(key)) {
+                        fields[fieldIndex] = value;
+                    }
+                }
+            } while (cursor.skip(','));
+            cursor.expect('}');
+        }
+        cursor.expectEnd();
+        return fields;
+    }
+
+    /**
+     * Position within a line of JSON that is being read.
+     */
+    private static class JsonCursor {
+
+        private String line;
+        private int index;
+
+        /**
+         * This constructor starts reading at the start of a line.
+         *
+         * @param line Line to read.
+         */
+        JsonCursor(String line) {
+            this.line = line;
+        }
+
+        /**
+         * Gets the next character that is not whitespace, without reading past it.
+         *
+         * @return Next character, or 0 at the end of the line.
+         */
+        char peek() {
+            while (index < line.length() && Character.isWhitespace(line.charAt(index))) {
+                index++;
+            }
+            return index < line.length() ? line.charAt(index) : 0;
+        }
+
+        /**
+         * Reads past a character if it is next.
+         *
+         * @param character Character to read past.
+         * @return true if the character was next.
+         */
+        boolean skip(char character) {
+            if (peek() != character) {
+                return false;
+            }
+            index++;
+            return true;
+        }
+
+        /**
+         * Reads past a character that must be next.
+         *
+         * @param character Character to read past.
+         * @throws IOException If another character is next.
+         */
+        void expect(char character) throws IOException {
+            if (!skip(character)) {
+                throw new IOException("Expected '" + character + "' at " + index);
+            }
+        }
+
+        /**
+         * Checks that nothing but whitespace is left.
+         *
+         * @throws IOException If anything else is left.
+         */
+        void expectEnd() throws IOException {
+            if (peek() != 0) {
+                throw new IOException("Unexpected text at " + index);
+            }
+        }
+
+        /**
+         * Reads a string, a boolean, a number or null, as the text it stands for.
+         *
+         * @return Value, where null is an empty String.
+         * @throws IOException If no such value is next.
+         */
+        String readValue() throws IOException {
+            if (peek() == '"') {
+                return readString();
+            }
+            int start = index;
+            while (index < line.length() && (Character.isLetterOrDigit(line.charAt(index))
+                    || line.charAt(index) == '-' || line.charAt(index) == '.')) {
+                index++;
+            }
+            String literal = line.substring(start, index);
+            if (literal.isEmpty()) {
+                throw new IOException("Expected a value at " + start);
+            }
+            return literal.equals("null") ? "" : literal;
+        }
+
+        /**
+         * Reads a string, resolving its escapes.
+         *
+         * @return Value of the string.
+         * @throws IOException If no string is next, or it is not closed.
+         */
+        String readString() throws IOException {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (index < line.length()) {
+                char character = line.charAt(index++);
+                if (character == '"') {
+                    return sb.toString();
+                }
+                if (character != '\\') {
+                    sb.append(character);
+                    continue;
+                }
+                if (index >= line.length()) {
+                    break;
+                }
+                char escaped = line.charAt(index++);
+                switch (escaped) {
+                case 'b':
+                    sb.append('\b');
+                    break;
+
+                case 'f':
+                    sb.append('\f');
+                    break;
+
+                case 'n':
+                    sb.append('\n');
+                    break;
+
+                case 'r':
+                    sb.append('\r');
+                    break;
+
+                case 't':
+                    sb.append('\t');
+                    break;
+
+                case 'u':
+                    if (index + 4 > line.length()) {
+                        throw new IOException("Incomplete escape at " + index);
+                    }
+                    try {
+                        sb.append((char) Integer.parseInt(line.substring(index, index + 4), 16));
+                    } catch (NumberFormatException ex) {
+                        throw new IOException("Invalid escape at " + index);
+                    }
+                    index += 4;
+                    break;
+
+                default:
+                    sb.append(escaped);
+                    break;
+                }
+            }
+            throw new IOException("Unclosed string");
+        }
+    }
+}
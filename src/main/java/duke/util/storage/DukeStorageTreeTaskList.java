@@ -0,0 +1,399 @@
+package duke.util.storage;
+
+import duke.task.DukeTask;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * List of {@link DukeTask} kept in an order-statistic tree instead of an array, so that a task is looked up, inserted
+ * or removed at any position in O(log n) without shifting the tasks after it. The tree is a treap: every node holds
+ * the size of its subtree, so that a position is found by walking down from the root, and a random priority that
+ * keeps the tree balanced as it is split and merged. Every task also gets an id when it is added, which stays the
+ * same as tasks before it are removed, so that other parts of Duke, e.g. the indexes in {@code duke.util.index}, can
+ * refer to a task by its id instead of a position that shifts. The ids are handed out in ascending order and never
+ * reused, and every node is kept in a table indexed by its id, from which its position is found by walking up to the
+ * root.
+ */
+public class DukeStorageTreeTaskList extends AbstractList<DukeTask> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Node root;
+    private Node[] nodesByTaskId;
+    private int nextTaskId;
+    private Random random;
+    private Node splitLeft;
+    private Node splitRight;
+
+    /**
+     * This constructor creates an empty list.
+     */
+    public DukeStorageTreeTaskList() {
+        this.nodesByTaskId = new Node[INITIAL_CAPACITY];
+        this.random = new Random();
+    }
+
+    /**
+     * Copies a List&lt;duke.task.DukeTask&gt; into a tree in O(n), giving the tasks the ids 0 to size - 1. The tree is
+     * built as the Cartesian tree of the random priorities, keeping only the rightmost path of the tree on a stack.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; to copy.
+     * @return Tree list holding the same tasks, which are kept as they are.
+     */
+    public static DukeStorageTreeTaskList fromTasks(List<DukeTask> userTasks) {
+        DukeStorageTreeTaskList treeTasks = new DukeStorageTreeTaskList();
+        treeTasks.nodesByTaskId = new Node[Math.max(INITIAL_CAPACITY, userTasks.size())];
+        Node[] rightPath = new Node[INITIAL_CAPACITY];
+        int pathLength = 0;
+        for (DukeTask task : userTasks) {
+            Node node = treeTasks.createNode(task);
+            Node poppedNode = null;
+            while (pathLength > 0 && rightPath[pathLength - 1].priority < node.priority) {
+                poppedNode = rightPath[--pathLength];
+                update(poppedNode);
+            }
+            node.left = poppedNode;
+            setParent(poppedNode, node);
+            if (pathLength > 0) {
+                rightPath[pathLength - 1].right = node;
+                node.parent = rightPath[pathLength - 1];
+            }
+            if (pathLength == rightPath.length) {
+                rightPath = Arrays.copyOf(rightPath, pathLength * 2);
+            }
+            rightPath[pathLength++] = node;
+        }
+        while (pathLength > 0) {
+            update(rightPath[--pathLength]);
+        }
+        treeTasks.root = rightPath[0];
+        return treeTasks;
+    }
+
+    /**
+     * Gets the id of the task at a position.
+     *
+     * @param index Zero-based index of the task.
+     * @return Id of the task.
+     */
+    public int getTaskId(int index) {
+        return getNode(index).taskId;
+    }
+
+    /**
+     * Gets the current position of the task with an id in O(log n).
+     *
+     * @param taskId Id of the task.
+     * @return Zero-based index of the task, or -1 if no task in the list has the id.
+     */
+    public int indexOfTaskId(int taskId) {
+        if (taskId < 0 || taskId >= nextTaskId || nodesByTaskId[taskId] == null) {
+            return -1;
+        }
+        Node node = nodesByTaskId[taskId];
+        int index = getSize(node.left);
+        while (node.parent != null) {
+            if (node == node.parent.right) {
+                index += getSize(node.parent.left) + 1;
+            }
+            node = node.parent;
+        }
+        return index;
+    }
+
+    @Override
+    public DukeTask get(int index) {
+        return getNode(index).task;
+    }
+
+    @Override
+    public DukeTask set(int index, DukeTask task) {
+        Node node = getNode(index);
+        DukeTask replacedTask = node.task;
+        node.task = task;
+        return replacedTask;
+    }
+
+    @Override
+    public void add(int index, DukeTask task) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        split(root, index);
+        Node leftTree = splitLeft;
+        Node rightTree = splitRight;
+        root = merge(merge(leftTree, createNode(task)), rightTree);
+        root.parent = null;
+        modCount++;
+    }
+
+    @Override
+    public DukeTask remove(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        split(root, index);
+        Node leftTree = splitLeft;
+        split(splitRight, 1);
+        Node removedNode = splitLeft;
+        root = merge(leftTree, splitRight);
+        setParent(root, null);
+        nodesByTaskId[removedNode.taskId] = null;
+        modCount++;
+        return removedNode.task;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(nodesByTaskId, 0, nextTaskId, null);
+        root = null;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return getSize(root);
+    }
+
+    /**
+     * Iterates through the tasks in order in O(n), following the parent links of the tree from every task to the next.
+     *
+     * @return Iterator over the tasks.
+     */
+    @Override
+    public Iterator<DukeTask> iterator() {
+        return new TreeIterator();
+    }
+
+    /**
+     * Creates the node of a task that is being added, and gives the task the next id.
+     *
+     * @param task Added task.
+     * @return Node holding the task.
+     */
+    private Node createNode(DukeTask task) {
+        if (nextTaskId == nodesByTaskId.length) {
+            nodesByTaskId = Arrays.copyOf(nodesByTaskId, nextTaskId * 2);
+        }
+        Node node = new Node(task, nextTaskId, random.nextInt());
+        nodesByTaskId[nextTaskId++] = node;
+        return node;
+    }
+
+    /**
+     * Finds the node at a position by walking down from the root.
+     *
+     * @param index Zero-based index of the task.
+     * @return Node of the task.
+     */
+    private Node getNode(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        Node node = root;
+        while (true) {
+            int leftSize = getSize(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Splits a tree into its first tasks and the rest, which are left in {@link #splitLeft} and {@link #splitRight}.
+     * The parent links of the two trees that are left are not cleared.
+     *
+     * @param node Root of the tree to split.
+     * @param count Number of tasks that go into the left tree.
+     */
+    private void split(Node node, int count) {
+        if (node == null) {
+            splitLeft = null;
+            splitRight = null;
+            return;
+        }
+        int leftSize = getSize(node.left);
+        if (count <= leftSize) {
+            split(node.left, count);
+            node.left = splitRight;
+            setParent(splitRight, node);
+            update(node);
+            splitRight = node;
+        } else {
+            split(node.right, count - leftSize - 1);
+            node.right = splitLeft;
+            setParent(splitLeft, node);
+            update(node);
+            splitLeft = node;
+        }
+    }
+
+    /**
+     * Merges two trees, where every task of the left tree comes before every task of the right tree. The node with
+     * the higher priority becomes the root.
+     *
+     * @param leftTree Root of the left tree.
+     * @param rightTree Root of the right tree.
+     * @return Root of the merged tree, whose parent link is not cleared.
+     */
+    private static Node merge(Node leftTree, Node rightTree) {
+        if (leftTree == null) {
+            return rightTree;
+        } else if (rightTree == null) {
+            return leftTree;
+        }
+        if (leftTree.priority > rightTree.priority) {
+            leftTree.right = merge(leftTree.right, rightTree);
+            leftTree.right.parent = leftTree;
+            update(leftTree);
+            return leftTree;
+        }
+        rightTree.left = merge(leftTree, rightTree.left);
+        rightTree.left.parent = rightTree;
+        update(rightTree);
+        return rightTree;
+    }
+
+    /**
+     * Gets the number of tasks in a tree.
+     *
+     * @param node Root of the tree, or null.
+     * @return Number of tasks.
+     */
+    private static int getSize(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Recomputes the size of a node from its children.
+     *
+     * @param node Node to update.
+     */
+    private static void update(Node node) {
+        node.size = 1 + getSize(node.left) + getSize(node.right);
+    }
+
+    /**
+     * Sets the parent link of a node, if there is one.
+     *
+     * @param node Node to update, or null.
+     * @param parent New parent.
+     */
+    private static void setParent(Node node, Node parent) {
+        if (node != null) {
+            node.parent = parent;
+        }
+    }
+
+    /**
+     * Node of the tree, holding a task.
+     */
+    private static class Node {
+
+        private DukeTask task;
+        private int taskId;
+        private int priority;
+        private int size;
+        private Node left;
+        private Node right;
+        private Node parent;
+
+        /**
+         * This constructor creates a node without children.
+         *
+         * @param task Task to hold.
+         * @param taskId Id of the task.
+         * @param priority Random priority of the node.
+         */
+        Node(DukeTask task, int taskId, int priority) {
+            this.task = task;
+            this.taskId = taskId;
+            this.priority = priority;
+            this.size = 1;
+        }
+    }
+
+    /**
+     * Iterator that walks through the tree in order. A task removed through it is removed in O(log n), and the next
+     * task is already known by then.
+     */
+    private class TreeIterator implements Iterator<DukeTask> {
+
+        private Node nextNode;
+        private Node lastNode;
+        private int expectedModCount;
+
+        /**
+         * This constructor starts at the leftmost node of the tree.
+         */
+        TreeIterator() {
+            nextNode = root;
+            while (nextNode != null && nextNode.left != null) {
+                nextNode = nextNode.left;
+            }
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextNode != null;
+        }
+
+        @Override
+        public DukeTask next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (nextNode == null) {
+                throw new NoSuchElementException();
+            }
+            lastNode = nextNode;
+            nextNode = getSuccessor(nextNode);
+            return lastNode.task;
+        }
+
+        @Override
+        public void remove() {
+            if (lastNode == null) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            DukeStorageTreeTaskList.this.remove(indexOfTaskId(lastNode.taskId));
+            lastNode = null;
+            expectedModCount = modCount;
+        }
+
+        /**
+         * Gets the node that comes after a node in order.
+         *
+         * @param node Node to start from.
+         * @return Next node, or null if it was the last node.
+         */
+        private Node getSuccessor(Node node) {
+            if (node.right != null) {
+                node = node.right;
+                while (node.left != null) {
+                    node = node.left;
+                }
+                return node;
+            }
+            while (node.parent != null && node == node.parent.right) {
+                node = node.parent;
+            }
+            return node.parent;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package duke.util.storage;
+
+/**
+ * Selects the {@link DukeStorageBackend} used by {@link duke.util.DukeStorage}. Every file backend reads a data file
+ * in any of their formats, so switching between them converts the data file the next time it is saved.
+ */
+public enum DukeStorageType {
+
+    /**
+     * Data file in the line-based text format, handled by {@link DukeStorageTextBackend}.
+     */
+    TEXT,
+
+    /**
+     * Data file in the {@link DukeStorageBinaryFormat}, handled by {@link DukeStorageBinaryBackend}.
+     */
+    BINARY,
+
+    /**
+     * Nothing is written to the disk, and the tasks only live as long as the application. This is handled by
+     * {@link DukeStorageMemoryBackend}, and is meant for benchmarks and load tests of the commands.
+     */
+    MEMORY,
+
+    /**
+     * Write-ahead log, memtable and immutable sorted runs in a directory next to the data file path, handled by
+     * {@link DukeStorageLsmBackend}. This does not read an existing data file, and is meant for bursts of mutations.
+     */
+    LSM,
+
+    /**
+     * One row per task in an embedded H2 database next to the data file path, handled by
+     * {@link DukeStorageSqlBackend}. Searches and reminders are answered by indexed queries.
+     */
+    SQL,
+
+    /**
+     * Data file in the {@link DukeStorageColumnarFormat}, handled by {@link DukeStorageColumnarBackend}. The tasks are
+     * loaded into a {@link DukeStorageColumnarTaskList}, so that reminders and searches only go through the columns
+     * they need.
+     */
+    COLUMNAR,
+
+    /**
+     * Data file in the {@link DukeStorageCompressedFormat}, handled by {@link DukeStorageCompressedBackend}. The data
+     * file is compressed and decompressed as it is streamed, and the sizes and timings of every snapshot are recorded
+     * in a {@link DukeStorageSnapshotStats}.
+     */
+    COMPRESSED
+}
@@ -0,0 +1,419 @@
+package duke.util.storage;
+
+import duke.task.DukeTask;
+import duke.util.DukeStorage;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Watches a text data file for changes made by other programs through a {@link WatchService}, so that the tasks do
+ * not have to be loaded again. The watcher keeps the length of the data file and a {@link DukeStorageChange#hashRecord}
+ * of every line as it was last seen. If the data file has only grown, and the bytes just before where it used to end
+ * are unchanged, only the new bytes are read. Otherwise every line is hashed again, and the changed lines are found
+ * by skipping the lines that are unchanged at the start and at the end. Either way, only the changed lines are parsed
+ * into tasks, and handed over as a {@link DukeStorageChange} to a listener, on the thread of an {@link Executor}.
+ * Writes made by Duke itself are made through {@link #write}, which hands over any change that is still pending
+ * before the write can replace it, and then skips the write itself. Any write that slips through is recognized by
+ * {@link DukeStorageChange#locate}.
+ */
+public class DukeStorageWatcher implements Closeable {
+
+    public static final long DUKE_WATCH_SETTLE_MILLIS = 100;
+
+    private static final int TAIL_CHECK_SIZE = 4096;
+
+    private File file;
+    private String taskFilePath;
+    private Executor executor;
+    private Consumer<DukeStorageChange> listener;
+    private WatchService watchService;
+    private Thread watcherThread;
+    private long knownLength;
+    private long knownTailChecksum;
+    private long[] lineHashes;
+    private int lineCount;
+    private boolean isChecksumRequired;
+
+    /**
+     * Write made by Duke to the data file while no change made outside of Duke can be read in between.
+     */
+    public interface DukeStorageWatchedWrite {
+        /**
+         * Writes to the data file.
+         *
+         * @return true if the data file was written, or false if the write could not be made.
+         * @throws IOException If the data file cannot be written.
+         */
+        boolean write() throws IOException;
+    }
+
+    /**
+     * This constructor takes in the data file to watch and where its changes should go. Watching only starts with
+     * {@link #start()}.
+     *
+     * @param filePath Relative/Full path to the text data file.
+     * @param executor Executor the listener is run on, e.g. the UI thread.
+     * @param listener Listener that applies every {@link DukeStorageChange} to the list of tasks.
+     */
+    public DukeStorageWatcher(String filePath, Executor executor, Consumer<DukeStorageChange> listener) {
+        this.file = new File(filePath);
+        this.taskFilePath = filePath;
+        this.executor = executor;
+        this.listener = listener;
+        this.lineHashes = new long[0];
+    }
+
+    /**
+     * Hashes every line of the data file as it is now, and starts watching it on a background thread.
+     *
+     * @throws IOException If the data file cannot be read, or its directory cannot be watched.
+     */
+    public synchronized void start() throws IOException {
+        readChange();
+        Path directory = file.getAbsoluteFile().getParentFile().toPath();
+        watchService = FileSystems.getDefault().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        watcherThread = new Thread(this::watch, "duke-storage-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+    }
+
+    /**
+     * Stops watching the data file.
+     *
+     * @throws IOException If the {@link WatchService} cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    /**
+     * Body of the background thread. Waits for an event on the data file, lets a burst of writes settle for
+     * {@link #DUKE_WATCH_SETTLE_MILLIS}, and then hands over whatever changed.
+     */
+    private void watch() {
+        String fileName = file.getName();
+        try {
+            while (true) {
+                WatchKey watchKey = watchService.take();
+                boolean isChanged = false;
+                for (WatchEvent<?> event : watchKey.pollEvents()) {
+                    isChanged |= event.kind() == StandardWatchEventKinds.OVERFLOW
+                            || fileName.equals(String.valueOf(event.context()));
+                }
+                watchKey.reset();
+                if (!isChanged) {
+                    continue;
+                }
+
+                Thread.sleep(DUKE_WATCH_SETTLE_MILLIS);
+                WatchKey settledKey;
+                while ((settledKey = watchService.poll()) != null) {
+                    settledKey.pollEvents();
+                    settledKey.reset();
+                }
+                try {
+                    Optional<DukeStorageChange> change = readChange();
+                    if (change.isPresent()) {
+                        executor.execute(() -> listener.accept(change.get()));
+                    }
+                } catch (IOException ex) {
+                    //The data file is being replaced, and the event of its replacement will be read again
+                    continue;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ex) {
+            return;
+        }
+    }
+
+    /**
+     * Makes a write to the data file without replacing a change made outside of Duke that has yet to be handed over.
+     * Such a change, e.g. one made within {@link #DUKE_WATCH_SETTLE_MILLIS} before the write, is read and handed over
+     * to the listener first, which merges it into the list of tasks and saves it again, or moves its lines to the
+     * quarantine side file if it conflicts. A write that replaces the entire data file is then made, while a write
+     * that only changes part of it is not, since the change may have moved or replaced that part. The data file is
+     * remembered as written afterwards. Only a change made in the time the write itself takes can still be missed.
+     *
+     * @param write Write to make.
+     * @param isPartial true if the write only changes part of the data file in place.
+     * @return true if the data file was written, or false if the write was not made.
+     * @throws IOException If the data file cannot be written.
+     */
+    public synchronized boolean write(DukeStorageWatchedWrite write, boolean isPartial) throws IOException {
+        boolean isChangePending;
+        try {
+            Optional<DukeStorageChange> change = readChange();
+            isChangePending = change.isPresent();
+            if (isChangePending) {
+                executor.execute(() -> listener.accept(change.get()));
+            }
+        } catch (IOException ex) {
+            //The data file is being replaced outside of Duke, so it is not known what a partial write would change
+            isChangePending = true;
+        }
+        if (isPartial && isChangePending) {
+            return false;
+        }
+        boolean isWritten = write.write();
+        if (isWritten) {
+            skipChange();
+        }
+        return isWritten;
+    }
+
+    /**
+     * Remembers the data file as it is now without handing over what changed, after Duke itself has written it. If
+     * the data file cannot be read, the write is handed over later, and recognized by
+     * {@link DukeStorageChange#locate} instead.
+     */
+    public synchronized void skipChange() {
+        try {
+            readChange();
+        } catch (IOException ex) {
+            //The change is read again on the next event
+            return;
+        }
+    }
+
+    /**
+     * Compares the data file against how it was last seen, and remembers how it is now.
+     *
+     * @return Lines that changed since the data file was last seen, or Optional.empty() if there are none.
+     * @throws IOException If the data file cannot be read.
+     */
+    public synchronized Optional<DukeStorageChange> readChange() throws IOException {
+        try (FileChannel taskFileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            isChecksumRequired = DukeStorageChecksum.hasChecksums(file);
+            long length = taskFileChannel.size();
+            if (length > knownLength && readTailChecksum(taskFileChannel, knownLength) == knownTailChecksum) {
+                return readAppendedLines(taskFileChannel, length);
+            }
+            return readChangedLines(taskFileChannel, length);
+        } catch (NoSuchFileException | FileNotFoundException ex) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Reads only the lines that were appended to the data file.
+     *
+     * @param taskFileChannel Open channel of the data file.
+     * @param length Current length of the data file.
+     * @return Appended lines, or Optional.empty() if no complete line was appended yet.
+     * @throws IOException If the data file cannot be read.
+     */
+    private Optional<DukeStorageChange> readAppendedLines(FileChannel taskFileChannel, long length)
+            throws IOException {
+        byte[] appendedBytes = readBytes(taskFileChannel, knownLength, (int) (length - knownLength));
+        int startIndex = lineCount;
+        DukeStorageQuarantine quarantine = new DukeStorageQuarantine();
+        List<DukeTask> addedTasks = new ArrayList<>();
+        int endOffset = scanLines(appendedBytes, true, addedTasks, quarantine);
+        if (endOffset == 0) {
+            return Optional.empty();
+        }
+        knownLength += endOffset;
+        knownTailChecksum = readTailChecksum(taskFileChannel, knownLength);
+        return createChange(startIndex, new long[0], addedTasks, quarantine);
+    }
+
+    /**
+     * Hashes every line of the data file, and reads only the lines between the unchanged lines at the start and at
+     * the end.
+     *
+     * @param taskFileChannel Open channel of the data file.
+     * @param length Current length of the data file.
+     * @return Changed lines, or Optional.empty() if every line is unchanged.
+     * @throws IOException If the data file cannot be read.
+     */
+    private Optional<DukeStorageChange> readChangedLines(FileChannel taskFileChannel, long length)
+            throws IOException {
+        long[] oldLineHashes = Arrays.copyOf(lineHashes, lineCount);
+        byte[] fileBytes = readBytes(taskFileChannel, 0, (int) length);
+        lineCount = 0;
+        int endOffset = scanLines(fileBytes, false, null, null);
+        knownLength = endOffset;
+        knownTailChecksum = readTailChecksum(taskFileChannel, knownLength);
+
+        int commonPrefix = 0;
+        int commonLength = Math.min(oldLineHashes.length, lineCount);
+        while (commonPrefix < commonLength && oldLineHashes[commonPrefix] == lineHashes[commonPrefix]) {
+            commonPrefix++;
+        }
+        int commonSuffix = 0;
+        while (commonSuffix < commonLength - commonPrefix
+                && oldLineHashes[oldLineHashes.length - 1 - commonSuffix] == lineHashes[lineCount - 1 - commonSuffix]) {
+            commonSuffix++;
+        }
+        if (commonPrefix == oldLineHashes.length && commonPrefix == lineCount) {
+            return Optional.empty();
+        }
+
+        long[] removedHashes = Arrays.copyOfRange(oldLineHashes, commonPrefix, oldLineHashes.length - commonSuffix);
+        DukeStorageQuarantine quarantine = new DukeStorageQuarantine();
+        List<DukeTask> addedTasks = new ArrayList<>();
+        int lineIndex = 0;
+        int lineStart = 0;
+        for (int offset = 0; offset < endOffset; offset++) {
+            if (fileBytes[offset] != '\n') {
+                continue;
+            }
+            if (lineIndex >= commonPrefix && lineIndex < lineCount - commonSuffix) {
+                parseLine(fileBytes, lineStart, offset, addedTasks, quarantine);
+            }
+            lineIndex++;
+            lineStart = offset + 1;
+        }
+        return createChange(commonPrefix, removedHashes, addedTasks, quarantine);
+    }
+
+    /**
+     * Goes through the complete lines of a block of bytes, appending the hash of each line to {@link #lineHashes}.
+     *
+     * @param bytes Block of bytes, starting at the start of a line.
+     * @param isParsed true if every line should also be parsed into a task.
+     * @param addedTasks List to add the parsed tasks to, if the lines are parsed.
+     * @param quarantine {@link DukeStorageQuarantine} to move lines that cannot be parsed to, if the lines are parsed.
+     * @return Number of bytes up to and including the last line separator.
+     */
+    private int scanLines(byte[] bytes, boolean isParsed, List<DukeTask> addedTasks,
+            DukeStorageQuarantine quarantine) {
+        int lineStart = 0;
+        for (int offset = 0; offset < bytes.length; offset++) {
+            if (bytes[offset] != '\n') {
+                continue;
+            }
+            int lineLength = (offset > lineStart && bytes[offset - 1] == '\r' ? offset - 1 : offset) - lineStart;
+            addLineHash(DukeStorageChange.hashRecord(bytes, lineStart,
+                    DukeStorageChecksum.getRecordLength(bytes, lineStart, lineLength)));
+            if (isParsed) {
+                parseLine(bytes, lineStart, offset, addedTasks, quarantine);
+            }
+            lineStart = offset + 1;
+        }
+        return lineStart;
+    }
+
+    /**
+     * Parses a single line into a task, in the same way as the data file is loaded. A line without a
+     * {@link DukeStorageChecksum} is only accepted if the data file had no checksummed lines when it was read.
+     *
+     * @param bytes Buffer holding the line.
+     * @param lineStart Index of the first byte of the line.
+     * @param lineEnd Index of the line separator ending the line.
+     * @param addedTasks List to add the task to.
+     * @param quarantine {@link DukeStorageQuarantine} to move the line to if it cannot be parsed.
+     */
+    private void parseLine(byte[] bytes, int lineStart, int lineEnd, List<DukeTask> addedTasks,
+            DukeStorageQuarantine quarantine) {
+        String line = new String(bytes, lineStart, lineEnd - lineStart, Charset.defaultCharset());
+        if (line.endsWith("\r")) {
+            line = line.substring(0, line.length() - 1);
+        }
+        String record = DukeStorageChecksum.stripChecksum(line, isChecksumRequired);
+        try {
+            if (record == null) {
+                throw new IOException("Checksum mismatch");
+            }
+            Optional<DukeTask> readTask = DukeStorage.processReadTask(record);
+            if (readTask.isEmpty()) {
+                throw new IOException("Unknown task");
+            }
+            addedTasks.add(readTask.get());
+        } catch (IOException ex) {
+            quarantine.add(line);
+        }
+    }
+
+    /**
+     * Appends a hash to {@link #lineHashes}, growing it if needed.
+     *
+     * @param lineHash Hash of the line.
+     */
+    private void addLineHash(long lineHash) {
+        if (lineCount == lineHashes.length) {
+            lineHashes = Arrays.copyOf(lineHashes, Math.max(16, lineCount * 2));
+        }
+        lineHashes[lineCount++] = lineHash;
+    }
+
+    /**
+     * Moves the lines that could not be parsed to the quarantine, and creates the change.
+     *
+     * @param startIndex Zero-based index of the first changed line.
+     * @param removedHashes Hashes of the replaced lines.
+     * @param addedTasks Tasks parsed from the new lines.
+     * @param quarantine {@link DukeStorageQuarantine} holding the new lines that could not be parsed.
+     * @return Created change.
+     * @throws IOException If the quarantine side file cannot be written.
+     */
+    private Optional<DukeStorageChange> createChange(int startIndex, long[] removedHashes, List<DukeTask> addedTasks,
+            DukeStorageQuarantine quarantine) throws IOException {
+        if (quarantine.getRecordCount() > 0) {
+            quarantine.write(taskFilePath);
+        }
+        return Optional.of(new DukeStorageChange(startIndex, removedHashes, addedTasks, quarantine.getRecordCount(),
+                taskFilePath));
+    }
+
+    /**
+     * Computes the CRC32 of up to {@link #TAIL_CHECK_SIZE} bytes just before an offset.
+     *
+     * @param taskFileChannel Open channel of the data file.
+     * @param endOffset Offset just after the checked bytes.
+     * @return CRC32 of the checked bytes.
+     * @throws IOException If the data file cannot be read.
+     */
+    private static long readTailChecksum(FileChannel taskFileChannel, long endOffset) throws IOException {
+        int checkedLength = (int) Math.min(TAIL_CHECK_SIZE, endOffset);
+        CRC32 checksum = new CRC32();
+        checksum.update(readBytes(taskFileChannel, endOffset - checkedLength, checkedLength));
+        return checksum.getValue();
+    }
+
+    /**
+     * Reads a range of bytes of the data file.
+     *
+     * @param taskFileChannel Open channel of the data file.
+     * @param offset Offset of the first byte.
+     * @param length Number of bytes to read.
+     * @return Bytes that were read, which are fewer than length if the data file is shorter.
+     * @throws IOException If the data file cannot be read.
+     */
+    private static byte[] readBytes(FileChannel taskFileChannel, long offset, int length) throws IOException {
+        ByteBuffer readBuffer = ByteBuffer.allocate(length);
+        while (readBuffer.hasRemaining()) {
+            int readCount = taskFileChannel.read(readBuffer, offset + readBuffer.position());
+            if (readCount < 0) {
+                return Arrays.copyOf(readBuffer.array(), readBuffer.position());
+            }
+        }
+        return readBuffer.array();
+    }
+}
@@ -17,6 +17,7 @@ import javafx.scene.layout.Region;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 
+import java.io.IOException;
 import java.util.Optional;
 
 public class DukeUi extends Application {
@@ -70,7 +71,7 @@ public class DukeUi extends Application {
         duke = new Duke(Duke.DUKE_TASK_FILE_PATH);
         storage = duke.getStorage();
         tasks = duke.getTasks();
-        tasks.initDeadlines();
+        tasks.initDeadlines(storage);
         ui = duke.getUi();
         ui.initUiComponents(this);
     }
@@ -159,6 +160,25 @@ public class DukeUi extends Application {
         tasks.displayDukeDeadlines(ui);
     }
 
+    /**
+     * Stops watching the data file and scheduling reminders, and flushes every write that is still pending in
+     * {@link DukeStorage} when the main window is closed.
+     */
+    @Override
+    public void stop() {
+        try {
+            if (duke.getReminderScheduler().isPresent()) {
+                duke.getReminderScheduler().get().close();
+            }
+            if (duke.getWatcher().isPresent()) {
+                duke.getWatcher().get().close();
+            }
+            storage.flush();
+        } catch (IOException ex) {
+            return;
+        }
+    }
+
     /**
      * Adds the specified String into the dialog container as a Label.
      *
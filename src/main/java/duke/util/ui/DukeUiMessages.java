@@ -12,10 +12,24 @@ public class DukeUiMessages {
     private static final String SEPARATOR = "_________________________________________________________________";
     private static final String DUKE_WELCOME_MESSAGE = "Hello! I'm Duke\n\t What can I do for you?";
     private static final String DUKE_EXIT_MESSAGE = "Bye. Hope to see you again soon!";
+    private static final String DUKE_ARCHIVED_TASKS_MESSAGE = "I've moved %d old completed tasks to the archive.\n\t "
+            + "Type \"history\" to see them.";
+    private static final String DUKE_EMPTY_ARCHIVE_MESSAGE = "There are no archived tasks yet.";
+    private static final String DUKE_EXPORTED_TASKS_MESSAGE = "I've exported %d tasks to %s.";
+    private static final String DUKE_IMPORTED_TASKS_MESSAGE = "I've imported %d tasks from %s.\n\t "
+            + "Now you have %d tasks in the list.";
+    private static final String DUKE_SNAPSHOT_STATS_MESSAGE = "I've loaded %d KB of compressed tasks in %d ms.\n\t "
+            + "They would take up %d KB uncompressed (%.1fx larger).";
+    private static final String DUKE_EXTERNAL_CHANGES_MESSAGE = "The data file was changed outside of Duke!\n\t "
+            + "%d tasks were added and %d tasks were removed.";
     private static final String DUKE_ERR_EMPTY_DESCRIPTION_MESSAGE = "☹ OOPS!!! The description of a task "
             + "cannot be empty.";
     private static final String DUKE_ERR_EMPTY_SEARCH_TERM = "☹ OOPS!!! The search term is missing.";
+    private static final String DUKE_ERR_EXTERNAL_CHANGE_CONFLICT = "☹ OOPS!!! The data file was changed outside "
+            + "of Duke, but so were the same tasks in Duke!\n\t The changed lines have been moved to %s.";
     private static final String DUKE_ERR_FILE_IO_EXCEPTION = "☹ OOPS!!! Failed to open file! Is the path correct?";
+    private static final String DUKE_ERR_FILE_LOCKED = "☹ OOPS!!! The data file is being used by another Duke "
+            + "instance!\n\t Please try again in a moment.";
     private static final String DUKE_ERR_INDEX_OUT_OF_BOUNDS = "☹ OOPS!!! Please enter a valid task index value.";
     private static final String DUKE_ERR_INVALID_DATE_FORMAT = "☹ OOPS!!! Please input the deadline in the following "
             + "format: \"dd/mm/yyyy hhmm\".";
@@ -26,6 +40,13 @@ public class DukeUiMessages {
     private static final String DUKE_ERR_MISSING_EVENT_PARAM = "\"☹ OOPS!!! The event parameter must be specified "
             + "with \\\"/at\\\".\"";
     private static final String DUKE_ERR_MISSING_INDEX = "☹ OOPS!!! The index of the completed task is missing.";
+    private static final String DUKE_ERR_MISSING_FILE_PATH = "☹ OOPS!!! The path of the file is missing.";
+    private static final String DUKE_ERR_REJECTED_ROWS = "☹ OOPS!!! %d rows could not be imported!\n\t "
+            + "They have been moved to %s.";
+    private static final String DUKE_ERR_UNKNOWN_TRANSFER_FORMAT = "☹ OOPS!!! Only \".csv\" and \".jsonl\" files "
+            + "can be imported or exported.";
+    private static final String DUKE_ERR_SKIPPED_RECORDS = "☹ OOPS!!! %d saved records were corrupted and could not "
+            + "be restored!\n\t They have been moved to %s.";
     private static final String DUKE_ERR_UNKNOWN_COMMAND_MESSAGE = "☹ OOPS!!! I'm sorry, but I don't know what "
             + "that means :-(";
     private static final String DUKE_ERR_UNKNOWN_TASK = "An error occurred when trying to re-create a task from the "
@@ -103,6 +124,65 @@ public class DukeUiMessages {
         ui.addAsLabelToDisplay(input);
     }
 
+    /**
+     * Prints the number of old completed tasks that were moved to the archive.
+     *
+     * @param archivedCount Number of tasks that were archived.
+     */
+    public void displayArchivedTasks(int archivedCount) {
+        displayToUser(String.format(DUKE_ARCHIVED_TASKS_MESSAGE, archivedCount));
+    }
+
+    /**
+     * Prints the message for when the history of tasks is requested, but nothing has been archived yet.
+     */
+    public void displayEmptyArchive() {
+        displayToUser(DUKE_EMPTY_ARCHIVE_MESSAGE);
+    }
+
+    /**
+     * Prints the size of the compressed data file that was just loaded, how long it took, and how well it compressed.
+     *
+     * @param compressedBytes Size of the compressed data file.
+     * @param rawBytes Size of the tasks after they were decompressed.
+     * @param loadNanos Time taken to load the data file.
+     */
+    public void displaySnapshotStats(long compressedBytes, long rawBytes, long loadNanos) {
+        displayToUser(String.format(DUKE_SNAPSHOT_STATS_MESSAGE, compressedBytes / 1024, loadNanos / 1000000,
+                rawBytes / 1024, (double) rawBytes / compressedBytes));
+    }
+
+    /**
+     * Prints the number of tasks that were exported.
+     *
+     * @param exportedCount Number of tasks that were exported.
+     * @param exportFilePath Path to the exported file.
+     */
+    public void displayExportedTasks(int exportedCount, String exportFilePath) {
+        displayToUser(String.format(DUKE_EXPORTED_TASKS_MESSAGE, exportedCount, exportFilePath));
+    }
+
+    /**
+     * Prints the number of tasks that were imported.
+     *
+     * @param importedCount Number of tasks that were imported.
+     * @param importFilePath Path to the imported file.
+     * @param taskCount Number of tasks in the list after the import.
+     */
+    public void displayImportedTasks(int importedCount, String importFilePath, int taskCount) {
+        displayToUser(String.format(DUKE_IMPORTED_TASKS_MESSAGE, importedCount, importFilePath, taskCount));
+    }
+
+    /**
+     * Prints the number of tasks that were added and removed by a change made to the data file outside of Duke.
+     *
+     * @param addedCount Number of tasks that were added.
+     * @param removedCount Number of tasks that were removed.
+     */
+    public void displayExternalChanges(int addedCount, int removedCount) {
+        displayToUser(String.format(DUKE_EXTERNAL_CHANGES_MESSAGE, addedCount, removedCount));
+    }
+
     /**
      * Prints the error message for when the task description is missing from a new task.
      */
@@ -117,6 +197,16 @@ public class DukeUiMessages {
         displayToUser(DUKE_ERR_EMPTY_SEARCH_TERM);
     }
 
+    /**
+     * Prints the error message for when a change made to the data file outside of Duke could not be merged, since the
+     * same tasks were also changed in Duke.
+     *
+     * @param quarantineFilePath Path to the file the changed lines were moved to.
+     */
+    public void displayExternalChangeConflict(String quarantineFilePath) {
+        displayToUser(String.format(DUKE_ERR_EXTERNAL_CHANGE_CONFLICT, quarantineFilePath));
+    }
+
     /**
      * Prints the error message for when the data file failed to load.
      */
@@ -124,6 +214,14 @@ public class DukeUiMessages {
         displayToUser(DUKE_ERR_FILE_IO_EXCEPTION);
     }
 
+    /**
+     * Prints the error message for when the data file could not be read or written, since another Duke instance kept
+     * holding its lock.
+     */
+    public void displayFileLockedError() {
+        displayToUser(DUKE_ERR_FILE_LOCKED);
+    }
+
     /**
      * Prints the error message for when the user entered a date-time format that is different from the syntax.
      */
@@ -152,6 +250,40 @@ public class DukeUiMessages {
         displayToUser(DUKE_ERR_MISSING_INDEX);
     }
 
+    /**
+     * Prints the error message for when the file path is missing from an import or an export.
+     */
+    public void displayMissingFilePath() {
+        displayToUser(DUKE_ERR_MISSING_FILE_PATH);
+    }
+
+    /**
+     * Prints the error message for when rows of an imported file failed the checks and were not imported.
+     *
+     * @param rejectedCount Number of rows that were rejected.
+     * @param quarantineFilePath Path to the file the rejected rows were moved to.
+     */
+    public void displayRejectedRows(int rejectedCount, String quarantineFilePath) {
+        displayToUser(String.format(DUKE_ERR_REJECTED_ROWS, rejectedCount, quarantineFilePath));
+    }
+
+    /**
+     * Prints the error message for when a file to import or export has an unknown extension.
+     */
+    public void displayUnknownTransferFormat() {
+        displayToUser(DUKE_ERR_UNKNOWN_TRANSFER_FORMAT);
+    }
+
+    /**
+     * Prints the error message for when corrupted records were skipped while loading the data file.
+     *
+     * @param skippedCount Number of records that were skipped.
+     * @param quarantineFilePath Path to the file the skipped records were moved to.
+     */
+    public void displaySkippedRecords(int skippedCount, String quarantineFilePath) {
+        displayToUser(String.format(DUKE_ERR_SKIPPED_RECORDS, skippedCount, quarantineFilePath));
+    }
+
     /**
      * Prints the error message for when the index parameter specified for deleting a task or marking a task as done is
      * out of bounds.
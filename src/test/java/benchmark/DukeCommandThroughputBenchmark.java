@@ -0,0 +1,83 @@
+package benchmark;
+
+import duke.command.DukeCommand;
+import duke.util.DukeParser;
+import duke.util.DukeStorage;
+import duke.util.DukeTaskList;
+import duke.util.storage.DukeStorageDurability;
+import duke.util.storage.DukeStorageType;
+import duke.util.ui.DukeUiMessages;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Measures how many commands per second go through {@link DukeParser} and {@link DukeTaskList} for every
+ * {@link DukeStorageType}. The {@link DukeStorageType#MEMORY} backend shows the cost of the commands themselves, and
+ * the file backends show how much the disk adds on top of it.
+ * Run with "gradle benchmark -Pbenchmark=DukeCommandThroughputBenchmark".
+ */
+public class DukeCommandThroughputBenchmark {
+
+    private static final int COMMAND_COUNT = 5000;
+
+    /**
+     * Runs the benchmark for every storage type and prints the throughput of each command.
+     *
+     * @param args Unused.
+     * @throws IOException If the temporary data files cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        Path directory = Files.createTempDirectory("duke-benchmark");
+        DukeUiMessages ui = new DukeUiMessages() {
+            @Override
+            public void displayToUser(String input) {
+                return;
+            }
+        };
+        for (DukeStorageType storageType : DukeStorageType.values()) {
+            String filePath = directory.resolve("commands-" + storageType + ".txt").toString();
+            DukeStorage storage = new DukeStorage(storageType, filePath, true, DukeStorageDurability.GROUP_COMMIT,
+                    true);
+            DukeTaskList tasks = new DukeTaskList(storage.load(ui));
+            tasks.initDeadlines(storage);
+
+            long addNanos = runCommands("todo Benchmark todo ", true, tasks, ui, storage);
+            long doneNanos = runCommands("done ", true, tasks, ui, storage);
+            long deleteNanos = runCommands("delete 1", false, tasks, ui, storage);
+            storage.flush();
+            System.out.printf("%-8s todo: %8.0f ops/s   done: %8.0f ops/s   delete: %8.0f ops/s%n", storageType,
+                    getThroughput(addNanos), getThroughput(doneNanos), getThroughput(deleteNanos));
+        }
+    }
+
+    /**
+     * Parses and executes {@link #COMMAND_COUNT} commands.
+     *
+     * @param commandPrefix Command to run, e.g. "done ".
+     * @param isIndexed true if the one-based index of the run should be appended to the command.
+     * @return Total nanoseconds taken.
+     */
+    private static long runCommands(String commandPrefix, boolean isIndexed, DukeTaskList tasks, DukeUiMessages ui,
+            DukeStorage storage) {
+        long startTime = System.nanoTime();
+        for (int counter = 1; counter <= COMMAND_COUNT; counter++) {
+            String input = isIndexed ? commandPrefix + counter : commandPrefix;
+            Optional<DukeCommand> command = DukeParser.parseCommand(input, ui);
+            command.ifPresent((parsedCommand) -> parsedCommand.execute(tasks, ui, storage));
+        }
+        return System.nanoTime() - startTime;
+    }
+
+    /**
+     * Converts the total time taken by {@link #COMMAND_COUNT} commands into commands per second.
+     *
+     * @param totalNanos Total nanoseconds taken.
+     * @return Commands per second.
+     */
+    private static double getThroughput(long totalNanos) {
+        return COMMAND_COUNT * 1000000000.0 / totalNanos;
+    }
+}
@@ -0,0 +1,115 @@
+package benchmark;
+
+import duke.task.DukeTask;
+import duke.task.DukeTaskDeadline;
+import duke.task.DukeTaskToDo;
+import duke.util.DukeParser;
+import duke.util.DukeStorage;
+import duke.util.DukeTaskList;
+import duke.util.storage.DukeStorageMemoryBackend;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares finding the approaching deadlines through the {@link duke.util.index.DukeIndexDeadlines} of a
+ * {@link DukeTaskList} against parsing the deadline of every task again, as {@link DukeTaskList#initDeadlines()} used
+ * to do on every call, for {@link #TASK_COUNTS} tasks whose deadlines are spread over two years. Run with
+ * "gradle benchmark -Pbenchmark=DukeIndexDeadlinesBenchmark".
+ */
+public class DukeIndexDeadlinesBenchmark {
+
+    private static final int[] TASK_COUNTS = {10000, 100000, 1000000};
+    private static final int DEADLINE_SPREAD_DAYS = 730;
+    private static final int ROUNDS = 20;
+
+    /**
+     * Runs the benchmark and prints the time taken to build the index, and the mean time of every reminder query.
+     *
+     * @param args Unused.
+     */
+    public static void main(String[] args) {
+        for (int taskCount : TASK_COUNTS) {
+            List<DukeTask> userTasks = createTasks(taskCount);
+            DukeStorage storage = new DukeStorage(new DukeStorageMemoryBackend(), false);
+            DukeTaskList tasks = new DukeTaskList(userTasks);
+            long startTime = System.nanoTime();
+            tasks.initDeadlines(storage);
+            long buildNanos = System.nanoTime() - startTime;
+
+            int deadlineCount = 0;
+            startTime = System.nanoTime();
+            for (int round = 0; round < ROUNDS; round++) {
+                deadlineCount = scan(userTasks);
+            }
+            long scanNanos = (System.nanoTime() - startTime) / ROUNDS;
+
+            startTime = System.nanoTime();
+            for (int round = 0; round < ROUNDS; round++) {
+                tasks.initDeadlines(storage);
+            }
+            long indexNanos = (System.nanoTime() - startTime) / ROUNDS;
+            System.out.printf("%8d tasks, %5d approaching   index built in %7.1f ms", taskCount, deadlineCount,
+                    buildNanos / 1e6);
+            System.out.printf("   scan: %9.3f ms   index: %9.3f ms%n", scanNanos / 1e6, indexNanos / 1e6);
+        }
+    }
+
+    /**
+     * Creates to-do tasks and incomplete deadlines in turn, with the deadlines held as the Strings of a data file.
+     *
+     * @param taskCount Number of tasks to create.
+     * @return List of created tasks.
+     */
+    private static List<DukeTask> createTasks(int taskCount) {
+        DateTimeFormatter dateTimeFormat = DukeParser.getOutputDateTimeFormatter();
+        LocalDateTime firstDeadline = LocalDate.now().minusDays(DEADLINE_SPREAD_DAYS / 2).atTime(19, 30);
+        List<DukeTask> userTasks = new ArrayList<>(taskCount);
+        for (int counter = 0; counter < taskCount; counter++) {
+            if (counter % 2 == 0) {
+                userTasks.add(new DukeTaskToDo("Benchmark todo " + counter, false));
+            } else {
+                String taskDeadline = firstDeadline.plusDays(counter % DEADLINE_SPREAD_DAYS).format(dateTimeFormat);
+                userTasks.add(new DukeTaskDeadline("Benchmark deadline " + counter, false, taskDeadline));
+            }
+        }
+        return userTasks;
+    }
+
+    /**
+     * Finds the approaching deadlines the way {@link DukeTaskList#initDeadlines()} did before they were indexed, by
+     * parsing the deadline String of every incomplete deadline.
+     *
+     * @param userTasks Tasks to go through.
+     * @return Number of approaching deadlines.
+     */
+    private static int scan(List<DukeTask> userTasks) {
+        DateTimeFormatter dateTimeFormat = DukeParser.getOutputDateTimeFormatter();
+        LocalDateTime currentDateTime = LocalDateTime.now();
+        List<DukeTaskDeadline> userDeadlines = new ArrayList<>();
+        for (DukeTask task : userTasks) {
+            if (!(task instanceof DukeTaskDeadline) || task.getTaskIsComplete()) {
+                continue;
+            }
+            DukeTaskDeadline deadline = (DukeTaskDeadline) task;
+            try {
+                LocalDateTime deadlineDateTime = LocalDateTime.parse(deadline.getTaskDeadline(), dateTimeFormat);
+                Period difference = Period.between(currentDateTime.toLocalDate(), deadlineDateTime.toLocalDate());
+                if (difference.getDays() <= DukeTaskList.DUKE_DAYS_LEFT_TO_REMIND
+                        && difference.getDays() > 0
+                        && difference.getMonths() == 0
+                        && difference.getYears() == 0) {
+                    userDeadlines.add(deadline);
+                }
+            } catch (DateTimeParseException ex) {
+                continue;
+            }
+        }
+        return userDeadlines.size();
+    }
+}
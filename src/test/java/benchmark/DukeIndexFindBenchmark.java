@@ -0,0 +1,81 @@
+package benchmark;
+
+import duke.task.DukeTask;
+import duke.util.DukeStorage;
+import duke.util.DukeTaskList;
+import duke.util.storage.DukeStorageMemoryBackend;
+import duke.util.ui.DukeUiMessages;
+
+import java.util.List;
+
+/**
+ * Compares "find" through the {@link duke.util.index.DukeIndexTokens} and {@link duke.util.index.DukeIndexTrigrams}
+ * of a {@link DukeTaskList} against the linear String.contains scan it used to do, for {@link #TASK_COUNTS} tasks
+ * and search terms of varying selectivity. Both print the same matches, so the output is built in both cases. Run with
+ * "gradle benchmark -Pbenchmark=DukeIndexFindBenchmark".
+ */
+public class DukeIndexFindBenchmark {
+
+    private static final int[] TASK_COUNTS = {100000, 1000000};
+    private static final String[] SEARCH_TERMS = {"todo 12345", "the deadline 4", "23456", "Benchmark event"};
+    private static final int ROUNDS = 20;
+
+    /**
+     * Runs the benchmark and prints the time taken to build the indexes, and the mean time of every search.
+     *
+     * @param args Unused.
+     */
+    public static void main(String[] args) {
+        DukeUiMessages ui = new DukeUiMessages() {
+            @Override
+            public void displayToUser(String input) {
+                return;
+            }
+        };
+        for (int taskCount : TASK_COUNTS) {
+            List<DukeTask> userTasks = DukeStorageFormatBenchmark.createTasks(taskCount);
+            DukeStorage storage = new DukeStorage(new DukeStorageMemoryBackend(), false);
+            long startTime = System.nanoTime();
+            DukeTaskList tasks = new DukeTaskList(userTasks);
+            long buildNanos = System.nanoTime() - startTime;
+            System.out.printf("%8d tasks, indexes built in %6d ms%n", taskCount, buildNanos / 1000000);
+
+            for (String searchTerms : SEARCH_TERMS) {
+                int matchCount = 0;
+                startTime = System.nanoTime();
+                for (int round = 0; round < ROUNDS; round++) {
+                    matchCount = scan(userTasks, searchTerms);
+                }
+                long scanNanos = (System.nanoTime() - startTime) / ROUNDS;
+
+                startTime = System.nanoTime();
+                for (int round = 0; round < ROUNDS; round++) {
+                    tasks.findDukeTasks(searchTerms, ui, storage);
+                }
+                long indexNanos = (System.nanoTime() - startTime) / ROUNDS;
+                System.out.printf("  %-18s %7d matches   scan: %9.3f ms   index: %9.3f ms%n", "\"" + searchTerms + "\"",
+                        matchCount, scanNanos / 1e6, indexNanos / 1e6);
+            }
+        }
+    }
+
+    /**
+     * Finds the matching tasks the way "find" did before it was indexed, building the same output.
+     *
+     * @param userTasks Tasks to search.
+     * @param searchTerms Substring to search for in the name of every task.
+     * @return Number of matching tasks.
+     */
+    private static int scan(List<DukeTask> userTasks, String searchTerms) {
+        StringBuilder sb = new StringBuilder("Here are the matching tasks in your list:\n\t ");
+        int matchCount = 0;
+        for (int index = 0; index < userTasks.size(); index++) {
+            DukeTask currentTask = userTasks.get(index);
+            if (currentTask.getTaskName().contains(searchTerms)) {
+                sb.append((index + 1) + "." + currentTask.toString() + "\n\t ");
+                matchCount++;
+            }
+        }
+        return sb.length() > 0 ? matchCount : 0;
+    }
+}
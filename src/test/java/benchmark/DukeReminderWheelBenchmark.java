@@ -0,0 +1,83 @@
+package benchmark;
+
+import duke.util.reminder.DukeReminderWheel;
+
+import java.util.Random;
+
+/**
+ * Measures arming, cancelling and advancing a {@link DukeReminderWheel} with {@link #TIMER_COUNTS} timers spread over
+ * {@link #SPREAD_DAYS} days, against rescanning the reminder day of every deadline at the start of every day. The
+ * reminder days are rescanned from an array, which is a lower bound for rescanning the tasks themselves. Run with
+ * "gradle benchmark -Pbenchmark=DukeReminderWheelBenchmark".
+ */
+public class DukeReminderWheelBenchmark {
+
+    private static final int[] TIMER_COUNTS = {100000, 1000000};
+    private static final int SPREAD_DAYS = 730;
+    private static final long FIRST_DAY = 18000;
+
+    /**
+     * Runs the benchmark and prints the mean time of every operation.
+     *
+     * @param args Unused.
+     */
+    public static void main(String[] args) {
+        for (int timerCount : TIMER_COUNTS) {
+            Random random = new Random(timerCount);
+            long[] reminderDays = new long[timerCount];
+            for (int key = 0; key < timerCount; key++) {
+                reminderDays[key] = FIRST_DAY + 1 + random.nextInt(SPREAD_DAYS);
+            }
+
+            DukeReminderWheel reminderWheel = new DukeReminderWheel(FIRST_DAY);
+            long startTime = System.nanoTime();
+            for (int key = 0; key < timerCount; key++) {
+                reminderWheel.arm(key, reminderDays[key]);
+            }
+            long armNanos = System.nanoTime() - startTime;
+
+            startTime = System.nanoTime();
+            for (int key = 0; key < timerCount; key += 10) {
+                reminderWheel.cancel(key);
+            }
+            long cancelNanos = System.nanoTime() - startTime;
+
+            int firedCount = 0;
+            startTime = System.nanoTime();
+            for (long day = FIRST_DAY + 1; day <= FIRST_DAY + SPREAD_DAYS; day++) {
+                firedCount += reminderWheel.advance(day).length;
+            }
+            long advanceNanos = System.nanoTime() - startTime;
+
+            int scannedCount = 0;
+            startTime = System.nanoTime();
+            for (long day = FIRST_DAY + 1; day <= FIRST_DAY + SPREAD_DAYS; day++) {
+                scannedCount += scan(reminderDays, day);
+            }
+            long scanNanos = System.nanoTime() - startTime;
+
+            System.out.printf("%8d timers   arm: %6.1f ns   cancel: %6.1f ns   fired %d, %d scanned%n", timerCount,
+                    (double) armNanos / timerCount, (double) cancelNanos / (timerCount / 10), firedCount,
+                    scannedCount);
+            System.out.printf("           per day   wheel: %9.3f ms   rescan: %9.3f ms%n",
+                    advanceNanos / 1e6 / SPREAD_DAYS, scanNanos / 1e6 / SPREAD_DAYS);
+        }
+    }
+
+    /**
+     * Finds the deadlines whose reminder day is a day by going through every one of them.
+     *
+     * @param reminderDays Reminder day of every deadline.
+     * @param day Day to find.
+     * @return Number of deadlines to remind of.
+     */
+    private static int scan(long[] reminderDays, long day) {
+        int count = 0;
+        for (long reminderDay : reminderDays) {
+            if (reminderDay == day) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
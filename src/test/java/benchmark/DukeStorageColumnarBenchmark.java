@@ -0,0 +1,141 @@
+package benchmark;
+
+import duke.task.DukeTask;
+import duke.task.DukeTaskDeadline;
+import duke.task.DukeTaskEvent;
+import duke.task.DukeTaskToDo;
+import duke.util.DukeParser;
+import duke.util.DukeStorage;
+import duke.util.DukeTaskList;
+import duke.util.storage.DukeStorageColumnarTaskList;
+import duke.util.storage.DukeStorageDurability;
+import duke.util.storage.DukeStorageType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the row-per-{@link DukeTask} model against a {@link DukeStorageColumnarTaskList} for {@link #TASK_COUNT}
+ * tasks: loading from the binary and columnar data files, building the reminders through
+ * {@link DukeTaskList#initDeadlines()}, and searching the names. Run with
+ * "gradle benchmark -Pbenchmark=DukeStorageColumnarBenchmark".
+ */
+public class DukeStorageColumnarBenchmark {
+
+    private static final int TASK_COUNT = 1000000;
+    private static final int ROUNDS = 10;
+    private static final String SEARCH_TERMS = "report 4242";
+
+    /**
+     * Runs the benchmark for both models and prints the best time of every operation.
+     *
+     * @param args Unused.
+     * @throws IOException If the temporary data files cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        Path directory = Files.createTempDirectory("duke-benchmark");
+        List<DukeTask> userTasks = createTasks();
+        List<DukeTask> rowTasks = benchmarkLoad(DukeStorageType.BINARY, directory.resolve("duke.bin"), userTasks);
+        List<DukeTask> columnarTasks = benchmarkLoad(DukeStorageType.COLUMNAR, directory.resolve("duke.col"),
+                userTasks);
+        benchmarkQueries("rows", rowTasks);
+        benchmarkQueries("columns", columnarTasks);
+    }
+
+    /**
+     * Creates a mix of to-do, deadline and event tasks, with deadlines spread over the next two months.
+     *
+     * @return List of created tasks.
+     */
+    private static List<DukeTask> createTasks() {
+        DateTimeFormatter dateTimeFormat = DukeParser.getOutputDateTimeFormatter();
+        String[] deadlines = new String[60];
+        for (int day = 0; day < deadlines.length; day++) {
+            deadlines[day] = LocalDateTime.now().plusDays(day).withHour(19).withMinute(30).format(dateTimeFormat);
+        }
+
+        List<DukeTask> userTasks = new ArrayList<>(TASK_COUNT);
+        for (int counter = 0; counter < TASK_COUNT; counter++) {
+            boolean isComplete = counter % 2 == 0;
+            switch (counter % 3) {
+            case 0:
+                userTasks.add(new DukeTaskToDo("Write report " + counter, isComplete));
+                break;
+
+            case 1:
+                userTasks.add(new DukeTaskDeadline("Submit assignment " + counter, isComplete,
+                        deadlines[counter % deadlines.length]));
+                break;
+
+            default:
+                userTasks.add(new DukeTaskEvent("Project meeting " + counter, isComplete, "COM1"));
+                break;
+            }
+        }
+        return userTasks;
+    }
+
+    /**
+     * Saves the tasks through a backend, and loads them {@link #ROUNDS} times.
+     *
+     * @param storageType Backend to save and load through.
+     * @param filePath Data file path.
+     * @param userTasks Tasks to save.
+     * @return Tasks from the last load.
+     * @throws IOException If the data file cannot be written or read.
+     */
+    private static List<DukeTask> benchmarkLoad(DukeStorageType storageType, Path filePath, List<DukeTask> userTasks)
+            throws IOException {
+        DukeStorage storage = new DukeStorage(storageType, filePath.toString(), false, DukeStorageDurability.BUFFERED,
+                false);
+        storage.save(userTasks);
+        List<DukeTask> loadedTasks = null;
+        long bestLoadNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long startTime = System.nanoTime();
+            loadedTasks = storage.load(null);
+            bestLoadNanos = Math.min(bestLoadNanos, System.nanoTime() - startTime);
+        }
+        System.out.printf("%-9s load: %6d ms   size: %6d KiB%n", storageType, bestLoadNanos / 1000000,
+                Files.size(filePath) / 1024);
+        return loadedTasks;
+    }
+
+    /**
+     * Builds the reminders and searches the names of the tasks {@link #ROUNDS} times.
+     *
+     * @param model Name of the model to print.
+     * @param userTasks Loaded tasks.
+     */
+    private static void benchmarkQueries(String model, List<DukeTask> userTasks) {
+        DukeTaskList tasks = new DukeTaskList(userTasks);
+        long bestReminderNanos = Long.MAX_VALUE;
+        long bestFindNanos = Long.MAX_VALUE;
+        int matchCount = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long startTime = System.nanoTime();
+            tasks.initDeadlines();
+            bestReminderNanos = Math.min(bestReminderNanos, System.nanoTime() - startTime);
+
+            startTime = System.nanoTime();
+            if (userTasks instanceof DukeStorageColumnarTaskList) {
+                matchCount = ((DukeStorageColumnarTaskList) userTasks).findTasks(SEARCH_TERMS).size();
+            } else {
+                matchCount = 0;
+                for (DukeTask task : userTasks) {
+                    if (task.getTaskName().contains(SEARCH_TERMS)) {
+                        matchCount++;
+                    }
+                }
+            }
+            bestFindNanos = Math.min(bestFindNanos, System.nanoTime() - startTime);
+        }
+        System.out.printf("%-9s reminders: %6.1f ms   find: %6.1f ms (%d matches)%n", model,
+                bestReminderNanos / 1e6, bestFindNanos / 1e6, matchCount);
+    }
+}
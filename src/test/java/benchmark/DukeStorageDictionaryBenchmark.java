@@ -0,0 +1,98 @@
+package benchmark;
+
+import duke.task.DukeTask;
+import duke.task.DukeTaskDeadline;
+import duke.task.DukeTaskEvent;
+import duke.task.DukeTaskToDo;
+import duke.util.DukeStorage;
+import duke.util.storage.DukeStorageDurability;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Saves and loads {@link #TASK_COUNT} tasks whose names and locations repeat, as they do for recurring lectures and
+ * meetings, and prints the size of each data file along with the number of String instances the loaded tasks hold.
+ * Run with "gradle benchmark -Pbenchmark=DukeStorageDictionaryBenchmark".
+ */
+public class DukeStorageDictionaryBenchmark {
+
+    private static final int TASK_COUNT = 1000000;
+    private static final String[] TASK_NAMES = {"CS2103T lecture", "CS2101 tutorial", "Project meeting", "Gym",
+        "Read chapter", "Weekly report"};
+    private static final String[] LOCATIONS = {"COM1", "i3 Auditorium", "LT19", "UTown"};
+    private static final String[] DEADLINES = {"18th of October 2019, 7:30PM", "25th of October 2019, 11:59PM"};
+
+    /**
+     * Runs the benchmark for the text and binary formats.
+     *
+     * @param args Unused.
+     * @throws IOException If the temporary data files cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        Path directory = Files.createTempDirectory("duke-benchmark");
+        List<DukeTask> userTasks = createTasks();
+        benchmarkFormat(directory.resolve("duke.txt"), userTasks);
+        benchmarkFormat(directory.resolve("duke.bin"), userTasks);
+    }
+
+    /**
+     * Creates tasks that cycle through a few names, locations and deadlines.
+     *
+     * @return List of created tasks.
+     */
+    private static List<DukeTask> createTasks() {
+        List<DukeTask> userTasks = new ArrayList<>(TASK_COUNT);
+        for (int counter = 0; counter < TASK_COUNT; counter++) {
+            String taskName = TASK_NAMES[counter % TASK_NAMES.length];
+            boolean isComplete = counter % 2 == 0;
+            switch (counter % 3) {
+            case 0:
+                userTasks.add(new DukeTaskToDo(taskName, isComplete));
+                break;
+
+            case 1:
+                userTasks.add(new DukeTaskDeadline(taskName, isComplete, DEADLINES[counter % DEADLINES.length]));
+                break;
+
+            default:
+                userTasks.add(new DukeTaskEvent(taskName, isComplete, LOCATIONS[counter % LOCATIONS.length]));
+                break;
+            }
+        }
+        return userTasks;
+    }
+
+    /**
+     * Saves and loads the tasks once, and counts the String instances held by the loaded tasks.
+     *
+     * @param filePath Data file path, whose extension selects the format.
+     * @param userTasks Tasks to save.
+     * @throws IOException If the data file cannot be written or read.
+     */
+    private static void benchmarkFormat(Path filePath, List<DukeTask> userTasks) throws IOException {
+        DukeStorage storage = new DukeStorage(filePath.toString(), false, DukeStorageDurability.BUFFERED);
+        storage.save(userTasks);
+        long startTime = System.nanoTime();
+        List<DukeTask> loadedTasks = storage.load(null);
+        long loadNanos = System.nanoTime() - startTime;
+
+        Set<String> stringInstances = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (DukeTask task : loadedTasks) {
+            stringInstances.add(task.getTaskName());
+            if (task instanceof DukeTaskDeadline) {
+                stringInstances.add(((DukeTaskDeadline) task).getTaskDeadline());
+            } else if (task instanceof DukeTaskEvent) {
+                stringInstances.add(((DukeTaskEvent) task).getTaskLocation());
+            }
+        }
+        System.out.printf("%-8s load: %6d ms   size: %6d KiB   String instances: %d%n", filePath.getFileName(),
+                loadNanos / 1000000, Files.size(filePath) / 1024, stringInstances.size());
+    }
+}
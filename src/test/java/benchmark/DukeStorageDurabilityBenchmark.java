@@ -0,0 +1,80 @@
+package benchmark;
+
+import duke.task.DukeTask;
+import duke.task.DukeTaskToDo;
+import duke.util.DukeStorage;
+import duke.util.storage.DukeStorageDurability;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the cost of each {@link DukeStorageDurability} level, both for journaled appends and for full saves.
+ * Run with "gradle benchmark -Pbenchmark=DukeStorageDurabilityBenchmark".
+ */
+public class DukeStorageDurabilityBenchmark {
+
+    private static final int APPEND_COUNT = 2000;
+    private static final int SAVE_COUNT = 50;
+    private static final int SAVE_TASK_COUNT = 10000;
+
+    /**
+     * Runs the benchmark for every durability level and prints the average time per operation.
+     *
+     * @param args Unused.
+     * @throws IOException If the temporary data files cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        Path directory = Files.createTempDirectory("duke-benchmark");
+        for (DukeStorageDurability durability : DukeStorageDurability.values()) {
+            System.out.printf("%-12s append: %8.1f us/op   save(%d tasks): %8.1f ms/op%n", durability,
+                    benchmarkAppend(directory, durability) / 1000.0, SAVE_TASK_COUNT,
+                    benchmarkSave(directory, durability) / 1000000.0);
+        }
+    }
+
+    /**
+     * Appends {@link #APPEND_COUNT} tasks to a journaled {@link DukeStorage}.
+     *
+     * @return Average nanoseconds per append.
+     */
+    private static long benchmarkAppend(Path directory, DukeStorageDurability durability) throws IOException {
+        String filePath = directory.resolve("append-" + durability + ".txt").toString();
+        DukeStorage storage = new DukeStorage(filePath, true, durability);
+        List<DukeTask> userTasks = storage.load(null);
+
+        long startTime = System.nanoTime();
+        for (int counter = 0; counter < APPEND_COUNT; counter++) {
+            DukeTask task = new DukeTaskToDo("Benchmark task " + counter);
+            userTasks.add(task);
+            storage.saveAddedTask(userTasks, task);
+        }
+        storage.flush();
+        return (System.nanoTime() - startTime) / APPEND_COUNT;
+    }
+
+    /**
+     * Saves a list of {@link #SAVE_TASK_COUNT} tasks {@link #SAVE_COUNT} times to a non-journaled
+     * {@link DukeStorage}.
+     *
+     * @return Average nanoseconds per save.
+     */
+    private static long benchmarkSave(Path directory, DukeStorageDurability durability) throws IOException {
+        String filePath = directory.resolve("save-" + durability + ".txt").toString();
+        DukeStorage storage = new DukeStorage(filePath, false, durability);
+        List<DukeTask> userTasks = new ArrayList<>(SAVE_TASK_COUNT);
+        for (int counter = 0; counter < SAVE_TASK_COUNT; counter++) {
+            userTasks.add(new DukeTaskToDo("Benchmark task " + counter));
+        }
+
+        long startTime = System.nanoTime();
+        for (int counter = 0; counter < SAVE_COUNT; counter++) {
+            storage.save(userTasks);
+        }
+        storage.flush();
+        return (System.nanoTime() - startTime) / SAVE_COUNT;
+    }
+}
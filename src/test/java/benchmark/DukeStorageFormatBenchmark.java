@@ -0,0 +1,100 @@
+package benchmark;
+
+import duke.task.DukeTask;
+import duke.task.DukeTaskDeadline;
+import duke.task.DukeTaskEvent;
+import duke.task.DukeTaskToDo;
+import duke.util.DukeStorage;
+import duke.util.storage.DukeStorageDurability;
+import duke.util.storage.DukeStorageSnapshotStats;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Compares saving and loading {@link #TASK_COUNT} tasks in the text format against the binary format and the
+ * compressed format, whose compression ratio and time spent in the codec are printed as well. Run with
+ * "gradle benchmark -Pbenchmark=DukeStorageFormatBenchmark".
+ */
+public class DukeStorageFormatBenchmark {
+
+    private static final int TASK_COUNT = 1000000;
+    private static final int ROUNDS = 3;
+
+    /**
+     * Runs the benchmark for both formats and prints the best save and load times and the file sizes.
+     *
+     * @param args Unused.
+     * @throws IOException If the temporary data files cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        Path directory = Files.createTempDirectory("duke-benchmark");
+        List<DukeTask> userTasks = createTasks(TASK_COUNT);
+        benchmarkFormat(directory.resolve("duke.txt"), userTasks);
+        benchmarkFormat(directory.resolve("duke.bin"), userTasks);
+        benchmarkFormat(directory.resolve("duke.dz"), userTasks);
+    }
+
+    /**
+     * Creates a mix of to-do, deadline and event tasks.
+     *
+     * @param taskCount Number of tasks to create.
+     * @return List of created tasks.
+     */
+    public static List<DukeTask> createTasks(int taskCount) {
+        List<DukeTask> userTasks = new ArrayList<>(taskCount);
+        for (int counter = 0; counter < taskCount; counter++) {
+            boolean isComplete = counter % 2 == 0;
+            switch (counter % 3) {
+            case 0:
+                userTasks.add(new DukeTaskToDo("Benchmark todo " + counter, isComplete));
+                break;
+
+            case 1:
+                userTasks.add(new DukeTaskDeadline("Benchmark deadline " + counter, isComplete,
+                        "18th of October 2019, 7:30PM"));
+                break;
+
+            default:
+                userTasks.add(new DukeTaskEvent("Benchmark event " + counter, isComplete, "i3 Auditorium"));
+                break;
+            }
+        }
+        return userTasks;
+    }
+
+    /**
+     * Saves and loads the tasks {@link #ROUNDS} times through a {@link DukeStorage} at the given path.
+     *
+     * @param filePath Data file path, whose extension selects the format.
+     * @param userTasks Tasks to save.
+     * @throws IOException If the data file cannot be written or read.
+     */
+    private static void benchmarkFormat(Path filePath, List<DukeTask> userTasks) throws IOException {
+        DukeStorage storage = new DukeStorage(filePath.toString(), false, DukeStorageDurability.BUFFERED);
+        long bestSaveNanos = Long.MAX_VALUE;
+        long bestLoadNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long startTime = System.nanoTime();
+            storage.save(userTasks);
+            bestSaveNanos = Math.min(bestSaveNanos, System.nanoTime() - startTime);
+
+            startTime = System.nanoTime();
+            int loadedCount = storage.load(null).size();
+            bestLoadNanos = Math.min(bestLoadNanos, System.nanoTime() - startTime);
+            assert loadedCount == userTasks.size();
+        }
+        System.out.printf("%-8s save: %6d ms   load: %6d ms   size: %6d KiB%n", filePath.getFileName(),
+                bestSaveNanos / 1000000, bestLoadNanos / 1000000, Files.size(filePath) / 1024);
+        Optional<DukeStorageSnapshotStats> snapshotStats = storage.getSnapshotStats();
+        if (snapshotStats.isPresent()) {
+            DukeStorageSnapshotStats stats = snapshotStats.get();
+            System.out.printf("%-8s ratio: %5.1fx   last encode: %6d ms   last decode: %6d ms%n", "",
+                    stats.getSaveRatio(), stats.getSaveNanos() / 1000000, stats.getLoadNanos() / 1000000);
+        }
+    }
+}
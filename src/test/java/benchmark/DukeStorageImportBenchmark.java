@@ -0,0 +1,99 @@
+package benchmark;
+
+import duke.task.DukeTask;
+import duke.util.DukeStorage;
+import duke.util.storage.DukeStorageDurability;
+import duke.util.storage.DukeStorageExporter;
+import duke.util.storage.DukeStorageImporter;
+import duke.util.storage.DukeStorageTransferFormat;
+import duke.util.storage.DukeStorageType;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures importing a CSV file of {@link #ROW_COUNT} rows into a journaled data file that syncs every write, once
+ * with a durable write per imported task and once with a single durable write per batch of
+ * {@link DukeStorageImporter#DUKE_IMPORT_BATCH_SIZE} tasks, and then exporting the imported tasks again. Only
+ * {@link #UNBATCHED_ROW_COUNT} rows are imported a task at a time, since every task waits for the disk. Run with
+ * "gradle benchmark -Pbenchmark=DukeStorageImportBenchmark".
+ */
+public class DukeStorageImportBenchmark {
+
+    private static final int ROW_COUNT = 100000;
+    private static final int UNBATCHED_ROW_COUNT = 2000;
+
+    /**
+     * Runs the benchmark and prints the mean time per imported row, and the time taken by the export.
+     *
+     * @param args Unused.
+     * @throws IOException If the temporary files cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        Path directory = Files.createTempDirectory("duke-benchmark");
+        String importFilePath = directory.resolve("tasks.csv").toString();
+        try (BufferedWriter writer = Files.newBufferedWriter(directory.resolve("tasks.csv"))) {
+            writer.write(DukeStorageTransferFormat.DUKE_CSV_HEADER);
+            writer.newLine();
+            for (int counter = 0; counter < ROW_COUNT; counter++) {
+                writer.write(counter % 2 == 0
+                        ? "T,0,Write report " + counter
+                        : "D,1,\"Submit report, part " + counter + "\",2/12/2019 1800");
+                writer.newLine();
+            }
+        }
+
+        DukeStorage unbatchedStorage = createStorage(directory.resolve("unbatched.txt").toString());
+        List<DukeTask> unbatchedTasks = unbatchedStorage.load(null);
+        long startTime = System.nanoTime();
+        try (DukeStorageImporter importer = new DukeStorageImporter(importFilePath, DukeStorageTransferFormat.CSV)) {
+            List<DukeTask> batchTasks = importer.readBatch();
+            while (!batchTasks.isEmpty() && unbatchedTasks.size() < UNBATCHED_ROW_COUNT) {
+                for (DukeTask task : batchTasks) {
+                    unbatchedTasks.add(task);
+                    unbatchedStorage.saveAddedTask(unbatchedTasks, task);
+                }
+                batchTasks = importer.readBatch();
+            }
+        }
+        long unbatchedNanos = (System.nanoTime() - startTime) / unbatchedTasks.size();
+
+        DukeStorage batchedStorage = createStorage(directory.resolve("batched.txt").toString());
+        List<DukeTask> batchedTasks = batchedStorage.load(null);
+        startTime = System.nanoTime();
+        try (DukeStorageImporter importer = new DukeStorageImporter(importFilePath, DukeStorageTransferFormat.CSV)) {
+            List<DukeTask> batchTasks = importer.readBatch();
+            while (!batchTasks.isEmpty()) {
+                batchedTasks.addAll(batchTasks);
+                batchedStorage.saveAddedTasks(batchedTasks, batchTasks);
+                batchTasks = importer.readBatch();
+            }
+        }
+        long batchedNanos = (System.nanoTime() - startTime) / ROW_COUNT;
+        assert batchedTasks.size() == ROW_COUNT;
+
+        startTime = System.nanoTime();
+        int exportedCount = DukeStorageExporter.export(new ArrayList<>(batchedTasks),
+                directory.resolve("export.jsonl").toString(), DukeStorageTransferFormat.JSON_LINES);
+        long exportNanos = System.nanoTime() - startTime;
+        assert exportedCount == ROW_COUNT;
+
+        System.out.printf("import, write per task:  %8.2f us/row%n", unbatchedNanos / 1e3);
+        System.out.printf("import, write per batch: %8.2f us/row%n", batchedNanos / 1e3);
+        System.out.printf("export of %d tasks:  %8.1f ms%n", exportedCount, exportNanos / 1e6);
+    }
+
+    /**
+     * Creates a {@link DukeStorage} for a journaled text data file that syncs every write.
+     *
+     * @param filePath Data file path.
+     * @return Created storage.
+     */
+    private static DukeStorage createStorage(String filePath) {
+        return new DukeStorage(DukeStorageType.TEXT, filePath, true, DukeStorageDurability.SYNC, false);
+    }
+}
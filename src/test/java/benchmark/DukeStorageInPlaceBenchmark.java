@@ -0,0 +1,66 @@
+package benchmark;
+
+import duke.task.DukeTask;
+import duke.util.DukeStorage;
+import duke.util.storage.DukeStorageDurability;
+import duke.util.storage.DukeStorageTextBackend;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Measures the cost of "done" on a text data file that is not journaled, overwriting the task in place against
+ * rewriting the entire data file, for a growing number of tasks. Run with
+ * "gradle benchmark -Pbenchmark=DukeStorageInPlaceBenchmark".
+ */
+public class DukeStorageInPlaceBenchmark {
+
+    private static final int[] TASK_COUNTS = {1000, 10000, 100000};
+    private static final int DONE_COUNT = 200;
+
+    /**
+     * Runs the benchmark for every number of tasks and prints the average time per "done".
+     *
+     * @param args Unused.
+     * @throws IOException If the temporary data files cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        Path directory = Files.createTempDirectory("duke-benchmark");
+        for (int taskCount : TASK_COUNTS) {
+            String filePath = directory.resolve("in-place-" + taskCount + ".txt").toString();
+            long inPlaceNanos = benchmarkDone(filePath, taskCount, true);
+            long rewriteNanos = benchmarkDone(filePath, taskCount, false);
+            System.out.printf("%7d tasks   in place: %8.1f us/op   rewrite: %8.1f us/op%n", taskCount,
+                    inPlaceNanos / 1000.0, rewriteNanos / 1000.0);
+        }
+    }
+
+    /**
+     * Saves a fresh data file and marks {@link #DONE_COUNT} incomplete tasks as complete.
+     *
+     * @param isInPlace true if each task should be overwritten in place, false if the data file should be rewritten.
+     * @return Average nanoseconds per "done".
+     */
+    private static long benchmarkDone(String filePath, int taskCount, boolean isInPlace) throws IOException {
+        DukeStorageTextBackend backend = new DukeStorageTextBackend(filePath, false,
+                DukeStorageDurability.GROUP_COMMIT);
+        DukeStorage storage = new DukeStorage(backend, false);
+        backend.save(DukeStorageFormatBenchmark.createTasks(taskCount));
+        List<DukeTask> userTasks = storage.load(null);
+
+        long startTime = System.nanoTime();
+        for (int counter = 0; counter < DONE_COUNT; counter++) {
+            int taskIndex = 2 * counter + 1;
+            userTasks.get(taskIndex).setTaskComplete();
+            if (isInPlace) {
+                storage.saveCompletedTask(userTasks, taskIndex);
+            } else {
+                storage.save(userTasks);
+            }
+        }
+        storage.flush();
+        return (System.nanoTime() - startTime) / DONE_COUNT;
+    }
+}
@@ -0,0 +1,102 @@
+package benchmark;
+
+import duke.task.DukeTask;
+import duke.task.DukeTaskToDo;
+import duke.util.DukeStorage;
+import duke.util.storage.DukeStorageDurability;
+import duke.util.storage.DukeStorageLock;
+import duke.util.storage.DukeStorageTextBackend;
+import duke.util.storage.DukeStorageType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures what sharing a journaled data file of {@link #TASK_COUNT} tasks through a {@link DukeStorageLock} costs:
+ * appending a task straight through the backend, appending it through {@link DukeStorage} while no other Duke
+ * instance writes, and appending it after another instance has appended a task, which rebases the list. Run with
+ * "gradle benchmark -Pbenchmark=DukeStorageLockBenchmark".
+ */
+public class DukeStorageLockBenchmark {
+
+    private static final int TASK_COUNT = 100000;
+    private static final int OPERATIONS = 2000;
+    private static final int REBASES = 20;
+
+    /**
+     * Runs the benchmark and prints the mean time of every kind of append.
+     *
+     * @param args Unused.
+     * @throws IOException If the temporary data files cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        Path directory = Files.createTempDirectory("duke-benchmark");
+        List<DukeTask> userTasks = new ArrayList<>(TASK_COUNT);
+        for (int counter = 0; counter < TASK_COUNT; counter++) {
+            userTasks.add(new DukeTaskToDo("Write report " + counter, counter % 2 == 0));
+        }
+
+        String backendFilePath = directory.resolve("backend.txt").toString();
+        DukeStorageTextBackend backend = new DukeStorageTextBackend(backendFilePath, true,
+                DukeStorageDurability.BUFFERED);
+        backend.save(userTasks);
+        List<DukeTask> backendTasks = backend.load(null);
+        long startTime = System.nanoTime();
+        for (int counter = 0; counter < OPERATIONS; counter++) {
+            DukeTask task = new DukeTaskToDo("Backend " + counter, false);
+            backendTasks.add(task);
+            backend.saveAddedTask(backendTasks, task);
+        }
+        backend.flush();
+        long backendNanos = (System.nanoTime() - startTime) / OPERATIONS;
+
+        String sharedFilePath = directory.resolve("shared.txt").toString();
+        DukeStorage storage = createStorage(sharedFilePath);
+        storage.save(userTasks);
+        DukeStorage otherStorage = createStorage(sharedFilePath);
+        List<DukeTask> sharedTasks = storage.load(null);
+        startTime = System.nanoTime();
+        for (int counter = 0; counter < OPERATIONS; counter++) {
+            DukeTask task = new DukeTaskToDo("Uncontended " + counter, false);
+            sharedTasks.add(task);
+            storage.saveAddedTask(sharedTasks, task);
+        }
+        storage.flush();
+        long uncontendedNanos = (System.nanoTime() - startTime) / OPERATIONS;
+
+        List<DukeTask> otherTasks = otherStorage.load(null);
+        long rebaseNanos = 0;
+        for (int counter = 0; counter < REBASES; counter++) {
+            DukeTask otherTask = new DukeTaskToDo("Other " + counter, false);
+            otherTasks.add(otherTask);
+            otherStorage.saveAddedTask(otherTasks, otherTask);
+            otherStorage.flush();
+
+            DukeTask task = new DukeTaskToDo("Rebased " + counter, false);
+            sharedTasks.add(task);
+            startTime = System.nanoTime();
+            storage.saveAddedTask(sharedTasks, task);
+            storage.flush();
+            rebaseNanos += System.nanoTime() - startTime;
+            otherTasks = otherStorage.load(null);
+        }
+        assert sharedTasks.size() == TASK_COUNT + OPERATIONS + 2 * REBASES;
+
+        System.out.printf("backend append:     %8.1f us%n", backendNanos / 1e3);
+        System.out.printf("uncontended append: %8.1f us%n", uncontendedNanos / 1e3);
+        System.out.printf("rebased append:     %8.1f ms%n", rebaseNanos / 1e6 / REBASES);
+    }
+
+    /**
+     * Creates a {@link DukeStorage} for a journaled text data file.
+     *
+     * @param filePath Data file path.
+     * @return Created storage.
+     */
+    private static DukeStorage createStorage(String filePath) {
+        return new DukeStorage(DukeStorageType.TEXT, filePath, true, DukeStorageDurability.BUFFERED, false);
+    }
+}
@@ -0,0 +1,77 @@
+package benchmark;
+
+import duke.task.DukeTask;
+import duke.task.DukeTaskToDo;
+import duke.util.DukeStorage;
+import duke.util.storage.DukeStorageDurability;
+import duke.util.storage.DukeStorageType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Measures the sustained throughput of a burst of adds followed by a burst of completions, for the
+ * {@link DukeStorageType#LSM} backend against the text backend, both rewriting the entire data file and journaled.
+ * Every configuration uses {@link DukeStorageDurability#GROUP_COMMIT}. A burst stops early once it has taken
+ * {@link #TIME_LIMIT_MILLIS}, since rewriting the entire data file slows down as the burst goes on.
+ * Run with "gradle benchmark -Pbenchmark=DukeStorageLsmBenchmark".
+ */
+public class DukeStorageLsmBenchmark {
+
+    private static final int BURST_COUNT = 50000;
+    private static final long TIME_LIMIT_MILLIS = 10000;
+
+    /**
+     * Runs the benchmark for every configuration and prints the throughput of each burst.
+     *
+     * @param args Unused.
+     * @throws IOException If the temporary data files cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        Path directory = Files.createTempDirectory("duke-benchmark");
+        runBursts("TEXT", new DukeStorage(DukeStorageType.TEXT, directory.resolve("rewrite.txt").toString(), false,
+                DukeStorageDurability.GROUP_COMMIT, false));
+        runBursts("TEXT+WAL", new DukeStorage(DukeStorageType.TEXT, directory.resolve("journal.txt").toString(), true,
+                DukeStorageDurability.GROUP_COMMIT, false));
+        runBursts("LSM", new DukeStorage(DukeStorageType.LSM, directory.resolve("lsm.txt").toString(), true,
+                DukeStorageDurability.GROUP_COMMIT, false));
+    }
+
+    /**
+     * Adds up to {@link #BURST_COUNT} tasks and then completes every added task, printing the throughput of both.
+     *
+     * @param name Name of the configuration.
+     * @param storage Storage to benchmark.
+     */
+    private static void runBursts(String name, DukeStorage storage) throws IOException {
+        List<DukeTask> userTasks = storage.load(null);
+
+        long deadline = System.nanoTime() + TIME_LIMIT_MILLIS * 1000000;
+        long startTime = System.nanoTime();
+        int addCount = 0;
+        while (addCount < BURST_COUNT && System.nanoTime() < deadline) {
+            DukeTask task = new DukeTaskToDo("Benchmark task " + addCount);
+            userTasks.add(task);
+            storage.saveAddedTask(userTasks, task);
+            addCount++;
+        }
+        storage.flush();
+        long addNanos = System.nanoTime() - startTime;
+
+        deadline = System.nanoTime() + TIME_LIMIT_MILLIS * 1000000;
+        startTime = System.nanoTime();
+        int doneCount = 0;
+        while (doneCount < addCount && System.nanoTime() < deadline) {
+            userTasks.get(doneCount).setTaskComplete();
+            storage.saveCompletedTask(userTasks, doneCount);
+            doneCount++;
+        }
+        storage.flush();
+        long doneNanos = System.nanoTime() - startTime;
+
+        System.out.printf("%-9s add: %8.0f ops/s (%d ops)   done: %8.0f ops/s (%d ops)%n", name,
+                addCount * 1000000000.0 / addNanos, addCount, doneCount * 1000000000.0 / doneNanos, doneCount);
+    }
+}
@@ -0,0 +1,92 @@
+package benchmark;
+
+import duke.task.DukeTask;
+import duke.task.DukeTaskToDo;
+import duke.util.storage.DukeStorageTreeTaskList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares deleting tasks at random positions, looking them up by position and finding a task again by its id in a
+ * {@link DukeStorageTreeTaskList} against an ArrayList, which shifts every task after a deleted one, for
+ * {@link #TASK_COUNTS} tasks. Run with "gradle benchmark -Pbenchmark=DukeStorageTreeTaskListBenchmark".
+ */
+public class DukeStorageTreeTaskListBenchmark {
+
+    private static final int[] TASK_COUNTS = {100000, 1000000};
+    private static final int OPERATIONS = 20000;
+
+    /**
+     * Runs the benchmark and prints the mean time of every operation.
+     *
+     * @param args Unused.
+     */
+    public static void main(String[] args) {
+        for (int taskCount : TASK_COUNTS) {
+            List<DukeTask> userTasks = new ArrayList<>(taskCount);
+            for (int index = 0; index < taskCount; index++) {
+                userTasks.add(new DukeTaskToDo("task " + index, false));
+            }
+            long startTime = System.nanoTime();
+            DukeStorageTreeTaskList treeTasks = DukeStorageTreeTaskList.fromTasks(userTasks);
+            long buildNanos = System.nanoTime() - startTime;
+
+            long arrayDeleteNanos = delete(userTasks, new Random(taskCount));
+            long treeDeleteNanos = delete(treeTasks, new Random(taskCount));
+            long arrayGetNanos = get(userTasks, new Random(taskCount));
+            long treeGetNanos = get(treeTasks, new Random(taskCount));
+
+            Random random = new Random(taskCount);
+            int foundCount = 0;
+            startTime = System.nanoTime();
+            for (int operation = 0; operation < OPERATIONS; operation++) {
+                if (treeTasks.indexOfTaskId(random.nextInt(taskCount)) >= 0) {
+                    foundCount++;
+                }
+            }
+            long idNanos = System.nanoTime() - startTime;
+
+            System.out.printf("%8d tasks   tree built in %7.1f ms   found %d of %d ids in %6.1f ns each%n",
+                    taskCount, buildNanos / 1e6, foundCount, OPERATIONS, (double) idNanos / OPERATIONS);
+            System.out.printf("           delete   ArrayList: %9.1f ns   tree: %9.1f ns%n",
+                    (double) arrayDeleteNanos / OPERATIONS, (double) treeDeleteNanos / OPERATIONS);
+            System.out.printf("           get      ArrayList: %9.1f ns   tree: %9.1f ns%n",
+                    (double) arrayGetNanos / OPERATIONS, (double) treeGetNanos / OPERATIONS);
+        }
+    }
+
+    /**
+     * Deletes {@link #OPERATIONS} tasks at random positions.
+     *
+     * @param userTasks List to delete from.
+     * @param random Source of the positions, seeded the same for every list.
+     * @return Time taken in nanoseconds.
+     */
+    private static long delete(List<DukeTask> userTasks, Random random) {
+        long startTime = System.nanoTime();
+        for (int operation = 0; operation < OPERATIONS; operation++) {
+            userTasks.remove(random.nextInt(userTasks.size()));
+        }
+        return System.nanoTime() - startTime;
+    }
+
+    /**
+     * Looks up {@link #OPERATIONS} tasks at random positions.
+     *
+     * @param userTasks List to look up.
+     * @param random Source of the positions, seeded the same for every list.
+     * @return Time taken in nanoseconds.
+     */
+    private static long get(List<DukeTask> userTasks, Random random) {
+        int nameLength = 0;
+        long startTime = System.nanoTime();
+        for (int operation = 0; operation < OPERATIONS; operation++) {
+            nameLength += userTasks.get(random.nextInt(userTasks.size())).getTaskName().length();
+        }
+        long getNanos = System.nanoTime() - startTime;
+        assert nameLength > 0;
+        return getNanos;
+    }
+}
@@ -0,0 +1,79 @@
+package benchmark;
+
+import duke.task.DukeTask;
+import duke.task.DukeTaskToDo;
+import duke.util.DukeStorage;
+import duke.util.storage.DukeStorageChange;
+import duke.util.storage.DukeStorageDurability;
+import duke.util.storage.DukeStorageType;
+import duke.util.storage.DukeStorageWatcher;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Compares loading the entire data file of {@link #TASK_COUNT} tasks again against reading only what changed
+ * through {@link DukeStorageWatcher#readChange()}, after a few lines were appended to the data file and after a line
+ * in the middle of it was edited. Run with "gradle benchmark -Pbenchmark=DukeStorageWatcherBenchmark".
+ */
+public class DukeStorageWatcherBenchmark {
+
+    private static final int TASK_COUNT = 1000000;
+    private static final int APPENDED_COUNT = 10;
+    private static final int ROUNDS = 10;
+
+    /**
+     * Runs the benchmark and prints the best time of every way of picking up the change.
+     *
+     * @param args Unused.
+     * @throws IOException If the temporary data file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        Path filePath = Files.createTempDirectory("duke-benchmark").resolve("duke.txt");
+        List<DukeTask> userTasks = new ArrayList<>(TASK_COUNT);
+        for (int counter = 0; counter < TASK_COUNT; counter++) {
+            userTasks.add(new DukeTaskToDo("Write report " + counter, counter % 2 == 0));
+        }
+        DukeStorage storage = new DukeStorage(DukeStorageType.TEXT, filePath.toString(), false,
+                DukeStorageDurability.BUFFERED, false);
+        storage.save(userTasks);
+        DukeStorageWatcher watcher = new DukeStorageWatcher(filePath.toString(), Runnable::run, (change) -> { });
+        watcher.readChange();
+
+        long bestLoadNanos = Long.MAX_VALUE;
+        long bestAppendNanos = Long.MAX_VALUE;
+        long bestEditNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long startTime = System.nanoTime();
+            storage.load(null);
+            bestLoadNanos = Math.min(bestLoadNanos, System.nanoTime() - startTime);
+
+            List<String> appendedLines = new ArrayList<>(APPENDED_COUNT);
+            for (int counter = 0; counter < APPENDED_COUNT; counter++) {
+                appendedLines.add("T | 0 | Appended " + round + " " + counter);
+            }
+            Files.write(filePath, appendedLines, Charset.defaultCharset(), StandardOpenOption.APPEND);
+            startTime = System.nanoTime();
+            Optional<DukeStorageChange> change = watcher.readChange();
+            bestAppendNanos = Math.min(bestAppendNanos, System.nanoTime() - startTime);
+            assert change.isPresent() && change.get().getAddedTasks().size() == APPENDED_COUNT;
+
+            List<String> editedLines = Files.readAllLines(filePath, Charset.defaultCharset());
+            editedLines.set(TASK_COUNT / 2, "T | 1 | Edited " + round);
+            Files.write(filePath, editedLines, Charset.defaultCharset());
+            startTime = System.nanoTime();
+            change = watcher.readChange();
+            bestEditNanos = Math.min(bestEditNanos, System.nanoTime() - startTime);
+            assert change.isPresent() && change.get().getRemovedCount() == 1;
+        }
+        System.out.printf("full load: %8.1f ms%n", bestLoadNanos / 1e6);
+        System.out.printf("appended:  %8.1f ms (%d lines)%n", bestAppendNanos / 1e6, APPENDED_COUNT);
+        System.out.printf("edited:    %8.1f ms (1 line)%n", bestEditNanos / 1e6);
+    }
+}
@@ -0,0 +1,81 @@
+package util;
+
+import duke.task.DukeTask;
+import duke.task.DukeTaskDeadline;
+import duke.task.DukeTaskEvent;
+import duke.task.DukeTaskToDo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Tasks shared by the tests, and the ways the tests compare lists of them. Every call creates new tasks, so that a
+ * test can change them freely.
+ */
+public class DukeTestTasks {
+
+    /**
+     * Creates one incomplete task of every type, "read book", "return book" due on 2/12/2019 1800 and
+     * "project meeting" at COM1, followed by a completed "read book" that repeats the first name, and a completed
+     * "submit essay" whose deadline "next monday" is not a date.
+     *
+     * @return List of created tasks.
+     */
+    public static List<DukeTask> createTasks() {
+        List<DukeTask> tasks = new ArrayList<>();
+        tasks.add(new DukeTaskToDo("read book", false));
+        tasks.add(new DukeTaskDeadline("return book", false, "2/12/2019 1800"));
+        tasks.add(new DukeTaskEvent("project meeting", false, "COM1"));
+        tasks.add(new DukeTaskToDo("read book", true));
+        tasks.add(new DukeTaskDeadline("submit essay", true, "next monday"));
+        return tasks;
+    }
+
+    public static List<DukeTask> createTasks(String... taskNames) {
+        List<DukeTask> tasks = new ArrayList<>();
+        for (String taskName : taskNames) {
+            tasks.add(new DukeTaskToDo(taskName, false));
+        }
+        return tasks;
+    }
+
+    public static List<DukeTask> createTasks(int taskCount, Supplier<DukeTask> taskFactory) {
+        List<DukeTask> tasks = new ArrayList<>();
+        for (int index = 0; index < taskCount; index++) {
+            tasks.add(taskFactory.get());
+        }
+        return tasks;
+    }
+
+    /**
+     * Creates to-do tasks named "task 0", "task 1" and so on, of which every even-numbered task is complete.
+     *
+     * @param from Number of the first task.
+     * @param to Number right after the last task.
+     * @return List of created tasks.
+     */
+    public static List<DukeTask> createNumberedTasks(int from, int to) {
+        List<DukeTask> tasks = new ArrayList<>();
+        for (int index = from; index < to; index++) {
+            tasks.add(new DukeTaskToDo("task " + index, index % 2 == 0));
+        }
+        return tasks;
+    }
+
+    public static List<String> getTaskNames(List<DukeTask> tasks) {
+        List<String> taskNames = new ArrayList<>();
+        for (DukeTask task : tasks) {
+            taskNames.add(task.getTaskName());
+        }
+        return taskNames;
+    }
+
+    public static List<String> toStrings(List<DukeTask> tasks) {
+        List<String> taskStrings = new ArrayList<>();
+        for (DukeTask task : tasks) {
+            taskStrings.add(task.toString());
+        }
+        return taskStrings;
+    }
+}
@@ -0,0 +1,29 @@
+package util;
+
+import duke.util.ui.DukeUiMessages;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link DukeUiMessages} that keeps every message shown to the user instead of adding it to the window, so that tests
+ * can check what was shown.
+ */
+public class DukeTestUiMessages extends DukeUiMessages {
+
+    private List<String> messages = new ArrayList<>();
+
+    public List<String> getMessages() {
+        return this.messages;
+    }
+
+    @Override
+    public void displayToUser(String input) {
+        messages.add(input);
+    }
+
+    @Override
+    public void displayToUserUnformatted(String input) {
+        messages.add(input);
+    }
+}
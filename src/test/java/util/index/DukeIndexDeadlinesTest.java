@@ -0,0 +1,155 @@
+package util.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static util.DukeTestTasks.createTasks;
+
+import duke.task.DukeTask;
+import duke.task.DukeTaskDeadline;
+import duke.task.DukeTaskToDo;
+import duke.util.index.DukeIndexDeadlines;
+import duke.util.storage.DukeStorageColumnarTaskList;
+import duke.util.storage.DukeStorageTreeTaskList;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+public class DukeIndexDeadlinesTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2019, 12, 1, 0, 0);
+
+    @Test
+    public void testArrayListMatchesScan() {
+        Random random = new Random(23);
+        assertRandomEditsMatchScan(new ArrayList<>(createTasks(500, () -> createTask(random))), false);
+    }
+
+    @Test
+    public void testColumnarListMatchesScan() {
+        Random random = new Random(23);
+        assertRandomEditsMatchScan(DukeStorageColumnarTaskList.fromTasks(createTasks(500, () -> createTask(random))),
+                false);
+    }
+
+    @Test
+    public void testTreeListMatchesScanAfterInsertsInTheMiddle() {
+        Random random = new Random(23);
+        assertRandomEditsMatchScan(DukeStorageTreeTaskList.fromTasks(createTasks(500, () -> createTask(random))), true);
+    }
+
+    @Test
+    public void testRemindersFireOnceForPendingDeadlines() {
+        List<DukeTask> userTasks = new ArrayList<>();
+        userTasks.add(new DukeTaskDeadline("past window", false, LocalDateTime.of(2019, 12, 3, 9, 0)));
+        userTasks.add(new DukeTaskDeadline("due fifth", false, LocalDateTime.of(2019, 12, 5, 9, 0)));
+        userTasks.add(new DukeTaskDeadline("due sixth", false, LocalDateTime.of(2019, 12, 6, 9, 0)));
+        userTasks.add(new DukeTaskDeadline("completed", false, LocalDateTime.of(2019, 12, 6, 18, 0)));
+        userTasks.add(new DukeTaskDeadline("deleted", false, LocalDateTime.of(2019, 12, 7, 9, 0)));
+        userTasks.add(new DukeTaskToDo("read book", false));
+        DukeIndexDeadlines deadlines = new DukeIndexDeadlines(userTasks, LocalDate.of(2019, 12, 1));
+
+        assertArrayEquals(new int[] {1}, deadlines.advanceReminders(LocalDate.of(2019, 12, 2)));
+        assertArrayEquals(new int[0], deadlines.advanceReminders(LocalDate.of(2019, 12, 2)));
+
+        userTasks.get(3).setTaskComplete();
+        deadlines.complete(3, userTasks.get(3));
+        deadlines.remove(4, userTasks.get(4));
+        userTasks.remove(4);
+        deadlines.remove(0, userTasks.get(0));
+        userTasks.remove(0);
+        DukeTask task = new DukeTaskDeadline("appended", false, LocalDateTime.of(2019, 12, 10, 9, 0));
+        userTasks.add(task);
+        deadlines.add(task);
+
+        assertArrayEquals(new int[] {1}, deadlines.advanceReminders(LocalDate.of(2019, 12, 3)));
+        assertArrayEquals(new int[0], deadlines.advanceReminders(LocalDate.of(2019, 12, 5)));
+        assertArrayEquals(new int[] {4}, deadlines.advanceReminders(LocalDate.of(2019, 12, 8)));
+    }
+
+    /**
+     * Appends, completes and deletes random tasks through the index, and checks after every few edits that the
+     * deadlines found in random ranges are exactly the incomplete deadlines a scan of every task finds. If tasks are
+     * also inserted in the middle of the list, which the index cannot follow, the index is rebuilt afterwards, as it
+     * would be after a rebase.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; to edit.
+     * @param isInsertedInTheMiddle true if tasks should also be inserted in the middle of the list.
+     */
+    private static void assertRandomEditsMatchScan(List<DukeTask> userTasks, boolean isInsertedInTheMiddle) {
+        Random random = new Random(userTasks.size());
+        LocalDate remindedDate = START.toLocalDate();
+        DukeIndexDeadlines deadlines = new DukeIndexDeadlines(userTasks, remindedDate);
+        for (int operation = 0; operation < 2000; operation++) {
+            int choice = random.nextInt(6);
+            if (choice < 2 && !userTasks.isEmpty()) {
+                int position = random.nextInt(userTasks.size());
+                deadlines.remove(position, userTasks.get(position));
+                userTasks.remove(position);
+            } else if (choice == 2 && !userTasks.isEmpty()) {
+                int position = random.nextInt(userTasks.size());
+                DukeTask task = userTasks.get(position);
+                if (!task.getTaskIsComplete()) {
+                    task.setTaskComplete();
+                    userTasks.set(position, task);
+                    deadlines.complete(position, task);
+                }
+            } else if (choice == 3 && isInsertedInTheMiddle) {
+                userTasks.add(random.nextInt(userTasks.size() + 1), createTask(random));
+                deadlines = new DukeIndexDeadlines(userTasks, remindedDate);
+            } else {
+                DukeTask task = createTask(random);
+                userTasks.add(task);
+                deadlines.add(task);
+            }
+            if (operation % 50 == 0) {
+                assertRangesMatchScan(userTasks, deadlines, random);
+            }
+        }
+        assertRangesMatchScan(userTasks, deadlines, random);
+    }
+
+    private static void assertRangesMatchScan(List<DukeTask> userTasks, DukeIndexDeadlines deadlines,
+            Random random) {
+        for (int counter = 0; counter < 20; counter++) {
+            LocalDateTime from = START.plusHours(random.nextInt(60 * 24));
+            LocalDateTime to = from.plusHours(random.nextInt(10 * 24));
+
+            assertArrayEquals(scan(userTasks, from, to), deadlines.findDeadlines(from, to));
+        }
+    }
+
+    private static int[] scan(List<DukeTask> userTasks, LocalDateTime from, LocalDateTime to) {
+        List<Integer> positions = new ArrayList<>();
+        for (int position = 0; position < userTasks.size(); position++) {
+            DukeTask task = userTasks.get(position);
+            if (!(task instanceof DukeTaskDeadline) || task.getTaskIsComplete()) {
+                continue;
+            }
+            Optional<LocalDateTime> deadlineDateTime = ((DukeTaskDeadline) task).getDeadlineDateTime();
+            if (deadlineDateTime.isPresent() && !deadlineDateTime.get().isBefore(from)
+                    && deadlineDateTime.get().isBefore(to)) {
+                positions.add(position);
+            }
+        }
+        return positions.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Creates a random task, which is a deadline within 60 days of {@link #START} two times out of three.
+     *
+     * @param random Source of the task.
+     * @return Created task.
+     */
+    private static DukeTask createTask(Random random) {
+        boolean isComplete = random.nextInt(4) == 0;
+        if (random.nextInt(3) == 0) {
+            return new DukeTaskToDo("read book", isComplete);
+        }
+        LocalDateTime deadlineDateTime = START.plusMinutes(30L * random.nextInt(60 * 48));
+        return new DukeTaskDeadline("return book", isComplete, deadlineDateTime);
+    }
+}
@@ -0,0 +1,173 @@
+package util.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static util.DukeTestTasks.createTasks;
+
+import duke.task.DukeTask;
+import duke.task.DukeTaskToDo;
+import duke.util.index.DukeIndexTokens;
+import duke.util.index.DukeIndexTrigrams;
+import duke.util.storage.DukeStorageColumnarTaskList;
+import duke.util.storage.DukeStorageTreeTaskList;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+public class DukeIndexSearchTest {
+
+    private static final String[] WORDS = {"read", "Read", "book", "books", "return", "essay", "CS2103", "meet",
+        "meeting", "a", "x"};
+
+    @Test
+    public void testArrayListMatchesScan() {
+        Random random = new Random(21);
+        assertRandomEditsMatchScan(new ArrayList<>(createTasks(500, () -> createTask(random))), false);
+    }
+
+    @Test
+    public void testColumnarListMatchesScan() {
+        Random random = new Random(21);
+        assertRandomEditsMatchScan(DukeStorageColumnarTaskList.fromTasks(createTasks(500, () -> createTask(random))),
+                false);
+    }
+
+    @Test
+    public void testTreeListMatchesScan() {
+        Random random = new Random(21);
+        assertRandomEditsMatchScan(DukeStorageTreeTaskList.fromTasks(createTasks(500, () -> createTask(random))),
+                false);
+    }
+
+    @Test
+    public void testTreeListMatchesScanAfterInsertsInTheMiddle() {
+        Random random = new Random(22);
+        assertRandomEditsMatchScan(DukeStorageTreeTaskList.fromTasks(createTasks(500, () -> createTask(random))), true);
+    }
+
+    @Test
+    public void testStaleIndexIsReported() {
+        Random random = new Random(23);
+        List<DukeTask> userTasks = new ArrayList<>(createTasks(3000, () -> createTask(random)));
+        DukeIndexTokens tokens = new DukeIndexTokens(userTasks);
+        DukeIndexTrigrams trigrams = new DukeIndexTrigrams(userTasks);
+        int removedCount = 0;
+        while (!tokens.isStale()) {
+            assertFalse(trigrams.isStale());
+            tokens.remove(0);
+            trigrams.remove(0);
+            userTasks.remove(0);
+            removedCount++;
+        }
+
+        assertTrue(trigrams.isStale());
+        assertEquals(1501, removedCount);
+    }
+
+    /**
+     * Appends and deletes random tasks through the indexes, and checks after every few edits that the candidates
+     * found by each index, narrowed down to the names that contain the search terms, are exactly the tasks a scan of
+     * every name finds. If tasks are also inserted in the middle of the list, which the indexes cannot follow, the
+     * indexes are rebuilt afterwards, as they would be after a rebase.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; to edit.
+     * @param isInsertedInTheMiddle true if tasks should also be inserted in the middle of the list.
+     */
+    private static void assertRandomEditsMatchScan(List<DukeTask> userTasks, boolean isInsertedInTheMiddle) {
+        Random random = new Random(userTasks.size());
+        DukeIndexTokens tokens = new DukeIndexTokens(userTasks);
+        DukeIndexTrigrams trigrams = new DukeIndexTrigrams(userTasks);
+        for (int operation = 0; operation < 2000; operation++) {
+            int choice = random.nextInt(5);
+            if (choice < 2 && !userTasks.isEmpty()) {
+                int position = random.nextInt(userTasks.size());
+                tokens.remove(position);
+                trigrams.remove(position);
+                userTasks.remove(position);
+            } else if (choice == 2 && isInsertedInTheMiddle) {
+                userTasks.add(random.nextInt(userTasks.size() + 1), createTask(random));
+                tokens = new DukeIndexTokens(userTasks);
+                trigrams = new DukeIndexTrigrams(userTasks);
+            } else {
+                DukeTask task = createTask(random);
+                userTasks.add(task);
+                tokens.add(task);
+                trigrams.add(task);
+            }
+            if (operation % 50 == 0) {
+                assertSearchesMatchScan(userTasks, tokens, trigrams, random);
+            }
+        }
+        assertSearchesMatchScan(userTasks, tokens, trigrams, random);
+    }
+
+    /**
+     * Searches for substrings of random task names, and for a few terms no name holds, through both indexes.
+     *
+     * @param userTasks Indexed List&lt;duke.task.DukeTask&gt;.
+     * @param tokens Token index of the list.
+     * @param trigrams Trigram index of the list.
+     * @param random Source of the search terms.
+     */
+    private static void assertSearchesMatchScan(List<DukeTask> userTasks, DukeIndexTokens tokens,
+            DukeIndexTrigrams trigrams, Random random) {
+        List<String> searchTerms = new ArrayList<>(List.of(" book ", "ead b", "zzz", " x ", "CS2103 meeting"));
+        for (int counter = 0; counter < 20 && !userTasks.isEmpty(); counter++) {
+            String taskName = userTasks.get(random.nextInt(userTasks.size())).getTaskName();
+            int start = random.nextInt(taskName.length());
+            int end = start + 1 + random.nextInt(taskName.length() - start);
+            searchTerms.add(taskName.substring(start, end));
+        }
+        for (String searchTerm : searchTerms) {
+            List<Integer> expectedPositions = scan(userTasks, searchTerm);
+            assertEquals(expectedPositions, filter(userTasks, searchTerm,
+                    tokens.findCandidates(searchTerm, Integer.MAX_VALUE)), searchTerm);
+            assertEquals(expectedPositions, filter(userTasks, searchTerm, trigrams.findCandidates(searchTerm)),
+                    searchTerm);
+        }
+    }
+
+    private static List<Integer> scan(List<DukeTask> userTasks, String searchTerm) {
+        List<Integer> positions = new ArrayList<>();
+        for (int position = 0; position < userTasks.size(); position++) {
+            if (userTasks.get(position).getTaskName().contains(searchTerm)) {
+                positions.add(position);
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Narrows the candidates of an index down to the names that contain the search term, like "find" does.
+     *
+     * @param userTasks Indexed List&lt;duke.task.DukeTask&gt;.
+     * @param searchTerm Substring searched for.
+     * @param candidates Candidates found by the index, or Optional.empty() if every task should be scanned.
+     * @return Zero-based positions of the matching tasks.
+     */
+    private static List<Integer> filter(List<DukeTask> userTasks, String searchTerm, Optional<int[]> candidates) {
+        if (candidates.isEmpty()) {
+            return scan(userTasks, searchTerm);
+        }
+        List<Integer> positions = new ArrayList<>();
+        for (int position : candidates.get()) {
+            if (userTasks.get(position).getTaskName().contains(searchTerm)) {
+                positions.add(position);
+            }
+        }
+        return positions;
+    }
+
+    private static DukeTask createTask(Random random) {
+        StringBuilder taskName = new StringBuilder(WORDS[random.nextInt(WORDS.length)]);
+        int wordCount = random.nextInt(4);
+        for (int index = 0; index < wordCount; index++) {
+            taskName.append(random.nextBoolean() ? " " : "-").append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return new DukeTaskToDo(taskName.toString(), random.nextBoolean());
+    }
+}
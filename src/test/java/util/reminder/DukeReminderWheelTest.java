@@ -0,0 +1,120 @@
+package util.reminder;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import duke.util.reminder.DukeReminderWheel;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class DukeReminderWheelTest {
+
+    @Test
+    public void testTimersFireOnTheirDay() {
+        DukeReminderWheel reminderWheel = new DukeReminderWheel(100);
+        reminderWheel.arm(0, 101);
+        reminderWheel.arm(1, 103);
+        reminderWheel.arm(2, 103);
+
+        assertArrayEquals(new int[] {0}, sorted(reminderWheel.advance(101)));
+        assertArrayEquals(new int[0], sorted(reminderWheel.advance(102)));
+        assertArrayEquals(new int[] {1, 2}, sorted(reminderWheel.advance(103)));
+        assertEquals(103, reminderWheel.getCurrentDay());
+        assertEquals(0, reminderWheel.size());
+    }
+
+    @Test
+    public void testCancelledAndRearmedTimers() {
+        DukeReminderWheel reminderWheel = new DukeReminderWheel(100);
+        reminderWheel.arm(0, 101);
+        reminderWheel.arm(1, 101);
+        reminderWheel.arm(2, 101);
+        reminderWheel.cancel(1);
+        reminderWheel.cancel(1);
+        reminderWheel.cancel(5000);
+        reminderWheel.arm(2, 102);
+
+        assertEquals(2, reminderWheel.size());
+        assertArrayEquals(new int[] {0}, sorted(reminderWheel.advance(101)));
+        assertArrayEquals(new int[] {2}, sorted(reminderWheel.advance(102)));
+    }
+
+    @Test
+    public void testTimersOfALaterTurnAreSkipped() {
+        DukeReminderWheel reminderWheel = new DukeReminderWheel(0);
+        long nextTurnDay = 10 + DukeReminderWheel.DUKE_REMINDER_WHEEL_SLOTS;
+        reminderWheel.arm(0, 10);
+        reminderWheel.arm(1, nextTurnDay);
+        reminderWheel.arm(2000, 10 + 3 * DukeReminderWheel.DUKE_REMINDER_WHEEL_SLOTS);
+
+        assertArrayEquals(new int[] {0}, sorted(reminderWheel.advance(10)));
+        assertArrayEquals(new int[0], sorted(reminderWheel.advance(nextTurnDay - 1)));
+        assertArrayEquals(new int[] {1}, sorted(reminderWheel.advance(nextTurnDay)));
+        assertEquals(1, reminderWheel.size());
+    }
+
+    @Test
+    public void testAdvanceBeyondAFullTurnFiresEveryDueTimer() {
+        DukeReminderWheel reminderWheel = new DukeReminderWheel(0);
+        reminderWheel.arm(0, 5);
+        reminderWheel.arm(1, 700);
+        reminderWheel.arm(2, 1500);
+
+        assertArrayEquals(new int[0], sorted(reminderWheel.advance(-3)));
+        assertArrayEquals(new int[] {0, 1}, sorted(reminderWheel.advance(1000)));
+        assertArrayEquals(new int[] {2}, sorted(reminderWheel.advance(5000)));
+    }
+
+    @Test
+    public void testRandomTimersMatchMap() {
+        Random random = new Random(24);
+        DukeReminderWheel reminderWheel = new DukeReminderWheel(0);
+        Map<Integer, Long> dueDays = new HashMap<>();
+        long currentDay = 0;
+        for (int operation = 0; operation < 20000; operation++) {
+            int key = random.nextInt(3000);
+            int choice = random.nextInt(10);
+            if (choice < 6) {
+                long dueDay = currentDay + 1 + random.nextInt(2 * DukeReminderWheel.DUKE_REMINDER_WHEEL_SLOTS);
+                reminderWheel.arm(key, dueDay);
+                dueDays.put(key, dueDay);
+            } else if (choice < 8) {
+                reminderWheel.cancel(key);
+                dueDays.remove(key);
+            } else {
+                currentDay += random.nextInt(choice == 9 ? 20 : 2);
+                assertFired(reminderWheel, dueDays, currentDay);
+            }
+            assertEquals(dueDays.size(), reminderWheel.size());
+        }
+    }
+
+    /**
+     * Advances the wheel to a day, and checks that exactly the timers due on or before it fired.
+     *
+     * @param reminderWheel Wheel to advance.
+     * @param dueDays Due day of every armed timer, which fired timers are removed from.
+     * @param day Day to advance to.
+     */
+    private static void assertFired(DukeReminderWheel reminderWheel, Map<Integer, Long> dueDays, long day) {
+        int[] expectedKeys = dueDays.entrySet().stream()
+                .filter((entry) -> entry.getValue() <= day)
+                .mapToInt(Map.Entry::getKey)
+                .toArray();
+        for (int key : expectedKeys) {
+            dueDays.remove(key);
+        }
+
+        assertArrayEquals(sorted(expectedKeys), sorted(reminderWheel.advance(day)));
+    }
+
+    private static int[] sorted(int[] keys) {
+        int[] sortedKeys = keys.clone();
+        Arrays.sort(sortedKeys);
+        return sortedKeys;
+    }
+}
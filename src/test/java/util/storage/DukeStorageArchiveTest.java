@@ -0,0 +1,102 @@
+package util.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static util.DukeTestTasks.createNumberedTasks;
+import static util.DukeTestTasks.toStrings;
+
+import duke.task.DukeTask;
+import duke.util.DukeStorage;
+import duke.util.storage.DukeStorageArchive;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import util.DukeTestUiMessages;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+public class DukeStorageArchiveTest {
+
+    @TempDir
+    Path temporaryDirectory;
+
+    private String taskFilePath;
+    private DukeTestUiMessages ui;
+
+    @BeforeEach
+    public void beforeEach() {
+        taskFilePath = temporaryDirectory.resolve("duke.txt").toString();
+        ui = new DukeTestUiMessages();
+    }
+
+    @Test
+    public void testOnlyOldCompletedTasksAreArchived() throws IOException {
+        DukeStorage storage = new DukeStorage(taskFilePath);
+        List<DukeTask> userTasks = storage.load(ui);
+        userTasks.addAll(createNumberedTasks(0, 150));
+        storage.save(userTasks);
+
+        List<DukeTask> coldTasks = new ArrayList<>();
+        List<DukeTask> hotTasks = new ArrayList<>();
+        for (int index = 0; index < userTasks.size(); index++) {
+            DukeTask task = userTasks.get(index);
+            if (task.getTaskIsComplete()
+                    && index < userTasks.size() - DukeStorageArchive.DUKE_ARCHIVE_HOT_TASK_COUNT) {
+                coldTasks.add(task);
+            } else {
+                hotTasks.add(task);
+            }
+        }
+        assertEquals(coldTasks.size(), storage.archiveCompletedTasks(userTasks));
+
+        assertEquals(toStrings(hotTasks), toStrings(userTasks));
+        assertEquals(toStrings(hotTasks), toStrings(new DukeStorage(taskFilePath).load(ui)));
+        assertEquals(toStrings(coldTasks), toStrings(new DukeStorage(taskFilePath).loadArchivedTasks(ui)));
+        assertEquals(0, storage.archiveCompletedTasks(userTasks));
+    }
+
+    @Test
+    public void testFewColdTasksAreNotArchived() throws IOException {
+        DukeStorage storage = new DukeStorage(taskFilePath);
+        List<DukeTask> userTasks = storage.load(ui);
+        userTasks.addAll(createNumberedTasks(0, DukeStorageArchive.DUKE_ARCHIVE_HOT_TASK_COUNT + 10));
+        storage.save(userTasks);
+
+        assertEquals(0, storage.archiveCompletedTasks(userTasks));
+        assertEquals(DukeStorageArchive.DUKE_ARCHIVE_HOT_TASK_COUNT + 10, userTasks.size());
+        assertEquals(0, storage.loadArchivedTasks(ui).size());
+    }
+
+    @Test
+    public void testTornSegmentIsCutOffBeforeTheNextOne() throws IOException {
+        DukeStorage storage = new DukeStorage(taskFilePath);
+        List<DukeTask> userTasks = storage.load(ui);
+        userTasks.addAll(createNumberedTasks(0, 150));
+        storage.save(userTasks);
+        List<DukeTask> archivedTasks = new ArrayList<>(userTasks.subList(0, 50));
+        archivedTasks.removeIf((task) -> !task.getTaskIsComplete());
+        storage.archiveCompletedTasks(userTasks);
+        Path archiveFile = Path.of(taskFilePath + DukeStorageArchive.DUKE_ARCHIVE_FILE_SUFFIX);
+        Files.write(archiveFile, new byte[] {0, 0, 1, 0, 31}, StandardOpenOption.APPEND);
+
+        assertEquals(toStrings(archivedTasks), toStrings(storage.loadArchivedTasks(ui)));
+        assertEquals(1, ui.getMessages().size());
+
+        userTasks.addAll(createNumberedTasks(150, 200));
+        storage.save(userTasks);
+        for (int index = 0; index < userTasks.size() - DukeStorageArchive.DUKE_ARCHIVE_HOT_TASK_COUNT; index++) {
+            if (userTasks.get(index).getTaskIsComplete()) {
+                archivedTasks.add(userTasks.get(index));
+            }
+        }
+        assertTrue(storage.archiveCompletedTasks(userTasks) > 0);
+
+        assertEquals(toStrings(archivedTasks), toStrings(storage.loadArchivedTasks(ui)));
+        assertEquals(1, ui.getMessages().size());
+    }
+}
@@ -0,0 +1,153 @@
+package util.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static util.DukeTestTasks.createTasks;
+import static util.DukeTestTasks.toStrings;
+
+import duke.task.DukeTask;
+import duke.task.DukeTaskDeadline;
+import duke.task.DukeTaskToDo;
+import duke.util.storage.DukeStorageBinaryBackend;
+import duke.util.storage.DukeStorageColumnarBackend;
+import duke.util.storage.DukeStorageColumnarTaskList;
+import duke.util.storage.DukeStorageCompressedBackend;
+import duke.util.storage.DukeStorageDurability;
+import duke.util.storage.DukeStorageFileBackend;
+import duke.util.storage.DukeStorageMemoryBackend;
+import duke.util.storage.DukeStorageTextBackend;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import util.DukeTestUiMessages;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class DukeStorageBackendTest {
+
+    @TempDir
+    Path temporaryDirectory;
+
+    private String taskFilePath;
+    private DukeTestUiMessages ui;
+
+    @BeforeEach
+    public void beforeEach() {
+        taskFilePath = temporaryDirectory.resolve("duke.txt").toString();
+        ui = new DukeTestUiMessages();
+    }
+
+    @Test
+    public void testTextRoundTrip() throws IOException {
+        assertRoundTrip(new DukeStorageTextBackend(taskFilePath, false, DukeStorageDurability.BUFFERED),
+                new DukeStorageTextBackend(taskFilePath, false, DukeStorageDurability.BUFFERED));
+        assertJournaledRoundTrip(new DukeStorageTextBackend(taskFilePath, true, DukeStorageDurability.BUFFERED),
+                new DukeStorageTextBackend(taskFilePath, true, DukeStorageDurability.BUFFERED));
+    }
+
+    @Test
+    public void testTextLazyLoadMatchesLoad() throws IOException {
+        new DukeStorageTextBackend(taskFilePath, false, DukeStorageDurability.BUFFERED).save(createTasks());
+
+        assertEquals(toStrings(createTasks()), toStrings(new DukeStorageTextBackend(taskFilePath, false,
+                DukeStorageDurability.BUFFERED).loadLazily(ui)));
+    }
+
+    @Test
+    public void testBinaryRoundTrip() throws IOException {
+        assertRoundTrip(new DukeStorageBinaryBackend(taskFilePath, false, DukeStorageDurability.BUFFERED),
+                new DukeStorageBinaryBackend(taskFilePath, false, DukeStorageDurability.BUFFERED));
+        assertJournaledRoundTrip(new DukeStorageBinaryBackend(taskFilePath, true, DukeStorageDurability.BUFFERED),
+                new DukeStorageBinaryBackend(taskFilePath, true, DukeStorageDurability.BUFFERED));
+    }
+
+    @Test
+    public void testColumnarRoundTrip() throws IOException {
+        assertRoundTrip(new DukeStorageColumnarBackend(taskFilePath, false, DukeStorageDurability.BUFFERED),
+                new DukeStorageColumnarBackend(taskFilePath, false, DukeStorageDurability.BUFFERED));
+        assertTrue(new DukeStorageColumnarBackend(taskFilePath, false, DukeStorageDurability.BUFFERED).load(ui)
+                instanceof DukeStorageColumnarTaskList);
+        assertJournaledRoundTrip(new DukeStorageColumnarBackend(taskFilePath, true, DukeStorageDurability.BUFFERED),
+                new DukeStorageColumnarBackend(taskFilePath, true, DukeStorageDurability.BUFFERED));
+    }
+
+    @Test
+    public void testCompressedRoundTrip() throws IOException {
+        assertRoundTrip(new DukeStorageCompressedBackend(taskFilePath, false, DukeStorageDurability.BUFFERED),
+                new DukeStorageCompressedBackend(taskFilePath, false, DukeStorageDurability.BUFFERED));
+        assertJournaledRoundTrip(new DukeStorageCompressedBackend(taskFilePath, true, DukeStorageDurability.BUFFERED),
+                new DukeStorageCompressedBackend(taskFilePath, true, DukeStorageDurability.BUFFERED));
+    }
+
+    @Test
+    public void testEveryFormatIsReadByTheTextBackend() throws IOException {
+        List<DukeStorageFileBackend> backends = List.of(
+                new DukeStorageBinaryBackend(taskFilePath, false, DukeStorageDurability.BUFFERED),
+                new DukeStorageColumnarBackend(taskFilePath, false, DukeStorageDurability.BUFFERED),
+                new DukeStorageCompressedBackend(taskFilePath, false, DukeStorageDurability.BUFFERED));
+        for (DukeStorageFileBackend backend : backends) {
+            backend.save(createTasks());
+
+            assertEquals(toStrings(createTasks()), toStrings(new DukeStorageTextBackend(taskFilePath, false,
+                    DukeStorageDurability.BUFFERED).load(ui)));
+        }
+    }
+
+    @Test
+    public void testMemoryRoundTrip() throws IOException {
+        DukeStorageMemoryBackend backend = new DukeStorageMemoryBackend();
+        List<DukeTask> userTasks = backend.load(ui);
+        userTasks.addAll(createTasks());
+        backend.save(userTasks);
+        DukeTask task = new DukeTaskToDo("read book", false);
+        userTasks.add(task);
+        backend.saveAddedTask(userTasks, task);
+        userTasks.remove(0);
+        backend.saveDeletedTask(userTasks, 0);
+
+        assertEquals(toStrings(userTasks), toStrings(backend.load(ui)));
+    }
+
+    /**
+     * Saves a list of tasks through a backend, and checks that another backend loads the same tasks.
+     *
+     * @param backend Backend to save through.
+     * @param reloadedBackend Backend for the same data file to load through.
+     * @throws IOException If the data file cannot be read or written.
+     */
+    private void assertRoundTrip(DukeStorageFileBackend backend, DukeStorageFileBackend reloadedBackend)
+            throws IOException {
+        backend.save(createTasks());
+        backend.flush();
+
+        assertEquals(toStrings(createTasks()), toStrings(reloadedBackend.load(ui)));
+        assertEquals(0, ui.getMessages().size());
+    }
+
+    /**
+     * Loads the data file through a journaled backend, adds, completes and deletes tasks through it without saving
+     * the entire list, and checks that another backend loads the same tasks.
+     *
+     * @param backend Journaled backend to change the tasks through.
+     * @param reloadedBackend Backend for the same data file to load through.
+     * @throws IOException If the data file cannot be read or written.
+     */
+    private void assertJournaledRoundTrip(DukeStorageFileBackend backend, DukeStorageFileBackend reloadedBackend)
+            throws IOException {
+        List<DukeTask> userTasks = backend.load(ui);
+        DukeTask task = new DukeTaskDeadline("pay fees", false, LocalDateTime.of(2019, 12, 5, 9, 30));
+        userTasks.add(task);
+        backend.saveAddedTask(userTasks, task);
+        userTasks.get(0).setTaskComplete();
+        backend.saveCompletedTask(userTasks, 0);
+        userTasks.remove(2);
+        backend.saveDeletedTask(userTasks, 2);
+        backend.flush();
+
+        assertEquals(toStrings(userTasks), toStrings(reloadedBackend.load(ui)));
+        assertEquals(0, ui.getMessages().size());
+    }
+}
@@ -0,0 +1,205 @@
+package util.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static util.DukeTestTasks.createTasks;
+import static util.DukeTestTasks.toStrings;
+
+import duke.task.DukeTask;
+import duke.task.DukeTaskToDo;
+import duke.util.DukeStorage;
+import duke.util.storage.DukeStorageBinaryBackend;
+import duke.util.storage.DukeStorageChecksum;
+import duke.util.storage.DukeStorageDurability;
+import duke.util.storage.DukeStorageMappedReader;
+import duke.util.storage.DukeStorageQuarantine;
+import duke.util.storage.DukeStorageTextBackend;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import util.DukeTestUiMessages;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class DukeStorageChecksumTest {
+
+    @TempDir
+    Path temporaryDirectory;
+
+    private Path taskFile;
+    private DukeTestUiMessages ui;
+
+    @BeforeEach
+    public void beforeEach() {
+        taskFile = temporaryDirectory.resolve("duke.txt");
+        ui = new DukeTestUiMessages();
+    }
+
+    @Test
+    public void testChecksumIsStrippedOnlyIfItMatches() {
+        String line = DukeStorageChecksum.appendChecksum("T | 0 | read book");
+
+        assertEquals("T | 0 | read book", DukeStorageChecksum.stripChecksum(line, true));
+        assertNull(DukeStorageChecksum.stripChecksum(line.replace("read", "reed"), false));
+        assertEquals("T | 0 | read book", DukeStorageChecksum.stripChecksum("T | 0 | read book", false));
+        assertNull(DukeStorageChecksum.stripChecksum("T | 0 | read book", true));
+        assertNull(DukeStorageChecksum.stripChecksum("T | 0 |", true));
+    }
+
+    @Test
+    public void testDamagedChecksumIsNotAcceptedAsMissing() {
+        String line = DukeStorageChecksum.appendChecksum("T | 0 | read book");
+        int separatorIndex = line.length() - DukeStorageChecksum.DUKE_CHECKSUM_LENGTH;
+        String damagedTabLine = line.substring(0, separatorIndex) + "\u0001" + line.substring(separatorIndex + 1);
+        String spacedTabLine = line.substring(0, separatorIndex) + " " + line.substring(separatorIndex + 1);
+        String nonHexadecimalLine = line.substring(0, line.length() - 1) + "g";
+
+        for (String damagedLine : List.of(damagedTabLine, spacedTabLine, nonHexadecimalLine)) {
+            byte[] damagedBytes = damagedLine.getBytes();
+            assertNull(DukeStorageChecksum.stripChecksum(damagedLine, true));
+            assertEquals(-1, DukeStorageChecksum.stripChecksum(damagedBytes, damagedBytes.length, true));
+        }
+        for (String damagedLine : List.of(damagedTabLine, nonHexadecimalLine)) {
+            byte[] damagedBytes = damagedLine.getBytes();
+            assertNull(DukeStorageChecksum.stripChecksum(damagedLine, false));
+            assertEquals(-1, DukeStorageChecksum.stripChecksum(damagedBytes, damagedBytes.length, false));
+        }
+        byte[] lineBytes = line.getBytes();
+        assertEquals(lineBytes.length - DukeStorageChecksum.DUKE_CHECKSUM_LENGTH,
+                DukeStorageChecksum.stripChecksum(lineBytes, lineBytes.length, false));
+    }
+
+    @Test
+    public void testLinesWithDamagedChecksumsAreQuarantined() throws IOException {
+        createTextBackend().save(createTasks());
+        List<String> lines = Files.readAllLines(taskFile);
+        String damagedTabLine = lines.get(0).replace('\t', ' ');
+        String nonHexadecimalLine = lines.get(2).substring(0, lines.get(2).length() - 1) + "z";
+        lines.set(0, damagedTabLine);
+        lines.set(2, nonHexadecimalLine);
+        Files.write(taskFile, lines);
+
+        List<DukeTask> expectedTasks = createTasks();
+        expectedTasks.remove(2);
+        expectedTasks.remove(0);
+        assertEquals(toStrings(expectedTasks), toStrings(createTextBackend().load(ui)));
+        assertEquals(1, ui.getMessages().size());
+        assertTrue(readQuarantine(taskFile).contains(damagedTabLine));
+        assertTrue(readQuarantine(taskFile).contains(nonHexadecimalLine));
+    }
+
+    @Test
+    public void testLinesWithoutChecksumsAreLoadedOnlyFromFileWithoutChecksums() throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (DukeTask task : createTasks()) {
+            lines.add(DukeStorage.processWriteTask(task));
+        }
+        Files.write(taskFile, lines);
+
+        assertEquals(toStrings(createTasks()), toStrings(createTextBackend().load(ui)));
+        assertEquals(0, ui.getMessages().size());
+
+        List<String> mixedLines = new ArrayList<>(lines);
+        mixedLines.set(1, DukeStorageChecksum.appendChecksum(lines.get(1)));
+        Files.write(taskFile, mixedLines);
+        assertEquals(toStrings(createTasks().subList(1, 2)), toStrings(createTextBackend().load(ui)));
+        assertEquals(1, ui.getMessages().size());
+        assertTrue(readQuarantine(taskFile).contains(lines.get(2)));
+    }
+
+    @Test
+    public void testCorruptedTextLineIsQuarantined() throws IOException {
+        createTextBackend().save(createTasks());
+        List<String> lines = Files.readAllLines(taskFile);
+        String corruptedLine = lines.get(1).replace("return", "retune");
+        lines.set(1, corruptedLine);
+        Files.write(taskFile, lines);
+
+        List<DukeTask> expectedTasks = createTasks();
+        expectedTasks.remove(1);
+        assertEquals(toStrings(expectedTasks), toStrings(createTextBackend().load(ui)));
+        assertEquals(1, ui.getMessages().size());
+        assertTrue(readQuarantine(taskFile).contains(corruptedLine));
+
+        assertEquals(toStrings(expectedTasks), toStrings(createTextBackend().load(ui)));
+        assertEquals(1, ui.getMessages().size());
+    }
+
+    @Test
+    public void testCorruptedLineOfMappedTextFileIsQuarantined() throws IOException {
+        List<String> expectedTasks = new ArrayList<>();
+        String corruptedLine = null;
+        long writtenBytes = 0;
+        try (BufferedWriter taskFileWriter = Files.newBufferedWriter(taskFile)) {
+            for (int index = 0; writtenBytes < DukeStorageMappedReader.DUKE_MAPPED_LOAD_THRESHOLD; index++) {
+                String line = DukeStorageChecksum.appendChecksum("T | 0 | task " + index);
+                if (index == 1000) {
+                    corruptedLine = line.replace("task", "tusk");
+                    line = corruptedLine;
+                } else {
+                    expectedTasks.add(new DukeTaskToDo("task " + index, false).toString());
+                }
+                taskFileWriter.write(line);
+                taskFileWriter.newLine();
+                writtenBytes += line.length() + System.lineSeparator().length();
+            }
+        }
+
+        assertEquals(expectedTasks, toStrings(createTextBackend().load(ui)));
+        assertEquals(1, ui.getMessages().size());
+        assertTrue(readQuarantine(taskFile).contains(corruptedLine));
+    }
+
+    @Test
+    public void testCorruptedBinaryRecordIsQuarantined() throws IOException {
+        Path binaryTaskFile = temporaryDirectory.resolve("duke.bin");
+        createBinaryBackend(binaryTaskFile).save(createTasks());
+        byte[] fileBytes = Files.readAllBytes(binaryTaskFile);
+        byte[] nameBytes = "project meeting".getBytes(StandardCharsets.UTF_8);
+        int nameOffset = indexOf(fileBytes, nameBytes);
+        assertTrue(nameOffset >= 0);
+        fileBytes[nameOffset] = 'q';
+        Files.write(binaryTaskFile, fileBytes);
+
+        List<DukeTask> expectedTasks = createTasks();
+        expectedTasks.remove(2);
+        assertEquals(toStrings(expectedTasks), toStrings(createBinaryBackend(binaryTaskFile).load(ui)));
+        assertEquals(1, ui.getMessages().size());
+        List<String> quarantineLines = Files.readAllLines(Path.of(binaryTaskFile
+                + DukeStorageQuarantine.DUKE_QUARANTINE_FILE_SUFFIX));
+        assertEquals(2, quarantineLines.size());
+        assertTrue(quarantineLines.get(0).startsWith("#"));
+    }
+
+    private DukeStorageTextBackend createTextBackend() {
+        return new DukeStorageTextBackend(taskFile.toString(), false, DukeStorageDurability.BUFFERED);
+    }
+
+    private static DukeStorageBinaryBackend createBinaryBackend(Path binaryTaskFile) {
+        return new DukeStorageBinaryBackend(binaryTaskFile.toString(), false, DukeStorageDurability.BUFFERED);
+    }
+
+    private static String readQuarantine(Path taskFile) throws IOException {
+        return Files.readString(Path.of(taskFile + DukeStorageQuarantine.DUKE_QUARANTINE_FILE_SUFFIX));
+    }
+
+    private static int indexOf(byte[] bytes, byte[] pattern) {
+        for (int index = 0; index + pattern.length <= bytes.length; index++) {
+            int matchLength = 0;
+            while (matchLength < pattern.length && bytes[index + matchLength] == pattern[matchLength]) {
+                matchLength++;
+            }
+            if (matchLength == pattern.length) {
+                return index;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,158 @@
+package util.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static util.DukeTestTasks.createTasks;
+import static util.DukeTestTasks.getTaskNames;
+
+import duke.task.DukeTask;
+import duke.task.DukeTaskToDo;
+import duke.util.storage.DukeStorageCommitter;
+import duke.util.storage.DukeStorageCompactor;
+import duke.util.storage.DukeStorageDurability;
+import duke.util.storage.DukeStorageJournal;
+import duke.util.storage.DukeStorageTextBackend;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+public class DukeStorageCompactorTest {
+
+    @TempDir
+    Path temporaryDirectory;
+
+    private String taskFilePath;
+    private List<DukeTask> userTasks;
+
+    /**
+     * Saves the tasks "a", "b" and "c" into the data file, then journals adding "d" and deleting "b" without
+     * compacting, so that the data file and the journal hold different parts of the list.
+     *
+     * @throws IOException If the data file cannot be written.
+     */
+    @BeforeEach
+    public void beforeEach() throws IOException {
+        taskFilePath = temporaryDirectory.resolve("duke.txt").toString();
+        DukeStorageTextBackend backend = createBackend();
+        userTasks = backend.load(null);
+        userTasks.addAll(createTasks("a", "b", "c"));
+        backend.save(userTasks);
+        addTask(backend, "d");
+        deleteTask(backend, 1);
+        assertEquals(List.of("a", "c", "d"), getTaskNames(userTasks));
+    }
+
+    @Test
+    public void testRotateKeepsRotatedJournalOfFailedCompaction() throws IOException {
+        assertEquals(1, createJournal().rotate());
+        DukeStorageTextBackend backend = createBackend();
+        userTasks = backend.load(null);
+        addTask(backend, "e");
+        deleteTask(backend, 0);
+        String rotatedJournal = Files.readString(getRotatedFile(1).toPath());
+
+        assertEquals(2, createJournal().rotate());
+        assertEquals(rotatedJournal, Files.readString(getRotatedFile(1).toPath()));
+        assertTrue(getRotatedFile(2).exists());
+        assertFalse(new File(taskFilePath + DukeStorageJournal.DUKE_JOURNAL_FILE_SUFFIX).exists());
+        assertEquals(List.of("c", "d", "e"), reload());
+    }
+
+    @Test
+    public void testCompactionFoldsEveryRotatedJournal() throws IOException {
+        createJournal().rotate();
+        DukeStorageTextBackend backend = createBackend();
+        userTasks = backend.load(null);
+        addTask(backend, "e");
+
+        backend.save(userTasks);
+        assertFalse(getRotatedFile(1).exists());
+        assertFalse(getRotatedFile(2).exists());
+        assertFalse(getCompactedFile(2).exists());
+        assertEquals(List.of("a", "c", "d", "e"), reload());
+    }
+
+    @Test
+    public void testRecoverDiscardsUncommittedCompaction() throws IOException {
+        createJournal().rotate();
+        writeSnapshot(getCompactedFile(1), "x");
+
+        assertEquals(List.of("a", "c", "d"), reload());
+        assertFalse(getCompactedFile(1).exists());
+        assertTrue(getRotatedFile(1).exists());
+    }
+
+    @Test
+    public void testRecoverFinishesCommittedCompaction() throws IOException {
+        createJournal().rotate();
+        writeSnapshot(getCompactedFile(2), "a", "c", "d", "e");
+
+        assertEquals(List.of("a", "c", "d", "e"), reload());
+        assertFalse(getCompactedFile(2).exists());
+        assertFalse(getRotatedFile(1).exists());
+        assertEquals(List.of("a", "c", "d", "e"), reload());
+    }
+
+    @Test
+    public void testRecoverAfterCrashBeforeRenameOverDataFile() throws IOException {
+        writeSnapshot(getCompactedFile(0), "a", "c", "d");
+        Files.delete(Path.of(taskFilePath + DukeStorageJournal.DUKE_JOURNAL_FILE_SUFFIX));
+
+        assertEquals(List.of("a", "c", "d"), reload());
+        assertFalse(getCompactedFile(0).exists());
+    }
+
+    private DukeStorageTextBackend createBackend() {
+        return new DukeStorageTextBackend(taskFilePath, true, DukeStorageDurability.BUFFERED);
+    }
+
+    private DukeStorageJournal createJournal() {
+        return new DukeStorageJournal(taskFilePath, new DukeStorageCommitter(DukeStorageDurability.BUFFERED));
+    }
+
+    private List<String> reload() throws IOException {
+        return getTaskNames(createBackend().load(null));
+    }
+
+    private void addTask(DukeStorageTextBackend backend, String taskName) throws IOException {
+        DukeTask task = new DukeTaskToDo(taskName, false);
+        userTasks.add(task);
+        backend.saveAddedTask(userTasks, task);
+    }
+
+    private void deleteTask(DukeStorageTextBackend backend, int taskIndex) throws IOException {
+        userTasks.remove(taskIndex);
+        backend.saveDeletedTask(userTasks, taskIndex);
+    }
+
+    private File getRotatedFile(long rotatedNumber) {
+        return new File(taskFilePath + DukeStorageJournal.DUKE_JOURNAL_ROTATED_FILE_SUFFIX + rotatedNumber);
+    }
+
+    private File getCompactedFile(long rotatedNumber) {
+        return new File(taskFilePath + DukeStorageCompactor.DUKE_COMPACTED_FILE_SUFFIX + rotatedNumber);
+    }
+
+    /**
+     * Writes a data file holding some tasks somewhere else and moves it into place, as a compaction that stopped
+     * before it was renamed over the data file would have left it.
+     *
+     * @param snapshotFile File to move the data file to.
+     * @param taskNames Names of the tasks in the data file.
+     * @throws IOException If the data file cannot be written.
+     */
+    private void writeSnapshot(File snapshotFile, String... taskNames) throws IOException {
+        String snapshotFilePath = temporaryDirectory.resolve("snapshot.txt").toString();
+        new DukeStorageTextBackend(snapshotFilePath, false, DukeStorageDurability.BUFFERED)
+                .save(createTasks(taskNames));
+        Files.move(Path.of(snapshotFilePath), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,131 @@
+package util.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static util.DukeTestTasks.createTasks;
+import static util.DukeTestTasks.toStrings;
+
+import duke.task.DukeTask;
+import duke.task.DukeTaskToDo;
+import duke.util.DukeStorage;
+import duke.util.storage.DukeStorageDurability;
+import duke.util.storage.DukeStorageTextBackend;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import util.DukeTestUiMessages;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+
+public class DukeStorageInPlaceTest {
+
+    @TempDir
+    Path temporaryDirectory;
+
+    private Path taskFile;
+    private DukeTestUiMessages ui;
+
+    @BeforeEach
+    public void beforeEach() {
+        taskFile = temporaryDirectory.resolve("duke.txt");
+        ui = new DukeTestUiMessages();
+    }
+
+    @Test
+    public void testCompletedTaskIsOverwrittenInPlace() throws IOException {
+        DukeStorageTextBackend backend = createBackend();
+        List<DukeTask> userTasks = createTasks();
+        backend.save(userTasks);
+        Object fileKey = getFileKey();
+        long fileSize = Files.size(taskFile);
+
+        for (int taskIndex = 0; taskIndex < userTasks.size(); taskIndex++) {
+            if (userTasks.get(taskIndex).getTaskIsComplete()) {
+                continue;
+            }
+            userTasks.get(taskIndex).setTaskComplete();
+            assertTrue(backend.saveCompletedTaskInPlace(userTasks, taskIndex));
+        }
+
+        assertEquals(fileKey, getFileKey());
+        assertEquals(fileSize, Files.size(taskFile));
+        assertEquals(toStrings(userTasks), toStrings(createBackend().load(ui)));
+        assertEquals(0, ui.getMessages().size());
+    }
+
+    @Test
+    public void testRecordOffsetsAreScannedAfterLoad() throws IOException {
+        createBackend().save(createTasks());
+        DukeStorageTextBackend backend = createBackend();
+        List<DukeTask> userTasks = backend.load(ui);
+        Object fileKey = getFileKey();
+
+        userTasks.get(2).setTaskComplete();
+        assertTrue(backend.saveCompletedTaskInPlace(userTasks, 2));
+
+        assertEquals(fileKey, getFileKey());
+        assertEquals(toStrings(userTasks), toStrings(createBackend().load(ui)));
+    }
+
+    @Test
+    public void testChangedLineIsNotOverwritten() throws IOException {
+        DukeStorageTextBackend backend = createBackend();
+        List<DukeTask> userTasks = createTasks();
+        backend.save(userTasks);
+        List<DukeTask> editedTasks = createTasks();
+        editedTasks.set(0, new DukeTaskToDo("reed book", false));
+        createBackend().save(editedTasks);
+
+        userTasks.get(0).setTaskComplete();
+        assertFalse(backend.saveCompletedTaskInPlace(userTasks, 0));
+        assertEquals(toStrings(editedTasks), toStrings(createBackend().load(ui)));
+    }
+
+    @Test
+    public void testJournaledBackendIsNeverOverwrittenInPlace() throws IOException {
+        DukeStorageTextBackend backend = new DukeStorageTextBackend(taskFile.toString(), true,
+                DukeStorageDurability.BUFFERED);
+        List<DukeTask> userTasks = backend.load(ui);
+        userTasks.addAll(createTasks());
+        backend.save(userTasks);
+
+        userTasks.get(0).setTaskComplete();
+        assertFalse(backend.saveCompletedTaskInPlace(userTasks, 0));
+    }
+
+    @Test
+    public void testStorageCompletesInPlaceAroundWriteBehind() throws IOException {
+        DukeStorage storage = new DukeStorage(taskFile.toString(), false, DukeStorageDurability.BUFFERED, true);
+        List<DukeTask> userTasks = storage.load(ui);
+        userTasks.addAll(createTasks());
+        storage.save(userTasks);
+        storage.flush();
+        Object fileKey = getFileKey();
+
+        userTasks.get(0).setTaskComplete();
+        storage.saveCompletedTask(userTasks, 0);
+        storage.flush();
+        assertEquals(fileKey, getFileKey());
+
+        userTasks.add(new DukeTaskToDo("pay fees", false));
+        storage.save(userTasks);
+        userTasks.get(1).setTaskComplete();
+        storage.saveCompletedTask(userTasks, 1);
+        storage.flush();
+
+        assertEquals(toStrings(userTasks), toStrings(new DukeStorage(taskFile.toString()).load(ui)));
+    }
+
+    private DukeStorageTextBackend createBackend() {
+        return new DukeStorageTextBackend(taskFile.toString(), false, DukeStorageDurability.BUFFERED);
+    }
+
+    private Object getFileKey() throws IOException {
+        return Files.readAttributes(taskFile, BasicFileAttributes.class).fileKey();
+    }
+}
@@ -0,0 +1,137 @@
+package util.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static util.DukeTestTasks.createTasks;
+import static util.DukeTestTasks.toStrings;
+
+import duke.task.DukeTask;
+import duke.task.DukeTaskToDo;
+import duke.util.storage.DukeStorageChecksum;
+import duke.util.storage.DukeStorageDurability;
+import duke.util.storage.DukeStorageJournal;
+import duke.util.storage.DukeStorageQuarantine;
+import duke.util.storage.DukeStorageTextBackend;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import util.DukeTestUiMessages;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+public class DukeStorageJournalTest {
+
+    @TempDir
+    Path temporaryDirectory;
+
+    private Path taskFile;
+    private Path journalFile;
+    private DukeTestUiMessages ui;
+    private List<DukeTask> userTasks;
+
+    /**
+     * Saves the tasks "a", "b" and "c" into the data file, then journals adding "d", completing "a" and deleting
+     * "b", so that the list is "a" (completed), "c" and "d".
+     *
+     * @throws IOException If the data file cannot be written.
+     */
+    @BeforeEach
+    public void beforeEach() throws IOException {
+        taskFile = temporaryDirectory.resolve("duke.txt");
+        journalFile = Path.of(taskFile + DukeStorageJournal.DUKE_JOURNAL_FILE_SUFFIX);
+        ui = new DukeTestUiMessages();
+        DukeStorageTextBackend backend = createBackend();
+        userTasks = backend.load(ui);
+        userTasks.addAll(createTasks("a", "b", "c"));
+        backend.save(userTasks);
+
+        DukeTask task = new DukeTaskToDo("d", false);
+        userTasks.add(task);
+        backend.saveAddedTask(userTasks, task);
+        userTasks.get(0).setTaskComplete();
+        backend.saveCompletedTask(userTasks, 0);
+        userTasks.remove(1);
+        backend.saveDeletedTask(userTasks, 1);
+        backend.flush();
+    }
+
+    @Test
+    public void testRecordsAreReplayedOnTopOfTheDataFile() throws IOException {
+        assertEquals(3, Files.readAllLines(taskFile).size());
+        assertEquals(3, Files.readAllLines(journalFile).size());
+
+        assertEquals(toStrings(userTasks), toStrings(createBackend().load(ui)));
+        assertEquals(0, ui.getMessages().size());
+    }
+
+    @Test
+    public void testTornRecordWithPartOfItsChecksumIsQuarantined() throws IOException {
+        String record = DukeStorageChecksum.appendChecksum("A | T | 0 | e");
+        String tornRecord = record.substring(0, record.length() - 3);
+        Files.writeString(journalFile, tornRecord, StandardOpenOption.APPEND);
+
+        assertQuarantined(tornRecord);
+    }
+
+    @Test
+    public void testTornRecordWithoutItsChecksumIsQuarantined() throws IOException {
+        String tornRecord = "A | T | 0 | ef";
+        Files.writeString(journalFile, tornRecord, StandardOpenOption.APPEND);
+
+        assertQuarantined(tornRecord);
+    }
+
+    @Test
+    public void testCorruptedRecordIsQuarantinedWithEveryRecordAfterIt() throws IOException {
+        String corruptedRecord = DukeStorageChecksum.appendChecksum("X | 0").replace("X | 0\t", "X | 1\t");
+        String laterRecord = DukeStorageChecksum.appendChecksum("A | T | 0 | e");
+        Files.writeString(journalFile, corruptedRecord + System.lineSeparator() + laterRecord
+                + System.lineSeparator(), StandardOpenOption.APPEND);
+
+        assertQuarantined(corruptedRecord, laterRecord);
+    }
+
+    @Test
+    public void testRecordWithoutChecksumIsReplayedFromJournalWithoutChecksums() throws IOException {
+        Files.writeString(journalFile, "A | T | 0 | e" + System.lineSeparator());
+
+        assertEquals(toStrings(createTasks("a", "b", "c", "e")), toStrings(createBackend().load(ui)));
+        assertEquals(0, ui.getMessages().size());
+    }
+
+    @Test
+    public void testRecordWithoutChecksumAfterChecksummedRecordsIsQuarantined() throws IOException {
+        String record = "A | T | 0 | e";
+        Files.writeString(journalFile, record + System.lineSeparator(), StandardOpenOption.APPEND);
+
+        assertQuarantined(record);
+    }
+
+    /**
+     * Loads the data file and checks that the tasks are the ones from before the records were appended to the
+     * journal, that the records were moved to the quarantine side file, and that a second load finds nothing to move.
+     *
+     * @param quarantinedRecords Records that must have been moved to the quarantine side file.
+     * @throws IOException If the data file cannot be read.
+     */
+    private void assertQuarantined(String... quarantinedRecords) throws IOException {
+        assertEquals(toStrings(userTasks), toStrings(createBackend().load(ui)));
+        assertEquals(1, ui.getMessages().size());
+        List<String> quarantineLines = Files.readAllLines(Path.of(taskFile
+                + DukeStorageQuarantine.DUKE_QUARANTINE_FILE_SUFFIX));
+        for (String quarantinedRecord : quarantinedRecords) {
+            assertTrue(quarantineLines.contains(quarantinedRecord));
+        }
+
+        assertEquals(toStrings(userTasks), toStrings(createBackend().load(ui)));
+        assertEquals(1, ui.getMessages().size());
+    }
+
+    private DukeStorageTextBackend createBackend() {
+        return new DukeStorageTextBackend(taskFile.toString(), true, DukeStorageDurability.BUFFERED);
+    }
+}
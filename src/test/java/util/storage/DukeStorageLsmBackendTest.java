@@ -0,0 +1,156 @@
+package util.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static util.DukeTestTasks.toStrings;
+
+import duke.task.DukeTask;
+import duke.task.DukeTaskDeadline;
+import duke.task.DukeTaskEvent;
+import duke.task.DukeTaskToDo;
+import duke.util.storage.DukeStorageChecksum;
+import duke.util.storage.DukeStorageDurability;
+import duke.util.storage.DukeStorageLsmBackend;
+import duke.util.storage.DukeStorageQuarantine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import util.DukeTestUiMessages;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+public class DukeStorageLsmBackendTest {
+
+    @TempDir
+    Path temporaryDirectory;
+
+    private String taskFilePath;
+    private DukeTestUiMessages ui;
+
+    @BeforeEach
+    public void beforeEach() {
+        taskFilePath = temporaryDirectory.resolve("duke.txt").toString();
+        ui = new DukeTestUiMessages();
+    }
+
+    @Test
+    public void testSaveWithoutLoadRoundTrip() throws IOException {
+        List<DukeTask> userTasks = new ArrayList<>();
+        userTasks.add(new DukeTaskToDo("read book", false));
+        userTasks.add(new DukeTaskDeadline("return book", true, "2/12/2019 1800"));
+        userTasks.add(new DukeTaskEvent("project meeting", false, "COM1"));
+        DukeStorageLsmBackend backend = createBackend();
+        backend.save(userTasks);
+        backend.flush();
+
+        assertEquals(toStrings(userTasks), toStrings(createBackend().load(ui)));
+    }
+
+    @Test
+    public void testAddWithoutLoadIsLogged() throws IOException {
+        List<DukeTask> userTasks = new ArrayList<>();
+        DukeStorageLsmBackend backend = createBackend();
+        addTask(backend, userTasks, "read book");
+
+        assertEquals(toStrings(userTasks), toStrings(createBackend().load(ui)));
+    }
+
+    @Test
+    public void testWriteAheadLogIsReplayedWithoutFlush() throws IOException {
+        DukeStorageLsmBackend backend = createBackend();
+        List<DukeTask> userTasks = backend.load(ui);
+        addTask(backend, userTasks, "a");
+        addTask(backend, userTasks, "b");
+        addTask(backend, userTasks, "c");
+        userTasks.get(1).setTaskComplete();
+        backend.saveCompletedTask(userTasks, 1);
+        userTasks.remove(0);
+        backend.saveDeletedTask(userTasks, 0);
+
+        assertEquals(toStrings(userTasks), toStrings(createBackend().load(ui)));
+    }
+
+    @Test
+    public void testTombstonesHideTasksAcrossFlushesAndMerges() throws IOException {
+        DukeStorageLsmBackend backend = createBackend();
+        List<DukeTask> userTasks = backend.load(ui);
+        int taskCount = DukeStorageLsmBackend.DUKE_LSM_MEMTABLE_SIZE
+                * (DukeStorageLsmBackend.DUKE_LSM_MERGE_THRESHOLD + 1);
+        for (int index = 0; index < taskCount; index++) {
+            addTask(backend, userTasks, "task " + index);
+        }
+        for (int index = 0; index < userTasks.size(); index += 2) {
+            userTasks.remove(index);
+            backend.saveDeletedTask(userTasks, index);
+        }
+        for (int index = 0; index < userTasks.size(); index += 3) {
+            userTasks.get(index).setTaskComplete();
+            backend.saveCompletedTask(userTasks, index);
+        }
+        backend.flush();
+
+        File[] runFiles = new File(taskFilePath + DukeStorageLsmBackend.DUKE_LSM_DIRECTORY_SUFFIX)
+                .listFiles((directory, fileName) -> fileName.startsWith("run."));
+        assertTrue(runFiles.length < DukeStorageLsmBackend.DUKE_LSM_MERGE_THRESHOLD);
+        List<DukeTask> loadedTasks = createBackend().load(ui);
+        assertEquals(toStrings(userTasks), toStrings(loadedTasks));
+
+        DukeStorageLsmBackend reloadedBackend = createBackend();
+        loadedTasks = reloadedBackend.load(ui);
+        loadedTasks.remove(1);
+        reloadedBackend.saveDeletedTask(loadedTasks, 1);
+        userTasks.remove(1);
+        assertEquals(toStrings(userTasks), toStrings(createBackend().load(ui)));
+    }
+
+    @Test
+    public void testCorruptedLogEntryIsQuarantined() throws IOException {
+        DukeStorageLsmBackend backend = createBackend();
+        List<DukeTask> userTasks = backend.load(ui);
+        addTask(backend, userTasks, "a");
+        addTask(backend, userTasks, "b");
+        Path logPath = Path.of(taskFilePath + DukeStorageLsmBackend.DUKE_LSM_DIRECTORY_SUFFIX, "wal");
+        String corruptedEntry = DukeStorageChecksum.appendChecksum("2 | T | 0 | c").replace("| c\t", "| x\t");
+        Files.writeString(logPath, corruptedEntry + System.lineSeparator(), StandardOpenOption.APPEND);
+
+        assertEquals(toStrings(userTasks), toStrings(createBackend().load(ui)));
+        assertEquals(1, ui.getMessages().size());
+        assertTrue(Files.readString(Path.of(taskFilePath + DukeStorageQuarantine.DUKE_QUARANTINE_FILE_SUFFIX))
+                .contains(corruptedEntry));
+        assertEquals(toStrings(userTasks), toStrings(createBackend().load(ui)));
+        assertEquals(1, ui.getMessages().size());
+    }
+
+    @Test
+    public void testTornLogEntryIsQuarantined() throws IOException {
+        DukeStorageLsmBackend backend = createBackend();
+        List<DukeTask> userTasks = backend.load(ui);
+        addTask(backend, userTasks, "a");
+        Path logPath = Path.of(taskFilePath + DukeStorageLsmBackend.DUKE_LSM_DIRECTORY_SUFFIX, "wal");
+        String entry = DukeStorageChecksum.appendChecksum("1 | T | 0 | b");
+        String tornEntry = entry.substring(0, entry.length() - 5);
+        Files.writeString(logPath, tornEntry, StandardOpenOption.APPEND);
+
+        assertEquals(toStrings(userTasks), toStrings(createBackend().load(ui)));
+        assertEquals(1, ui.getMessages().size());
+        assertTrue(Files.readString(Path.of(taskFilePath + DukeStorageQuarantine.DUKE_QUARANTINE_FILE_SUFFIX))
+                .contains(tornEntry));
+    }
+
+    private DukeStorageLsmBackend createBackend() {
+        return new DukeStorageLsmBackend(taskFilePath, DukeStorageDurability.BUFFERED);
+    }
+
+    private static void addTask(DukeStorageLsmBackend backend, List<DukeTask> userTasks, String taskName)
+            throws IOException {
+        DukeTask task = new DukeTaskToDo(taskName, false);
+        userTasks.add(task);
+        backend.saveAddedTask(userTasks, task);
+    }
+}
@@ -0,0 +1,124 @@
+package util.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static util.DukeTestTasks.createTasks;
+import static util.DukeTestTasks.toStrings;
+
+import duke.task.DukeTask;
+import duke.task.DukeTaskToDo;
+import duke.util.DukeStorage;
+import duke.util.DukeTaskList;
+import duke.util.storage.DukeStorageLock;
+import duke.util.storage.DukeStorageLockedException;
+import duke.util.storage.DukeStorageQuarantine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import util.DukeTestUiMessages;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class DukeStorageRebaseTest {
+
+    @TempDir
+    Path temporaryDirectory;
+
+    private String taskFilePath;
+    private DukeTestUiMessages ui;
+    private DukeStorage storage;
+    private DukeStorage otherStorage;
+    private List<DukeTask> userTasks;
+    private List<DukeTask> otherTasks;
+
+    /**
+     * Saves the tasks "a", "b" and "c" into the data file, then loads it through two storages, as two Duke instances
+     * sharing the data file would.
+     *
+     * @throws IOException If the data file cannot be read or written.
+     */
+    @BeforeEach
+    public void beforeEach() throws IOException {
+        taskFilePath = temporaryDirectory.resolve("duke.txt").toString();
+        ui = new DukeTestUiMessages();
+        DukeStorage initialStorage = new DukeStorage(taskFilePath);
+        List<DukeTask> initialTasks = initialStorage.load(ui);
+        initialTasks.addAll(createTasks("a", "b", "c"));
+        initialStorage.save(initialTasks);
+
+        storage = new DukeStorage(taskFilePath);
+        otherStorage = new DukeStorage(taskFilePath);
+        userTasks = storage.load(ui);
+        otherTasks = otherStorage.load(ui);
+    }
+
+    @Test
+    public void testChangesOfAnotherInstanceAreMerged() throws IOException {
+        DukeTask task = new DukeTaskToDo("d", false);
+        otherTasks.add(task);
+        otherStorage.saveAddedTask(otherTasks, task);
+        userTasks.get(0).setTaskComplete();
+        storage.saveCompletedTask(userTasks, 0);
+
+        List<DukeTask> expectedTasks = createTasks("a", "b", "c", "d");
+        expectedTasks.get(0).setTaskComplete();
+        assertEquals(toStrings(expectedTasks), toStrings(userTasks));
+        assertEquals(1, storage.getRebaseCount());
+        assertEquals(toStrings(expectedTasks), toStrings(new DukeStorage(taskFilePath).load(ui)));
+        assertFalse(Files.exists(getQuarantineFile()));
+    }
+
+    @Test
+    public void testOwnWritesAreNotRebased() throws IOException {
+        DukeTask task = new DukeTaskToDo("d", false);
+        userTasks.add(task);
+        storage.saveAddedTask(userTasks, task);
+        userTasks.remove(1);
+        storage.saveDeletedTask(userTasks, 1);
+
+        assertEquals(0, storage.getRebaseCount());
+        assertEquals(toStrings(createTasks("a", "c", "d")), toStrings(new DukeStorage(taskFilePath).load(ui)));
+    }
+
+    @Test
+    public void testConflictingChangesOfAnotherInstanceAreQuarantined() throws IOException {
+        otherTasks.get(1).setTaskComplete();
+        otherStorage.saveCompletedTask(otherTasks, 1);
+        userTasks.remove(1);
+        storage.saveDeletedTask(userTasks, 1);
+
+        List<DukeTask> expectedTasks = createTasks("a", "c");
+        assertEquals(toStrings(expectedTasks), toStrings(userTasks));
+        assertEquals(0, storage.getRebaseCount());
+        assertEquals(toStrings(expectedTasks), toStrings(new DukeStorage(taskFilePath).load(ui)));
+        List<String> quarantineLines = Files.readAllLines(getQuarantineFile());
+        assertTrue(quarantineLines.contains(DukeStorage.processWriteTask(otherTasks.get(1))));
+    }
+
+    @Test
+    public void testLockHeldByAnotherInstanceIsNotWaitedForWithoutBound() throws IOException {
+        DukeStorageLock otherLock = new DukeStorageLock(taskFilePath);
+        otherLock.lock();
+        DukeTestUiMessages lockedUi = new DukeTestUiMessages();
+        DukeTaskList tasks = new DukeTaskList(userTasks);
+
+        assertThrows(DukeStorageLockedException.class, () -> storage.save(userTasks));
+        tasks.addToDukeTasks(new DukeTaskToDo("d", false), lockedUi, storage);
+        assertTrue(lockedUi.getMessages().get(lockedUi.getMessages().size() - 1).contains("another Duke instance"));
+
+        otherLock.unlock();
+        otherLock.close();
+        userTasks.remove(1);
+        storage.save(userTasks);
+        assertEquals(toStrings(createTasks("a", "c")), toStrings(new DukeStorage(taskFilePath).load(ui)));
+    }
+
+    private Path getQuarantineFile() {
+        return Path.of(taskFilePath + DukeStorageQuarantine.DUKE_QUARANTINE_FILE_SUFFIX);
+    }
+}
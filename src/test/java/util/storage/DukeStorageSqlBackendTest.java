@@ -0,0 +1,99 @@
+package util.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static util.DukeTestTasks.toStrings;
+
+import duke.task.DukeTask;
+import duke.task.DukeTaskDeadline;
+import duke.task.DukeTaskEvent;
+import duke.task.DukeTaskToDo;
+import duke.util.storage.DukeStorageSqlBackend;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import util.DukeTestUiMessages;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+public class DukeStorageSqlBackendTest {
+
+    @TempDir
+    Path temporaryDirectory;
+
+    private String taskFilePath;
+    private DukeTestUiMessages ui;
+
+    @BeforeEach
+    public void beforeEach() {
+        taskFilePath = temporaryDirectory.resolve("duke.txt").toString();
+        ui = new DukeTestUiMessages();
+    }
+
+    @Test
+    public void testSaveLoadRoundTrip() throws IOException {
+        List<DukeTask> userTasks = new ArrayList<>();
+        userTasks.add(new DukeTaskToDo("read book", false));
+        userTasks.add(new DukeTaskDeadline("return book", true, "2/12/2019 1800"));
+        userTasks.add(new DukeTaskDeadline("submit essay", false, "next monday"));
+        userTasks.add(new DukeTaskEvent("project meeting", false, "COM1"));
+        new DukeStorageSqlBackend(taskFilePath).save(userTasks);
+
+        assertEquals(toStrings(userTasks), toStrings(new DukeStorageSqlBackend(taskFilePath).load(ui)));
+    }
+
+    @Test
+    public void testDeadlinesAreFoundByTheirDateTime() throws IOException {
+        DukeStorageSqlBackend backend = new DukeStorageSqlBackend(taskFilePath);
+        List<DukeTask> userTasks = backend.load(ui);
+        List<DukeTask> addedTasks = new ArrayList<>();
+        addedTasks.add(new DukeTaskDeadline("return book", false, LocalDateTime.of(2019, 12, 2, 18, 0)));
+        addedTasks.add(new DukeTaskDeadline("pay fees", true, LocalDateTime.of(2019, 12, 2, 9, 0)));
+        addedTasks.add(new DukeTaskDeadline("submit essay", false, "next monday"));
+        addedTasks.add(new DukeTaskDeadline("buy gift", false, LocalDateTime.of(2019, 12, 3, 0, 0)));
+        userTasks.addAll(addedTasks);
+        backend.saveAddedTasks(userTasks, addedTasks);
+
+        assertEquals(Optional.of(List.of(0)), backend.findIncompleteDeadlines(LocalDateTime.of(2019, 12, 2, 0, 0),
+                LocalDateTime.of(2019, 12, 3, 0, 0)));
+
+        DukeStorageSqlBackend reloadedBackend = new DukeStorageSqlBackend(taskFilePath);
+        reloadedBackend.load(ui);
+        assertEquals(Optional.of(List.of(0, 3)), reloadedBackend.findIncompleteDeadlines(
+                LocalDateTime.of(2019, 12, 1, 0, 0), LocalDateTime.of(2019, 12, 4, 0, 0)));
+    }
+
+    @Test
+    public void testDeletesKeepTheIdsOfTheRowsInStep() throws IOException {
+        DukeStorageSqlBackend backend = new DukeStorageSqlBackend(taskFilePath);
+        List<DukeTask> userTasks = backend.load(ui);
+        List<DukeTask> addedTasks = new ArrayList<>();
+        for (int index = 0; index < 1500; index++) {
+            addedTasks.add(new DukeTaskToDo("task " + index, false));
+        }
+        userTasks.addAll(addedTasks);
+        backend.saveAddedTasks(userTasks, addedTasks);
+        for (int index = 0; index < 1100; index++) {
+            int taskIndex = (index * 7) % userTasks.size();
+            userTasks.remove(taskIndex);
+            backend.saveDeletedTask(userTasks, taskIndex);
+        }
+        for (int index = 0; index < userTasks.size(); index += 5) {
+            userTasks.get(index).setTaskComplete();
+            backend.saveCompletedTask(userTasks, index);
+        }
+
+        List<Integer> matchingIndexes = new ArrayList<>();
+        for (int index = 0; index < userTasks.size(); index++) {
+            if (userTasks.get(index).getTaskName().contains("task 1")) {
+                matchingIndexes.add(index);
+            }
+        }
+        assertEquals(Optional.of(matchingIndexes), backend.findTasks("task 1"));
+        assertEquals(toStrings(userTasks), toStrings(new DukeStorageSqlBackend(taskFilePath).load(ui)));
+    }
+}
@@ -0,0 +1,206 @@
+package util.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static util.DukeTestTasks.getTaskNames;
+import static util.DukeTestTasks.toStrings;
+
+import duke.task.DukeTask;
+import duke.task.DukeTaskDeadline;
+import duke.task.DukeTaskEvent;
+import duke.task.DukeTaskToDo;
+import duke.util.DukeParser;
+import duke.util.storage.DukeStorageColumnarTaskList;
+import duke.util.storage.DukeStorageExporter;
+import duke.util.storage.DukeStorageImporter;
+import duke.util.storage.DukeStorageTransferFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class DukeStorageTransferTest {
+
+    @TempDir
+    Path temporaryDirectory;
+
+    private Path csvFile;
+    private Path jsonLinesFile;
+
+    @BeforeEach
+    public void beforeEach() {
+        csvFile = temporaryDirectory.resolve("tasks.csv");
+        jsonLinesFile = temporaryDirectory.resolve("tasks.jsonl");
+    }
+
+    @Test
+    public void testFormatIsChosenByExtension() {
+        assertEquals(DukeStorageTransferFormat.CSV, DukeStorageTransferFormat.fromPath("Tasks.CSV").get());
+        assertEquals(DukeStorageTransferFormat.JSON_LINES, DukeStorageTransferFormat.fromPath("tasks.jsonl").get());
+        assertTrue(DukeStorageTransferFormat.fromPath("tasks.txt").isEmpty());
+    }
+
+    @Test
+    public void testCsvRoundTrip() throws IOException {
+        assertRoundTrip(createQuotedTasks(), csvFile, DukeStorageTransferFormat.CSV);
+        assertRoundTrip(DukeStorageColumnarTaskList.fromTasks(createQuotedTasks()), csvFile,
+                DukeStorageTransferFormat.CSV);
+    }
+
+    @Test
+    public void testJsonLinesRoundTrip() throws IOException {
+        assertRoundTrip(createQuotedTasks(), jsonLinesFile, DukeStorageTransferFormat.JSON_LINES);
+        assertRoundTrip(DukeStorageColumnarTaskList.fromTasks(createQuotedTasks()), jsonLinesFile,
+                DukeStorageTransferFormat.JSON_LINES);
+    }
+
+    @Test
+    public void testCsvRowsAreSplit() throws IOException {
+        DukeStorageTransferFormat format = DukeStorageTransferFormat.CSV;
+
+        assertArrayEquals(new String[] {"D", "0", "Submit report", "2nd of December 2019, 6:00PM"},
+                format.parseRow("D,0,Submit report,\"2nd of December 2019, 6:00PM\""));
+        assertArrayEquals(new String[] {"T", "1", "say \"hi\", then", ""},
+                format.parseRow("T,1,\"say \"\"hi\"\", then\","));
+        assertArrayEquals(new String[] {"T", "", "", ""}, format.parseRow("T"));
+        assertArrayEquals(new String[] {"T", "0", "a\"b", ""}, format.parseRow("T,0,a\"b"));
+    }
+
+    @Test
+    public void testMalformedCsvRowsAreRejected() {
+        DukeStorageTransferFormat format = DukeStorageTransferFormat.CSV;
+
+        assertThrows(IOException.class, () -> format.parseRow("T,0,\"unclosed"));
+        assertThrows(IOException.class, () -> format.parseRow("T,0,\"quoted\" text,"));
+        assertThrows(IOException.class, () -> format.parseRow("T,0,name,detail,extra"));
+    }
+
+    @Test
+    public void testJsonLinesRowsAreRead() throws IOException {
+        DukeStorageTransferFormat format = DukeStorageTransferFormat.JSON_LINES;
+
+        assertArrayEquals(new String[] {"T", "true", "say \"hi\"\t\\ \u00e9A", ""}, format.parseRow(
+                " { \"name\" : \"say \\\"hi\\\"\\t\\\\ \\u00e9\\u0041\", \"done\":true, \"type\":\"T\","
+                + " \"detail\":null, \"priority\":-1.5 } "));
+        assertArrayEquals(new String[] {"E", "false", "meet/greet", "COM1"},
+                format.parseRow("{\"type\":\"E\",\"done\":false,\"name\":\"meet\\/greet\",\"detail\":\"COM1\"}"));
+        assertArrayEquals(new String[] {"", "", "", ""}, format.parseRow("{}"));
+    }
+
+    @Test
+    public void testMalformedJsonLinesRowsAreRejected() {
+        DukeStorageTransferFormat format = DukeStorageTransferFormat.JSON_LINES;
+
+        assertThrows(IOException.class, () -> format.parseRow("\"type\":\"T\""));
+        assertThrows(IOException.class, () -> format.parseRow("{\"type\":\"T\"} trailing"));
+        assertThrows(IOException.class, () -> format.parseRow("{\"type\":\"T}"));
+        assertThrows(IOException.class, () -> format.parseRow("{\"name\":\"\\u00\"}"));
+        assertThrows(IOException.class, () -> format.parseRow("{\"name\":\"\\uzzzz\"}"));
+        assertThrows(IOException.class, () -> format.parseRow("{\"type\":}"));
+        assertThrows(IOException.class, () -> format.parseRow("{\"type\":\"T\",}"));
+    }
+
+    @Test
+    public void testImportSkipsByteOrderMarkHeaderAndBlankLines() throws IOException {
+        String outputDeadline = DukeParser.getOutputDateTimeFormatter().format(LocalDateTime.of(2019, 12, 5, 9, 30));
+        Files.write(csvFile, List.of("\uFEFFTYPE,Done,Name,Detail", "", "todo,true,read book,",
+                "D,0,return book,2/12/2019 1800", "deadline,,pay fees,\"" + outputDeadline + "\"",
+                "  ", "EVENT,false,project meeting,COM1"), StandardCharsets.UTF_8);
+
+        List<DukeTask> expectedTasks = new ArrayList<>();
+        expectedTasks.add(new DukeTaskToDo("read book", true));
+        expectedTasks.add(new DukeTaskDeadline("return book", false, LocalDateTime.of(2019, 12, 2, 18, 0)));
+        expectedTasks.add(new DukeTaskDeadline("pay fees", false, LocalDateTime.of(2019, 12, 5, 9, 30)));
+        expectedTasks.add(new DukeTaskEvent("project meeting", false, "COM1"));
+        try (DukeStorageImporter importer = new DukeStorageImporter(csvFile.toString(),
+                DukeStorageTransferFormat.CSV)) {
+            assertEquals(toStrings(expectedTasks), toStrings(importer.readBatch()));
+            assertTrue(importer.readBatch().isEmpty());
+            assertEquals(4, importer.getImportedCount());
+            assertEquals(0, importer.getRejectedCount());
+        }
+        assertTrue(Files.notExists(Path.of(csvFile + ".quarantine")));
+    }
+
+    @Test
+    public void testRejectedRowsAreQuarantined() throws IOException {
+        List<String> rejectedRows = List.of("X,0,unknown type,", "T,0,  ,", "T,maybe,read book,",
+                "T,0,read | book,", "D,0,return book,next monday", "E,0,project meeting,",
+                "T,0,\"unclosed", "{\"type\":\"T\"}");
+        List<String> lines = new ArrayList<>(rejectedRows);
+        lines.add(1, "T,0,read book,");
+        Files.write(csvFile, lines, StandardCharsets.UTF_8);
+
+        try (DukeStorageImporter importer = new DukeStorageImporter(csvFile.toString(),
+                DukeStorageTransferFormat.CSV)) {
+            assertEquals(List.of("read book"), getTaskNames(importer.readBatch()));
+            assertEquals(rejectedRows.size(), importer.getRejectedCount());
+            List<String> quarantineLines = Files.readAllLines(Path.of(importer.getQuarantineFilePath()));
+            assertEquals(rejectedRows, quarantineLines.subList(1, quarantineLines.size()));
+        }
+    }
+
+    @Test
+    public void testEveryBatchQuarantinesItsOwnRows() throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (int index = 0; index < DukeStorageImporter.DUKE_IMPORT_BATCH_SIZE + 10; index++) {
+            lines.add("{\"type\":\"T\",\"done\":false,\"name\":\"task " + index + "\",\"detail\":\"\"}");
+        }
+        lines.add(5, "{\"type\":\"T\",\"name\":\"\"}");
+        lines.add("not json");
+        Files.write(jsonLinesFile, lines, StandardCharsets.UTF_8);
+
+        try (DukeStorageImporter importer = new DukeStorageImporter(jsonLinesFile.toString(),
+                DukeStorageTransferFormat.JSON_LINES)) {
+            assertEquals(DukeStorageImporter.DUKE_IMPORT_BATCH_SIZE, importer.readBatch().size());
+            assertEquals(1, importer.getRejectedCount());
+            assertEquals(2, Files.readAllLines(Path.of(importer.getQuarantineFilePath())).size());
+
+            List<DukeTask> lastBatch = importer.readBatch();
+            assertEquals(10, lastBatch.size());
+            assertEquals("task " + (DukeStorageImporter.DUKE_IMPORT_BATCH_SIZE + 9),
+                    lastBatch.get(lastBatch.size() - 1).getTaskName());
+            assertEquals(2, importer.getRejectedCount());
+            assertEquals(4, Files.readAllLines(Path.of(importer.getQuarantineFilePath())).size());
+            assertEquals(DukeStorageImporter.DUKE_IMPORT_BATCH_SIZE + 10, importer.getImportedCount());
+        }
+    }
+
+    /**
+     * Exports a list of tasks, and checks that importing the exported file gives the same tasks back.
+     *
+     * @param userTasks List&lt;duke.task.DukeTask&gt; to export.
+     * @param exportFile File to export to.
+     * @param format Format to export in.
+     * @throws IOException If the file cannot be written or read.
+     */
+    private static void assertRoundTrip(List<DukeTask> userTasks, Path exportFile, DukeStorageTransferFormat format)
+            throws IOException {
+        assertEquals(userTasks.size(), DukeStorageExporter.export(userTasks, exportFile.toString(), format));
+
+        try (DukeStorageImporter importer = new DukeStorageImporter(exportFile.toString(), format)) {
+            assertEquals(toStrings(createQuotedTasks()), toStrings(importer.readBatch()));
+            assertEquals(0, importer.getRejectedCount());
+        }
+    }
+
+    private static List<DukeTask> createQuotedTasks() {
+        List<DukeTask> tasks = new ArrayList<>();
+        tasks.add(new DukeTaskToDo("read book", false));
+        tasks.add(new DukeTaskToDo("say \"hi\", then leave", true));
+        tasks.add(new DukeTaskToDo("back\\slash and caf\u00e9", false));
+        tasks.add(new DukeTaskDeadline("return book", false, LocalDateTime.of(2019, 12, 2, 18, 0)));
+        tasks.add(new DukeTaskDeadline("pay fees, all of them", true, LocalDateTime.of(2019, 12, 5, 9, 30)));
+        tasks.add(new DukeTaskEvent("project meeting", false, "COM1, level 2"));
+        return tasks;
+    }
+}
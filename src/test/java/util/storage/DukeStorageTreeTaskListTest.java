@@ -0,0 +1,98 @@
+package util.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static util.DukeTestTasks.createNumberedTasks;
+
+import duke.task.DukeTask;
+import duke.task.DukeTaskToDo;
+import duke.util.storage.DukeStorageTreeTaskList;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class DukeStorageTreeTaskListTest {
+
+    @Test
+    public void testFromTasksGivesIdsInListOrder() {
+        List<DukeTask> userTasks = createNumberedTasks(0, 1000);
+        DukeStorageTreeTaskList treeTasks = DukeStorageTreeTaskList.fromTasks(userTasks);
+
+        assertEquals(userTasks, treeTasks);
+        for (int index = 0; index < userTasks.size(); index++) {
+            assertEquals(index, treeTasks.getTaskId(index));
+            assertEquals(index, treeTasks.indexOfTaskId(index));
+        }
+        assertEquals(-1, treeTasks.indexOfTaskId(userTasks.size()));
+    }
+
+    @Test
+    public void testRandomEditsMatchArrayList() {
+        Random random = new Random(25);
+        List<DukeTask> arrayTasks = createNumberedTasks(0, 200);
+        DukeStorageTreeTaskList treeTasks = DukeStorageTreeTaskList.fromTasks(arrayTasks);
+        arrayTasks = new ArrayList<>(arrayTasks);
+        Map<DukeTask, Integer> taskIds = new IdentityHashMap<>();
+        for (int index = 0; index < arrayTasks.size(); index++) {
+            taskIds.put(arrayTasks.get(index), index);
+        }
+        List<Integer> removedTaskIds = new ArrayList<>();
+
+        for (int operation = 0; operation < 5000; operation++) {
+            int choice = random.nextInt(4);
+            if (choice == 0 && !arrayTasks.isEmpty()) {
+                int index = random.nextInt(arrayTasks.size());
+                DukeTask removedTask = arrayTasks.remove(index);
+                assertSame(removedTask, treeTasks.remove(index));
+                removedTaskIds.add(taskIds.remove(removedTask));
+            } else if (choice == 1 && !arrayTasks.isEmpty()) {
+                int index = random.nextInt(arrayTasks.size());
+                DukeTask task = new DukeTaskToDo("set " + operation, false);
+                DukeTask replacedTask = arrayTasks.set(index, task);
+                assertSame(replacedTask, treeTasks.set(index, task));
+                taskIds.put(task, taskIds.remove(replacedTask));
+            } else {
+                int index = random.nextInt(arrayTasks.size() + 1);
+                DukeTask task = new DukeTaskToDo("add " + operation, false);
+                arrayTasks.add(index, task);
+                treeTasks.add(index, task);
+                taskIds.put(task, treeTasks.getTaskId(index));
+            }
+        }
+
+        assertEquals(arrayTasks, treeTasks);
+        for (int index = 0; index < arrayTasks.size(); index++) {
+            assertSame(arrayTasks.get(index), treeTasks.get(index));
+            assertEquals(index, treeTasks.indexOfTaskId(taskIds.get(arrayTasks.get(index))));
+        }
+        for (int taskId : removedTaskIds) {
+            assertEquals(-1, treeTasks.indexOfTaskId(taskId));
+        }
+    }
+
+    @Test
+    public void testIteratorRemoveKeepsIds() {
+        DukeStorageTreeTaskList treeTasks = DukeStorageTreeTaskList.fromTasks(createNumberedTasks(0, 100));
+        Iterator<DukeTask> iterator = treeTasks.iterator();
+        int index = 0;
+        while (iterator.hasNext()) {
+            iterator.next();
+            if (index % 3 != 0) {
+                iterator.remove();
+            }
+            index++;
+        }
+
+        assertEquals(34, treeTasks.size());
+        for (int taskId = 0; taskId < 100; taskId++) {
+            assertEquals(taskId % 3 == 0 ? taskId / 3 : -1, treeTasks.indexOfTaskId(taskId));
+        }
+        treeTasks.add(new DukeTaskToDo("appended", false));
+        assertEquals(100, treeTasks.getTaskId(34));
+    }
+}
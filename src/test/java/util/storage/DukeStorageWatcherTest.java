@@ -0,0 +1,214 @@
+package util.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static util.DukeTestTasks.createTasks;
+import static util.DukeTestTasks.getTaskNames;
+
+import duke.task.DukeTask;
+import duke.task.DukeTaskToDo;
+import duke.util.storage.DukeStorageChange;
+import duke.util.storage.DukeStorageChecksum;
+import duke.util.storage.DukeStorageDurability;
+import duke.util.storage.DukeStorageTextBackend;
+import duke.util.storage.DukeStorageWatcher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import util.DukeTestUiMessages;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+public class DukeStorageWatcherTest {
+
+    @TempDir
+    Path temporaryDirectory;
+
+    private Path taskFile;
+    private DukeStorageTextBackend backend;
+    private DukeStorageWatcher watcher;
+    private List<DukeStorageChange> changes;
+    private List<DukeTask> userTasks;
+
+    /**
+     * Saves the tasks "a", "b" and "c" into the data file, and remembers the data file in a watcher that hands its
+     * changes over on the calling thread, without starting to watch it.
+     *
+     * @throws IOException If the data file cannot be read or written.
+     */
+    @BeforeEach
+    public void beforeEach() throws IOException {
+        taskFile = temporaryDirectory.resolve("duke.txt");
+        backend = new DukeStorageTextBackend(taskFile.toString(), false, DukeStorageDurability.BUFFERED);
+        userTasks = backend.load(new DukeTestUiMessages());
+        userTasks.addAll(createTasks("a", "b", "c"));
+        backend.save(userTasks);
+        changes = new ArrayList<>();
+        watcher = new DukeStorageWatcher(taskFile.toString(), Runnable::run, changes::add);
+        watcher.readChange();
+        backend.setWatcher(watcher);
+    }
+
+    @Test
+    public void testSaveHandsOverPendingChangeBeforeReplacingIt() throws IOException {
+        appendLine("T | 0 | e");
+        DukeTask task = new DukeTaskToDo("d", false);
+        userTasks.add(task);
+        backend.saveAddedTask(userTasks, task);
+
+        assertEquals(1, changes.size());
+        assertEquals(3, changes.get(0).getStartIndex());
+        assertEquals(List.of("e"), getTaskNames(changes.get(0).getAddedTasks()));
+        assertTrue(watcher.readChange().isEmpty());
+
+        assertEquals(3, changes.get(0).applyTo(userTasks));
+        backend.save(userTasks);
+        assertEquals(List.of("a", "b", "c", "e", "d"), getTaskNames(createBackend().load(new DukeTestUiMessages())));
+    }
+
+    @Test
+    public void testOwnSaveIsNotHandedOver() throws IOException {
+        userTasks.remove(1);
+        backend.save(userTasks);
+
+        assertTrue(changes.isEmpty());
+        assertTrue(watcher.readChange().isEmpty());
+    }
+
+    @Test
+    public void testPendingChangeStopsInPlaceWrite() throws IOException {
+        userTasks.get(0).setTaskComplete();
+        assertTrue(backend.saveCompletedTaskInPlace(userTasks, 0));
+        assertTrue(changes.isEmpty());
+
+        appendLine("T | 0 | e");
+        userTasks.get(1).setTaskComplete();
+
+        assertFalse(backend.saveCompletedTaskInPlace(userTasks, 1));
+        assertEquals(1, changes.size());
+        assertEquals(List.of("e"), getTaskNames(changes.get(0).getAddedTasks()));
+    }
+
+    @Test
+    public void testAppendedLinesAreRead() throws IOException {
+        appendLine("T | 0 | d");
+        appendLine("T | 1 | e");
+
+        DukeStorageChange change = watcher.readChange().get();
+        assertEquals(3, change.getStartIndex());
+        assertEquals(0, change.getRemovedCount());
+        assertEquals(List.of("d", "e"), getTaskNames(change.getAddedTasks()));
+        assertTrue(change.getAddedTasks().get(1).getTaskIsComplete());
+        assertTrue(watcher.readChange().isEmpty());
+    }
+
+    @Test
+    public void testPartialLastLineIsReadOnceComplete() throws IOException {
+        String line = DukeStorageChecksum.appendChecksum("T | 0 | d");
+        Files.writeString(taskFile, line.substring(0, 5), StandardOpenOption.APPEND);
+
+        assertTrue(watcher.readChange().isEmpty());
+
+        Files.writeString(taskFile, line.substring(5) + System.lineSeparator(), StandardOpenOption.APPEND);
+        DukeStorageChange change = watcher.readChange().get();
+        assertEquals(3, change.getStartIndex());
+        assertEquals(List.of("d"), getTaskNames(change.getAddedTasks()));
+    }
+
+    @Test
+    public void testEditInTheMiddleIsReadAsReplacedLines() throws IOException {
+        writeLines("T | 0 | a", "T | 0 | B", "T | 0 | B2", "T | 0 | c");
+
+        DukeStorageChange change = watcher.readChange().get();
+        assertEquals(1, change.getStartIndex());
+        assertEquals(1, change.getRemovedCount());
+        assertEquals(List.of("B", "B2"), getTaskNames(change.getAddedTasks()));
+
+        assertEquals(1, change.applyTo(userTasks));
+        assertEquals(List.of("a", "B", "B2", "c"), getTaskNames(userTasks));
+    }
+
+    @Test
+    public void testTruncationIsReadAsRemovedLines() throws IOException {
+        writeLines("T | 0 | a");
+
+        DukeStorageChange change = watcher.readChange().get();
+        assertEquals(1, change.getStartIndex());
+        assertEquals(2, change.getRemovedCount());
+        assertTrue(change.getAddedTasks().isEmpty());
+
+        assertEquals(1, change.applyTo(userTasks));
+        assertEquals(List.of("a"), getTaskNames(userTasks));
+    }
+
+    @Test
+    public void testChangeIsLocatedNearestToWhereItWas() throws IOException {
+        writeLines("T | 0 | a", "T | 0 | B", "T | 0 | c");
+        userTasks.add(0, new DukeTaskToDo("x", false));
+
+        DukeStorageChange change = watcher.readChange().get();
+
+        assertEquals(2, change.locate(userTasks));
+        assertEquals(2, change.applyTo(userTasks));
+        assertEquals(List.of("x", "a", "B", "c"), getTaskNames(userTasks));
+    }
+
+    @Test
+    public void testChangeAlreadyHeldIsApplied() throws IOException {
+        writeLines("T | 0 | a", "T | 0 | B", "T | 0 | c");
+        userTasks.set(1, new DukeTaskToDo("B", false));
+
+        DukeStorageChange change = watcher.readChange().get();
+
+        assertEquals(DukeStorageChange.DUKE_CHANGE_APPLIED, change.applyTo(userTasks));
+        assertEquals(List.of("a", "B", "c"), getTaskNames(userTasks));
+    }
+
+    @Test
+    public void testConflictingChangeIsQuarantined() throws IOException {
+        writeLines("T | 0 | a", "T | 1 | b", "T | 0 | c");
+        userTasks.remove(1);
+
+        DukeStorageChange change = watcher.readChange().get();
+
+        assertEquals(DukeStorageChange.DUKE_CHANGE_CONFLICT, change.applyTo(userTasks));
+        assertEquals(List.of("a", "c"), getTaskNames(userTasks));
+        List<String> quarantineLines = Files.readAllLines(Path.of(change.quarantineAddedTasks()));
+        assertTrue(quarantineLines.contains("T | 1 | b"));
+    }
+
+    /**
+     * Replaces the data file with checksummed lines, as another program would.
+     *
+     * @param records Records of the lines.
+     * @throws IOException If the data file cannot be written.
+     */
+    private void writeLines(String... records) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (String record : records) {
+            lines.add(DukeStorageChecksum.appendChecksum(record));
+        }
+        Files.write(taskFile, lines);
+    }
+
+    /**
+     * Appends a checksummed line to the data file, as another program would.
+     *
+     * @param record Record to append.
+     * @throws IOException If the data file cannot be written.
+     */
+    private void appendLine(String record) throws IOException {
+        Files.writeString(taskFile, DukeStorageChecksum.appendChecksum(record) + System.lineSeparator(),
+                StandardOpenOption.APPEND);
+    }
+
+    private DukeStorageTextBackend createBackend() {
+        return new DukeStorageTextBackend(taskFile.toString(), false, DukeStorageDurability.BUFFERED);
+    }
+}